@@ -0,0 +1,129 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import org.teavm.tooling.TeaVMTargetType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Microbenchmark options: benchmark methods are compiled with teavm (C or WASI target) and measured in comparison
+ * with JVM.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class BenchmarkOptions {
+
+    /**
+     * Source set with benchmark classes. Benchmark methods must be annotated with {@code @Benchmark} annotation
+     * (JMH annotation or any other annotation with the same simple name).
+     */
+    private String sourceSet = "main";
+    /**
+     * Compilation target: C (compiled with local compiler, see native options) or WEBASSEMBLY_WASI.
+     */
+    private TeaVMTargetType targetType = TeaVMTargetType.C;
+    /**
+     * Warmup iterations count.
+     */
+    private int warmupIterations = 3;
+    /**
+     * Measurement iterations count.
+     */
+    private int measurementIterations = 5;
+    /**
+     * Single iteration duration (milliseconds).
+     */
+    private int iterationTime = 1000;
+    /**
+     * Run the same benchmarks on JVM to compare results.
+     */
+    private boolean jvmBaseline = true;
+    /**
+     * Command used to run WASI module (module path is appended).
+     */
+    private List<String> wasiRuntime = new ArrayList<>(Arrays.asList("wasmtime", "run"));
+    /**
+     * Maximum allowed ratio of teavm and JVM times (ns/op) for any benchmark. Build fails if ratio is exceeded.
+     * Zero disables check.
+     */
+    private double maxRatio = 0;
+    /**
+     * Target directory for compiled benchmarks. By default, "build/teavm-benchmark".
+     */
+    private String targetDir;
+
+    public String getSourceSet() {
+        return sourceSet;
+    }
+
+    public void setSourceSet(final String sourceSet) {
+        this.sourceSet = sourceSet;
+    }
+
+    public TeaVMTargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(final TeaVMTargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public void setWarmupIterations(final int warmupIterations) {
+        this.warmupIterations = warmupIterations;
+    }
+
+    public int getMeasurementIterations() {
+        return measurementIterations;
+    }
+
+    public void setMeasurementIterations(final int measurementIterations) {
+        this.measurementIterations = measurementIterations;
+    }
+
+    public int getIterationTime() {
+        return iterationTime;
+    }
+
+    public void setIterationTime(final int iterationTime) {
+        this.iterationTime = iterationTime;
+    }
+
+    public boolean isJvmBaseline() {
+        return jvmBaseline;
+    }
+
+    public void setJvmBaseline(final boolean jvmBaseline) {
+        this.jvmBaseline = jvmBaseline;
+    }
+
+    public List<String> getWasiRuntime() {
+        return wasiRuntime;
+    }
+
+    public void setWasiRuntime(final List<String> wasiRuntime) {
+        this.wasiRuntime = wasiRuntime;
+    }
+
+    public double getMaxRatio() {
+        return maxRatio;
+    }
+
+    public void setMaxRatio(final double maxRatio) {
+        this.maxRatio = maxRatio;
+    }
+
+    public String getTargetDir() {
+        return targetDir;
+    }
+
+    public void setTargetDir(final String targetDir) {
+        this.targetDir = targetDir;
+    }
+}
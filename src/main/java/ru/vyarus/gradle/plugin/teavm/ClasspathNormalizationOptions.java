@@ -0,0 +1,68 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classpath normalization options: classpath content, ignored in compile task up-to-date checks. Applied only to
+ * compile tasks (project runtime classpath normalization is not changed): when configured, compile task uses
+ * normalized classpath fingerprint as input instead of classpath (see
+ * {@link ru.vyarus.gradle.plugin.teavm.util.ClasspathFingerprint}). Nothing is ignored by default.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class ClasspathNormalizationOptions {
+
+    /**
+     * Ignored classpath files (ant patterns, e.g. "**&#47;build-info.properties"). Applied to files in directories
+     * and jars.
+     */
+    private List<String> ignore = new ArrayList<>();
+    /**
+     * Ignore jar manifests (build timestamps, tool versions).
+     */
+    private boolean ignoreManifest = false;
+    /**
+     * Ignore entire META-INF directory content (teavm does not use it, unless some resources are loaded
+     * from there).
+     */
+    private boolean ignoreMetaInf = false;
+    /**
+     * Properties ignored in all properties files (e.g. build timestamp).
+     */
+    private List<String> ignoreProperties = new ArrayList<>();
+
+    public List<String> getIgnore() {
+        return ignore;
+    }
+
+    public void setIgnore(final List<String> ignore) {
+        this.ignore = ignore;
+    }
+
+    public boolean isIgnoreManifest() {
+        return ignoreManifest;
+    }
+
+    public void setIgnoreManifest(final boolean ignoreManifest) {
+        this.ignoreManifest = ignoreManifest;
+    }
+
+    public boolean isIgnoreMetaInf() {
+        return ignoreMetaInf;
+    }
+
+    public void setIgnoreMetaInf(final boolean ignoreMetaInf) {
+        this.ignoreMetaInf = ignoreMetaInf;
+    }
+
+    public List<String> getIgnoreProperties() {
+        return ignoreProperties;
+    }
+
+    public void setIgnoreProperties(final List<String> ignoreProperties) {
+        this.ignoreProperties = ignoreProperties;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Delta updates options: binary diffs between previous and current compilation outputs (clients could patch
+ * previous version instead of downloading the complete bundle).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class DeltaOptions {
+
+    /**
+     * Generate deltas after each compileTeavm execution (teavmDelta task could be also called manually).
+     */
+    private boolean enabled = false;
+    /**
+     * Deltas and manifest directory. By default, "build/teavm-delta".
+     */
+    private String targetDir;
+    /**
+     * Previous outputs copy (base for deltas, updated after each delta generation). Could be replaced with the
+     * last released version. By default, "build/teavm-delta-base".
+     */
+    private String baseDir;
+    /**
+     * Extensions of files to create deltas for.
+     */
+    private List<String> extensions = new ArrayList<>(Arrays.asList("js", "mjs", "wasm"));
+    /**
+     * Matching block size (bytes): smaller block - smaller delta, but more memory for old file index.
+     */
+    private int blockSize = 32;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTargetDir() {
+        return targetDir;
+    }
+
+    public void setTargetDir(final String targetDir) {
+        this.targetDir = targetDir;
+    }
+
+    public String getBaseDir() {
+        return baseDir;
+    }
+
+    public void setBaseDir(final String baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    public List<String> getExtensions() {
+        return extensions;
+    }
+
+    public void setExtensions(final List<String> extensions) {
+        this.extensions = extensions;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(final int blockSize) {
+        this.blockSize = blockSize;
+    }
+}
@@ -25,6 +25,13 @@ public class DevOptions {
      * Make sense only for local development.
      */
     private boolean sourceFilesCopiedAsLocalLinks = false;
+    /**
+     * Copy only source files, referenced from generated source maps (instead of all sources from all source
+     * directories and jars). Files are copied in parallel, unchanged files are not copied again and source jars are
+     * extracted only once (into shared cache). Works only when {@link #sourceMapsGenerated} enabled and ignored
+     * for {@link #sourceFilesCopiedAsLocalLinks}.
+     */
+    private boolean sourceFilesCopiedIncrementally = false;
     /**
      * Incremental compilation speeds up compilation, but limits some optimizations and so should be used only
      * in dev mode.
@@ -104,6 +111,14 @@ public class DevOptions {
         this.sourceFilesCopiedAsLocalLinks = sourceFilesCopiedAsLocalLinks;
     }
 
+    public boolean isSourceFilesCopiedIncrementally() {
+        return sourceFilesCopiedIncrementally;
+    }
+
+    public void setSourceFilesCopiedIncrementally(final boolean sourceFilesCopiedIncrementally) {
+        this.sourceFilesCopiedIncrementally = sourceFilesCopiedIncrementally;
+    }
+
     public boolean isIncremental() {
         return incremental;
     }
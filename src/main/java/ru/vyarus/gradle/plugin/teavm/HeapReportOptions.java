@@ -0,0 +1,60 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+/**
+ * Heap dump analysis options (teavmHeapReport task). Heap dumps are written by program, compiled with
+ * heapDump option (C target only).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class HeapReportOptions {
+
+    /**
+     * Analyzed heap dump (required for teavmHeapReport task).
+     */
+    private String dumpFile;
+    /**
+     * Previous heap dump to compare with (optional).
+     */
+    private String baselineFile;
+    /**
+     * Classes limit in report tables.
+     */
+    private int top = 20;
+    /**
+     * Compute retainers: incoming references by referrer class (requires second dump pass).
+     */
+    private boolean retainers = true;
+
+    public String getDumpFile() {
+        return dumpFile;
+    }
+
+    public void setDumpFile(final String dumpFile) {
+        this.dumpFile = dumpFile;
+    }
+
+    public String getBaselineFile() {
+        return baselineFile;
+    }
+
+    public void setBaselineFile(final String baselineFile) {
+        this.baselineFile = baselineFile;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(final int top) {
+        this.top = top;
+    }
+
+    public boolean isRetainers() {
+        return retainers;
+    }
+
+    public void setRetainers(final boolean retainers) {
+        this.retainers = retainers;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap sizing options (teavmHeapSizing task): compiled program (C executable or WASI module) is executed with
+ * workload and heap sizes are computed from measured peak memory.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class HeapSizingOptions {
+
+    /**
+     * Program arguments, simulating real workload.
+     */
+    private List<String> workload = new ArrayList<>();
+    /**
+     * Workload runs count (maximum peak used).
+     */
+    private int runs = 1;
+    /**
+     * Max heap size headroom above measured peak (percent).
+     */
+    private int headroom = 50;
+    /**
+     * Computed heap sizes file (properties). Relative to project directory (could be committed to apply the same
+     * sizes on all environments).
+     */
+    private String overridesFile = "teavm-heap.properties";
+    /**
+     * Use heap sizes from overrides file (when exists) instead of configured minHeapSize and maxHeapSize for
+     * compileTeavm task.
+     */
+    private boolean applied = false;
+
+    public List<String> getWorkload() {
+        return workload;
+    }
+
+    public void setWorkload(final List<String> workload) {
+        this.workload = workload;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public void setRuns(final int runs) {
+        this.runs = runs;
+    }
+
+    public int getHeadroom() {
+        return headroom;
+    }
+
+    public void setHeadroom(final int headroom) {
+        this.headroom = headroom;
+    }
+
+    public String getOverridesFile() {
+        return overridesFile;
+    }
+
+    public void setOverridesFile(final String overridesFile) {
+        this.overridesFile = overridesFile;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public void setApplied(final boolean applied) {
+        this.applied = applied;
+    }
+}
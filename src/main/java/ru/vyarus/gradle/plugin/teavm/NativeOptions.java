@@ -0,0 +1,166 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import org.apache.tools.ant.taskdefs.condition.Os;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Native build options (for C target): used to compile teavm-generated C files into executable.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class NativeOptions {
+
+    /**
+     * C compiler executable (gcc or clang). By default, "cc".
+     */
+    private String compiler = "cc";
+    /**
+     * Compiler arguments (applied for both compilation and linking).
+     */
+    private List<String> compilerArgs = new ArrayList<>(Arrays.asList("-O2"));
+    /**
+     * Linker arguments (libraries).
+     */
+    private List<String> linkerArgs = new ArrayList<>(Os.isFamily(Os.FAMILY_MAC)
+            ? Arrays.asList("-lm") : Arrays.asList("-lm", "-lrt"));
+    /**
+     * Compile only "all.c" file (generated by teavm and including all other files) instead of separate
+     * compilation of each file. Makes parallel compilation and object files caching useless.
+     */
+    private boolean singleTranslationUnit = false;
+    /**
+     * Maximum number of parallel compiler processes. By default, equal to available processors count.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    /**
+     * Target directory for linked executable. By default, "build/teavm-native".
+     */
+    private String targetDir;
+    /**
+     * Executable file name. By default, project name.
+     */
+    private String executableName;
+    /**
+     * Compiled object files cache directory (object files are cached by source file hash, so only changed
+     * translation units are compiled). By default, "build/teavm-native-cache".
+     */
+    private String objectCacheDir;
+    /**
+     * Profile-guided optimization workload: arguments for executable (instrumented executable is called with them
+     * to collect profile data, and regular and optimized executables are called to measure speedup).
+     */
+    private List<String> pgoWorkload = new ArrayList<>();
+    /**
+     * Number of workload runs (for each executable) for speedup measurement (best run is used).
+     */
+    private int pgoRuns = 3;
+    /**
+     * Profile data directory. By default, "build/teavm-pgo".
+     */
+    private String pgoProfileDir;
+    /**
+     * Tool for clang raw profiles merge (not used for gcc).
+     */
+    private String pgoProfdataTool = "llvm-profdata";
+
+    public String getCompiler() {
+        return compiler;
+    }
+
+    public void setCompiler(final String compiler) {
+        this.compiler = compiler;
+    }
+
+    public List<String> getCompilerArgs() {
+        return compilerArgs;
+    }
+
+    public void setCompilerArgs(final List<String> compilerArgs) {
+        this.compilerArgs = compilerArgs;
+    }
+
+    public List<String> getLinkerArgs() {
+        return linkerArgs;
+    }
+
+    public void setLinkerArgs(final List<String> linkerArgs) {
+        this.linkerArgs = linkerArgs;
+    }
+
+    public boolean isSingleTranslationUnit() {
+        return singleTranslationUnit;
+    }
+
+    public void setSingleTranslationUnit(final boolean singleTranslationUnit) {
+        this.singleTranslationUnit = singleTranslationUnit;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public String getTargetDir() {
+        return targetDir;
+    }
+
+    public void setTargetDir(final String targetDir) {
+        this.targetDir = targetDir;
+    }
+
+    public String getExecutableName() {
+        return executableName;
+    }
+
+    public void setExecutableName(final String executableName) {
+        this.executableName = executableName;
+    }
+
+    public String getObjectCacheDir() {
+        return objectCacheDir;
+    }
+
+    public void setObjectCacheDir(final String objectCacheDir) {
+        this.objectCacheDir = objectCacheDir;
+    }
+
+    public List<String> getPgoWorkload() {
+        return pgoWorkload;
+    }
+
+    public void setPgoWorkload(final List<String> pgoWorkload) {
+        this.pgoWorkload = pgoWorkload;
+    }
+
+    public int getPgoRuns() {
+        return pgoRuns;
+    }
+
+    public void setPgoRuns(final int pgoRuns) {
+        this.pgoRuns = pgoRuns;
+    }
+
+    public String getPgoProfileDir() {
+        return pgoProfileDir;
+    }
+
+    public void setPgoProfileDir(final String pgoProfileDir) {
+        this.pgoProfileDir = pgoProfileDir;
+    }
+
+    public String getPgoProfdataTool() {
+        return pgoProfdataTool;
+    }
+
+    public void setPgoProfdataTool(final String pgoProfdataTool) {
+        this.pgoProfdataTool = pgoProfdataTool;
+    }
+}
@@ -7,6 +7,7 @@ import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.tooling.TeaVMTargetType;
 import org.teavm.vm.TeaVMOptimizationLevel;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.SourcesContent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +45,26 @@ public class TeavmExtension extends DevOptions {
      * Prints plugin debug information: used paths, dependencies, resolved sources and complete teavm stats.
      */
     private boolean debug = false;
+    /**
+     * Record compilation with JFR (java flight recorder) into "build/reports/teavm/[task name].jfr". Recording
+     * contains custom teavm events: compilation phases, class transformations and output writes.
+     */
+    private boolean profiling = false;
+    /**
+     * Hot methods summary size (computed from profiling recording, written near recording file). 0 to disable.
+     */
+    private int profilingHotMethods = 20;
+    /**
+     * Compilation stall timeout in seconds. When teavm does not report compilation progress during timeout,
+     * diagnostic report (current phase, threads dump, heap histogram) is written into
+     * "build/reports/teavm/[task name]-stall.txt". 0 to disable (default).
+     */
+    private int stallTimeout = 0;
+    /**
+     * Cancel compilation when there is still no progress after the second {@link #stallTimeout} (compilation thread
+     * is interrupted). By default, stall is only reported.
+     */
+    private boolean stallCancel = false;
     /**
      * Configures processResources task to load resources from java/kotlin/scala directories (ignoring compiled
      * sources). Useful for flavour when html templates stored near source files.
@@ -73,6 +94,12 @@ public class TeavmExtension extends DevOptions {
      * already describe required directories. Could be useful only for specific cases.
      */
     private Set<String> extraClassDirs = new HashSet<>();
+    /**
+     * Use classes and resources directories of project dependencies (other modules in multi-module project)
+     * instead of jars. This way jar tasks are not executed for dependent modules and teavm incremental compilation
+     * sees exact changed classes.
+     */
+    private boolean projectDependenciesAsClasses = false;
     /**
      * Additional source directories (used only when {@link DevOptions#isSourceFilesCopied()} enabled). Normally,
      * this should not be needed as sources already descibed with {@link #sourceSets} and dependencies sources are
@@ -103,7 +130,7 @@ public class TeavmExtension extends DevOptions {
      */
     private String targetFileName = "";
     /**
-     * Compilation target: js by default. Values: JAVASCRIPT, WEBASSEMBLY, WEBASSEMBLY_WASI, C
+     * Compilation target: js by default. Values: JAVASCRIPT, WEBASSEMBLY, WEBASSEMBLY_WASI, WEBASSEMBLY_GC, C
      */
     private TeaVMTargetType targetType = TeaVMTargetType.JAVASCRIPT;
     /**
@@ -111,7 +138,7 @@ public class TeavmExtension extends DevOptions {
      */
     private JSModuleType jsModuleType = JSModuleType.UMD;
     /**
-     * Target wasm version (only for compilation to WASM). Values: V_0x1
+     * Target wasm version (only for compilation to WEBASSEMBLY and WEBASSEMBLY_WASI). Values: V_0x1
      */
     private WasmBinaryVersion wasmVersion = WasmBinaryVersion.V_0x1;
 
@@ -120,16 +147,39 @@ public class TeavmExtension extends DevOptions {
      */
     private boolean stopOnErrors = true;
 
+    /**
+     * Prefix applied to all source map "sources" paths (e.g. url of sources server). Applied as is (no slash added).
+     * Only for generated source maps. Could not be used with {@link #sourceMapSourcesRelative}.
+     */
+    private String sourceMapSourcesPrefix;
+    /**
+     * Convert absolute source map "sources" paths (local file links) into paths relative to source map location.
+     * Only for generated source maps.
+     */
+    private boolean sourceMapSourcesRelative = false;
+    /**
+     * Source map "sourcesContent" processing: KEEP (as generated), INLINE (put all sources content into source map
+     * so source files are not required) or STRIP (remove content). Only for generated source maps.
+     */
+    private SourcesContent sourceMapSourcesContent = SourcesContent.KEEP;
+    /**
+     * Reproducible output: the same inputs must produce byte-identical files on any machine. Forces relative source
+     * map paths, disables local source links in dev mode and warns about absolute machine paths (project dir, gradle
+     * home) found in generated files. Also enables "teavmVerifyReproducible" task (attached to "check") which
+     * compiles twice into different directories and compares files hashes.
+     */
+    private boolean reproducible = false;
+
     /**
      * Top-level names limit. ONLY for JS target.
      */
     private int maxTopLevelNames = 80_000;
     /**
-     * Minimal heap size (in mb). ONLY for WASM and C targets.
+     * Minimal heap size (in mb). ONLY for WASM (except wasm GC) and C targets.
      */
     private int minHeapSize = 4;
     /**
-     * Maximum heap size (in mb). ONLY for WASM and C targets.
+     * Maximum heap size (in mb). ONLY for WASM (except wasm GC) and C targets.
      */
     private int maxHeapSize = 128;
 
@@ -148,11 +198,67 @@ public class TeavmExtension extends DevOptions {
      * Fully qualified class names to preserve (probably, to avoid remove by dependency analysis).
      */
     private List<String> classesToPreserve;
+    /**
+     * Copy classpath resources, used by compiled program, into target directory (resource path preserved). Only
+     * changed resources are copied and resources not used anymore are removed.
+     */
+    private boolean usedResourcesCopied = false;
+    /**
+     * Glob patterns of additional classpath resources to copy (e.g. "data/**.json") when {@link #usedResourcesCopied}
+     * enabled: required for resources loaded by computed names (not detected by compiler).
+     */
+    private List<String> usedResourcesPatterns = new ArrayList<>();
+    /**
+     * Generate loader glue ("[name]-loader.js") and manifest with preload hints ("[name]-manifest.json") for
+     * compiled module (WEBASSEMBLY target only). Loader uses streaming compilation and creates imported memory.
+     */
+    private boolean wasmLoaderGenerated = false;
+    /**
+     * Cache module bytes in IndexedDB (by module hash) in generated loader (when {@link #wasmLoaderGenerated}
+     * enabled).
+     */
+    private boolean wasmModuleCached = false;
 
     /**
      * Options override for dev mode (enabled with {@link #dev} flag).
      */
     private final DevOptions devOptions = new DevOptions();
+    /**
+     * Native build options (C target only).
+     */
+    private final NativeOptions nativeOptions = new NativeOptions();
+    /**
+     * Microbenchmark options.
+     */
+    private final BenchmarkOptions benchmark = new BenchmarkOptions();
+    /**
+     * WASI module execution options (teavmRunWasi task).
+     */
+    private final WasiRunOptions wasi = new WasiRunOptions();
+    /**
+     * TeaVM JUnit tests options (teavmTest task).
+     */
+    private final TestOptions tests = new TestOptions();
+    /**
+     * Compile tasks classpath normalization (classpath content, ignored in up-to-date checks).
+     */
+    private final ClasspathNormalizationOptions classpathNormalization = new ClasspathNormalizationOptions();
+    /**
+     * Delta updates (binary diffs between consecutive builds).
+     */
+    private final DeltaOptions delta = new DeltaOptions();
+    /**
+     * WebAssembly GC target options.
+     */
+    private final WasmGCOptions wasmGC = new WasmGCOptions();
+    /**
+     * Heap dump analysis (teavmHeapReport task).
+     */
+    private final HeapReportOptions heapReport = new HeapReportOptions();
+    /**
+     * Measurement-driven heap sizing (teavmHeapSizing task).
+     */
+    private final HeapSizingOptions heapSizing = new HeapSizingOptions();
 
 
     public TeavmExtension(final Project project) {
@@ -165,6 +271,7 @@ public class TeavmExtension extends DevOptions {
         devOptions.setStrict(false);
         devOptions.setSourceFilesCopied(true);
         devOptions.setSourceFilesCopiedAsLocalLinks(true);
+        devOptions.setSourceFilesCopiedIncrementally(false);
         devOptions.setIncremental(false);
         devOptions.setDebugInformationGenerated(true);
         devOptions.setSourceMapsGenerated(true);
@@ -176,6 +283,16 @@ public class TeavmExtension extends DevOptions {
         devOptions.setShortFileNames(false);
         devOptions.setHeapDump(false);
 
+        nativeOptions.setTargetDir(buildDir + "/teavm-native");
+        nativeOptions.setObjectCacheDir(buildDir + "/teavm-native-cache");
+        nativeOptions.setPgoProfileDir(buildDir + "/teavm-pgo");
+        nativeOptions.setExecutableName(project.getName());
+
+        benchmark.setTargetDir(buildDir + "/teavm-benchmark");
+        tests.setTargetDir(buildDir + "/teavm-test");
+        delta.setTargetDir(buildDir + "/teavm-delta");
+        delta.setBaseDir(buildDir + "/teavm-delta-base");
+
     }
 
     public boolean isDev() {
@@ -194,6 +311,38 @@ public class TeavmExtension extends DevOptions {
         this.debug = debug;
     }
 
+    public boolean isProfiling() {
+        return profiling;
+    }
+
+    public void setProfiling(final boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    public int getProfilingHotMethods() {
+        return profilingHotMethods;
+    }
+
+    public void setProfilingHotMethods(final int profilingHotMethods) {
+        this.profilingHotMethods = profilingHotMethods;
+    }
+
+    public int getStallTimeout() {
+        return stallTimeout;
+    }
+
+    public void setStallTimeout(final int stallTimeout) {
+        this.stallTimeout = stallTimeout;
+    }
+
+    public boolean isStallCancel() {
+        return stallCancel;
+    }
+
+    public void setStallCancel(final boolean stallCancel) {
+        this.stallCancel = stallCancel;
+    }
+
     public boolean isMixedResources() {
         return mixedResources;
     }
@@ -234,6 +383,14 @@ public class TeavmExtension extends DevOptions {
         this.extraClassDirs = extraClassDirs;
     }
 
+    public boolean isProjectDependenciesAsClasses() {
+        return projectDependenciesAsClasses;
+    }
+
+    public void setProjectDependenciesAsClasses(final boolean projectDependenciesAsClasses) {
+        this.projectDependenciesAsClasses = projectDependenciesAsClasses;
+    }
+
     public List<String> getConfigurations() {
         return configurations;
     }
@@ -322,6 +479,38 @@ public class TeavmExtension extends DevOptions {
         this.stopOnErrors = stopOnErrors;
     }
 
+    public String getSourceMapSourcesPrefix() {
+        return sourceMapSourcesPrefix;
+    }
+
+    public void setSourceMapSourcesPrefix(final String sourceMapSourcesPrefix) {
+        this.sourceMapSourcesPrefix = sourceMapSourcesPrefix;
+    }
+
+    public boolean isSourceMapSourcesRelative() {
+        return sourceMapSourcesRelative;
+    }
+
+    public void setSourceMapSourcesRelative(final boolean sourceMapSourcesRelative) {
+        this.sourceMapSourcesRelative = sourceMapSourcesRelative;
+    }
+
+    public SourcesContent getSourceMapSourcesContent() {
+        return sourceMapSourcesContent;
+    }
+
+    public void setSourceMapSourcesContent(final SourcesContent sourceMapSourcesContent) {
+        this.sourceMapSourcesContent = sourceMapSourcesContent;
+    }
+
+    public boolean isReproducible() {
+        return reproducible;
+    }
+
+    public void setReproducible(final boolean reproducible) {
+        this.reproducible = reproducible;
+    }
+
     public int getMaxTopLevelNames() {
         return maxTopLevelNames;
     }
@@ -370,6 +559,38 @@ public class TeavmExtension extends DevOptions {
         this.classesToPreserve = classesToPreserve;
     }
 
+    public boolean isUsedResourcesCopied() {
+        return usedResourcesCopied;
+    }
+
+    public void setUsedResourcesCopied(final boolean usedResourcesCopied) {
+        this.usedResourcesCopied = usedResourcesCopied;
+    }
+
+    public List<String> getUsedResourcesPatterns() {
+        return usedResourcesPatterns;
+    }
+
+    public void setUsedResourcesPatterns(final List<String> usedResourcesPatterns) {
+        this.usedResourcesPatterns = usedResourcesPatterns;
+    }
+
+    public boolean isWasmLoaderGenerated() {
+        return wasmLoaderGenerated;
+    }
+
+    public void setWasmLoaderGenerated(final boolean wasmLoaderGenerated) {
+        this.wasmLoaderGenerated = wasmLoaderGenerated;
+    }
+
+    public boolean isWasmModuleCached() {
+        return wasmModuleCached;
+    }
+
+    public void setWasmModuleCached(final boolean wasmModuleCached) {
+        this.wasmModuleCached = wasmModuleCached;
+    }
+
     @Nested
     public DevOptions getDevOptions() {
         return devOptions;
@@ -378,4 +599,85 @@ public class TeavmExtension extends DevOptions {
     public void devOptions(final Action<DevOptions> action) {
         action.execute(getDevOptions());
     }
+
+    @Nested
+    public NativeOptions getNativeOptions() {
+        return nativeOptions;
+    }
+
+    public void nativeOptions(final Action<NativeOptions> action) {
+        action.execute(getNativeOptions());
+    }
+
+    @Nested
+    public BenchmarkOptions getBenchmark() {
+        return benchmark;
+    }
+
+    public void benchmark(final Action<BenchmarkOptions> action) {
+        action.execute(getBenchmark());
+    }
+
+    @Nested
+    public WasiRunOptions getWasi() {
+        return wasi;
+    }
+
+    public void wasi(final Action<WasiRunOptions> action) {
+        action.execute(getWasi());
+    }
+
+    @Nested
+    public TestOptions getTests() {
+        return tests;
+    }
+
+    public void tests(final Action<TestOptions> action) {
+        action.execute(getTests());
+    }
+
+    @Nested
+    public ClasspathNormalizationOptions getClasspathNormalization() {
+        return classpathNormalization;
+    }
+
+    public void classpathNormalization(final Action<ClasspathNormalizationOptions> action) {
+        action.execute(getClasspathNormalization());
+    }
+
+    @Nested
+    public DeltaOptions getDelta() {
+        return delta;
+    }
+
+    public void delta(final Action<DeltaOptions> action) {
+        action.execute(getDelta());
+    }
+
+    @Nested
+    public WasmGCOptions getWasmGC() {
+        return wasmGC;
+    }
+
+    public void wasmGC(final Action<WasmGCOptions> action) {
+        action.execute(getWasmGC());
+    }
+
+    @Nested
+    public HeapReportOptions getHeapReport() {
+        return heapReport;
+    }
+
+    public void heapReport(final Action<HeapReportOptions> action) {
+        action.execute(getHeapReport());
+    }
+
+    @Nested
+    public HeapSizingOptions getHeapSizing() {
+        return heapSizing;
+    }
+
+    public void heapSizing(final Action<HeapSizingOptions> action) {
+        action.execute(getHeapSizing());
+    }
 }
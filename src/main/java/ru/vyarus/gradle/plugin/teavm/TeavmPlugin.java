@@ -6,20 +6,52 @@ import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.artifacts.ResolvedArtifact;
 import org.gradle.api.attributes.Usage;
+import org.gradle.api.file.Directory;
 import org.gradle.api.plugins.ExtraPropertiesExtension;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.compile.JavaCompile;
+import org.gradle.build.event.BuildEventsListenerRegistry;
 import org.gradle.language.jvm.tasks.ProcessResources;
 import org.teavm.backend.javascript.JSModuleType;
+import org.teavm.backend.wasm.WasmDebugInfoLevel;
+import org.teavm.backend.wasm.WasmDebugInfoLocation;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.tooling.TeaVMTargetType;
 import org.teavm.vm.TeaVMOptimizationLevel;
+import ru.vyarus.gradle.plugin.teavm.benchmark.HarnessGenerator;
+import ru.vyarus.gradle.plugin.teavm.c.HeapSizes;
+import ru.vyarus.gradle.plugin.teavm.cancel.CancellationService;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.SourcesContent;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmBenchmarkGenerateTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmBenchmarkTask;
 import ru.vyarus.gradle.plugin.teavm.task.TeavmCompileTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmDeltaTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmHeapReportTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmHeapSizingTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmMultiCompileTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmNativeLinkTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoInstrumentTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoLinkTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoReportTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoTrainTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmRunWasiTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmTestTask;
+import ru.vyarus.gradle.plugin.teavm.task.TeavmVerifyReproducibleTask;
 import ru.vyarus.gradle.plugin.teavm.util.ClasspathBuilder;
 import ru.vyarus.gradle.plugin.teavm.util.SourcesBuilder;
 
+import javax.inject.Inject;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -62,18 +94,41 @@ public class TeavmPlugin implements Plugin<Project> {
      */
     public static final String TEAVM_VERSION = "__TEAVM_VERSION";
 
+    private static final Map<TeaVMTargetType, String> TEST_TARGETS = Map.of(
+            TeaVMTargetType.JAVASCRIPT, "teavm.junit.js",
+            TeaVMTargetType.WEBASSEMBLY, "teavm.junit.wasm",
+            TeaVMTargetType.WEBASSEMBLY_WASI, "teavm.junit.wasi",
+            TeaVMTargetType.WEBASSEMBLY_GC, "teavm.junit.wasm-gc",
+            TeaVMTargetType.C, "teavm.junit.c");
+
+    private final BuildEventsListenerRegistry eventsListenerRegistry;
+
+    @Inject
+    public TeavmPlugin(final BuildEventsListenerRegistry eventsListenerRegistry) {
+        this.eventsListenerRegistry = eventsListenerRegistry;
+    }
+
     @Override
     public void apply(final Project project) {
         final TeavmExtension extension = project.getExtensions().create("teavm", TeavmExtension.class, project);
         registerConfiguration(project, extension);
         registerShortcuts(project);
+        registerCancellationService(project);
         configureTask(project, extension);
+        configureNativeTasks(project, extension);
+        configureBenchmarkTasks(project, extension);
+        configureRunWasiTask(project, extension);
+        configureTestTask(project, extension);
+        configureReproducibilityCheck(project, extension);
+        configureDelta(project, extension);
+        configureHeapReport(project, extension);
+        configureHeapSizing(project, extension);
         configureResourcesMix(project, extension);
     }
 
     /**
      * "teavm" configuration used for compiler classpath resolution. Version could be detected from user classpath
-     * or configured in extension.
+     * or configured in extension. "teavmWasi" configuration used for WASI runtime resolution.
      *
      * @param project   project
      * @param extension extension
@@ -108,6 +163,24 @@ public class TeavmPlugin implements Plugin<Project> {
                 project.getExtensions().getExtraProperties().set(TEAVM_VERSION, version);
             });
         });
+
+        // internal configuration used for WASI runtime resolution (teavmRunWasi task)
+        project.getConfigurations().create("teavmWasi", conf -> {
+            conf.attributes(attrs -> {
+                attrs.attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, Usage.JAVA_RUNTIME));
+            });
+            conf.setDescription("WebAssembly runtime classpath (WASI modules execution)");
+            conf.setTransitive(true);
+            conf.setVisible(false);
+            conf.setCanBeConsumed(false);
+            conf.setCanBeResolved(true);
+
+            conf.defaultDependencies(dependencies -> {
+                final String version = extension.getWasi().getRuntimeVersion();
+                dependencies.add(project.getDependencies().create("com.dylibso.chicory:runtime:" + version));
+                dependencies.add(project.getDependencies().create("com.dylibso.chicory:wasi:" + version));
+            });
+        });
     }
 
     /**
@@ -120,12 +193,45 @@ public class TeavmPlugin implements Plugin<Project> {
         final ExtraPropertiesExtension extraProps = project.getExtensions().getExtraProperties();
         // task shortcut
         extraProps.set(TeavmCompileTask.class.getSimpleName(), TeavmCompileTask.class);
+        extraProps.set(TeavmMultiCompileTask.class.getSimpleName(), TeavmMultiCompileTask.class);
+        extraProps.set(TeavmNativeLinkTask.class.getSimpleName(), TeavmNativeLinkTask.class);
+        extraProps.set(TeavmPgoInstrumentTask.class.getSimpleName(), TeavmPgoInstrumentTask.class);
+        extraProps.set(TeavmPgoTrainTask.class.getSimpleName(), TeavmPgoTrainTask.class);
+        extraProps.set(TeavmPgoLinkTask.class.getSimpleName(), TeavmPgoLinkTask.class);
+        extraProps.set(TeavmPgoReportTask.class.getSimpleName(), TeavmPgoReportTask.class);
+        extraProps.set(TeavmBenchmarkTask.class.getSimpleName(), TeavmBenchmarkTask.class);
+        extraProps.set(TeavmRunWasiTask.class.getSimpleName(), TeavmRunWasiTask.class);
+        extraProps.set(TeavmTestTask.class.getSimpleName(), TeavmTestTask.class);
+        extraProps.set(TeavmVerifyReproducibleTask.class.getSimpleName(), TeavmVerifyReproducibleTask.class);
+        extraProps.set(TeavmDeltaTask.class.getSimpleName(), TeavmDeltaTask.class);
+        extraProps.set(TeavmHeapReportTask.class.getSimpleName(), TeavmHeapReportTask.class);
+        extraProps.set(TeavmHeapSizingTask.class.getSimpleName(), TeavmHeapSizingTask.class);
 
         // enum shortcuts
         Arrays.asList(TeaVMTargetType.values()).forEach(type -> extraProps.set(type.name(), type));
         Arrays.asList(WasmBinaryVersion.values()).forEach(type -> extraProps.set(type.name(), type));
+        Arrays.asList(WasmDebugInfoLevel.values()).forEach(type -> extraProps.set(type.name(), type));
+        Arrays.asList(WasmDebugInfoLocation.values()).forEach(type -> extraProps.set(type.name(), type));
         Arrays.asList(TeaVMOptimizationLevel.values()).forEach(type -> extraProps.set(type.name(), type));
         Arrays.asList(JSModuleType.values()).forEach(type -> extraProps.set(type.name(), type));
+        Arrays.asList(SourcesContent.values()).forEach(type -> extraProps.set(type.name(), type));
+    }
+
+    /**
+     * Service propagates build cancellation and other tasks failure into running compilations.
+     *
+     * @param project project
+     */
+    private void registerCancellationService(final Project project) {
+        final Provider<CancellationService> service = project.getGradle().getSharedServices()
+                .registerIfAbsent("teavmCancellation", CancellationService.class, spec ->
+                        spec.getParameters().getContinueOnFailure()
+                                .set(project.getGradle().getStartParameter().isContinueOnFailure()));
+        eventsListenerRegistry.onTaskCompletion(service);
+        project.getTasks().withType(TeavmCompileTask.class).configureEach(task -> {
+            task.getCancellationService().convention(service);
+            task.usesService(service);
+        });
     }
 
     /**
@@ -146,9 +252,15 @@ public class TeavmPlugin implements Plugin<Project> {
                     extension.isDebug(),
                     extension.getSourceSets(),
                     extension.getConfigurations(),
-                    extension.getExtraClassDirs());
+                    extension.getExtraClassDirs(),
+                    extension.isProjectDependenciesAsClasses());
             task.getClassPath().convention(cp.getDirectories());
             cp.dependencies(task.getDependencies());
+            final ClasspathNormalizationOptions normalization = extension.getClasspathNormalization();
+            task.getClasspathIgnore().convention(normalization.getIgnore());
+            task.getClasspathIgnoreManifest().convention(normalization.isIgnoreManifest());
+            task.getClasspathIgnoreMetaInf().convention(normalization.isIgnoreMetaInf());
+            task.getClasspathIgnoreProperties().convention(normalization.getIgnoreProperties());
 
             if (options.isSourceFilesCopied()) {
                 final SourcesBuilder src = new SourcesBuilder(project,
@@ -162,7 +274,11 @@ public class TeavmPlugin implements Plugin<Project> {
             }
 
             task.getTargetDir().convention(dir(project, extension.getTargetDir()));
-            task.getCacheDir().convention(dir(project, extension.getCacheDir()));
+            // separate cache for each task to avoid collisions in parallel compilations
+            task.getCacheDir().convention(dir(project, extension.getCacheDir()
+                    + ("compileTeavm".equals(task.getName()) ? "" : "-" + task.getName())));
+            task.getSourcesCacheDir().convention(dir(project, new File(project.getGradle().getGradleUserHomeDir(),
+                    "caches/teavm-sources").getAbsolutePath()));
 
             task.getMainClass().convention(extension.getMainClass());
             task.getEntryPointName().convention(extension.getEntryPointName());
@@ -170,9 +286,24 @@ public class TeavmPlugin implements Plugin<Project> {
             task.getTargetType().convention(extension.getTargetType());
             task.getJsModuleType().convention(extension.getJsModuleType());
             task.getWasmVersion().convention(extension.getWasmVersion());
+            task.getWasmGCRuntimeCopied().convention(extension.getWasmGC().isRuntimeCopied());
+            task.getWasmGCRuntimeModular().convention(extension.getWasmGC().isRuntimeModular());
+            task.getWasmDebugInfoLevel().convention(extension.getWasmGC().getDebugInfoLevel());
+            task.getWasmDebugInfoLocation().convention(extension.getWasmGC().getDebugInfoLocation());
 
             task.getStopOnErrors().convention(extension.isStopOnErrors());
             configureDevOptions(task, options);
+            task.getReproducible().convention(extension.isReproducible());
+            if (extension.isReproducible()) {
+                // links are relative paths into gradle home (machine-dependent)
+                task.getSourceFilesCopiedAsLocalLinks().convention(false);
+            }
+
+            task.getSourceMapSourcesPrefix().convention(extension.getSourceMapSourcesPrefix());
+            // prefixed paths are already machine-independent (and could not be combined with relative paths)
+            task.getSourceMapSourcesRelative().convention(extension.isSourceMapSourcesRelative()
+                    || extension.isReproducible() && extension.getSourceMapSourcesPrefix() == null);
+            task.getSourceMapSourcesContent().convention(extension.getSourceMapSourcesContent());
 
             task.getMaxTopLevelNames().convention(extension.getMaxTopLevelNames());
             task.getMinHeapSize().convention(extension.getMinHeapSize());
@@ -180,6 +311,18 @@ public class TeavmPlugin implements Plugin<Project> {
             task.getTransformers().convention(extension.getTransformers());
             task.getProperties().convention(extension.getProperties());
             task.getClassesToPreserve().convention(extension.getClassesToPreserve());
+            task.getUsedResourcesCopied().convention(extension.isUsedResourcesCopied());
+            task.getUsedResourcesPatterns().convention(extension.getUsedResourcesPatterns());
+            task.getWasmLoaderGenerated().convention(extension.isWasmLoaderGenerated());
+            task.getWasmModuleCached().convention(extension.isWasmModuleCached());
+
+            task.getProfiling().convention(extension.isProfiling());
+            task.getProfilingDir().convention(project.getLayout().getBuildDirectory().dir("reports/teavm"));
+            task.getProfilingHotMethods().convention(extension.getProfilingHotMethods());
+            task.getStallTimeout().convention(extension.getStallTimeout());
+            task.getStallCancel().convention(extension.isStallCancel());
+            task.getResultFile().convention(project.getLayout().getBuildDirectory()
+                    .file("reports/teavm/" + task.getName() + ".json"));
 
             final Task compileJava = project.getTasks().findByPath("classes");
             if (compileJava != null) {
@@ -188,11 +331,376 @@ public class TeavmPlugin implements Plugin<Project> {
         });
     }
 
+    /**
+     * Configures "teavmNativeLink" task, building executable from C files, generated by "compileTeavm" task.
+     * Also configures profile-guided optimization tasks chain: "teavmPgoInstrument" (instrumented build),
+     * "teavmPgoTrain" (profile collection), "teavmPgoLink" (optimized build) and "teavmPgoReport" (speedup
+     * measurement). All tasks are skipped if compilation target is not C.
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    @SuppressWarnings("checkstyle:ExecutableStatementCount")
+    private void configureNativeTasks(final Project project, final TeavmExtension extension) {
+        final TaskProvider<TeavmCompileTask> compile = project.getTasks()
+                .named("compileTeavm", TeavmCompileTask.class);
+        final Spec<Task> isC = t -> compile.get().getTargetType().get() == TeaVMTargetType.C;
+        final NativeOptions opts = extension.getNativeOptions();
+        final TaskProvider<TeavmNativeLinkTask> link = project.getTasks()
+                .register("teavmNativeLink", TeavmNativeLinkTask.class, task -> {
+                    task.getSourceDir().convention(compile.flatMap(TeavmCompileTask::getTargetDir));
+                    task.onlyIf(isC);
+                });
+
+        // gcc identifies profile files by object path, so instrumented and optimized builds share objects dir
+        final Provider<Directory> pgoObjects = project.getLayout().getBuildDirectory().dir("tmp/teavmPgo/obj");
+        final TaskProvider<TeavmPgoInstrumentTask> instrument = project.getTasks()
+                .register("teavmPgoInstrument", TeavmPgoInstrumentTask.class, task -> {
+                    task.getSourceDir().convention(compile.flatMap(TeavmCompileTask::getTargetDir));
+                    task.getProfileDir().convention(dir(project, opts.getPgoProfileDir()));
+                    task.getObjectsDir().set(pgoObjects);
+                    task.getExecutable().set(dir(project, opts.getTargetDir())
+                            .file(opts.getExecutableName() + "-instrumented"));
+                    task.onlyIf(isC);
+                });
+        final TaskProvider<TeavmPgoTrainTask> train = project.getTasks()
+                .register("teavmPgoTrain", TeavmPgoTrainTask.class, task -> {
+                    task.getDebug().convention(extension.isDebug());
+                    task.getExecutable().convention(instrument.flatMap(TeavmNativeLinkTask::getExecutable));
+                    task.getProfileDir().convention(instrument.flatMap(TeavmPgoInstrumentTask::getProfileDir));
+                    task.getWorkload().convention(opts.getPgoWorkload());
+                    task.getCompiler().convention(opts.getCompiler());
+                    task.getProfdataTool().convention(opts.getPgoProfdataTool());
+                    task.getWorkingDir().convention(project.getLayout().getProjectDirectory());
+                    task.onlyIf(isC);
+                });
+        final TaskProvider<TeavmPgoLinkTask> pgoLink = project.getTasks()
+                .register("teavmPgoLink", TeavmPgoLinkTask.class, task -> {
+                    task.getSourceDir().convention(compile.flatMap(TeavmCompileTask::getTargetDir));
+                    task.getProfileDir().convention(train.flatMap(TeavmPgoTrainTask::getProfileDir));
+                    task.getObjectsDir().set(pgoObjects);
+                    task.getExecutable().set(dir(project, opts.getTargetDir())
+                            .file(opts.getExecutableName() + "-pgo"));
+                    task.onlyIf(isC);
+                });
+        project.getTasks().register("teavmPgoReport", TeavmPgoReportTask.class, task -> {
+            task.getBaseline().convention(link.flatMap(TeavmNativeLinkTask::getExecutable));
+            task.getOptimized().convention(pgoLink.flatMap(TeavmNativeLinkTask::getExecutable));
+            task.getWorkload().convention(opts.getPgoWorkload());
+            task.getRuns().convention(opts.getPgoRuns());
+            task.getWorkingDir().convention(project.getLayout().getProjectDirectory());
+            task.getReportFile().convention(project.getLayout().getBuildDirectory()
+                    .file("reports/teavm/pgo.properties"));
+            task.onlyIf(isC);
+        });
+
+        project.getTasks().withType(TeavmNativeLinkTask.class).configureEach(task -> {
+            final DevOptions options = extension.isDev() ? extension.getDevOptions() : extension;
+            task.getDebug().convention(extension.isDebug());
+            task.getCompiler().convention(opts.getCompiler());
+            task.getCompilerArgs().convention(opts.getCompilerArgs());
+            task.getLinkerArgs().convention(opts.getLinkerArgs());
+            task.getSingleTranslationUnit().convention(opts.isSingleTranslationUnit());
+            task.getHeapDump().convention(options.isHeapDump());
+            task.getParallelism().convention(opts.getParallelism());
+            task.getObjectCacheDir().convention(dir(project, opts.getObjectCacheDir()));
+            task.getObjectsDir().convention(project.getLayout().getBuildDirectory()
+                    .dir("tmp/" + task.getName() + "/obj"));
+            task.getExecutable().convention(dir(project, opts.getTargetDir()).file(opts.getExecutableName()));
+        });
+    }
+
+    /**
+     * Configures "teavmBenchmark" task: benchmark methods are searched in configured source set and called from
+     * generated harness main class ("teavmBenchmarkGenerate", "compileTeavmBenchmarkHarness"). Harness is compiled
+     * with teavm ("compileTeavmBenchmark") into C (and built with "teavmBenchmarkNativeLink") or WASI module.
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    @SuppressWarnings("checkstyle:ExecutableStatementCount")
+    private void configureBenchmarkTasks(final Project project, final TeavmExtension extension) {
+        final BenchmarkOptions opts = extension.getBenchmark();
+        final Provider<SourceSet> sourceSet = project.provider(() -> project.getExtensions()
+                .getByType(SourceSetContainer.class).getByName(opts.getSourceSet()));
+        final Spec<Task> isC = t -> opts.getTargetType() == TeaVMTargetType.C;
+
+        final TaskProvider<TeavmBenchmarkGenerateTask> generate = project.getTasks()
+                .register("teavmBenchmarkGenerate", TeavmBenchmarkGenerateTask.class, task -> {
+                    task.getBenchmarkClasses().from(sourceSet.map(set -> set.getOutput().getClassesDirs()));
+                    task.getClasspath().from(sourceSet.map(SourceSet::getRuntimeClasspath));
+                    task.getWarmupIterations().convention(opts.getWarmupIterations());
+                    task.getMeasurementIterations().convention(opts.getMeasurementIterations());
+                    task.getIterationTime().convention(opts.getIterationTime());
+                    task.getSourcesDir().convention(project.getLayout().getBuildDirectory()
+                            .dir("generated/sources/teavmBenchmark"));
+                });
+        final TaskProvider<JavaCompile> harness = project.getTasks()
+                .register("compileTeavmBenchmarkHarness", JavaCompile.class, task -> {
+                    task.source(generate.flatMap(TeavmBenchmarkGenerateTask::getSourcesDir));
+                    task.setClasspath(project.files(sourceSet.map(set -> set.getOutput().getClassesDirs()),
+                            sourceSet.map(SourceSet::getRuntimeClasspath)));
+                    task.getDestinationDirectory().convention(project.getLayout().getBuildDirectory()
+                            .dir("classes/java/teavmBenchmark"));
+                    task.getOptions().setEncoding("UTF-8");
+                });
+        final TaskProvider<TeavmCompileTask> compile = project.getTasks()
+                .register("compileTeavmBenchmark", TeavmCompileTask.class, task -> {
+                    task.dependsOn(harness, sourceSet.map(SourceSet::getClassesTaskName));
+                    task.getClassPath().set(project.provider(() -> {
+                        final List<Directory> res = new ArrayList<>();
+                        res.add(harness.get().getDestinationDirectory().get());
+                        sourceSet.get().getOutput().getFiles().forEach(file ->
+                                res.add(project.getLayout().getProjectDirectory().dir(file.getAbsolutePath())));
+                        return res;
+                    }));
+                    task.getDependencies().from(sourceSet.map(SourceSet::getRuntimeClasspath));
+                    task.getMainClass().set(HarnessGenerator.HARNESS);
+                    task.getTargetType().set(opts.getTargetType());
+                    // provider without value for C: file name is not used (and extension value is ignored)
+                    task.getTargetFileName().set(project.provider(() ->
+                            opts.getTargetType() == TeaVMTargetType.C ? null : "benchmark.wasm"));
+                    task.getTargetDir().set(dir(project, opts.getTargetDir() + "/out"));
+                    task.getCacheDir().set(dir(project, opts.getTargetDir() + "/cache"));
+                    task.getStopOnErrors().set(true);
+                });
+        final TaskProvider<TeavmNativeLinkTask> link = project.getTasks()
+                .register("teavmBenchmarkNativeLink", TeavmNativeLinkTask.class, task -> {
+                    task.getSourceDir().convention(compile.flatMap(TeavmCompileTask::getTargetDir));
+                    task.getExecutable().set(dir(project, opts.getTargetDir()).file("benchmark"));
+                    task.onlyIf(isC);
+                });
+        project.getTasks().register("teavmBenchmark", TeavmBenchmarkTask.class, task -> {
+            if (opts.getTargetType() == TeaVMTargetType.C) {
+                task.getExecutable().convention(link.flatMap(TeavmNativeLinkTask::getExecutable));
+            } else {
+                task.getWasmFile().convention(compile.flatMap(t -> t.getTargetDir().file(t.getTargetFileName())));
+                task.dependsOn(compile);
+            }
+            task.getWasiRuntime().convention(opts.getWasiRuntime());
+            task.getJvmBaseline().convention(opts.isJvmBaseline());
+            task.getJvmClasspath().from(harness.flatMap(JavaCompile::getDestinationDirectory),
+                    sourceSet.map(set -> set.getOutput().getClassesDirs()),
+                    sourceSet.map(SourceSet::getRuntimeClasspath));
+            task.getMaxRatio().convention(opts.getMaxRatio());
+            task.getReportFile().convention(project.getLayout().getBuildDirectory()
+                    .file("reports/teavm/benchmark.csv"));
+        });
+    }
+
+    /**
+     * Configures "teavmRunWasi" task, executing WASI module, compiled by "compileTeavm" task, on JVM.
+     * Task is skipped if compilation target is not WASI (unless module is configured directly).
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    private void configureRunWasiTask(final Project project, final TeavmExtension extension) {
+        final TaskProvider<TeavmCompileTask> compile = project.getTasks()
+                .named("compileTeavm", TeavmCompileTask.class);
+        final WasiRunOptions opts = extension.getWasi();
+        project.getTasks().register("teavmRunWasi", TeavmRunWasiTask.class, task -> {
+            if (opts.getWasmFile() == null) {
+                task.getWasmFile().convention(compile.flatMap(t -> t.getTargetDir().file(t.getTargetFileName()
+                        .map(name -> name.isEmpty() ? "classes.wasm" : name).orElse("classes.wasm"))));
+                task.onlyIf(t -> compile.get().getTargetType().get() == TeaVMTargetType.WEBASSEMBLY_WASI);
+            } else {
+                task.getWasmFile().convention(project.getLayout().getProjectDirectory().file(opts.getWasmFile()));
+            }
+            task.getArgs().convention(opts.getArgs());
+        });
+    }
+
+    /**
+     * Configures "teavmTest" task, running test source set tests with teavm junit runner. Runner is configured with
+     * system properties, including extension compilation options (dev or prod).
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    private void configureTestTask(final Project project, final TeavmExtension extension) {
+        final TestOptions opts = extension.getTests();
+        project.getTasks().register("teavmTest", TeavmTestTask.class, task -> {
+            final SourceSet test = project.getExtensions().getByType(SourceSetContainer.class)
+                    .getByName(SourceSet.TEST_SOURCE_SET_NAME);
+            final DevOptions options = extension.isDev() ? extension.getDevOptions() : extension;
+            task.setDescription("Runs TeaVM JUnit tests");
+            task.setGroup("verification");
+            task.setTestClassesDirs(test.getOutput().getClassesDirs());
+            task.setClasspath(test.getRuntimeClasspath());
+            task.useJUnit();
+            task.setMaxParallelForks(Math.max(1, opts.getForks()));
+            task.getIncremental().convention(opts.isIncremental());
+            task.getStateFile().convention(dir(project, opts.getTargetDir()).file(".state.properties"));
+
+            final Map<String, Object> props = new LinkedHashMap<>();
+            props.put("teavm.junit.target", project.file(opts.getTargetDir()).getAbsolutePath());
+            props.put("teavm.junit.threads", String.valueOf(Math.max(1, opts.getThreads())));
+            final Set<TeaVMTargetType> targets = opts.getTargetTypes().isEmpty()
+                    ? Collections.singleton(extension.getTargetType()) : opts.getTargetTypes();
+            for (TeaVMTargetType type : targets) {
+                props.put(TEST_TARGETS.get(type), "true");
+            }
+            props.put("teavm.junit.js.runner", opts.getJsRunner());
+            props.put("teavm.junit.wasm.runner", opts.getWasmRunner());
+            if (opts.getWasiRunner() != null) {
+                props.put("teavm.junit.wasi.runner", opts.getWasiRunner());
+            }
+            if (opts.getNativeCompiler() != null) {
+                props.put("teavm.junit.c.compiler", opts.getNativeCompiler());
+            }
+            props.put("teavm.junit.optimized", String.valueOf(
+                    options.getOptimizationLevel() != TeaVMOptimizationLevel.SIMPLE));
+            props.put("teavm.junit.minified", String.valueOf(options.isObfuscated()));
+            props.put("teavm.junit.fastAnalysis", String.valueOf(options.isFastDependencyAnalysis()));
+            props.put("teavm.junit.sourceMaps", String.valueOf(options.isSourceMapsGenerated()));
+            props.put("teavm.junit.js.decodeStack", String.valueOf(options.isSourceMapsGenerated()));
+            props.putAll(opts.getProperties());
+            task.systemProperties(props);
+        });
+    }
+
+    /**
+     * Configures "teavmVerifyReproducible" task: compiles twice (with separate target and cache directories,
+     * not incrementally) and compares output files hashes. Attached to "check" task when reproducible mode enabled.
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    private void configureReproducibilityCheck(final Project project, final TeavmExtension extension) {
+        final List<TaskProvider<TeavmCompileTask>> compiles = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            final String out = "tmp/teavmReproducible/" + i;
+            compiles.add(project.getTasks().register("teavmReproducibleCompile" + i, TeavmCompileTask.class,
+                    task -> {
+                        task.getTargetDir().set(project.getLayout().getBuildDirectory().dir(out));
+                        task.getIncremental().set(false);
+                    }));
+        }
+        final TaskProvider<TeavmVerifyReproducibleTask> verify = project.getTasks()
+                .register("teavmVerifyReproducible", TeavmVerifyReproducibleTask.class, task -> {
+                    task.setDescription("Compiles twice and compares outputs to detect non reproducible builds");
+                    task.setGroup("verification");
+                    task.getFirstDir().convention(compiles.get(0).flatMap(TeavmCompileTask::getTargetDir));
+                    task.getSecondDir().convention(compiles.get(1).flatMap(TeavmCompileTask::getTargetDir));
+                    task.getReportFile().convention(project.getLayout().getBuildDirectory()
+                            .file("reports/teavm/reproducibility.txt"));
+                });
+        // second compilation must not run in parallel with the first one (worse for memory, no benefit)
+        compiles.get(1).configure(task -> task.mustRunAfter(compiles.get(0)));
+        project.getTasks().matching(task -> "check".equals(task.getName())).configureEach(task ->
+                task.dependsOn(project.provider(() -> extension.isReproducible()
+                        ? Collections.singletonList(verify) : Collections.emptyList())));
+    }
+
+    /**
+     * Configures "teavmDelta" task, creating binary deltas between previous and current "compileTeavm" outputs.
+     * When enabled in extension, task is executed after each compilation (finalizer).
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    private void configureDelta(final Project project, final TeavmExtension extension) {
+        final DeltaOptions opts = extension.getDelta();
+        final TaskProvider<TeavmCompileTask> compile = project.getTasks()
+                .named("compileTeavm", TeavmCompileTask.class);
+        final TaskProvider<TeavmDeltaTask> delta = project.getTasks()
+                .register("teavmDelta", TeavmDeltaTask.class, task -> {
+                    task.setDescription("Creates binary deltas between previous and current compilation outputs");
+                    task.getSourceDir().convention(compile.flatMap(TeavmCompileTask::getTargetDir));
+                    task.getFileExtensions().convention(opts.getExtensions());
+                    task.getBlockSize().convention(opts.getBlockSize());
+                    task.getBaseDir().convention(dir(project, opts.getBaseDir()));
+                    task.getDeltaDir().convention(dir(project, opts.getTargetDir()));
+                });
+        compile.configure(task -> {
+            if (opts.isEnabled()) {
+                task.finalizedBy(delta);
+            }
+        });
+    }
+
+    /**
+     * Configures "teavmHeapReport" task, analyzing heap dump of program compiled with heapDump option (C target).
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    private void configureHeapReport(final Project project, final TeavmExtension extension) {
+        final HeapReportOptions opts = extension.getHeapReport();
+        project.getTasks().register("teavmHeapReport", TeavmHeapReportTask.class, task -> {
+            task.setDescription("Analyzes teavm heap dump (C target)");
+            if (opts.getDumpFile() != null) {
+                task.getDumpFile().convention(project.getLayout().getProjectDirectory().file(opts.getDumpFile()));
+            }
+            if (opts.getBaselineFile() != null) {
+                task.getBaselineFile().convention(project.getLayout().getProjectDirectory()
+                        .file(opts.getBaselineFile()));
+            }
+            task.getTop().convention(opts.getTop());
+            task.getRetainers().convention(opts.isRetainers());
+            task.getReportFile().convention(project.getLayout().getBuildDirectory()
+                    .file("reports/teavm/heap.txt"));
+        });
+    }
+
+    /**
+     * Configures "teavmHeapSizing" task, measuring peak memory of compiled program (C executable, linked by
+     * "teavmNativeLink", or WASI module) under workload. Task is skipped for other targets. When heap sizing is
+     * applied, "compileTeavm" heap sizes are taken from overrides file (if exists).
+     *
+     * @param project   project
+     * @param extension extension
+     */
+    private void configureHeapSizing(final Project project, final TeavmExtension extension) {
+        final HeapSizingOptions opts = extension.getHeapSizing();
+        final TaskProvider<TeavmCompileTask> compile = project.getTasks()
+                .named("compileTeavm", TeavmCompileTask.class);
+        final TaskProvider<TeavmNativeLinkTask> link = project.getTasks()
+                .named("teavmNativeLink", TeavmNativeLinkTask.class);
+        project.getTasks().register("teavmHeapSizing", TeavmHeapSizingTask.class, task -> {
+            task.setDescription("Measures peak memory of compiled program (C or WASI) and computes heap sizes");
+            task.getDebug().convention(extension.isDebug());
+            task.getTargetType().convention(compile.flatMap(TeavmCompileTask::getTargetType));
+            task.getProgram().convention(task.getTargetType().flatMap(type -> type == TeaVMTargetType.C
+                    ? link.flatMap(TeavmNativeLinkTask::getExecutable)
+                    : compile.flatMap(t -> t.getTargetDir().file(t.getTargetFileName()
+                            .map(name -> name.isEmpty() ? "classes.wasm" : name).orElse("classes.wasm")))));
+            task.dependsOn(project.provider(() -> compile.get().getTargetType().get() == TeaVMTargetType.C
+                    ? link : compile));
+            task.getWorkload().convention(opts.getWorkload());
+            task.getRuns().convention(opts.getRuns());
+            task.getHeadroom().convention(opts.getHeadroom());
+            task.getCurrentMinHeapSize().convention(compile.flatMap(TeavmCompileTask::getMinHeapSize));
+            task.getCurrentMaxHeapSize().convention(compile.flatMap(TeavmCompileTask::getMaxHeapSize));
+            task.getWorkingDir().convention(project.getLayout().getProjectDirectory());
+            task.getOverridesFile().convention(project.getLayout().getProjectDirectory()
+                    .file(project.provider(opts::getOverridesFile)));
+            task.onlyIf(t -> {
+                final TeaVMTargetType type = compile.get().getTargetType().get();
+                return type == TeaVMTargetType.C || type == TeaVMTargetType.WEBASSEMBLY_WASI;
+            });
+        });
+        // options and file read lazily: configuration after plugin application and sizes measured in the same
+        // build are also used
+        compile.configure(task -> {
+            task.getMinHeapSize().convention(project.provider(() -> opts.isApplied()
+                    ? HeapSizes.read(project.file(opts.getOverridesFile()), HeapSizes.MIN_HEAP_SIZE,
+                    extension.getMinHeapSize())
+                    : extension.getMinHeapSize()));
+            task.getMaxHeapSize().convention(project.provider(() -> opts.isApplied()
+                    ? HeapSizes.read(project.file(opts.getOverridesFile()), HeapSizes.MAX_HEAP_SIZE,
+                    extension.getMaxHeapSize())
+                    : extension.getMaxHeapSize()));
+        });
+    }
+
     private void configureDevOptions(final TeavmCompileTask task, final DevOptions options) {
         task.getObfuscated().convention(options.isObfuscated());
         task.getStrict().convention(options.isStrict());
         task.getSourceFilesCopied().convention(options.isSourceFilesCopied());
         task.getSourceFilesCopiedAsLocalLinks().convention(options.isSourceFilesCopiedAsLocalLinks());
+        task.getSourceFilesCopiedIncrementally().convention(options.isSourceFilesCopiedIncrementally());
         task.getIncremental().convention(options.isIncremental());
         task.getDebugInformationGenerated().convention(options.isDebugInformationGenerated());
         task.getSourceMapsGenerated().convention(options.isSourceMapsGenerated());
@@ -0,0 +1,141 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import org.teavm.tooling.TeaVMTargetType;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TeaVM JUnit tests options (teavmTest task). Compilation options (optimization, minification, source maps, etc.)
+ * are taken from extension (dev or prod options).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class TestOptions {
+
+    /**
+     * Test compilation targets. By default, extension target type.
+     */
+    private Set<TeaVMTargetType> targetTypes = new LinkedHashSet<>();
+    /**
+     * Javascript tests runner: none (compile only), browser, browser-chrome, browser-firefox.
+     */
+    private String jsRunner = "none";
+    /**
+     * WASM tests runner: none (compile only), browser, browser-chrome, browser-firefox.
+     */
+    private String wasmRunner = "none";
+    /**
+     * WASI tests runner (e.g. "wasmtime"). Null to use teavm default.
+     */
+    private String wasiRunner;
+    /**
+     * C compiler for C tests (teavm.junit.c.compiler). Null to use teavm default.
+     */
+    private String nativeCompiler;
+    /**
+     * Parallel test compilation threads (teavm.junit.threads). By default, processors count.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Parallel test execution (test JVM forks).
+     */
+    private int forks = 1;
+    /**
+     * Run only tests affected by changes since the last successful run (test and main classes references are
+     * analyzed). Any dependency jar change leads to all tests execution.
+     */
+    private boolean incremental = true;
+    /**
+     * Compiled tests directory. By default, "build/teavm-test".
+     */
+    private String targetDir;
+    /**
+     * Additional teavm.junit.* system properties.
+     */
+    private Map<String, String> properties = new HashMap<>();
+
+    public Set<TeaVMTargetType> getTargetTypes() {
+        return targetTypes;
+    }
+
+    public void setTargetTypes(final Set<TeaVMTargetType> targetTypes) {
+        this.targetTypes = targetTypes;
+    }
+
+    public String getJsRunner() {
+        return jsRunner;
+    }
+
+    public void setJsRunner(final String jsRunner) {
+        this.jsRunner = jsRunner;
+    }
+
+    public String getWasmRunner() {
+        return wasmRunner;
+    }
+
+    public void setWasmRunner(final String wasmRunner) {
+        this.wasmRunner = wasmRunner;
+    }
+
+    public String getWasiRunner() {
+        return wasiRunner;
+    }
+
+    public void setWasiRunner(final String wasiRunner) {
+        this.wasiRunner = wasiRunner;
+    }
+
+    public String getNativeCompiler() {
+        return nativeCompiler;
+    }
+
+    public void setNativeCompiler(final String nativeCompiler) {
+        this.nativeCompiler = nativeCompiler;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(final int threads) {
+        this.threads = threads;
+    }
+
+    public int getForks() {
+        return forks;
+    }
+
+    public void setForks(final int forks) {
+        this.forks = forks;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public String getTargetDir() {
+        return targetDir;
+    }
+
+    public void setTargetDir(final String targetDir) {
+        this.targetDir = targetDir;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(final Map<String, String> properties) {
+        this.properties = properties;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import ru.vyarus.gradle.plugin.teavm.util.DependencyVersions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options for WASI module execution on JVM (with embedded pure-java WebAssembly runtime - Chicory).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class WasiRunOptions {
+
+    /**
+     * Chicory runtime version (resolved into "teavmWasi" configuration). By default, the version plugin was
+     * compiled with.
+     */
+    private String runtimeVersion = DependencyVersions.chicory();
+    /**
+     * Program arguments.
+     */
+    private List<String> args = new ArrayList<>();
+    /**
+     * Executed module. By default, compileTeavm output (WEBASSEMBLY_WASI target).
+     */
+    private String wasmFile;
+
+    public String getRuntimeVersion() {
+        return runtimeVersion;
+    }
+
+    public void setRuntimeVersion(final String runtimeVersion) {
+        this.runtimeVersion = runtimeVersion;
+    }
+
+    public List<String> getArgs() {
+        return args;
+    }
+
+    public void setArgs(final List<String> args) {
+        this.args = args;
+    }
+
+    public String getWasmFile() {
+        return wasmFile;
+    }
+
+    public void setWasmFile(final String wasmFile) {
+        this.wasmFile = wasmFile;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.vyarus.gradle.plugin.teavm;
+
+import org.teavm.backend.wasm.WasmDebugInfoLevel;
+import org.teavm.backend.wasm.WasmDebugInfoLocation;
+
+/**
+ * WebAssembly GC target options (WEBASSEMBLY_GC). Wasm GC module uses host garbage collector (no linear memory,
+ * so heap size options are not used) and requires JS runtime (glue), copied from teavm jar.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings({"checkstyle:ExplicitInitialization", "PMD.RedundantFieldInitializer"})
+public class WasmGCOptions {
+
+    /**
+     * Copy JS runtime (required to load module) into target directory as "[target file]-runtime.js"
+     * (e.g. "classes.wasm-runtime.js"). Minified runtime used when obfuscation enabled.
+     */
+    private boolean runtimeCopied = true;
+    /**
+     * Copy ES2015 module version of runtime (instead of script declaring global "TeaVM" object).
+     */
+    private boolean runtimeModular = false;
+    /**
+     * Debug information level (when debug information generation enabled). Values: FULL, DEOBFUSCATION
+     * (only information required for stack traces deobfuscation).
+     */
+    private WasmDebugInfoLevel debugInfoLevel = WasmDebugInfoLevel.DEOBFUSCATION;
+    /**
+     * Debug information location. Values: EXTERNAL (separate file), EMBEDDED (custom section inside module).
+     */
+    private WasmDebugInfoLocation debugInfoLocation = WasmDebugInfoLocation.EXTERNAL;
+
+    public boolean isRuntimeCopied() {
+        return runtimeCopied;
+    }
+
+    public void setRuntimeCopied(final boolean runtimeCopied) {
+        this.runtimeCopied = runtimeCopied;
+    }
+
+    public boolean isRuntimeModular() {
+        return runtimeModular;
+    }
+
+    public void setRuntimeModular(final boolean runtimeModular) {
+        this.runtimeModular = runtimeModular;
+    }
+
+    public WasmDebugInfoLevel getDebugInfoLevel() {
+        return debugInfoLevel;
+    }
+
+    public void setDebugInfoLevel(final WasmDebugInfoLevel debugInfoLevel) {
+        this.debugInfoLevel = debugInfoLevel;
+    }
+
+    public WasmDebugInfoLocation getDebugInfoLocation() {
+        return debugInfoLocation;
+    }
+
+    public void setDebugInfoLocation(final WasmDebugInfoLocation debugInfoLocation) {
+        this.debugInfoLocation = debugInfoLocation;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.vyarus.gradle.plugin.teavm.benchmark;
+
+import java.util.List;
+
+/**
+ * Detected benchmark method.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class BenchmarkMethod {
+
+    private final String type;
+    private final String method;
+    private final boolean staticMethod;
+    private final String returnType;
+    private final List<String> setup;
+
+    /**
+     * @param type         benchmark class (canonical name)
+     * @param method       method name
+     * @param staticMethod true for static method
+     * @param returnType   primitive type name, "void" or null for object
+     * @param setup        setup methods of benchmark class (called once before benchmark)
+     */
+    public BenchmarkMethod(final String type,
+                           final String method,
+                           final boolean staticMethod,
+                           final String returnType,
+                           final List<String> setup) {
+        this.type = type;
+        this.method = method;
+        this.staticMethod = staticMethod;
+        this.returnType = returnType;
+        this.setup = setup;
+    }
+
+    /**
+     * @return benchmark class (canonical name)
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return method name
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return true for static method
+     */
+    public boolean isStaticMethod() {
+        return staticMethod;
+    }
+
+    /**
+     * @return primitive type name, "void" or null for object
+     */
+    public String getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * @return setup methods (called once before benchmark)
+     */
+    public List<String> getSetup() {
+        return setup;
+    }
+
+    /**
+     * @return benchmark name (class.method)
+     */
+    public String getName() {
+        return type + "." + method;
+    }
+}
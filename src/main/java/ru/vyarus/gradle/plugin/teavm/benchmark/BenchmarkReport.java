@@ -0,0 +1,114 @@
+package ru.vyarus.gradle.plugin.teavm.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Benchmark results of teavm-compiled harness and JVM baseline.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class BenchmarkReport {
+
+    private static final String PREFIX = "BENCHMARK ";
+
+    private final Map<String, Double> teavm;
+    private final Map<String, Double> jvm;
+
+    /**
+     * @param teavm teavm results (ns/op)
+     * @param jvm   jvm results (ns/op), could be empty
+     */
+    public BenchmarkReport(final Map<String, Double> teavm, final Map<String, Double> jvm) {
+        this.teavm = teavm;
+        this.jvm = jvm;
+    }
+
+    /**
+     * @param output harness output
+     * @return results by benchmark name (ns/op)
+     */
+    public static Map<String, Double> parse(final String output) {
+        final Map<String, Double> res = new LinkedHashMap<>();
+        for (String line : output.split("\r?\n")) {
+            if (line.startsWith(PREFIX)) {
+                final String[] parts = line.substring(PREFIX.length()).trim().split(" ");
+                res.put(parts[0], Double.parseDouble(parts[1]));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * @param name benchmark name
+     * @return teavm/jvm time ratio or null if jvm result not available
+     */
+    public Double getRatio(final String name) {
+        final Double base = jvm.get(name);
+        final Double res = teavm.get(name);
+        return base == null || res == null || base == 0 ? null : res / base;
+    }
+
+    /**
+     * @return benchmark names
+     */
+    public Set<String> getNames() {
+        final Set<String> res = new TreeSet<>(teavm.keySet());
+        res.addAll(jvm.keySet());
+        return res;
+    }
+
+    /**
+     * @return results table for console
+     */
+    public String render() {
+        int width = "Benchmark".length();
+        for (String name : getNames()) {
+            width = Math.max(width, name.length());
+        }
+        final String format = "%-" + width + "s  %14s  %14s  %8s%n";
+        final StringBuilder res = new StringBuilder(String.format(Locale.ENGLISH, format,
+                "Benchmark", "JVM ns/op", "TeaVM ns/op", "Ratio"));
+        for (String name : getNames()) {
+            final Double ratio = getRatio(name);
+            res.append(String.format(Locale.ENGLISH, format, name, value(jvm.get(name)), value(teavm.get(name)),
+                    ratio == null ? "-" : String.format(Locale.ENGLISH, "%.2f", ratio)));
+        }
+        return res.toString();
+    }
+
+    /**
+     * Write results in CSV format (for CI history).
+     *
+     * @param file target file
+     * @throws IOException on write error
+     */
+    public void write(final File file) throws IOException {
+        final StringBuilder res = new StringBuilder("benchmark,jvm,teavm,ratio\n");
+        for (String name : getNames()) {
+            final Double ratio = getRatio(name);
+            res.append(name).append(',')
+                    .append(csv(jvm.get(name))).append(',')
+                    .append(csv(teavm.get(name))).append(',')
+                    .append(csv(ratio)).append('\n');
+        }
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        Files.writeString(file.toPath(), res.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static String value(final Double value) {
+        return value == null ? "-" : String.format(Locale.ENGLISH, "%.3f", value);
+    }
+
+    private static String csv(final Double value) {
+        return value == null ? "" : String.format(Locale.ENGLISH, "%.4f", value);
+    }
+}
@@ -0,0 +1,153 @@
+package ru.vyarus.gradle.plugin.teavm.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Searches benchmark methods in compiled classes. Benchmark methods are public methods without parameters,
+ * annotated with {@code @Benchmark} annotation (matched by simple name, so JMH annotation could be used).
+ * Public methods without parameters, annotated with {@code @Setup}, are called once before benchmark.
+ * Non-static benchmarks require public no-args constructor.
+ * <p>
+ * Classes are loaded (without initialization) in a separate class loader, which is closed after scan.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public final class BenchmarkScanner {
+
+    private static final String CLASS_EXT = ".class";
+
+    private BenchmarkScanner() {
+    }
+
+    /**
+     * @param classDirs directories with compiled classes to search benchmarks in
+     * @param classpath classpath required to load classes
+     * @return found benchmark methods (sorted by name)
+     * @throws IOException on classes read error
+     */
+    public static List<BenchmarkMethod> scan(final List<File> classDirs, final List<File> classpath)
+            throws IOException {
+        final List<URL> urls = new ArrayList<>();
+        for (File file : classDirs) {
+            urls.add(toUrl(file));
+        }
+        for (File file : classpath) {
+            urls.add(toUrl(file));
+        }
+        final List<BenchmarkMethod> res = new ArrayList<>();
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]),
+                ClassLoader.getPlatformClassLoader())) {
+            for (File dir : classDirs) {
+                for (String name : findClasses(dir)) {
+                    final Class<?> type;
+                    try {
+                        type = Class.forName(name, false, loader);
+                    } catch (ClassNotFoundException | LinkageError ex) {
+                        continue;
+                    }
+                    res.addAll(inspect(type));
+                }
+            }
+        }
+        res.sort(Comparator.comparing(BenchmarkMethod::getName));
+        return res;
+    }
+
+    private static List<BenchmarkMethod> inspect(final Class<?> type) {
+        final List<BenchmarkMethod> res = new ArrayList<>();
+        final List<Method> methods;
+        try {
+            methods = Arrays.asList(type.getMethods());
+        } catch (LinkageError ex) {
+            return res;
+        }
+        final List<String> setup = methods.stream()
+                .filter(method -> isAnnotated(method, "Setup") && method.getParameterCount() == 0
+                        && !Modifier.isStatic(method.getModifiers()))
+                .map(Method::getName)
+                .sorted()
+                .collect(Collectors.toList());
+        for (Method method : methods) {
+            if (!isAnnotated(method, "Benchmark")) {
+                continue;
+            }
+            final String problem = validate(type, method);
+            if (problem != null) {
+                System.out.println("WARNING: benchmark " + type.getName() + "." + method.getName()
+                        + " ignored: " + problem);
+                continue;
+            }
+            final Class<?> ret = method.getReturnType();
+            res.add(new BenchmarkMethod(type.getCanonicalName(), method.getName(),
+                    Modifier.isStatic(method.getModifiers()),
+                    ret.isPrimitive() ? ret.getName() : null,
+                    setup));
+        }
+        return res;
+    }
+
+    private static String validate(final Class<?> type, final Method method) {
+        String res = null;
+        if (method.getParameterCount() > 0) {
+            res = "method parameters are not supported";
+        } else if (type.getCanonicalName() == null || !Modifier.isPublic(type.getModifiers())
+                || type.isMemberClass() && !Modifier.isStatic(type.getModifiers())) {
+            res = "class must be public top-level or static nested class";
+        } else if (!Modifier.isStatic(method.getModifiers())) {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                res = "class is abstract";
+            } else if (Arrays.stream(type.getConstructors()).noneMatch(ctor -> ctor.getParameterCount() == 0)) {
+                res = "public no-args constructor required";
+            }
+        }
+        return res;
+    }
+
+    private static boolean isAnnotated(final Method method, final String annotation) {
+        for (Annotation ann : method.getAnnotations()) {
+            if (annotation.equals(ann.annotationType().getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> findClasses(final File dir) throws IOException {
+        if (!dir.isDirectory()) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.walk(dir.toPath())) {
+            return files.map(path -> dir.toPath().relativize(path).toString().replace('\\', '/'))
+                    .filter(path -> path.endsWith(CLASS_EXT) && !path.endsWith("module-info.class")
+                            && !path.endsWith("package-info.class"))
+                    .map(path -> path.substring(0, path.length() - CLASS_EXT.length()).replace('/', '.'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static URL toUrl(final File file) throws IOException {
+        try {
+            return file.toURI().toURL();
+        } catch (MalformedURLException ex) {
+            throw new IOException("Invalid classpath entry: " + file.getAbsolutePath(), ex);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package ru.vyarus.gradle.plugin.teavm.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Generates benchmark harness main class. Harness has no dependencies (no reflection) and so could be compiled
+ * with teavm and executed on JVM to compare results.
+ * <p>
+ * Each iteration calls benchmark method in batches (batch size grows to reduce time measurement overhead) until
+ * iteration time elapses. Benchmark result is an average time per operation among measurement iterations.
+ * Method results are consumed to prevent dead code elimination. Output line per benchmark:
+ * {@code BENCHMARK <name> <ns/op>}.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class HarnessGenerator {
+
+    /**
+     * Generated harness class name.
+     */
+    public static final String HARNESS = "teavm.harness.BenchmarkHarness";
+
+    private static final String NL = "\n";
+    private static final String INDENT = "        ";
+
+    private HarnessGenerator() {
+    }
+
+    /**
+     * @param benchmarks            benchmarks
+     * @param warmupIterations      warmup iterations
+     * @param measurementIterations measurement iterations
+     * @param iterationTime         iteration time (ms)
+     * @param targetDir             target sources directory
+     * @throws IOException on write error
+     */
+    public static void generate(final List<BenchmarkMethod> benchmarks,
+                                final int warmupIterations,
+                                final int measurementIterations,
+                                final int iterationTime,
+                                final File targetDir) throws IOException {
+        final int dot = HARNESS.lastIndexOf('.');
+        final File file = new File(targetDir, HARNESS.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParentFile().toPath());
+        final StringBuilder src = new StringBuilder(1024)
+                .append("package ").append(HARNESS, 0, dot).append(';').append(NL).append(NL)
+                .append("public final class ").append(HARNESS.substring(dot + 1)).append(" {").append(NL).append(NL)
+                .append("    private static final int WARMUP = ").append(Math.max(0, warmupIterations))
+                .append(';').append(NL)
+                .append("    private static final int MEASUREMENT = ").append(Math.max(1, measurementIterations))
+                .append(';').append(NL)
+                .append("    private static final long TIME = ").append(Math.max(1, iterationTime))
+                .append("L * 1_000_000L;").append(NL)
+                .append("    private static long sink;").append(NL).append(NL)
+                .append("    private interface Op {").append(NL)
+                .append("        void run() throws Throwable;").append(NL)
+                .append("    }").append(NL).append(NL)
+                .append("    public static void main(String[] args) throws Throwable {").append(NL);
+        for (BenchmarkMethod bench : benchmarks) {
+            appendBenchmark(src, bench);
+        }
+        src.append("        if (sink == Long.MIN_VALUE) {").append(NL)
+                .append("            System.out.println(sink);").append(NL)
+                .append("        }").append(NL)
+                .append("    }").append(NL).append(NL)
+                .append("    private static void measure(String name, Op op) throws Throwable {").append(NL)
+                .append("        for (int i = 0; i < WARMUP; i++) {").append(NL)
+                .append("            iteration(op);").append(NL)
+                .append("        }").append(NL)
+                .append("        double total = 0;").append(NL)
+                .append("        for (int i = 0; i < MEASUREMENT; i++) {").append(NL)
+                .append("            total += iteration(op);").append(NL)
+                .append("        }").append(NL)
+                .append("        System.out.println(\"BENCHMARK \" + name + \" \" + (total / MEASUREMENT));")
+                .append(NL)
+                .append("    }").append(NL).append(NL)
+                .append("    private static double iteration(Op op) throws Throwable {").append(NL)
+                .append("        long ops = 0;").append(NL)
+                .append("        long batch = 1;").append(NL)
+                .append("        long start = System.nanoTime();").append(NL)
+                .append("        long now;").append(NL)
+                .append("        do {").append(NL)
+                .append("            for (long i = 0; i < batch; i++) {").append(NL)
+                .append("                op.run();").append(NL)
+                .append("            }").append(NL)
+                .append("            ops += batch;").append(NL)
+                .append("            now = System.nanoTime();").append(NL)
+                .append("            if (now - start < TIME / 100) {").append(NL)
+                .append("                batch *= 2;").append(NL)
+                .append("            }").append(NL)
+                .append("        } while (now - start < TIME);").append(NL)
+                .append("        return (double) (now - start) / ops;").append(NL)
+                .append("    }").append(NL)
+                .append('}').append(NL);
+        Files.writeString(file.toPath(), src.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static void appendBenchmark(final StringBuilder src, final BenchmarkMethod bench) {
+        src.append(INDENT).append('{').append(NL);
+        final String target;
+        if (bench.isStaticMethod()) {
+            target = bench.getType();
+        } else {
+            target = "bench";
+            src.append(INDENT).append("    final ").append(bench.getType()).append(" bench = new ")
+                    .append(bench.getType()).append("();").append(NL);
+            for (String setup : bench.getSetup()) {
+                src.append(INDENT).append("    bench.").append(setup).append("();").append(NL);
+            }
+        }
+        final String call = target + "." + bench.getMethod() + "()";
+        src.append(INDENT).append("    measure(\"").append(bench.getName()).append("\", () -> ")
+                .append(consume(bench.getReturnType(), call)).append(");").append(NL)
+                .append(INDENT).append('}').append(NL);
+    }
+
+    private static String consume(final String type, final String call) {
+        final String res;
+        if (type == null) {
+            res = "sink += System.identityHashCode(" + call + ")";
+        } else {
+            switch (type) {
+                case "void":
+                    res = call;
+                    break;
+                case "boolean":
+                    res = "sink += " + call + " ? 1 : 0";
+                    break;
+                case "float":
+                case "double":
+                    res = "sink += Double.doubleToRawLongBits(" + call + ")";
+                    break;
+                default:
+                    res = "sink += " + call;
+                    break;
+            }
+        }
+        return "{ " + res + "; }";
+    }
+}
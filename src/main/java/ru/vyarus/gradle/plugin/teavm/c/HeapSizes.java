@@ -0,0 +1,79 @@
+package ru.vyarus.gradle.plugin.teavm.c;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+
+/**
+ * Heap sizes computation from measured peak memory and heap sizes overrides file (properties with "minHeapSize"
+ * and "maxHeapSize" keys, in mb) resolution.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class HeapSizes {
+
+    /**
+     * Min heap size key.
+     */
+    public static final String MIN_HEAP_SIZE = "minHeapSize";
+    /**
+     * Max heap size key.
+     */
+    public static final String MAX_HEAP_SIZE = "maxHeapSize";
+
+    private static final long MB = 1024 * 1024;
+    private static final int PERCENT = 100;
+
+    private HeapSizes() {
+    }
+
+    /**
+     * Min size is a measured peak (rounded up, at least 1 mb) and max size is a peak with headroom (not lower
+     * than min size).
+     *
+     * @param peak     measured peak memory (bytes)
+     * @param headroom max heap headroom (percent)
+     * @return min and max heap sizes (mb)
+     */
+    public static int[] suggest(final long peak, final int headroom) {
+        final int min = (int) Math.max(1, (peak + MB - 1) / MB);
+        final int max = (int) Math.max(min, (peak * (PERCENT + headroom) / PERCENT + MB - 1) / MB);
+        return new int[]{min, max};
+    }
+
+    /**
+     * @param file overrides file
+     * @param key  heap size key
+     * @param def  default value (used when file or key not exists)
+     * @return heap size from file or default value
+     * @throws IllegalStateException on read error or invalid value
+     */
+    public static int read(final File file, final String key, final int def) {
+        if (!file.exists()) {
+            return def;
+        }
+        final Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            props.load(in);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read heap sizes file " + file.getAbsolutePath(), ex);
+        }
+        final String value = props.getProperty(key);
+        if (value == null) {
+            return def;
+        }
+        try {
+            final int res = Integer.parseInt(value.trim());
+            if (res <= 0) {
+                throw new NumberFormatException("positive value required");
+            }
+            return res;
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException("Invalid " + key + " value '" + value + "' in heap sizes file "
+                    + file.getAbsolutePath(), ex);
+        }
+    }
+}
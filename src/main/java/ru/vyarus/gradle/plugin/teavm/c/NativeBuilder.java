@@ -0,0 +1,322 @@
+package ru.vyarus.gradle.plugin.teavm.c;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles teavm-generated C files with local compiler (gcc or clang) and links them into executable.
+ * <p>
+ * Translation units are compiled in parallel (separate compiler processes). Compiled object files are cached
+ * (ccache-like) by hash of compiler version, compiler arguments, all headers and compiled file content, so only
+ * changed translation units are compiled again. Object files are always placed into the same location (objects
+ * directory), even when taken from cache (some compiler features, like profiling data, depend on object location).
+ * <p>
+ * Used cached objects are touched (at most once a day) and objects not used for {@link #MAX_UNUSED_DAYS} days are
+ * removed (cleanup performed at most once a day, like for extracted source jars).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class NativeBuilder {
+
+    /**
+     * Unused cached objects removal period.
+     */
+    public static final int MAX_UNUSED_DAYS = 30;
+
+    private static final String C_EXT = ".c";
+    private static final String TMP_EXT = ".tmp";
+    private static final String CLEANUP_MARKER = "cleanup.marker";
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final String compiler;
+    private final List<String> compilerArgs;
+    private final List<String> linkerArgs;
+    private final int parallelism;
+    private final File objectCache;
+    private final File objectsDir;
+    private final String extraKey;
+
+    private final AtomicInteger compiled = new AtomicInteger();
+    private final AtomicInteger cached = new AtomicInteger();
+
+    /**
+     * @param compiler     compiler executable
+     * @param compilerArgs compiler arguments
+     * @param linkerArgs   linker arguments
+     * @param parallelism  max parallel compiler processes
+     * @param objectCache  object files cache directory
+     * @param objectsDir   directory for compiled objects
+     * @param extraKey     additional cache key (for inputs not visible for builder, could be null)
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public NativeBuilder(final String compiler,
+                         final List<String> compilerArgs,
+                         final List<String> linkerArgs,
+                         final int parallelism,
+                         final File objectCache,
+                         final File objectsDir,
+                         final String extraKey) {
+        this.compiler = compiler;
+        this.compilerArgs = compilerArgs;
+        this.linkerArgs = linkerArgs;
+        this.parallelism = Math.max(1, parallelism);
+        this.objectCache = objectCache;
+        this.objectsDir = objectsDir;
+        this.extraKey = extraKey == null ? "" : extraKey;
+    }
+
+    /**
+     * Searches C files for compilation. Teavm generates "all.c" file, including all other files, which could be
+     * used for single translation unit compilation.
+     *
+     * @param sourceDir             directory with generated C files
+     * @param singleTranslationUnit true to compile only "all.c" file
+     * @return files to compile (relative paths)
+     * @throws IOException on file system error
+     */
+    public static List<String> findUnits(final File sourceDir, final boolean singleTranslationUnit)
+            throws IOException {
+        final File all = new File(sourceDir, "all.c");
+        if (singleTranslationUnit && all.exists()) {
+            final List<String> res = new ArrayList<>();
+            res.add(all.getName());
+            return res;
+        }
+        try (Stream<Path> files = Files.walk(sourceDir.toPath())) {
+            return files.filter(path -> path.toString().endsWith(C_EXT) && !path.equals(all.toPath()))
+                    .map(path -> sourceDir.toPath().relativize(path).toString().replace('\\', '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Compile translation units (in parallel).
+     *
+     * @param sourceDir directory with generated C files
+     * @param units     C files to compile (relative paths)
+     * @return compiled object files
+     * @throws IOException on compilation error
+     */
+    public List<File> compile(final File sourceDir, final List<String> units) throws IOException {
+        final String commonKey = commonKey(sourceDir);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism,
+                Math.max(1, units.size())));
+        final List<File> res = new ArrayList<>();
+        try {
+            final List<Future<File>> futures = new ArrayList<>();
+            for (String unit : units) {
+                futures.add(executor.submit(() -> compileUnit(sourceDir, unit, commonKey)));
+            }
+            for (Future<File> future : futures) {
+                res.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Native compilation interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof IOException ? (IOException) ex.getCause()
+                    : new IOException("Native compilation failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return res;
+    }
+
+    /**
+     * Link compiled objects into executable. Objects are passed with response file to avoid command line
+     * length limits.
+     *
+     * @param objects    object files
+     * @param executable target executable
+     * @throws IOException on linking error
+     */
+    public void link(final List<File> objects, final File executable) throws IOException {
+        Files.createDirectories(executable.getAbsoluteFile().getParentFile().toPath());
+        final File rsp = new File(objectsDir, "objects.rsp");
+        Files.writeString(rsp.toPath(), objects.stream()
+                .map(file -> "\"" + file.getAbsolutePath().replace("\\", "\\\\") + "\"")
+                .collect(Collectors.joining("\n")));
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(compiler);
+        cmd.addAll(compilerArgs);
+        cmd.add("-o");
+        cmd.add(executable.getAbsolutePath());
+        cmd.add("@" + rsp.getAbsolutePath());
+        cmd.addAll(linkerArgs);
+        exec(cmd, objectsDir);
+    }
+
+    /**
+     * @return count of compiled translation units
+     */
+    public int getCompiled() {
+        return compiled.get();
+    }
+
+    /**
+     * @return count of translation units taken from cache
+     */
+    public int getCached() {
+        return cached.get();
+    }
+
+    /**
+     * Remove cached objects not used for {@link #MAX_UNUSED_DAYS} days and abandoned temporary files. Performed at
+     * most once a day.
+     *
+     * @return count of removed cached objects
+     * @throws IOException on file system error
+     */
+    public int evictUnused() throws IOException {
+        final File marker = new File(objectCache, CLEANUP_MARKER);
+        final long now = System.currentTimeMillis();
+        if (marker.exists() && now - marker.lastModified() < DAY) {
+            return 0;
+        }
+        Files.createDirectories(objectCache.toPath());
+        Files.writeString(marker.toPath(), String.valueOf(now));
+        final long threshold = now - MAX_UNUSED_DAYS * DAY;
+        int removed = 0;
+        final File[] dirs = objectCache.listFiles(File::isDirectory);
+        for (File dir : dirs == null ? new File[0] : dirs) {
+            final File[] files = dir.listFiles();
+            for (File file : files == null ? new File[0] : files) {
+                final boolean tmp = file.getName().endsWith(TMP_EXT);
+                if (file.lastModified() < (tmp ? now - DAY : threshold) && Files.deleteIfExists(file.toPath())) {
+                    removed += tmp ? 0 : 1;
+                }
+            }
+            final String[] left = dir.list();
+            if (left != null && left.length == 0) {
+                Files.deleteIfExists(dir.toPath());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Execute command.
+     *
+     * @param cmd command
+     * @param dir working directory
+     * @return command output
+     * @throws IOException if command fails
+     */
+    public static String exec(final List<String> cmd, final File dir) throws IOException {
+        final Process process = new ProcessBuilder(cmd)
+                .directory(dir)
+                .redirectErrorStream(true)
+                .start();
+        final String output;
+        try (InputStream in = process.getInputStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            output = out.toString(StandardCharsets.UTF_8);
+        }
+        try {
+            final int code = process.waitFor();
+            if (code != 0) {
+                throw new IOException("Command failed with exit code " + code + ": " + String.join(" ", cmd)
+                        + (output.isEmpty() ? "" : "\n\n" + output));
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Command interrupted: " + String.join(" ", cmd), ex);
+        }
+        return output;
+    }
+
+    private File compileUnit(final File sourceDir, final String unit, final String commonKey) throws IOException {
+        final File source = new File(sourceDir, unit);
+        final File object = new File(objectsDir, unit.substring(0, unit.length() - C_EXT.length()) + ".o");
+        final String key = FsUtils.sha256(source) + "-" + commonKey;
+        final File cachedObject = new File(objectCache, key.substring(0, 2) + "/" + key + ".o");
+        Files.createDirectories(object.getParentFile().toPath());
+        if (cachedObject.exists()) {
+            Files.copy(cachedObject.toPath(), object.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            touch(cachedObject);
+            cached.incrementAndGet();
+        } else {
+            final List<String> cmd = new ArrayList<>();
+            cmd.add(compiler);
+            cmd.addAll(compilerArgs);
+            cmd.add("-I" + sourceDir.getAbsolutePath());
+            cmd.add("-c");
+            cmd.add(source.getAbsolutePath());
+            cmd.add("-o");
+            cmd.add(object.getAbsolutePath());
+            exec(cmd, objectsDir);
+            // put into cache (with temp file to avoid partial files for concurrent builds)
+            Files.createDirectories(cachedObject.getParentFile().toPath());
+            final File tmp = new File(cachedObject.getParentFile(), key + "." + UUID.randomUUID() + TMP_EXT);
+            Files.copy(object.toPath(), tmp.toPath());
+            Files.move(tmp.toPath(), cachedObject.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            compiled.incrementAndGet();
+        }
+        return object;
+    }
+
+    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private void touch(final File file) {
+        // avoid writes on each build: day precision is enough for eviction
+        final long now = System.currentTimeMillis();
+        if (now - file.lastModified() > DAY) {
+            file.setLastModified(now);
+        }
+    }
+
+    private String commonKey(final File sourceDir) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+        Files.createDirectories(objectsDir.toPath());
+        final List<String> versionCmd = new ArrayList<>();
+        versionCmd.add(compiler);
+        versionCmd.add("--version");
+        update(digest, exec(versionCmd, objectsDir));
+        update(digest, String.join(" ", compilerArgs));
+        update(digest, extraKey);
+        // any header change invalidates all objects (no preprocessing like in ccache)
+        try (Stream<Path> files = Files.walk(sourceDir.toPath())) {
+            for (Path header : files.filter(path -> path.toString().endsWith(".h"))
+                    .sorted().collect(Collectors.toList())) {
+                update(digest, sourceDir.toPath().relativize(header).toString().replace('\\', '/'));
+                update(digest, FsUtils.sha256(header.toFile()));
+            }
+        }
+        return FsUtils.toHex(digest.digest());
+    }
+
+    private void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
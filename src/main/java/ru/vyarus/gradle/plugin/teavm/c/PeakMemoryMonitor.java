@@ -0,0 +1,99 @@
+package ru.vyarus.gradle.plugin.teavm.c;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs native executable and tracks its peak resident memory (Linux only: "VmHWM" value from
+ * "/proc/[pid]/status" polled during execution). High water mark value is monotonic, so only allocations made
+ * right before process exit (after the last poll) could be missed.
+ * <p>
+ * Resident memory includes code, stack and libc allocations, so measured value is an upper bound for heap usage.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class PeakMemoryMonitor {
+
+    private static final int POLL_INTERVAL = 5;
+    private static final int KB = 1024;
+    private static final String HWM = "VmHWM:";
+
+    private long peak;
+    private String output;
+
+    /**
+     * @return true if memory could be tracked on current os
+     */
+    public static boolean isSupported() {
+        return Files.isDirectory(Paths.get("/proc/self"));
+    }
+
+    /**
+     * @param cmd command
+     * @param dir working directory
+     * @throws IOException on execution error or non-zero exit code
+     */
+    public void run(final List<String> cmd, final File dir) throws IOException {
+        final File out = File.createTempFile("teavm-heap", ".out");
+        try {
+            final Process process = new ProcessBuilder(cmd)
+                    .directory(dir)
+                    .redirectErrorStream(true)
+                    .redirectOutput(out)
+                    .start();
+            final Path status = Paths.get("/proc/" + process.pid() + "/status");
+            peak = 0;
+            while (process.isAlive()) {
+                peak = Math.max(peak, readHwm(status));
+                Thread.sleep(POLL_INTERVAL);
+            }
+            output = Files.readString(out.toPath(), StandardCharsets.UTF_8);
+            final int code = process.waitFor();
+            if (code != 0) {
+                throw new IOException("Command failed with exit code " + code + ": " + String.join(" ", cmd)
+                        + (output.isEmpty() ? "" : "\n\n" + output));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Command interrupted: " + String.join(" ", cmd), ex);
+        } finally {
+            Files.deleteIfExists(out.toPath());
+        }
+    }
+
+    /**
+     * @return peak resident memory (bytes)
+     */
+    public long getPeak() {
+        return peak;
+    }
+
+    /**
+     * @return process output
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    private long readHwm(final Path status) {
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(HWM)) {
+                    // e.g. "VmHWM:	   10240 kB"
+                    return Long.parseLong(line.substring(HWM.length()).trim().toLowerCase(Locale.ENGLISH)
+                            .replace("kb", "").trim()) * KB;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // process exited between checks
+        }
+        return 0;
+    }
+}
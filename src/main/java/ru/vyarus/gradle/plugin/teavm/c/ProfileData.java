@@ -0,0 +1,137 @@
+package ru.vyarus.gradle.plugin.teavm.c;
+
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Profile-guided optimization support for gcc and clang.
+ * <p>
+ * Gcc writes ".gcda" file for each object (named by mangled object path, so instrumented and optimized objects
+ * must be compiled into the same location) and reads them directly. Clang writes raw profiles (".profraw"), which
+ * must be merged with llvm-profdata into single ".profdata" file.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class ProfileData {
+
+    private static final String PROFRAW = ".profraw";
+    private static final String PROFDATA = "default.profdata";
+
+    private ProfileData() {
+    }
+
+    /**
+     * @param compiler compiler executable
+     * @param dir      working directory
+     * @return true if compiler is clang (otherwise gcc assumed)
+     * @throws IOException if compiler version can't be resolved
+     */
+    public static boolean isClang(final String compiler, final File dir) throws IOException {
+        return NativeBuilder.exec(Arrays.asList(compiler, "--version"), dir)
+                .toLowerCase(Locale.ENGLISH).contains("clang");
+    }
+
+    /**
+     * @param profileDir profile data directory
+     * @return compiler arguments for instrumented build
+     */
+    public static List<String> generateArgs(final File profileDir) {
+        final List<String> res = new ArrayList<>();
+        res.add("-fprofile-generate=" + profileDir.getAbsolutePath());
+        return res;
+    }
+
+    /**
+     * @param clang      true for clang
+     * @param profileDir profile data directory
+     * @return compiler arguments for optimized build
+     */
+    public static List<String> useArgs(final boolean clang, final File profileDir) {
+        final List<String> res = new ArrayList<>();
+        if (clang) {
+            res.add("-fprofile-use=" + new File(profileDir, PROFDATA).getAbsolutePath());
+        } else {
+            res.add("-fprofile-use=" + profileDir.getAbsolutePath());
+            // workload may not cover all files and profile counters could be inconsistent
+            res.add("-fprofile-correction");
+            res.add("-Wno-missing-profile");
+        }
+        return res;
+    }
+
+    /**
+     * Merge clang raw profiles into single file (required by clang). Does nothing for gcc.
+     *
+     * @param clang      true for clang
+     * @param tool       llvm-profdata executable
+     * @param profileDir profile data directory
+     * @throws IOException on merge error
+     */
+    public static void merge(final boolean clang, final String tool, final File profileDir) throws IOException {
+        if (!clang) {
+            return;
+        }
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(tool);
+        cmd.add("merge");
+        cmd.add("-output=" + new File(profileDir, PROFDATA).getAbsolutePath());
+        for (Path file : files(profileDir)) {
+            if (file.toString().endsWith(PROFRAW)) {
+                cmd.add(file.toAbsolutePath().toString());
+            }
+        }
+        NativeBuilder.exec(cmd, profileDir);
+    }
+
+    /**
+     * @param profileDir profile data directory
+     * @return true if directory contains profile data
+     * @throws IOException on file system error
+     */
+    public static boolean exists(final File profileDir) throws IOException {
+        return profileDir.exists() && !files(profileDir).isEmpty();
+    }
+
+    /**
+     * Used as additional object files cache key for optimized build (to recompile objects when profile changes).
+     *
+     * @param profileDir profile data directory
+     * @return hash of all profile files (except clang raw profiles)
+     * @throws IOException on file system error
+     */
+    public static String hash(final File profileDir) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+        for (Path file : files(profileDir)) {
+            if (!file.toString().endsWith(PROFRAW)) {
+                digest.update(profileDir.toPath().relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(FsUtils.sha256(file.toFile()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return FsUtils.toHex(digest.digest());
+    }
+
+    private static List<Path> files(final File dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir.toPath())) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+}
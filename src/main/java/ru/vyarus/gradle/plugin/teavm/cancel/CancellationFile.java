@@ -0,0 +1,90 @@
+package ru.vyarus.gradle.plugin.teavm.cancel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Compilation cancellation token: file, created by gradle side (other task failed) and checked by compilation
+ * worker. File is used because worker classes are loaded in a separate classloader (and could be moved into a
+ * separate process).
+ * <p>
+ * File existence is polled by a separate daemon thread (started with {@link #start()}), so teavm progress
+ * callbacks only check volatile flag.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class CancellationFile implements AutoCloseable {
+
+    private static final long CHECK_INTERVAL = 100;
+
+    private final File file;
+    private final Thread poller;
+    private volatile String reason;
+
+    public CancellationFile(final File file) {
+        this.file = file;
+        this.poller = new Thread(this::poll, "teavm-cancellation-poller");
+        poller.setDaemon(true);
+    }
+
+    /**
+     * Request cancellation.
+     *
+     * @param file   token file
+     * @param reason cancellation reason
+     */
+    public static void cancel(final File file, final String reason) {
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            Files.writeString(file.toPath(), reason);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to create cancellation file " + file.getAbsolutePath(), ex);
+        }
+    }
+
+    /**
+     * Start polling token file.
+     */
+    public void start() {
+        poller.start();
+    }
+
+    /**
+     * @return true if cancellation requested
+     */
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    /**
+     * @return cancellation reason or null if not cancelled
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public void close() {
+        poller.interrupt();
+    }
+
+    private void poll() {
+        try {
+            while (reason == null) {
+                if (file.exists()) {
+                    try {
+                        reason = Files.readString(file.toPath());
+                    } catch (IOException ex) {
+                        reason = "unknown reason";
+                    }
+                } else {
+                    Thread.sleep(CHECK_INTERVAL);
+                }
+            }
+        } catch (InterruptedException ex) {
+            // compilation finished
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.vyarus.gradle.plugin.teavm.cancel;
+
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradle.tooling.events.task.TaskFailureResult;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Propagates other tasks failure into running teavm compilations. Each compilation registers its cancellation
+ * token file (see {@link CancellationFile}), which is created when other task failed (without --continue gradle
+ * would not start new tasks, so there is no need to complete running compilations).
+ * <p>
+ * Build cancellation (Ctrl-C, continuous build restart) is not handled here: gradle interrupts worker threads
+ * and compilation worker checks interruption (public api only).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public abstract class CancellationService implements BuildService<CancellationService.Params>,
+        OperationCompletionListener, AutoCloseable {
+
+    private final Map<String, File> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> cleanups = new ConcurrentHashMap<>();
+
+    /**
+     * Register running compilation. Compilation is performed asynchronously (task action completes right after
+     * work submission), so registration is removed only when task completion event received.
+     *
+     * @param task    task path
+     * @param token   cancellation token file
+     * @param cleanup action to perform after task completion
+     */
+    public void register(final String task, final File token, final Runnable cleanup) {
+        tokens.put(task, token);
+        cleanups.put(task, cleanup);
+    }
+
+    /**
+     * Unregister finished compilation.
+     *
+     * @param task task path
+     */
+    public void unregister(final String task) {
+        tokens.remove(task);
+        final Runnable cleanup = cleanups.remove(task);
+        if (cleanup != null) {
+            cleanup.run();
+        }
+    }
+
+    /**
+     * Cancel all running compilations.
+     *
+     * @param reason cancellation reason
+     */
+    public void cancelAll(final String reason) {
+        tokens.values().forEach(file -> CancellationFile.cancel(file, reason));
+        tokens.clear();
+    }
+
+    @Override
+    public void onFinish(final FinishEvent event) {
+        if (event instanceof TaskFinishEvent) {
+            final String task = ((TaskFinishEvent) event).getDescriptor().getTaskPath();
+            unregister(task);
+            if (!getParameters().getContinueOnFailure().get() && event.getResult() instanceof TaskFailureResult
+                    && !tokens.isEmpty()) {
+                cancelAll("Task " + task + " failed");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        // build finished: nothing should be running at this point
+        cancelAll("Build finished");
+        cleanups.keySet().forEach(this::unregister);
+    }
+
+    /**
+     * Service parameters.
+     */
+    public interface Params extends BuildServiceParameters {
+
+        /**
+         * @return true if gradle started with --continue
+         */
+        Property<Boolean> getContinueOnFailure();
+    }
+}
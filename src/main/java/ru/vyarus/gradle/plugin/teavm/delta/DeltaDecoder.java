@@ -0,0 +1,105 @@
+package ru.vyarus.gradle.plugin.teavm.delta;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Applies delta, created with {@link DeltaEncoder}, to the old file version (reference client implementation,
+ * also used to verify generated deltas).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class DeltaDecoder {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private DeltaDecoder() {
+    }
+
+    /**
+     * @param oldFile old file version
+     * @param delta   delta file
+     * @param target  file to write new version into
+     * @throws IOException on read or write error or broken delta
+     */
+    public static void apply(final File oldFile, final File delta, final File target) throws IOException {
+        try (RandomAccessFile old = new RandomAccessFile(oldFile, "r");
+             InputStream in = new BufferedInputStream(Files.newInputStream(delta.toPath()));
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target.toPath()))) {
+            final byte[] magic = new byte[DeltaEncoder.MAGIC.length];
+            if (in.read(magic) != magic.length || !Arrays.equals(magic, DeltaEncoder.MAGIC)
+                    || in.read() != DeltaEncoder.VERSION) {
+                throw new IOException("Not a delta file: " + delta.getAbsolutePath());
+            }
+            if (readVarint(in) != old.length()) {
+                throw new IOException("Delta was created for a different file: " + oldFile.getAbsolutePath());
+            }
+            final long size = readVarint(in);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            long written = 0;
+            int op = in.read();
+            while (op != DeltaEncoder.END) {
+                if (op == DeltaEncoder.COPY) {
+                    old.seek(readVarint(in));
+                    written += transfer(old::read, out, readVarint(in), buffer);
+                } else if (op == DeltaEncoder.ADD) {
+                    written += transfer(in::read, out, readVarint(in), buffer);
+                } else {
+                    throw new IOException("Broken delta file: " + delta.getAbsolutePath());
+                }
+                op = in.read();
+            }
+            if (written != size) {
+                throw new IOException("Broken delta file (size mismatch): " + delta.getAbsolutePath());
+            }
+        }
+    }
+
+    private static long transfer(final Reader reader, final OutputStream out, final long length, final byte[] buffer)
+            throws IOException {
+        long rest = length;
+        while (rest > 0) {
+            final int read = reader.read(buffer, 0, (int) Math.min(buffer.length, rest));
+            if (read < 0) {
+                throw new IOException("Unexpected end of data");
+            }
+            out.write(buffer, 0, read);
+            rest -= read;
+        }
+        return length;
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static long readVarint(final InputStream in) throws IOException {
+        long res = 0;
+        int shift = 0;
+        int value = in.read();
+        while (true) {
+            if (value < 0) {
+                throw new IOException("Unexpected end of delta");
+            }
+            res |= (long) (value & 0x7F) << shift;
+            if ((value & 0x80) == 0) {
+                return res;
+            }
+            shift += 7;
+            value = in.read();
+        }
+    }
+
+    /**
+     * Bytes source.
+     */
+    @FunctionalInterface
+    private interface Reader {
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+}
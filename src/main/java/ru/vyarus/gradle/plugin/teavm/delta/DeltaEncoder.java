@@ -0,0 +1,192 @@
+package ru.vyarus.gradle.plugin.teavm.delta;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Block-matching binary delta (rsync-like): old file is indexed by fixed-size blocks hashes and new file is scanned
+ * with rolling hash, so moved and unchanged code regions become copy instructions and only changed bytes are
+ * stored. Both files are memory-mapped (not loaded into heap) and delta is written as a stream, so bundle size is
+ * not limited by heap. Files larger than 2 GB are not supported (single mapped buffer, int positions).
+ * <p>
+ * Delta format (all numbers are unsigned LEB128 varints):
+ * <pre>
+ * "TVMD" version(1) oldSize newSize
+ * instructions:
+ *   1 offset length     - copy bytes from old file
+ *   2 length bytes      - add literal bytes
+ *   0                   - end
+ * </pre>
+ * Decoder verifies only old file size: client must check old file hash before applying delta.
+ * Use {@link DeltaDecoder} to apply delta.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class DeltaEncoder {
+
+    /**
+     * Delta file marker.
+     */
+    public static final byte[] MAGIC = {'T', 'V', 'M', 'D'};
+    /**
+     * Format version.
+     */
+    public static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int COPY = 1;
+    static final int ADD = 2;
+
+    private static final int MOD = 65_521;
+    private static final int SHIFT = 16;
+
+    private DeltaEncoder() {
+    }
+
+    /**
+     * @param oldFile   previous file version
+     * @param newFile   new file version
+     * @param delta     delta file to write
+     * @param blockSize matching block size (smaller block - better matching, but bigger index)
+     * @return delta size
+     * @throws IOException on read or write error or when file is larger than 2 GB
+     */
+    public static long encode(final File oldFile, final File newFile, final File delta, final int blockSize)
+            throws IOException {
+        try (FileChannel oldChannel = FileChannel.open(oldFile.toPath(), StandardOpenOption.READ);
+             FileChannel newChannel = FileChannel.open(newFile.toPath(), StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(delta.toPath()))) {
+            checkSize(oldFile, oldChannel);
+            checkSize(newFile, newChannel);
+            final ByteBuffer old = oldChannel.map(FileChannel.MapMode.READ_ONLY, 0, oldChannel.size());
+            final ByteBuffer cur = newChannel.map(FileChannel.MapMode.READ_ONLY, 0, newChannel.size());
+            out.write(MAGIC);
+            out.write(VERSION);
+            writeVarint(out, old.limit());
+            writeVarint(out, cur.limit());
+            scan(old, cur, index(old, blockSize), blockSize, out);
+            out.write(END);
+        }
+        return delta.length();
+    }
+
+    private static void checkSize(final File file, final FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Delta could not be created for files larger than 2 GB: "
+                    + file.getAbsolutePath());
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "PMD.CognitiveComplexity"})
+    private static void scan(final ByteBuffer old,
+                             final ByteBuffer cur,
+                             final Map<Integer, Integer> index,
+                             final int block,
+                             final OutputStream out) throws IOException {
+        final int size = cur.limit();
+        int literal = 0;
+        int pos = 0;
+        int[] hash = size >= block ? hash(cur, 0, block) : null;
+        while (hash != null) {
+            final Integer candidate = index.get(combine(hash));
+            if (candidate != null && equal(old, candidate, cur, pos, block)) {
+                int from = candidate;
+                int start = pos;
+                // extend match backwards (into pending literal)
+                while (start > literal && from > 0 && old.get(from - 1) == cur.get(start - 1)) {
+                    from--;
+                    start--;
+                }
+                int end = pos + block;
+                int oldEnd = candidate + block;
+                while (end < size && oldEnd < old.limit() && old.get(oldEnd) == cur.get(end)) {
+                    end++;
+                    oldEnd++;
+                }
+                writeAdd(out, cur, literal, start);
+                out.write(COPY);
+                writeVarint(out, from);
+                writeVarint(out, end - start);
+                literal = end;
+                pos = end;
+                hash = pos + block <= size ? hash(cur, pos, block) : null;
+            } else if (pos + block < size) {
+                // roll window one byte forward
+                final int outByte = cur.get(pos) & 0xFF;
+                final int inByte = cur.get(pos + block) & 0xFF;
+                hash[0] = Math.floorMod(hash[0] - outByte + inByte, MOD);
+                hash[1] = Math.floorMod(hash[1] - block * outByte + hash[0], MOD);
+                pos++;
+            } else {
+                hash = null;
+            }
+        }
+        writeAdd(out, cur, literal, size);
+    }
+
+    private static Map<Integer, Integer> index(final ByteBuffer old, final int block) {
+        final Map<Integer, Integer> res = new HashMap<>();
+        for (int pos = 0; pos + block <= old.limit(); pos += block) {
+            // the first occurrence wins
+            res.putIfAbsent(combine(hash(old, pos, block)), pos);
+        }
+        return res;
+    }
+
+    private static int[] hash(final ByteBuffer buffer, final int pos, final int block) {
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < block; i++) {
+            a = (a + (buffer.get(pos + i) & 0xFF)) % MOD;
+            b = (b + a) % MOD;
+        }
+        return new int[]{a, b};
+    }
+
+    private static int combine(final int... hash) {
+        return hash[1] << SHIFT | hash[0];
+    }
+
+    private static boolean equal(final ByteBuffer old, final int oldPos,
+                                 final ByteBuffer cur, final int curPos, final int length) {
+        if (oldPos + length > old.limit()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (old.get(oldPos + i) != cur.get(curPos + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeAdd(final OutputStream out, final ByteBuffer cur, final int from, final int to)
+            throws IOException {
+        if (to > from) {
+            out.write(ADD);
+            writeVarint(out, to - from);
+            for (int i = from; i < to; i++) {
+                out.write(cur.get(i));
+            }
+        }
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    static void writeVarint(final OutputStream out, final long value) throws IOException {
+        long rest = value;
+        while ((rest & ~0x7FL) != 0) {
+            out.write((int) (rest & 0x7F | 0x80));
+            rest >>>= 7;
+        }
+        out.write((int) rest);
+    }
+}
@@ -0,0 +1,180 @@
+package ru.vyarus.gradle.plugin.teavm.diagnostic;
+
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+
+/**
+ * Compilation stall detector. Teavm reports compilation progress (phase start and steps) and, when no progress
+ * reported during timeout, watchdog writes diagnostic report (current phase, threads dump and heap histogram).
+ * Report is written again after progress resumption and the next stall. Only when cancellation is enabled (compile
+ * thread provided), compilation is cancelled if there is still no progress after the second timeout: teavm is
+ * notified on the next progress callback and compilation thread is interrupted (in case it is blocked).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public class StallWatchdog implements AutoCloseable {
+
+    private static final int HISTOGRAM_LINES = 50;
+    private static final long MIN_CHECK_INTERVAL = 100;
+    private static final long MAX_CHECK_INTERVAL = 5000;
+
+    private final long timeout;
+    private final File reportFile;
+    private final Thread compileThread;
+    private final Thread watcher;
+
+    private volatile long lastProgress = System.currentTimeMillis();
+    private volatile String phase = "STARTING";
+    private volatile boolean reported;
+    private volatile boolean cancelled;
+
+    /**
+     * @param timeout       stall timeout in milliseconds
+     * @param reportFile    diagnostic report file
+     * @param compileThread compilation thread to interrupt after the second timeout (null to only report stalls)
+     */
+    public StallWatchdog(final long timeout, final File reportFile, final Thread compileThread) {
+        this.timeout = timeout;
+        this.reportFile = reportFile;
+        this.compileThread = compileThread;
+        this.watcher = new Thread(this::watch, "teavm-stall-watchdog");
+        watcher.setDaemon(true);
+    }
+
+    /**
+     * Start watching.
+     */
+    public void start() {
+        watcher.start();
+    }
+
+    /**
+     * Called on each teavm progress callback.
+     *
+     * @param phase current phase
+     */
+    public void progress(final String phase) {
+        this.phase = phase;
+        lastProgress = System.currentTimeMillis();
+        // stall resolved
+        reported = false;
+    }
+
+    /**
+     * @return true if compilation must be cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return stall description (for error message)
+     */
+    public String getDescription() {
+        return "No compilation progress in phase " + phase + " during "
+                + DurationFormatter.format(timeout * 2) + " (diagnostic report: " + reportFile.getAbsolutePath() + ")";
+    }
+
+    @Override
+    public void close() {
+        watcher.interrupt();
+    }
+
+    private void watch() {
+        final long interval = Math.max(MIN_CHECK_INTERVAL, Math.min(MAX_CHECK_INTERVAL, timeout / 4));
+        try {
+            while (!cancelled) {
+                Thread.sleep(interval);
+                final long stall = System.currentTimeMillis() - lastProgress;
+                if (stall >= timeout && !reported) {
+                    reported = true;
+                    report(stall);
+                }
+                if (compileThread != null && stall >= timeout * 2) {
+                    cancelled = true;
+                    System.out.println("\nCancelling compilation: " + getDescription());
+                    compileThread.interrupt();
+                }
+            }
+        } catch (InterruptedException ex) {
+            // watchdog closed
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void report(final long stall) {
+        final StringBuilder res = new StringBuilder(10_000)
+                .append("Teavm compilation stall detected at ").append(LocalDateTime.now()).append('\n')
+                .append("Phase: ").append(phase).append('\n')
+                .append("No progress during: ").append(DurationFormatter.format(stall)).append("\n\n")
+                .append("Threads:\n\n");
+        for (ThreadInfo info : ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)) {
+            appendThread(res, info);
+        }
+        res.append("\nHeap histogram (top ").append(HISTOGRAM_LINES).append(" lines):\n\n");
+        try {
+            res.append(histogram());
+        } catch (Exception ex) {
+            res.append("Not available: ").append(ex.getMessage()).append('\n');
+        }
+        try {
+            Files.createDirectories(reportFile.getAbsoluteFile().getParentFile().toPath());
+            Files.writeString(reportFile.toPath(), res);
+            System.out.println("\nNo compilation progress in phase " + phase + " during "
+                    + DurationFormatter.format(stall) + ", diagnostic report: " + reportFile.getAbsolutePath());
+        } catch (IOException ex) {
+            System.err.println("Failed to write stall report: " + ex.getMessage());
+        }
+    }
+
+    // ThreadInfo.toString() shows only 8 frames
+    private static void appendThread(final StringBuilder res, final ThreadInfo info) {
+        res.append('"').append(info.getThreadName()).append("\" #").append(info.getThreadId())
+                .append(' ').append(info.getThreadState());
+        if (info.getLockName() != null) {
+            res.append(" on ").append(info.getLockName());
+        }
+        if (info.getLockOwnerName() != null) {
+            res.append(" owned by \"").append(info.getLockOwnerName()).append('"');
+        }
+        res.append('\n');
+        final StackTraceElement[] trace = info.getStackTrace();
+        for (int i = 0; i < trace.length; i++) {
+            res.append("\tat ").append(trace[i]).append('\n');
+            for (MonitorInfo monitor : info.getLockedMonitors()) {
+                if (monitor.getLockedStackDepth() == i) {
+                    res.append("\t-  locked ").append(monitor).append('\n');
+                }
+            }
+        }
+        for (LockInfo lock : info.getLockedSynchronizers()) {
+            res.append("\t- locked synchronizer ").append(lock).append('\n');
+        }
+        res.append('\n');
+    }
+
+    private static String histogram() throws Exception {
+        final String out = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram",
+                new Object[]{new String[0]},
+                new String[]{String[].class.getName()});
+        final String[] lines = out.split("\n");
+        final StringBuilder res = new StringBuilder();
+        for (int i = 0; i < Math.min(lines.length, HISTOGRAM_LINES + 2); i++) {
+            res.append(lines[i]).append('\n');
+        }
+        return res.toString();
+    }
+}
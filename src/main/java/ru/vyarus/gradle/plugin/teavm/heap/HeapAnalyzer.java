@@ -0,0 +1,167 @@
+package ru.vyarus.gradle.plugin.teavm.heap;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Analyzes heap dump in two passes with bounded memory:
+ * <ol>
+ *     <li>Objects counted by class and object index (id, class, size) written into temporary file</li>
+ *     <li>References decoded and resolved through memory-mapped index (binary search by id), so incoming
+ *     references are aggregated by referrer class</li>
+ * </ol>
+ * Only per-class aggregates are kept in memory. Index lookup requires objects sorted by id (teavm writes
+ * objects in heap walk order), otherwise retainers are not computed.
+ * <p>
+ * Retainers are incoming references (shallow): this is not a dominator tree, but it shows which structures
+ * hold the most instances (and bytes) of the class.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class HeapAnalyzer {
+
+    private HeapAnalyzer() {
+    }
+
+    /**
+     * @param dump       heap dump file
+     * @param tmpDir     directory for temporary index file
+     * @param retainers  true to compute retainers (second pass)
+     * @return analysis result
+     * @throws IOException on read error
+     */
+    public static HeapSummary analyze(final File dump, final File tmpDir, final boolean retainers)
+            throws IOException {
+        final HeapSummary res = new HeapSummary();
+        final HeapDumpReader reader = new HeapDumpReader(dump);
+        final File index = new File(tmpDir, dump.getName() + ".index");
+        Files.createDirectories(tmpDir.toPath());
+        try {
+            final boolean[] flags = index(reader, index, res);
+            if (retainers) {
+                if (!flags[0]) {
+                    res.skipRetainers("objects are not ordered by id");
+                } else if (!flags[1]) {
+                    res.skipRetainers("no reference fields information in dump");
+                } else {
+                    collectReferences(reader, index, res);
+                }
+            }
+        } finally {
+            // could fail on windows while index is still mapped (file is in task temp dir anyway)
+            FileUtils.deleteQuietly(index);
+        }
+        return res;
+    }
+
+    /**
+     * First pass: objects counted and index written.
+     *
+     * @return true if objects sorted by id and true if dump contains references
+     */
+    private static boolean[] index(final HeapDumpReader reader, final File index, final HeapSummary res)
+            throws IOException {
+        final boolean[] flags = {true, false};
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(index.toPath())))) {
+            final long[] last = {Long.MIN_VALUE};
+            reader.read((id, cls, size) -> {
+                res.addObject(cls.getName(), size);
+                flags[0] &= id > last[0];
+                flags[1] |= cls.hasReferences();
+                last[0] = id;
+                out.writeLong(id);
+                out.writeInt(cls.getIndex());
+                out.writeInt((int) Math.min(size, Integer.MAX_VALUE));
+            }, false);
+        }
+        return flags;
+    }
+
+    private static void collectReferences(final HeapDumpReader reader, final File index, final HeapSummary res)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(index.toPath(), StandardOpenOption.READ)) {
+            final ObjectIndex objects = new ObjectIndex(channel);
+            reader.read(new HeapDumpReader.Visitor() {
+                @Override
+                public void reference(final HeapClass from, final long target) {
+                    final long pos = objects.find(target);
+                    if (pos >= 0) {
+                        final HeapClass cls = reader.getClasses().get(objects.classIndex(pos));
+                        res.addReference(from.getName(), cls.getName(), objects.size(pos));
+                    }
+                }
+
+                @Override
+                public void object(final long id, final HeapClass cls, final long size) {
+                    // counted in the first pass
+                }
+            }, true);
+        }
+    }
+
+    /**
+     * Memory-mapped sorted objects index: records of object id (long), class index (int) and size (int).
+     */
+    private static class ObjectIndex {
+        private static final int RECORD = 16;
+        private static final int ID_SIZE = 8;
+        private static final int INT_SIZE = 4;
+        // multiple of record size
+        private static final long SEGMENT = 1L << 30;
+
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+        private final long count;
+
+        ObjectIndex(final FileChannel channel) throws IOException {
+            final long size = channel.size();
+            count = size / RECORD;
+            for (long pos = 0; pos < size; pos += SEGMENT) {
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(SEGMENT, size - pos)));
+            }
+        }
+
+        long find(final long id) {
+            long low = 0;
+            long high = count - 1;
+            while (low <= high) {
+                final long mid = (low + high) >>> 1;
+                final long value = id(mid);
+                if (value < id) {
+                    low = mid + 1;
+                } else if (value > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        int classIndex(final long record) {
+            final long pos = record * RECORD + ID_SIZE;
+            return segments.get((int) (pos / SEGMENT)).getInt((int) (pos % SEGMENT));
+        }
+
+        long size(final long record) {
+            final long pos = record * RECORD + ID_SIZE + INT_SIZE;
+            return segments.get((int) (pos / SEGMENT)).getInt((int) (pos % SEGMENT));
+        }
+
+        private long id(final long record) {
+            final long pos = record * RECORD;
+            return segments.get((int) (pos / SEGMENT)).getLong((int) (pos % SEGMENT));
+        }
+    }
+}
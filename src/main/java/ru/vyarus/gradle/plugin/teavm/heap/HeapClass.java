@@ -0,0 +1,123 @@
+package ru.vyarus.gradle.plugin.teavm.heap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class from teavm heap dump.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class HeapClass {
+
+    private final int index;
+    private long id;
+    private String name;
+    private long superclass;
+    private int size;
+    private long item;
+    private boolean primitive;
+    private final List<Integer> referenceOffsets = new ArrayList<>();
+    private boolean referenceArray;
+
+    public HeapClass(final int index) {
+        this.index = index;
+    }
+
+    /**
+     * @return class index in dump (classes order)
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return superclass id or 0
+     */
+    public long getSuperclass() {
+        return superclass;
+    }
+
+    public void setSuperclass(final long superclass) {
+        this.superclass = superclass;
+    }
+
+    /**
+     * @return instance size (array header size for arrays)
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(final int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return array item class id or 0 (not array)
+     */
+    public long getItem() {
+        return item;
+    }
+
+    public void setItem(final long item) {
+        this.item = item;
+    }
+
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    public void setPrimitive(final boolean primitive) {
+        this.primitive = primitive;
+    }
+
+    /**
+     * Resolved after reading all classes: declared and inherited reference fields.
+     *
+     * @return reference fields offsets (from object start)
+     */
+    public List<Integer> getReferenceOffsets() {
+        return referenceOffsets;
+    }
+
+    /**
+     * @return true for array of references (resolved after reading all classes)
+     */
+    public boolean isReferenceArray() {
+        return referenceArray;
+    }
+
+    public void setReferenceArray(final boolean referenceArray) {
+        this.referenceArray = referenceArray;
+    }
+
+    /**
+     * @return true if class instances could reference other objects
+     */
+    public boolean hasReferences() {
+        return referenceArray || !referenceOffsets.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,348 @@
+package ru.vyarus.gradle.plugin.teavm.heap;
+
+import ru.vyarus.gradle.plugin.teavm.sourcemap.JsonTokenizer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming reader for heap dump, written by teavm C runtime (heapDump option). Dump is a json document:
+ * <pre>
+ * {"pointerSize": 8,
+ *  "classes": [{"id": .., "name": "..", "superclass": .., "size": .., "item": ..,
+ *               "fields": [{"name": "..", "type": "object", "offset": ..}]}],
+ *  "objects": [{"id": .., "class": .., "data": "[hex object memory]"}],
+ *  "stack": [..]}
+ * </pre>
+ * Classes are read into memory (small), objects are streamed one by one: object data is never accumulated (only
+ * reference fields are decoded while data is read), so dump size is not limited by memory. Reference fields
+ * ("object" and "array" types) are read by declared offsets (including superclass fields); reference array
+ * elements follow array header (array class size, aligned by pointer size). Pointers are little-endian.
+ * <p>
+ * Unknown properties are ignored.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class HeapDumpReader {
+
+    private static final int DEFAULT_POINTER_SIZE = 8;
+    private static final Set<String> REFERENCE_TYPES = new HashSet<>(Arrays.asList("object", "array"));
+
+    private final File file;
+    private final List<HeapClass> classes = new ArrayList<>();
+    private final Map<Long, HeapClass> classesById = new HashMap<>();
+    private HeapClass unknown;
+    private int pointerSize = DEFAULT_POINTER_SIZE;
+
+    public HeapDumpReader(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return dump classes (available after {@link #read(Visitor, boolean)}), including "[unknown]" class used
+     * for objects with unknown class
+     */
+    public List<HeapClass> getClasses() {
+        return classes;
+    }
+
+    /**
+     * @return pointer size
+     */
+    public int getPointerSize() {
+        return pointerSize;
+    }
+
+    /**
+     * Read dump (could be called multiple times for multi-pass analysis).
+     *
+     * @param visitor    objects visitor
+     * @param references true to decode object references (otherwise object data only counted)
+     * @throws IOException on read error
+     */
+    public void read(final Visitor visitor, final boolean references) throws IOException {
+        classes.clear();
+        classesById.clear();
+        unknown = null;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            final JsonTokenizer json = new JsonTokenizer(reader);
+            json.expect('{');
+            while (!json.consume('}')) {
+                final String key = json.readString();
+                json.expect(':');
+                switch (key) {
+                    case "pointerSize":
+                        pointerSize = Integer.parseInt(readPrimitive(json));
+                        break;
+                    case "classes":
+                        readClasses(json);
+                        break;
+                    case "objects":
+                        readObjects(json, visitor, references);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+                json.consume(',');
+            }
+        }
+        initUnknownClass();
+    }
+
+    private void readClasses(final JsonTokenizer json) throws IOException {
+        final Map<HeapClass, List<Integer>> declared = new HashMap<>();
+        json.expect('[');
+        while (!json.consume(']')) {
+            final HeapClass cls = new HeapClass(classes.size());
+            final List<Integer> offsets = new ArrayList<>();
+            json.expect('{');
+            while (!json.consume('}')) {
+                final String key = json.readString();
+                json.expect(':');
+                readClassProperty(json, key, cls, offsets);
+                json.consume(',');
+            }
+            classes.add(cls);
+            classesById.put(cls.getId(), cls);
+            declared.put(cls, offsets);
+            json.consume(',');
+        }
+        for (HeapClass cls : classes) {
+            HeapClass current = cls;
+            // superclass chain (with protection from broken dumps)
+            int depth = 0;
+            while (current != null && depth++ < classes.size()) {
+                cls.getReferenceOffsets().addAll(declared.getOrDefault(current, Collections.emptyList()));
+                current = current.getSuperclass() == 0 ? null : classesById.get(current.getSuperclass());
+            }
+            cls.getReferenceOffsets().sort(Integer::compareTo);
+            if (cls.getItem() != 0) {
+                final HeapClass item = classesById.get(cls.getItem());
+                cls.setReferenceArray(item != null && !item.isPrimitive());
+            }
+        }
+        initUnknownClass();
+    }
+
+    private void readClassProperty(final JsonTokenizer json, final String key,
+                                   final HeapClass cls, final List<Integer> offsets) throws IOException {
+        switch (key) {
+            case "id":
+                cls.setId(Long.parseLong(readPrimitive(json)));
+                break;
+            case "name":
+                cls.setName(json.readString());
+                break;
+            case "superclass":
+                cls.setSuperclass(readId(json));
+                break;
+            case "size":
+                cls.setSize(Integer.parseInt(readPrimitive(json)));
+                break;
+            case "item":
+                cls.setItem(readId(json));
+                break;
+            case "primitive":
+                cls.setPrimitive(!"false".equals(readPrimitive(json)));
+                break;
+            case "fields":
+                readFields(json, offsets);
+                break;
+            default:
+                json.skipValue();
+        }
+    }
+
+    private void readFields(final JsonTokenizer json, final List<Integer> offsets) throws IOException {
+        json.expect('[');
+        while (!json.consume(']')) {
+            String type = null;
+            int offset = -1;
+            json.expect('{');
+            while (!json.consume('}')) {
+                final String key = json.readString();
+                json.expect(':');
+                if ("type".equals(key)) {
+                    type = json.readString();
+                } else if ("offset".equals(key)) {
+                    offset = Integer.parseInt(readPrimitive(json));
+                } else {
+                    json.skipValue();
+                }
+                json.consume(',');
+            }
+            if (offset >= 0 && REFERENCE_TYPES.contains(type)) {
+                offsets.add(offset);
+            }
+            json.consume(',');
+        }
+    }
+
+    private void initUnknownClass() {
+        if (unknown == null) {
+            unknown = new HeapClass(classes.size());
+            unknown.setName("[unknown]");
+            classes.add(unknown);
+        }
+    }
+
+    private void readObjects(final JsonTokenizer json, final Visitor visitor, final boolean references)
+            throws IOException {
+        // objects before classes: all objects would be unknown
+        initUnknownClass();
+        json.expect('[');
+        while (!json.consume(']')) {
+            long id = 0;
+            HeapClass cls = unknown;
+            long size = -1;
+            json.expect('{');
+            while (!json.consume('}')) {
+                final String key = json.readString();
+                json.expect(':');
+                switch (key) {
+                    case "id":
+                        id = Long.parseLong(readPrimitive(json));
+                        break;
+                    case "class":
+                        cls = classesById.getOrDefault(Long.parseLong(readPrimitive(json)), unknown);
+                        break;
+                    case "data":
+                        size = readData(json, cls, references && cls.hasReferences() ? visitor : null);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+                json.consume(',');
+            }
+            visitor.object(id, cls, size < 0 ? cls.getSize() : size);
+            json.consume(',');
+        }
+    }
+
+    private long readData(final JsonTokenizer json, final HeapClass cls, final Visitor visitor)
+            throws IOException {
+        final DataDecoder decoder = new DataDecoder(cls, visitor);
+        json.readString(decoder);
+        return decoder.getSize();
+    }
+
+    private long readId(final JsonTokenizer json) throws IOException {
+        final String value = readPrimitive(json);
+        return "null".equals(value) ? 0 : Long.parseLong(value);
+    }
+
+    private static String readPrimitive(final JsonTokenizer json) throws IOException {
+        final StringWriter out = new StringWriter();
+        json.copyValue(out);
+        return out.toString().trim();
+    }
+
+    /**
+     * Heap objects visitor.
+     */
+    public interface Visitor {
+
+        /**
+         * Called for each non-null reference (before {@link #object(long, HeapClass, long)} call for the
+         * same object). Called only when references decoding requested.
+         *
+         * @param from   referrer object class
+         * @param target referenced object id
+         * @throws IOException on processing error
+         */
+        default void reference(final HeapClass from, final long target) throws IOException {
+            // not used by default
+        }
+
+        /**
+         * @param id   object id (address)
+         * @param cls  object class
+         * @param size object size in bytes
+         * @throws IOException on processing error
+         */
+        void object(long id, HeapClass cls, long size) throws IOException;
+    }
+
+    /**
+     * Decodes hex object data char by char, counting size and decoding pointers at reference offsets.
+     */
+    private class DataDecoder implements JsonTokenizer.CharHandler {
+        private static final int HEX = 16;
+        private static final int BYTE_BITS = 8;
+
+        private final HeapClass cls;
+        private final Visitor visitor;
+        private final int arrayStart;
+        private int high = -1;
+        private long position;
+        private int nextOffset;
+        private int pointerBytes;
+        private long pointer;
+
+        DataDecoder(final HeapClass cls, final Visitor visitor) {
+            this.cls = cls;
+            this.visitor = visitor;
+            this.arrayStart = (cls.getSize() + pointerSize - 1) / pointerSize * pointerSize;
+        }
+
+        @Override
+        public void handle(final char ch) throws IOException {
+            final int digit = Character.digit(ch, HEX);
+            if (digit < 0) {
+                return;
+            }
+            if (high < 0) {
+                high = digit;
+                return;
+            }
+            final int value = high * HEX + digit;
+            high = -1;
+            if (visitor != null) {
+                decode(value);
+            }
+            position++;
+        }
+
+        long getSize() {
+            return position;
+        }
+
+        private void decode(final int value) throws IOException {
+            if (pointerBytes == 0 && isPointerStart()) {
+                pointerBytes = pointerSize;
+                pointer = 0;
+            }
+            if (pointerBytes > 0) {
+                pointer |= (long) value << (BYTE_BITS * (pointerSize - pointerBytes));
+                pointerBytes--;
+                if (pointerBytes == 0 && pointer != 0) {
+                    visitor.reference(cls, pointer);
+                }
+            }
+        }
+
+        private boolean isPointerStart() {
+            if (cls.isReferenceArray()) {
+                return position >= arrayStart && (position - arrayStart) % pointerSize == 0;
+            }
+            final List<Integer> offsets = cls.getReferenceOffsets();
+            while (nextOffset < offsets.size() && offsets.get(nextOffset) < position) {
+                nextOffset++;
+            }
+            return nextOffset < offsets.size() && offsets.get(nextOffset) == position;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.vyarus.gradle.plugin.teavm.heap;
+
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Renders heap analysis results: live objects by class, retainers of the biggest classes and difference with
+ * baseline dump.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class HeapReport {
+
+    private static final String ROW = "%-60s  %12s  %10s%n";
+    private static final int PERCENT = 100;
+    private static final int RETAINERS = 3;
+
+    private HeapReport() {
+    }
+
+    /**
+     * @param heap     analyzed dump
+     * @param baseline baseline dump (for diff) or null
+     * @param top      classes limit
+     * @return report
+     */
+    public static String render(final HeapSummary heap, final HeapSummary baseline, final int top) {
+        final StringBuilder res = new StringBuilder(String.format(Locale.ENGLISH,
+                "Live objects: %d (%s), classes: %d%n%n", heap.getObjects(), FsUtils.formatSize(heap.getBytes()),
+                heap.getClasses().size()));
+        final List<Map.Entry<String, HeapSummary.Stats>> classes = heap.getClasses().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, HeapSummary.Stats> e) -> e.getValue().getBytes())
+                        .reversed().thenComparing(Map.Entry::getKey))
+                .limit(top)
+                .collect(Collectors.toList());
+        res.append(String.format(Locale.ENGLISH, "%-60s  %12s  %10s  %6s%n", "Class", "Objects", "Bytes", "%"));
+        for (Map.Entry<String, HeapSummary.Stats> entry : classes) {
+            res.append(String.format(Locale.ENGLISH, "%-60s  %12d  %10s  %5.1f%%%n", entry.getKey(),
+                    entry.getValue().getCount(), FsUtils.formatSize(entry.getValue().getBytes()),
+                    heap.getBytes() == 0 ? 0 : entry.getValue().getBytes() * (double) PERCENT / heap.getBytes()));
+        }
+        res.append(String.format("%n"));
+        renderRetainers(res, heap, classes);
+        if (baseline != null) {
+            res.append(String.format("%n"));
+            renderDiff(res, heap, baseline, top);
+        }
+        return res.toString();
+    }
+
+    private static void renderRetainers(final StringBuilder res, final HeapSummary heap,
+                                        final List<Map.Entry<String, HeapSummary.Stats>> classes) {
+        if (heap.getRetainersSkipReason() != null) {
+            res.append("Retainers not computed: ").append(heap.getRetainersSkipReason())
+                    .append(String.format("%n"));
+            return;
+        }
+        res.append(String.format("Retainers (incoming references by referrer class):%n"));
+        for (Map.Entry<String, HeapSummary.Stats> entry : classes) {
+            final Map<String, HeapSummary.Stats> refs = heap.getRetainers().get(entry.getKey());
+            if (refs == null) {
+                continue;
+            }
+            res.append(String.format(Locale.ENGLISH, "%s (%s)%n", entry.getKey(),
+                    FsUtils.formatSize(entry.getValue().getBytes())));
+            refs.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, HeapSummary.Stats> e) ->
+                            e.getValue().getBytes()).reversed().thenComparing(Map.Entry::getKey))
+                    .limit(RETAINERS)
+                    .forEach(ref -> res.append(String.format(Locale.ENGLISH, "\t<- %-56s  %10d refs  %10s%n",
+                            ref.getKey(), ref.getValue().getCount(),
+                            FsUtils.formatSize(ref.getValue().getBytes()))));
+        }
+    }
+
+    private static void renderDiff(final StringBuilder res, final HeapSummary heap, final HeapSummary baseline,
+                                   final int top) {
+        res.append(String.format(Locale.ENGLISH, "Difference with baseline: objects %+d (%s)%n",
+                heap.getObjects() - baseline.getObjects(), signedSize(heap.getBytes() - baseline.getBytes())));
+        final Set<String> names = new TreeSet<>(heap.getClasses().keySet());
+        names.addAll(baseline.getClasses().keySet());
+        final HeapSummary.Stats empty = new HeapSummary.Stats();
+        final List<String> changed = names.stream()
+                .filter(name -> delta(heap, baseline, name, empty)[0] != 0
+                        || delta(heap, baseline, name, empty)[1] != 0)
+                .sorted(Comparator.comparingLong((String name) ->
+                        Math.abs(delta(heap, baseline, name, empty)[1])).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+        res.append(String.format(Locale.ENGLISH, ROW, "Class", "Objects", "Bytes"));
+        for (String name : changed) {
+            final long[] delta = delta(heap, baseline, name, empty);
+            res.append(String.format(Locale.ENGLISH, ROW, name, String.format(Locale.ENGLISH, "%+d", delta[0]),
+                    signedSize(delta[1])));
+        }
+    }
+
+    private static long[] delta(final HeapSummary heap, final HeapSummary baseline, final String name,
+                                final HeapSummary.Stats empty) {
+        final HeapSummary.Stats cur = heap.getClasses().getOrDefault(name, empty);
+        final HeapSummary.Stats old = baseline.getClasses().getOrDefault(name, empty);
+        return new long[]{cur.getCount() - old.getCount(), cur.getBytes() - old.getBytes()};
+    }
+
+    private static String signedSize(final long bytes) {
+        return (bytes < 0 ? "-" : "+") + FsUtils.formatSize(Math.abs(bytes));
+    }
+}
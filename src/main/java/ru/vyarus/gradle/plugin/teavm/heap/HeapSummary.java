@@ -0,0 +1,95 @@
+package ru.vyarus.gradle.plugin.teavm.heap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heap dump analysis result: live objects by class and incoming references by referrer class.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class HeapSummary {
+
+    private final Map<String, Stats> classes = new HashMap<>();
+    private final Map<String, Map<String, Stats>> retainers = new HashMap<>();
+    private long objects;
+    private long bytes;
+    private String retainersSkipReason;
+
+    /**
+     * @return class name - objects count and size
+     */
+    public Map<String, Stats> getClasses() {
+        return classes;
+    }
+
+    /**
+     * @return referenced class name - (referrer class name - references count and referenced objects size)
+     */
+    public Map<String, Map<String, Stats>> getRetainers() {
+        return retainers;
+    }
+
+    public long getObjects() {
+        return objects;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return reason why retainers were not computed or null
+     */
+    public String getRetainersSkipReason() {
+        return retainersSkipReason;
+    }
+
+    /**
+     * @param reason reason why retainers were not computed
+     */
+    public void skipRetainers(final String reason) {
+        this.retainersSkipReason = reason;
+    }
+
+    /**
+     * @param cls  object class name
+     * @param size object size
+     */
+    public void addObject(final String cls, final long size) {
+        objects++;
+        bytes += size;
+        classes.computeIfAbsent(cls, k -> new Stats()).add(size);
+    }
+
+    /**
+     * @param from referrer class name
+     * @param to   referenced class name
+     * @param size referenced object size
+     */
+    public void addReference(final String from, final String to, final long size) {
+        retainers.computeIfAbsent(to, k -> new HashMap<>()).computeIfAbsent(from, k -> new Stats()).add(size);
+    }
+
+    /**
+     * Count and size pair.
+     */
+    public static class Stats {
+        private long count;
+        private long bytes;
+
+        public void add(final long size) {
+            count++;
+            bytes += size;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
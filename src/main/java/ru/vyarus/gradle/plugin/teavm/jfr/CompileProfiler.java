@@ -0,0 +1,153 @@
+package ru.vyarus.gradle.plugin.teavm.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JFR recording of teavm compilation (with standard "profile" settings and custom teavm events). Note that
+ * recording covers the entire JVM (gradle daemon): events of other daemon threads (other tasks, gradle itself) are
+ * also recorded. Only hot methods summary is limited to the compilation thread.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class CompileProfiler {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final List<String> JDK_PACKAGES = Arrays.asList("java.", "javax.", "jdk.", "sun.", "com.sun.");
+    private static final int OWN = 0;
+    private static final int TOTAL = 1;
+
+    private final File file;
+    private final long threadId;
+    private final Recording recording;
+
+    /**
+     * Starts recording.
+     *
+     * @param file recording file
+     * @throws IOException if recording can't be started
+     */
+    public CompileProfiler(final File file) throws IOException {
+        this.file = file;
+        this.threadId = Thread.currentThread().getId();
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException ex) {
+            throw new IOException("Failed to load JFR profile configuration", ex);
+        }
+        recording.setName("TeaVM compilation");
+        recording.enable(PhaseEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(TransformerEvent.class).withThreshold(Duration.ZERO);
+        recording.enable(OutputEvent.class).withThreshold(Duration.ZERO);
+        recording.enable("jdk.FileWrite").withThreshold(Duration.ZERO);
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        recording.setDestination(file.toPath());
+        recording.start();
+    }
+
+    /**
+     * Stops recording (recording is written into file).
+     */
+    public void stop() {
+        recording.stop();
+        recording.close();
+    }
+
+    /**
+     * @return recording file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Compute hot methods from execution samples of compilation thread (other daemon threads are ignored).
+     * <p>
+     * Own samples are attributed to the first not JDK frame of the sample stack: time spent in JDK methods (e.g.
+     * collections) is counted for calling teavm (or plugin, transformer) method, otherwise JDK leaf methods would
+     * dominate the summary. Total samples count samples with method anywhere in the stack (note that JFR records
+     * only the top 64 frames by default).
+     *
+     * @param limit methods count
+     * @return hot methods table
+     * @throws IOException on recording read error
+     */
+    public String hotMethods(final int limit) throws IOException {
+        final Map<String, int[]> counts = new HashMap<>();
+        int samples = 0;
+        try (RecordingFile recordingFile = new RecordingFile(file.toPath())) {
+            while (recordingFile.hasMoreEvents()) {
+                final RecordedEvent event = recordingFile.readEvent();
+                if (!EXECUTION_SAMPLE.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                final RecordedThread thread = event.getThread("sampledThread");
+                if (thread == null || thread.getJavaThreadId() != threadId || event.getStackTrace() == null
+                        || event.getStackTrace().getFrames().isEmpty()) {
+                    continue;
+                }
+                countSample(event.getStackTrace().getFrames(), counts);
+                samples++;
+            }
+        }
+        final List<Map.Entry<String, int[]>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.removeIf(entry -> entry.getValue()[OWN] == 0);
+        sorted.sort(Comparator.<Map.Entry<String, int[]>>comparingInt(entry -> entry.getValue()[OWN])
+                .thenComparingInt(entry -> entry.getValue()[TOTAL]).reversed());
+        final StringBuilder res = new StringBuilder(String.format(Locale.ENGLISH, "%8s  %7s  %7s  %s%n",
+                "Samples", "Own", "Total", "Method"));
+        for (int i = 0; i < Math.min(limit, sorted.size()); i++) {
+            final Map.Entry<String, int[]> entry = sorted.get(i);
+            res.append(String.format(Locale.ENGLISH, "%8d  %6.2f%%  %6.2f%%  %s%n", entry.getValue()[OWN],
+                    entry.getValue()[OWN] * 100.0 / samples, entry.getValue()[TOTAL] * 100.0 / samples,
+                    entry.getKey()));
+        }
+        return res.toString();
+    }
+
+    private void countSample(final List<RecordedFrame> frames, final Map<String, int[]> counts) {
+        final Set<String> seen = new HashSet<>();
+        String own = null;
+        for (RecordedFrame frame : frames) {
+            final RecordedMethod method = frame.getMethod();
+            final String name = method.getType().getName() + "." + method.getName();
+            if (seen.add(name)) {
+                counts.computeIfAbsent(name, key -> new int[2])[TOTAL]++;
+            }
+            if (own == null && !isJdk(method.getType().getName())) {
+                own = name;
+            }
+        }
+        if (own == null) {
+            // only jdk frames recorded
+            final RecordedMethod top = frames.get(0).getMethod();
+            own = top.getType().getName() + "." + top.getName();
+        }
+        counts.get(own)[OWN]++;
+    }
+
+    private static boolean isJdk(final String type) {
+        return JDK_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+}
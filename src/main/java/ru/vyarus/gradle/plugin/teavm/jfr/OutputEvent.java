@@ -0,0 +1,33 @@
+package ru.vyarus.gradle.plugin.teavm.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Output write, performed by plugin after compilation (sources copy, source maps processing). Files written by
+ * teavm itself are visible as standard "jdk.FileWrite" events.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@Name("ru.vyarus.teavm.Output")
+@Label("TeaVM Output")
+@Category("TeaVM")
+@Description("Output written after TeaVM compilation")
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class OutputEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
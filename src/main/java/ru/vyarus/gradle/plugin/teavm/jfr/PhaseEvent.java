@@ -0,0 +1,27 @@
+package ru.vyarus.gradle.plugin.teavm.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * TeaVM compilation phase (reported by progress listener).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@Name("ru.vyarus.teavm.Phase")
+@Label("TeaVM Phase")
+@Category("TeaVM")
+@Description("TeaVM compilation phase")
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class PhaseEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Steps")
+    public int steps;
+}
@@ -0,0 +1,170 @@
+package ru.vyarus.gradle.plugin.teavm.jfr;
+
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderTransformer;
+import org.teavm.model.ClassHolderTransformerContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class transformers profiler. Configured transformers are not wrapped: teavm instantiates them itself (with its own
+ * classloader, exactly as without profiling), but each transformer is surrounded with marker transformers
+ * (instances of this class): teavm applies transformers in configuration order, so the first marker starts
+ * measurement and the second one completes it. Every transformation is recorded as {@link TransformerEvent} (when
+ * JFR recording is active) and aggregated into {@link TransformerStats} (invocations, time and allocated bytes).
+ * <p>
+ * Teavm instantiates transformers by class name (with no-args constructor) so the {@link Session} is handed off
+ * to markers through a registry keyed by compilation thread: session is registered just before compilation and
+ * markers claim their slots (in instantiation order) inside constructor (teavm creates transformers in the same
+ * thread where compilation was started). Session is unregistered as soon as all markers are created.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class ProfilingTransformer implements ClassHolderTransformer {
+
+    private static final Map<Thread, Session> PENDING = new ConcurrentHashMap<>();
+
+    private final Slot slot;
+    private final boolean start;
+
+    public ProfilingTransformer() {
+        final Session session = PENDING.get(Thread.currentThread());
+        if (session == null) {
+            throw new IllegalStateException("Transformers profiling session is not registered for thread "
+                    + Thread.currentThread().getName());
+        }
+        final int position = session.claim();
+        this.slot = session.slots.get(position / 2);
+        this.start = position % 2 == 0;
+    }
+
+    @Override
+    public void transformClass(final ClassHolder cls, final ClassHolderTransformerContext context) {
+        if (start) {
+            slot.start(cls.getName());
+        } else {
+            slot.stop();
+        }
+    }
+
+    /**
+     * Hotspot-specific api (not available on all jvms).
+     *
+     * @param threadId thread id
+     * @return bytes allocated by thread or -1 if not supported
+     */
+    private static long allocatedBytes(final long threadId) {
+        try {
+            final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            return bean instanceof com.sun.management.ThreadMXBean
+                    ? ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId) : -1;
+        } catch (UnsupportedOperationException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Transformers profiling session. Must be created in compilation thread (just before compilation) and closed
+     * after it.
+     */
+    public static class Session implements AutoCloseable {
+        private final Thread thread = Thread.currentThread();
+        private final List<Slot> slots = new ArrayList<>();
+        private int claimed;
+
+        /**
+         * @param transformers configured transformer classes
+         */
+        public Session(final List<String> transformers) {
+            for (String name : transformers) {
+                slots.add(new Slot(name));
+            }
+        }
+
+        /**
+         * Registers session for markers instantiation.
+         *
+         * @return transformer classes to configure in teavm (configured transformers, surrounded with markers)
+         */
+        public String[] register() {
+            final String marker = ProfilingTransformer.class.getName();
+            final List<String> res = new ArrayList<>();
+            for (Slot slot : slots) {
+                res.add(marker);
+                res.add(slot.stats.getName());
+                res.add(marker);
+            }
+            if (PENDING.putIfAbsent(thread, this) != null) {
+                throw new IllegalStateException("Transformers profiling session is already registered for thread "
+                        + thread.getName());
+            }
+            return res.toArray(new String[0]);
+        }
+
+        /**
+         * @return stats of configured transformers (in configuration order)
+         */
+        public List<TransformerStats> getStats() {
+            final List<TransformerStats> res = new ArrayList<>();
+            slots.forEach(slot -> res.add(slot.stats));
+            return res;
+        }
+
+        @Override
+        public void close() {
+            // in case of compilation failure before transformers instantiation
+            PENDING.remove(thread, this);
+        }
+
+        private synchronized int claim() {
+            final int position = claimed++;
+            if (claimed == slots.size() * 2) {
+                // all markers created
+                PENDING.remove(thread, this);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Measurement state of one transformer. Teavm applies transformers to a class sequentially (in the same thread),
+     * so measurement started by the first marker is always completed by the second marker in the same thread.
+     */
+    private static class Slot {
+        private final TransformerStats stats;
+        private TransformerEvent event;
+        private long threadId;
+        private long allocated;
+        private long started;
+
+        Slot(final String name) {
+            this.stats = new TransformerStats(name);
+        }
+
+        void start(final String className) {
+            event = new TransformerEvent();
+            event.transformer = stats.getName();
+            event.className = className;
+            threadId = Thread.currentThread().getId();
+            allocated = allocatedBytes(threadId);
+            started = System.nanoTime();
+            event.begin();
+        }
+
+        void stop() {
+            event.end();
+            final long time = System.nanoTime() - started;
+            stats.record(time, allocated < 0 ? -1 : allocatedBytes(threadId) - allocated);
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+            event = null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.vyarus.gradle.plugin.teavm.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Single class transformation by class transformer.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@Name("ru.vyarus.teavm.Transformer")
+@Label("TeaVM Transformer")
+@Category("TeaVM")
+@Description("Class transformation by TeaVM class transformer")
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class TransformerEvent extends Event {
+
+    @Label("Transformer")
+    public String transformer;
+
+    @Label("Class")
+    public String className;
+}
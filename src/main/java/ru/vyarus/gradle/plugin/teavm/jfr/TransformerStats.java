@@ -0,0 +1,95 @@
+package ru.vyarus.gradle.plugin.teavm.jfr;
+
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class transformer statistics: invocations count, cumulative time and allocated bytes (collected by
+ * {@link ProfilingTransformer}).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class TransformerStats {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private long invocations;
+    private long time;
+    private long allocated;
+
+    public TransformerStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param nanos transformation time
+     * @param bytes bytes allocated during transformation (negative if not supported by jvm)
+     */
+    public synchronized void record(final long nanos, final long bytes) {
+        invocations++;
+        time += nanos;
+        if (bytes > 0) {
+            allocated += bytes;
+        }
+    }
+
+    /**
+     * @return transformer class
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return transformer calls count
+     */
+    public synchronized long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * @return cumulative transformation time in nanoseconds
+     */
+    public synchronized long getTime() {
+        return time;
+    }
+
+    /**
+     * @return cumulative allocated bytes
+     */
+    public synchronized long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * Render transformers summary table (sorted by time, slowest first).
+     *
+     * @param stats transformers stats
+     * @return rendered table
+     */
+    public static String render(final Collection<TransformerStats> stats) {
+        final List<TransformerStats> sorted = new ArrayList<>(stats);
+        sorted.sort((a, b) -> Long.compare(b.getTime(), a.getTime()));
+        long total = 0;
+        for (TransformerStats stat : sorted) {
+            total += stat.getTime();
+        }
+        final StringBuilder res = new StringBuilder(String.format(Locale.ENGLISH, "%10s  %12s  %7s  %12s  %s%n",
+                "Calls", "Time (ms)", "%", "Allocated", "Transformer"));
+        for (TransformerStats stat : sorted) {
+            res.append(String.format(Locale.ENGLISH, "%10d  %12.2f  %6.2f%%  %12s  %s%n",
+                    stat.getInvocations(),
+                    stat.getTime() / NANOS_PER_MILLI,
+                    total == 0 ? 0 : stat.getTime() * 100.0 / total,
+                    FsUtils.formatSize(stat.getAllocated()),
+                    stat.getName()));
+        }
+        return res.toString();
+    }
+}
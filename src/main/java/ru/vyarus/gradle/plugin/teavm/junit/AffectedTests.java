@@ -0,0 +1,151 @@
+package ru.vyarus.gradle.plugin.teavm.junit;
+
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test impact analysis: detects test classes affected by changes since the last successful run. Class files in
+ * classpath directories are compared by hash and test classes, directly or transitively referencing changed
+ * classes, are selected. Any jar change (or absent state) affects all tests.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class AffectedTests {
+
+    private static final String CLASS_EXT = ".class";
+    private static final String JARS_KEY = "@jars";
+
+    private final Map<String, String> state = new TreeMap<>();
+    private final Map<String, File> files = new HashMap<>();
+    private final Set<String> testClasses = new TreeSet<>();
+
+    /**
+     * @param testClassDirs test classes directories
+     * @param classpath     test runtime classpath (directories and jars)
+     * @throws IOException on file system error
+     */
+    public AffectedTests(final Collection<File> testClassDirs, final Collection<File> classpath) throws IOException {
+        final MessageDigest jars;
+        try {
+            jars = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+        for (File entry : classpath) {
+            if (entry.isDirectory()) {
+                readDir(entry, testClassDirs.contains(entry));
+            } else if (entry.isFile()) {
+                jars.update(entry.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+                jars.update(FsUtils.sha256(entry).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        for (File dir : testClassDirs) {
+            if (!classpath.contains(dir) && dir.isDirectory()) {
+                readDir(dir, true);
+            }
+        }
+        state.put(JARS_KEY, FsUtils.toHex(jars.digest()));
+    }
+
+    /**
+     * @param stateFile previous run state
+     * @return affected test classes or null if all tests must be executed
+     * @throws IOException on file system error
+     */
+    public Set<String> findAffected(final File stateFile) throws IOException {
+        if (!stateFile.exists()) {
+            return null;
+        }
+        final Properties previous = new Properties();
+        try (InputStream in = Files.newInputStream(stateFile.toPath())) {
+            previous.load(in);
+        }
+        if (!state.get(JARS_KEY).equals(previous.getProperty(JARS_KEY))) {
+            return null;
+        }
+        final Set<String> changed = new HashSet<>();
+        state.forEach((name, hash) -> {
+            if (!hash.equals(previous.getProperty(name))) {
+                changed.add(name);
+            }
+        });
+        previous.stringPropertyNames().stream().filter(name -> !state.containsKey(name)).forEach(changed::add);
+        return dependents(changed).stream()
+                .filter(testClasses::contains)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Store current state (must be called after successful tests execution).
+     *
+     * @param stateFile state file
+     * @throws IOException on file system error
+     */
+    public void save(final File stateFile) throws IOException {
+        final Properties props = new Properties();
+        props.putAll(state);
+        Files.createDirectories(stateFile.getAbsoluteFile().getParentFile().toPath());
+        try (OutputStream out = Files.newOutputStream(stateFile.toPath())) {
+            props.store(out, "TeaVM tests state");
+        }
+    }
+
+    private Set<String> dependents(final Set<String> changed) throws IOException {
+        // reverse references graph
+        final Map<String, Set<String>> usages = new HashMap<>();
+        for (Map.Entry<String, File> entry : files.entrySet()) {
+            for (String ref : ClassReferences.read(Files.readAllBytes(entry.getValue().toPath()))) {
+                usages.computeIfAbsent(ref, key -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        final Set<String> res = new HashSet<>(changed);
+        final Deque<String> queue = new ArrayDeque<>(changed);
+        while (!queue.isEmpty()) {
+            for (String user : usages.getOrDefault(queue.poll(), Set.of())) {
+                if (res.add(user)) {
+                    queue.add(user);
+                }
+            }
+        }
+        return res;
+    }
+
+    private void readDir(final File dir, final boolean tests) throws IOException {
+        final List<Path> classes;
+        try (Stream<Path> stream = Files.walk(dir.toPath())) {
+            classes = stream.filter(path -> path.toString().endsWith(CLASS_EXT)).collect(Collectors.toList());
+        }
+        for (Path path : classes) {
+            final String rel = dir.toPath().relativize(path).toString().replace('\\', '/');
+            final String name = rel.substring(0, rel.length() - CLASS_EXT.length()).replace('/', '.');
+            state.put(name, FsUtils.sha256(path.toFile()));
+            files.put(name, path.toFile());
+            if (tests) {
+                testClasses.add(name);
+            }
+        }
+    }
+}
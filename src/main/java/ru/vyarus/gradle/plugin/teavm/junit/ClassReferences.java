@@ -0,0 +1,98 @@
+package ru.vyarus.gradle.plugin.teavm.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts classes, referenced from class file (from constant pool: class constants and type descriptors).
+ * Result is conservative: any string looking like type descriptor is treated as reference.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class ClassReferences {
+
+    private static final Pattern DESCRIPTOR = Pattern.compile("L([^;<>()\\[\\s]+)[;<]");
+
+    private ClassReferences() {
+    }
+
+    /**
+     * @param classFile class file content
+     * @return referenced class names (with dots)
+     * @throws IOException on invalid class file
+     */
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:MagicNumber"})
+    public static Set<String> read(final byte[] classFile) throws IOException {
+        final Set<String> res = new HashSet<>();
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        // minor, major versions
+        in.skipBytes(4);
+        final int count = in.readUnsignedShort();
+        final String[] utf = new String[count];
+        final List<Integer> classes = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf[i] = in.readUTF();
+                    break;
+                case 7:
+                    classes.add(in.readUnsignedShort());
+                    break;
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.skipBytes(2);
+                    break;
+                case 15:
+                    in.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    in.skipBytes(8);
+                    // takes two entries
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        for (int idx : classes) {
+            final String name = utf[idx];
+            if (name != null && !name.startsWith("[")) {
+                res.add(name.replace('/', '.'));
+            }
+        }
+        for (String value : utf) {
+            if (value != null && value.indexOf(';') > 0) {
+                final Matcher matcher = DESCRIPTOR.matcher(value);
+                while (matcher.find()) {
+                    res.add(matcher.group(1).replace('/', '.'));
+                }
+            }
+        }
+        return res;
+    }
+}
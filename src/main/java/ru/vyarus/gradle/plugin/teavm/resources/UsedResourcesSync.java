@@ -0,0 +1,279 @@
+package ru.vyarus.gradle.plugin.teavm.resources;
+
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Synchronizes classpath resources, used by compiled program, into target directory. Resources are reported by teavm
+ * (classes and source files are ignored) and could be extended with glob patterns (for resources loaded by
+ * computed names, which could not be detected by compiler).
+ * <p>
+ * Resources are searched in classpath order (directories and jars, the first match wins). State file remembers
+ * synchronized resources (source location, size and modification time or crc for jar entries) so unchanged
+ * resources are not even read on the next build. Resources with changed metadata, but the same content (by hash)
+ * are not copied. Previously synchronized resources, not used anymore, are removed from target directory.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class UsedResourcesSync implements AutoCloseable {
+
+    private static final String SEPARATOR = "|";
+    private static final List<String> IGNORED = List.of(".class", ".java", ".kt", ".scala", ".groovy");
+
+    private final List<File> classpath;
+    private final List<String> patterns;
+    private final File stateFile;
+    private final Map<File, ZipFile> jars = new LinkedHashMap<>();
+
+    private int copied;
+    private int unchanged;
+    private int deleted;
+    private final Set<String> missing = new TreeSet<>();
+
+    /**
+     * @param classpath compilation classpath (directories and jars)
+     * @param patterns  additional resource glob patterns (e.g. "data/**.json")
+     * @param stateFile sync state file
+     */
+    public UsedResourcesSync(final List<File> classpath, final List<String> patterns, final File stateFile) {
+        this.classpath = classpath;
+        this.patterns = patterns;
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * @param used      resources reported by compiler
+     * @param targetDir compilation target directory
+     * @return count of synchronized resources
+     * @throws IOException on copy error
+     */
+    public int sync(final Collection<String> used, final File targetDir) throws IOException {
+        final Set<String> resources = new TreeSet<>();
+        for (String res : used) {
+            final String name = res.startsWith("/") ? res.substring(1) : res;
+            if (!isIgnored(name)) {
+                resources.add(name);
+            }
+        }
+        if (!patterns.isEmpty()) {
+            resources.addAll(matchPatterns());
+        }
+
+        final Map<String, String> state = loadState();
+        final Map<String, String> newState = new LinkedHashMap<>();
+        for (String resource : resources) {
+            copyResource(resource, new File(targetDir, resource), state.get(resource), newState);
+        }
+        for (String stale : state.keySet()) {
+            if (!newState.containsKey(stale) && Files.deleteIfExists(new File(targetDir, stale).toPath())) {
+                deleted++;
+            }
+        }
+        storeState(newState);
+        return resources.size();
+    }
+
+    /**
+     * @return count of actually copied resources
+     */
+    public int getCopied() {
+        return copied;
+    }
+
+    /**
+     * @return count of resources not copied because target file is up-to-date
+     */
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return count of removed stale resources
+     */
+    public int getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return used resources not found in classpath
+     */
+    public Set<String> getMissing() {
+        return missing;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ZipFile jar : jars.values()) {
+            jar.close();
+        }
+        jars.clear();
+    }
+
+    private boolean isIgnored(final String name) {
+        final String lower = name.toLowerCase(Locale.ENGLISH);
+        return name.isEmpty() || name.endsWith("/") || IGNORED.stream().anyMatch(lower::endsWith);
+    }
+
+    private Set<String> matchPatterns() throws IOException {
+        final List<PathMatcher> matchers = patterns.stream()
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .collect(Collectors.toList());
+        final Set<String> res = new TreeSet<>();
+        for (File entry : classpath) {
+            final List<String> names = new ArrayList<>();
+            if (entry.isDirectory()) {
+                final Path root = entry.toPath();
+                try (Stream<Path> files = Files.walk(root)) {
+                    files.filter(Files::isRegularFile)
+                            .forEach(file -> names.add(root.relativize(file).toString().replace('\\', '/')));
+                }
+            } else if (entry.isFile()) {
+                final Enumeration<? extends ZipEntry> entries = jar(entry).entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry zipEntry = entries.nextElement();
+                    if (!zipEntry.isDirectory()) {
+                        names.add(zipEntry.getName());
+                    }
+                }
+            }
+            for (String name : names) {
+                final Path path = Paths.get(name);
+                if (!isIgnored(name) && matchers.stream().anyMatch(matcher -> matcher.matches(path))) {
+                    res.add(name);
+                }
+            }
+        }
+        return res;
+    }
+
+    private void copyResource(final String name,
+                              final File target,
+                              final String previous,
+                              final Map<String, String> newState) throws IOException {
+        final Source source = find(name);
+        if (source == null) {
+            missing.add(name);
+            return;
+        }
+        if (target.exists() && source.meta.equals(previous)) {
+            unchanged++;
+        } else if (target.exists() && target.length() == source.size && sameContent(source, target)) {
+            unchanged++;
+        } else {
+            Files.createDirectories(target.getParentFile().toPath());
+            try (InputStream in = source.open()) {
+                Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            copied++;
+        }
+        newState.put(name, source.meta);
+    }
+
+    private boolean sameContent(final Source source, final File target) throws IOException {
+        try (InputStream in = source.open()) {
+            return FsUtils.sha256(in).equals(FsUtils.sha256(target));
+        }
+    }
+
+    private Source find(final String name) throws IOException {
+        for (File entry : classpath) {
+            if (entry.isDirectory()) {
+                final File file = new File(entry, name);
+                if (file.isFile()) {
+                    return new Source(file.getAbsolutePath() + SEPARATOR + file.length() + SEPARATOR
+                            + file.lastModified(), file.length(), () -> Files.newInputStream(file.toPath()));
+                }
+            } else if (entry.isFile()) {
+                final ZipFile jar = jar(entry);
+                final ZipEntry zipEntry = jar.getEntry(name);
+                if (zipEntry != null && !zipEntry.isDirectory()) {
+                    return new Source(entry.getAbsolutePath() + "!" + name + SEPARATOR + zipEntry.getSize()
+                            + SEPARATOR + zipEntry.getCrc(), zipEntry.getSize(), () -> jar.getInputStream(zipEntry));
+                }
+            }
+        }
+        return null;
+    }
+
+    private ZipFile jar(final File file) throws IOException {
+        ZipFile res = jars.get(file);
+        if (res == null) {
+            res = new ZipFile(file);
+            jars.put(file, res);
+        }
+        return res;
+    }
+
+    private Map<String, String> loadState() throws IOException {
+        final Map<String, String> res = new LinkedHashMap<>();
+        if (stateFile.exists()) {
+            final Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(stateFile.toPath())) {
+                props.load(in);
+            }
+            props.stringPropertyNames().forEach(name -> res.put(name, props.getProperty(name)));
+        }
+        return res;
+    }
+
+    private void storeState(final Map<String, String> state) throws IOException {
+        final Properties props = new Properties();
+        props.putAll(state);
+        Files.createDirectories(stateFile.getParentFile().toPath());
+        try (OutputStream out = Files.newOutputStream(stateFile.toPath())) {
+            props.store(out, null);
+        }
+    }
+
+    /**
+     * Opens resource content.
+     */
+    @FunctionalInterface
+    private interface Opener {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Found resource.
+     */
+    private static class Source {
+        private final String meta;
+        private final long size;
+        private final Opener opener;
+
+        Source(final String meta, final long size, final Opener opener) {
+            this.meta = meta;
+            this.size = size;
+            this.opener = opener;
+        }
+
+        InputStream open() throws IOException {
+            return opener.open();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.io.FileUtils;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Shared cache of extracted source jars. Each jar is extracted into directory named by jar content checksum, so
+ * the same jar is extracted only once (for all projects and tasks using the same cache location).
+ * <p>
+ * Jar checksum is remembered (by jar path, size and modification time) to avoid hashing the same jar on each build.
+ * <p>
+ * Extraction is performed into temporary directory first and then moved, so concurrent builds never see partially
+ * extracted jars.
+ * <p>
+ * Used entries are touched (at most once a day) and entries not used for {@link #MAX_UNUSED_DAYS} days are
+ * removed (cleanup performed at most once a day, like gradle's own caches cleanup).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class ExtractedSourcesCache {
+
+    /**
+     * Unused extracted jars removal period.
+     */
+    public static final int MAX_UNUSED_DAYS = 30;
+
+    private static final String PATH = "path";
+    private static final String CHECKSUM = "checksum";
+    private static final String SIZE = "size";
+    private static final String MODIFIED = "modified";
+    private static final String INDEX = "index";
+    private static final String CLEANUP_MARKER = "cleanup.marker";
+    private static final String TMP = ".tmp-";
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final File root;
+
+    public ExtractedSourcesCache(final File root) {
+        this.root = root;
+    }
+
+    /**
+     * Extract jar (if not already extracted).
+     *
+     * @param jar source jar
+     * @return directory with extracted jar content
+     * @throws IOException on extraction error
+     */
+    public File extract(final File jar) throws IOException {
+        final File target = new File(root, checksum(jar));
+        if (target.exists()) {
+            touch(target);
+        } else {
+            final File tmp = new File(root, target.getName() + TMP + UUID.randomUUID());
+            try {
+                unzip(jar, tmp);
+                move(tmp, target);
+            } finally {
+                FileUtils.deleteQuietly(tmp);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Remove extracted jars (and index entries) not used for {@link #MAX_UNUSED_DAYS} days and abandoned temporary
+     * directories. Performed at most once a day.
+     *
+     * @return count of removed extracted jars
+     * @throws IOException on marker file write error
+     */
+    public int evictUnused() throws IOException {
+        final File marker = new File(root, CLEANUP_MARKER);
+        final long now = System.currentTimeMillis();
+        if (marker.exists() && now - marker.lastModified() < DAY) {
+            return 0;
+        }
+        Files.createDirectories(root.toPath());
+        Files.writeString(marker.toPath(), String.valueOf(now));
+        final long threshold = now - MAX_UNUSED_DAYS * DAY;
+        int removed = 0;
+        final File[] entries = root.listFiles(file -> file.isDirectory() && !INDEX.equals(file.getName()));
+        for (File entry : entries == null ? new File[0] : entries) {
+            final boolean tmp = entry.getName().contains(TMP);
+            if (entry.lastModified() < (tmp ? now - DAY : threshold)) {
+                FileUtils.deleteQuietly(entry);
+                removed += tmp ? 0 : 1;
+            }
+        }
+        final File[] index = new File(root, INDEX).listFiles();
+        for (File file : index == null ? new File[0] : index) {
+            if (file.lastModified() < threshold) {
+                FileUtils.deleteQuietly(file);
+            }
+        }
+        return removed;
+    }
+
+    private String checksum(final File jar) throws IOException {
+        final String path = jar.getAbsolutePath();
+        final File index = new File(root, INDEX + "/" + Integer.toHexString(path.hashCode()) + "-"
+                + jar.getName() + ".properties");
+        final String size = String.valueOf(jar.length());
+        final String modified = String.valueOf(jar.lastModified());
+        final Properties props = new Properties();
+        if (index.exists()) {
+            try (InputStream in = Files.newInputStream(index.toPath())) {
+                props.load(in);
+            }
+            if (path.equals(props.getProperty(PATH))
+                    && size.equals(props.getProperty(SIZE)) && modified.equals(props.getProperty(MODIFIED))) {
+                touch(index);
+                return props.getProperty(CHECKSUM);
+            }
+        }
+        final String checksum = FsUtils.sha256(jar);
+        props.setProperty(PATH, path);
+        props.setProperty(CHECKSUM, checksum);
+        props.setProperty(SIZE, size);
+        props.setProperty(MODIFIED, modified);
+        Files.createDirectories(index.getParentFile().toPath());
+        try (OutputStream out = Files.newOutputStream(index.toPath())) {
+            props.store(out, null);
+        }
+        return checksum;
+    }
+
+    private void unzip(final File jar, final File target) throws IOException {
+        final Path base = target.toPath().toAbsolutePath().normalize();
+        Files.createDirectories(base);
+        try (ZipFile zip = new ZipFile(jar)) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final Path path = base.resolve(entry.getName()).normalize();
+                if (!path.startsWith(base)) {
+                    // zip slip
+                    continue;
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(path);
+                } else {
+                    Files.createDirectories(path.getParent());
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private void touch(final File file) {
+        // avoid writes on each build: day precision is enough for eviction
+        final long now = System.currentTimeMillis();
+        if (now - file.lastModified() > DAY) {
+            file.setLastModified(now);
+        }
+    }
+
+    private void move(final File from, final File to) throws IOException {
+        try {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(from.toPath(), to.toPath());
+        } catch (FileAlreadyExistsException ex) {
+            // extracted concurrently by other build - use existing directory
+        } catch (IOException ex) {
+            // some file systems throw generic exception when target directory already exists
+            if (!to.exists()) {
+                throw ex;
+            }
+        }
+    }
+}
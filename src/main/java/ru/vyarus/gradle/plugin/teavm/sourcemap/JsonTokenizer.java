@@ -0,0 +1,285 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Minimal streaming json tokenizer. Source maps could be huge (mostly because of "mappings" and "sourcesContent"
+ * values), so values are never accumulated in memory unless explicitly read with {@link #readString()}.
+ * <p>
+ * Tokenizer does not validate json: it assumes correct document (produced by teavm).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class JsonTokenizer {
+
+    private static final int EOF = -1;
+    private static final int HEX = 16;
+
+    private final Reader reader;
+    private int peeked = EOF;
+    private boolean hasPeeked;
+
+    public JsonTokenizer(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return next non-whitespace character (not consumed) or -1 at the end of document
+     * @throws IOException on read error
+     */
+    public int peek() throws IOException {
+        int res = look();
+        while (res != EOF && Character.isWhitespace(res)) {
+            next();
+            res = look();
+        }
+        return res;
+    }
+
+    /**
+     * Consume expected character (skipping leading whitespaces).
+     *
+     * @param ch expected character
+     * @throws IOException on read error or if different character found
+     */
+    public void expect(final char ch) throws IOException {
+        final int res = peek();
+        if (res != ch) {
+            throw new IOException("Invalid json: '" + ch + "' expected, but "
+                    + (res == EOF ? "end of document" : "'" + (char) res + "'") + " found");
+        }
+        next();
+    }
+
+    /**
+     * Consume character if it is the next one (skipping leading whitespaces).
+     *
+     * @param ch character to consume
+     * @return true if character consumed
+     * @throws IOException on read error
+     */
+    public boolean consume(final char ch) throws IOException {
+        if (peek() == ch) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read string value (unescaped). Use only for short values (like object keys).
+     *
+     * @return string value
+     * @throws IOException on read error
+     */
+    public String readString() throws IOException {
+        expect('"');
+        final StringBuilder res = new StringBuilder();
+        int ch = next();
+        while (ch != '"') {
+            if (ch == EOF) {
+                throw new IOException("Invalid json: unterminated string");
+            }
+            res.append(ch == '\\' ? readEscape() : (char) ch);
+            ch = next();
+        }
+        return res.toString();
+    }
+
+    /**
+     * Read string value (unescaped) char by char, without accumulating it (for huge values).
+     *
+     * @param handler string characters handler
+     * @throws IOException on read error
+     */
+    public void readString(final CharHandler handler) throws IOException {
+        expect('"');
+        int ch = next();
+        while (ch != '"') {
+            if (ch == EOF) {
+                throw new IOException("Invalid json: unterminated string");
+            }
+            handler.handle(ch == '\\' ? readEscape() : (char) ch);
+            ch = next();
+        }
+    }
+
+    /**
+     * Skip any json value (string, number, object, array, literal) without accumulating it.
+     *
+     * @throws IOException on read error
+     */
+    public void skipValue() throws IOException {
+        final int ch = peek();
+        if (ch == '"') {
+            skipString();
+        } else if (ch == '{' || ch == '[') {
+            skipStructure();
+        } else {
+            // number, true, false, null
+            checkNotEnd(ch);
+            while (look() != EOF && ",}] \t\r\n".indexOf(look()) < 0) {
+                next();
+            }
+        }
+    }
+
+    /**
+     * Copy any json value as-is (without accumulating it). Whitespaces between structure tokens are not copied.
+     *
+     * @param out target writer
+     * @throws IOException on read or write error
+     */
+    public void copyValue(final Writer out) throws IOException {
+        final int ch = peek();
+        if (ch == '"') {
+            copyString(out);
+        } else if (ch == '{' || ch == '[') {
+            copyStructure(out);
+        } else {
+            // number, true, false, null
+            checkNotEnd(ch);
+            while (look() != EOF && ",}] \t\r\n".indexOf(look()) < 0) {
+                out.write(next());
+            }
+        }
+    }
+
+    private void checkNotEnd(final int ch) throws IOException {
+        // truncated document: value expected
+        if (ch == EOF) {
+            throw new IOException("Invalid json: value expected, but end of document found");
+        }
+    }
+
+    private void copyString(final Writer out) throws IOException {
+        expect('"');
+        out.write('"');
+        int ch = next();
+        while (ch != '"') {
+            if (ch == EOF) {
+                throw new IOException("Invalid json: unterminated string");
+            }
+            out.write(ch);
+            if (ch == '\\') {
+                out.write(next());
+            }
+            ch = next();
+        }
+        out.write('"');
+    }
+
+    private void copyStructure(final Writer out) throws IOException {
+        int depth = 0;
+        do {
+            final int ch = peek();
+            if (ch == EOF) {
+                throw new IOException("Invalid json: unterminated structure");
+            }
+            if (ch == '"') {
+                copyString(out);
+            } else {
+                out.write(next());
+                if (ch == '{' || ch == '[') {
+                    depth++;
+                } else if (ch == '}' || ch == ']') {
+                    depth--;
+                }
+            }
+        } while (depth > 0);
+    }
+
+    private void skipString() throws IOException {
+        expect('"');
+        int ch = next();
+        while (ch != '"') {
+            if (ch == EOF) {
+                throw new IOException("Invalid json: unterminated string");
+            }
+            if (ch == '\\') {
+                next();
+            }
+            ch = next();
+        }
+    }
+
+    private void skipStructure() throws IOException {
+        int depth = 0;
+        do {
+            final int ch = peek();
+            if (ch == EOF) {
+                throw new IOException("Invalid json: unterminated structure");
+            }
+            if (ch == '"') {
+                skipString();
+            } else {
+                next();
+                if (ch == '{' || ch == '[') {
+                    depth++;
+                } else if (ch == '}' || ch == ']') {
+                    depth--;
+                }
+            }
+        } while (depth > 0);
+    }
+
+    private char readEscape() throws IOException {
+        final int ch = next();
+        final char res;
+        switch (ch) {
+            case 'n':
+                res = '\n';
+                break;
+            case 'r':
+                res = '\r';
+                break;
+            case 't':
+                res = '\t';
+                break;
+            case 'b':
+                res = '\b';
+                break;
+            case 'f':
+                res = '\f';
+                break;
+            case 'u':
+                final char[] code = new char[4];
+                for (int i = 0; i < code.length; i++) {
+                    code[i] = (char) next();
+                }
+                res = (char) Integer.parseInt(new String(code), HEX);
+                break;
+            case EOF:
+                throw new IOException("Invalid json: unterminated escape");
+            default:
+                // quote, slash, backslash
+                res = (char) ch;
+        }
+        return res;
+    }
+
+    private int look() throws IOException {
+        if (!hasPeeked) {
+            peeked = reader.read();
+            hasPeeked = true;
+        }
+        return peeked;
+    }
+
+    private int next() throws IOException {
+        final int res = look();
+        hasPeeked = false;
+        return res;
+    }
+
+    /**
+     * String characters handler.
+     */
+    @FunctionalInterface
+    public interface CharHandler {
+        void handle(char ch) throws IOException;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Json string writing helpers (escaping).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class JsonWriter {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int CONTROL_CHARS = 0x20;
+
+    private JsonWriter() {
+    }
+
+    /**
+     * Write quoted and escaped json string (or null).
+     *
+     * @param out   target writer
+     * @param value value
+     * @throws IOException on write error
+     */
+    public static void string(final Writer out, final String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            escape(out, value.charAt(i));
+        }
+        out.write('"');
+    }
+
+    /**
+     * Write content of reader as json string (streamed, so content size is not important).
+     *
+     * @param out    target writer
+     * @param reader content
+     * @throws IOException on read or write error
+     */
+    public static void string(final Writer out, final Reader reader) throws IOException {
+        out.write('"');
+        final char[] buffer = new char[BUFFER_SIZE];
+        int read = reader.read(buffer);
+        while (read >= 0) {
+            for (int i = 0; i < read; i++) {
+                escape(out, buffer[i]);
+            }
+            read = reader.read(buffer);
+        }
+        out.write('"');
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private static void escape(final Writer out, final char ch) throws IOException {
+        switch (ch) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            case '\b':
+                out.write("\\b");
+                break;
+            case '\f':
+                out.write("\\f");
+                break;
+            default:
+                if (ch < CONTROL_CHARS) {
+                    out.write(String.format("\\u%04x", (int) ch));
+                } else {
+                    out.write(ch);
+                }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies source files referenced from generated source maps (only referenced files, instead of all sources).
+ * <p>
+ * Sources are searched with {@link SourceLocator} (in source directories first and then in source jars).
+ * State file remembers copied files (source location, size and modification time)
+ * so unchanged files are not even read on the next build. Files with changed metadata, but the same content (by
+ * hash) are also not copied. Previously copied files, not referenced anymore (e.g. for removed or renamed
+ * classes), are removed from target directory.
+ * <p>
+ * Files are copied in parallel.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class ReferencedSourcesCopier {
+
+    private static final String SEPARATOR = "|";
+
+    private final SourceLocator locator;
+    private final File stateFile;
+
+    private final AtomicInteger copied = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private int deleted;
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    public ReferencedSourcesCopier(final SourceLocator locator, final File stateFile) {
+        this.locator = locator;
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * Copy sources, referenced by all source maps in target directory.
+     *
+     * @param targetDir compilation target directory
+     * @return number of referenced sources
+     * @throws IOException on copy error
+     */
+    public int copy(final File targetDir) throws IOException {
+        final Path base = targetDir.toPath().toAbsolutePath().normalize();
+        final Set<Path> referenced = new LinkedHashSet<>();
+        final File[] maps = targetDir.listFiles(file -> file.getName().endsWith(".map"));
+        if (maps != null) {
+            for (File map : maps) {
+                for (String source : SourceMapReader.readSources(map)) {
+                    // urls (e.g. local links) are not copied
+                    if (!source.contains(":")) {
+                        final Path path = map.getParentFile().toPath().toAbsolutePath().resolve(source).normalize();
+                        if (path.startsWith(base)) {
+                            referenced.add(path);
+                        }
+                    }
+                }
+            }
+        }
+        final Map<String, String> state = loadState();
+        final Map<String, String> newState = new ConcurrentHashMap<>();
+        if (referenced.isEmpty()) {
+            removeStale(base, state, newState);
+            return 0;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(referenced.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (Path target : referenced) {
+                final String key = base.relativize(target).toString().replace('\\', '/');
+                futures.add(executor.submit(() -> {
+                    copyFile(key, target.toFile(), state.get(key), newState);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Sources copy interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof IOException ? (IOException) ex.getCause()
+                    : new IOException("Sources copy failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        removeStale(base, state, newState);
+        return referenced.size();
+    }
+
+    /**
+     * @return count of actually copied files
+     */
+    public int getCopied() {
+        return copied.get();
+    }
+
+    /**
+     * @return count of files not copied because target file is up-to-date
+     */
+    public int getUnchanged() {
+        return unchanged.get();
+    }
+
+    /**
+     * @return count of removed copies, not referenced anymore
+     */
+    public int getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return referenced sources not found in source directories and jars
+     */
+    public Set<String> getMissing() {
+        return missing;
+    }
+
+    private void copyFile(final String key,
+                          final File target,
+                          final String previous,
+                          final Map<String, String> newState) throws IOException {
+        final File source = locator.find(key);
+        if (source == null) {
+            missing.add(key);
+            return;
+        }
+        final String meta = source.getAbsolutePath() + SEPARATOR + source.length() + SEPARATOR
+                + source.lastModified();
+        if (target.exists() && meta.equals(previous)) {
+            unchanged.incrementAndGet();
+        } else if (target.exists() && target.length() == source.length()
+                && FsUtils.sha256(target).equals(FsUtils.sha256(source))) {
+            unchanged.incrementAndGet();
+        } else {
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            copied.incrementAndGet();
+        }
+        newState.put(key, meta);
+    }
+
+    private void removeStale(final Path base,
+                             final Map<String, String> state,
+                             final Map<String, String> newState) throws IOException {
+        // only files copied by previous runs are removed (state file), other target files are not touched
+        for (String stale : state.keySet()) {
+            if (!newState.containsKey(stale) && Files.deleteIfExists(base.resolve(stale))) {
+                deleted++;
+            }
+        }
+        if (!state.isEmpty() || !newState.isEmpty()) {
+            storeState(newState);
+        }
+    }
+
+    private Map<String, String> loadState() throws IOException {
+        final Map<String, String> res = new ConcurrentHashMap<>();
+        if (stateFile.exists()) {
+            final Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(stateFile.toPath())) {
+                props.load(in);
+            }
+            props.stringPropertyNames().forEach(name -> res.put(name, props.getProperty(name)));
+        }
+        return res;
+    }
+
+    private void storeState(final Map<String, String> state) throws IOException {
+        final Properties props = new Properties();
+        props.putAll(state);
+        Files.createDirectories(stateFile.getParentFile().toPath());
+        try (OutputStream out = Files.newOutputStream(stateFile.toPath())) {
+            props.store(out, null);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches source files (referenced from source maps) in source directories and source jars. Jars are extracted
+ * (lazily, only when the first lookup is performed) into shared {@link ExtractedSourcesCache}.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class SourceLocator {
+
+    private final List<File> sourceDirs;
+    private final List<File> sourceJars;
+    private final ExtractedSourcesCache cache;
+    private volatile List<File> roots;
+
+    public SourceLocator(final List<File> sourceDirs,
+                         final List<File> sourceJars,
+                         final ExtractedSourcesCache cache) {
+        this.sourceDirs = sourceDirs;
+        this.sourceJars = sourceJars;
+        this.cache = cache;
+    }
+
+    /**
+     * Source map may use additional prefix (like "src/") for copied sources so path without the first segment
+     * is also checked.
+     *
+     * @param path source path, relative to source map
+     * @return source file or null if not found
+     * @throws IOException on jar extraction error
+     */
+    public File find(final String path) throws IOException {
+        final List<String> candidates = new ArrayList<>();
+        candidates.add(path);
+        final int idx = path.indexOf('/');
+        if (idx > 0) {
+            candidates.add(path.substring(idx + 1));
+        }
+        for (String candidate : candidates) {
+            for (File root : getRoots()) {
+                final File file = new File(root, candidate);
+                if (file.isFile()) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<File> getRoots() throws IOException {
+        if (roots == null) {
+            synchronized (this) {
+                if (roots == null) {
+                    final List<File> res = new ArrayList<>(sourceDirs);
+                    for (File jar : sourceJars) {
+                        res.add(cache.extract(jar));
+                    }
+                    roots = res;
+                }
+            }
+        }
+        return roots;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Source map reader extracting only referenced sources (without loading the entire map into memory).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class SourceMapReader {
+
+    private SourceMapReader() {
+    }
+
+    /**
+     * Read source map "sources" array. Returned paths are already prefixed with "sourceRoot" (if declared).
+     *
+     * @param map source map file
+     * @return referenced source paths (relative to source map location)
+     * @throws IOException on read error
+     */
+    public static List<String> readSources(final File map) throws IOException {
+        String root = "";
+        List<String> sources = Collections.emptyList();
+        try (BufferedReader reader = Files.newBufferedReader(map.toPath(), StandardCharsets.UTF_8)) {
+            final JsonTokenizer json = new JsonTokenizer(reader);
+            json.expect('{');
+            while (!json.consume('}')) {
+                final String key = json.readString();
+                json.expect(':');
+                if ("sourceRoot".equals(key) && json.peek() == '"') {
+                    root = json.readString();
+                } else if ("sources".equals(key)) {
+                    sources = readArray(json);
+                } else {
+                    json.skipValue();
+                }
+                json.consume(',');
+            }
+        }
+        final List<String> res = new ArrayList<>(sources.size());
+        for (String source : sources) {
+            if (source != null) {
+                res.add(withRoot(root, source));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Root is not applied to absolute paths and urls.
+     *
+     * @param root   source root (may be empty)
+     * @param source source path
+     * @return source path with applied root
+     */
+    static String withRoot(final String root, final String source) {
+        if (root.isEmpty() || source.contains(":") || source.startsWith("/")) {
+            return source;
+        }
+        return root.endsWith("/") ? root + source : root + "/" + source;
+    }
+
+    static List<String> readArray(final JsonTokenizer json) throws IOException {
+        final List<String> res = new ArrayList<>();
+        json.expect('[');
+        while (!json.consume(']')) {
+            if (json.peek() == '"') {
+                res.add(json.readString());
+            } else {
+                // null
+                json.skipValue();
+                res.add(null);
+            }
+            json.consume(',');
+        }
+        return res;
+    }
+}
@@ -0,0 +1,228 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Streaming source map post-processor. Rewrites "sources" paths (relative to source map location and/or with
+ * custom prefix) and inlines or strips "sourcesContent".
+ * <p>
+ * Only "sources" array is loaded into memory: all other values (including huge "mappings") are streamed directly
+ * into the new file, so memory usage does not depend on source map size. Inlined sources are also streamed.
+ * When "sourceRoot" goes after "sources", rewritten sources are written at the end of the object (root must be
+ * known to rewrite paths).
+ * <p>
+ * Prefix could not be combined with relative paths: relative paths may go outside source map directory
+ * (e.g. "../../src/Main.java") and so could not be resolved against prefix.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class SourceMapRewriter {
+
+    private static final String FILE_PROTOCOL = "file:";
+    private static final String SOURCES = "sources";
+    private static final String SOURCE_ROOT = "sourceRoot";
+    private static final String SOURCES_CONTENT = "sourcesContent";
+
+    private final String prefix;
+    private final boolean relative;
+    private final SourcesContent content;
+    private final SourceLocator locator;
+
+    /**
+     * @param prefix   prefix for all (not absolute) source paths (e.g. url) or null
+     * @param relative true to convert absolute paths (and local file links) into paths relative to source map
+     * @param content  sources content processing mode
+     * @param locator  source locator to search sources for inlining (could be null)
+     * @throws IllegalArgumentException if both prefix and relative paths configured
+     */
+    public SourceMapRewriter(final String prefix,
+                             final boolean relative,
+                             final SourcesContent content,
+                             final SourceLocator locator) {
+        this.prefix = prefix == null ? "" : prefix;
+        if (relative && !this.prefix.isEmpty()) {
+            throw new IllegalArgumentException("Source map sources prefix could not be used with relative paths");
+        }
+        this.relative = relative;
+        this.content = content == null ? SourcesContent.KEEP : content;
+        this.locator = locator;
+    }
+
+    /**
+     * @return true if source map modification is required
+     */
+    public boolean isRequired() {
+        return isPathsRewritten() || content != SourcesContent.KEEP;
+    }
+
+    /**
+     * Rewrite source map (file replaced).
+     *
+     * @param map source map file
+     * @throws IOException on processing error
+     */
+    public void rewrite(final File map) throws IOException {
+        final File tmp = new File(map.getParentFile(), map.getName() + ".tmp");
+        try (BufferedReader reader = Files.newBufferedReader(map.toPath(), StandardCharsets.UTF_8);
+             Writer out = new BufferedWriter(Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8))) {
+            process(map.getParentFile(), new JsonTokenizer(reader), out);
+        } catch (IOException ex) {
+            Files.deleteIfExists(tmp.toPath());
+            throw ex;
+        }
+        Files.move(tmp.toPath(), map.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity",
+            "PMD.CognitiveComplexity", "PMD.NPathComplexity"})
+    private void process(final File dir, final JsonTokenizer json, final Writer out) throws IOException {
+        String root = "";
+        boolean rootSeen = false;
+        List<String> sources = null;
+        boolean sourcesWritten = false;
+        boolean first = true;
+        json.expect('{');
+        out.write('{');
+        while (!json.consume('}')) {
+            final String key = json.readString();
+            json.expect(':');
+            if (SOURCES_CONTENT.equals(key) && content != SourcesContent.KEEP) {
+                json.skipValue();
+            } else if (SOURCES.equals(key) && !rootSeen && isPathsRewritten()) {
+                // sourceRoot may go after sources: write sources at the end
+                sources = SourceMapReader.readArray(json);
+            } else {
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                JsonWriter.string(out, key);
+                out.write(':');
+                if (SOURCE_ROOT.equals(key) && json.peek() == '"') {
+                    root = json.readString();
+                    rootSeen = true;
+                    // root is merged into paths when paths are rewritten
+                    JsonWriter.string(out, isPathsRewritten() ? "" : root);
+                } else if (SOURCES.equals(key)) {
+                    sources = SourceMapReader.readArray(json);
+                    writeSources(dir, root, sources, out);
+                    sourcesWritten = true;
+                } else {
+                    json.copyValue(out);
+                }
+            }
+            json.consume(',');
+        }
+        if (sources != null && !sourcesWritten) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            JsonWriter.string(out, SOURCES);
+            out.write(':');
+            writeSources(dir, root, sources, out);
+        }
+        if (content == SourcesContent.INLINE && sources != null) {
+            if (!first) {
+                out.write(',');
+            }
+            writeContent(dir, root, sources, out);
+        }
+        out.write('}');
+    }
+
+    private void writeSources(final File dir,
+                              final String root,
+                              final List<String> sources,
+                              final Writer out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < sources.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            final String source = sources.get(i);
+            JsonWriter.string(out, source == null || !isPathsRewritten()
+                    ? source : rewritePath(dir, SourceMapReader.withRoot(root, source)));
+        }
+        out.write(']');
+    }
+
+    private void writeContent(final File dir,
+                              final String root,
+                              final List<String> sources,
+                              final Writer out) throws IOException {
+        JsonWriter.string(out, SOURCES_CONTENT);
+        out.write(":[");
+        for (int i = 0; i < sources.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            final String source = sources.get(i);
+            final File file = source == null ? null : findFile(dir, SourceMapReader.withRoot(root, source));
+            if (file == null) {
+                out.write("null");
+            } else {
+                try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                    JsonWriter.string(out, reader);
+                }
+            }
+        }
+        out.write(']');
+    }
+
+    private boolean isPathsRewritten() {
+        return relative || !prefix.isEmpty();
+    }
+
+    private String rewritePath(final File dir, final String source) {
+        String res = source;
+        if (relative) {
+            final File file = toLocalFile(source);
+            if (file != null) {
+                final Path base = dir.toPath().toAbsolutePath().normalize();
+                res = base.relativize(file.toPath().toAbsolutePath().normalize()).toString().replace('\\', '/');
+            }
+        }
+        if (!prefix.isEmpty() && !res.contains("://") && !res.startsWith(FILE_PROTOCOL) && !res.startsWith("/")) {
+            res = prefix + res;
+        }
+        return res;
+    }
+
+    private File findFile(final File dir, final String source) throws IOException {
+        File res = toLocalFile(source);
+        if (res == null && !source.contains(":")) {
+            res = new File(dir, source);
+            if (!res.isFile()) {
+                res = locator == null ? null : locator.find(source);
+            }
+        }
+        return res != null && res.isFile() ? res : null;
+    }
+
+    private File toLocalFile(final String source) {
+        File res = null;
+        if (source.startsWith(FILE_PROTOCOL)) {
+            try {
+                res = new File(URI.create(source));
+            } catch (IllegalArgumentException ex) {
+                // not a valid file url - leave as is
+                res = null;
+            }
+        } else if (new File(source).isAbsolute()) {
+            res = new File(source);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap;
+
+/**
+ * Source map "sourcesContent" processing mode.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public enum SourcesContent {
+    /**
+     * Leave "sourcesContent" as is (as generated by teavm).
+     */
+    KEEP,
+    /**
+     * Inline source files content into source map (source files would not be required for debugging).
+     */
+    INLINE,
+    /**
+     * Remove "sourcesContent" from source map.
+     */
+    STRIP
+}
@@ -8,9 +8,12 @@ import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.workers.WorkParameters;
 import org.teavm.backend.javascript.JSModuleType;
+import org.teavm.backend.wasm.WasmDebugInfoLevel;
+import org.teavm.backend.wasm.WasmDebugInfoLocation;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.tooling.TeaVMTargetType;
 import org.teavm.vm.TeaVMOptimizationLevel;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.SourcesContent;
 
 import java.io.File;
 
@@ -28,11 +31,17 @@ public interface CompileParameters extends WorkParameters {
     Property<Boolean> getDebug();
 
     /**
-     * Worker process can't directly return anything, so special file used as error indicator.
+     * Worker process can't directly return anything, so compilation result is written into file
+     * (see {@link CompileResult}).
      *
-     * @return error indication file
+     * @return compilation result file
      */
-    RegularFileProperty getErrorFile();
+    RegularFileProperty getResultFile();
+
+    /**
+     * @return true to fail build on compilation errors
+     */
+    Property<Boolean> getStopOnErrors();
 
     /**
      * @return all directories with compiled classes and classpath jar files
@@ -49,6 +58,11 @@ public interface CompileParameters extends WorkParameters {
      */
     ListProperty<File> getSourceJars();
 
+    /**
+     * @return shared directory for extracted source jars (used for incremental sources copy)
+     */
+    DirectoryProperty getSourcesCacheDirectory();
+
     /**
      * @return target directory
      */
@@ -90,6 +104,26 @@ public interface CompileParameters extends WorkParameters {
      */
     Property<WasmBinaryVersion> getWasmVersion();
 
+    /**
+     * @return true to copy wasm GC runtime
+     */
+    Property<Boolean> getWasmGCRuntimeCopied();
+
+    /**
+     * @return true to copy modular wasm GC runtime
+     */
+    Property<Boolean> getWasmGCRuntimeModular();
+
+    /**
+     * @return wasm debug information level
+     */
+    Property<WasmDebugInfoLevel> getWasmDebugInfoLevel();
+
+    /**
+     * @return wasm debug information location
+     */
+    Property<WasmDebugInfoLocation> getWasmDebugInfoLocation();
+
     /**
      * @return true to minimize compiled js
      */
@@ -110,6 +144,11 @@ public interface CompileParameters extends WorkParameters {
      */
     Property<Boolean> getSourceFilesCopiedAsLocalLinks();
 
+    /**
+     * @return true to copy only sources referenced from source maps (and only changed files)
+     */
+    Property<Boolean> getSourceFilesCopiedIncrementally();
+
     /**
      * @return tue for incremental compilation
      */
@@ -147,6 +186,31 @@ public interface CompileParameters extends WorkParameters {
      */
     Property<Boolean> getAssertionsRemoved();
 
+    /**
+     * @return prefix for source map sources paths
+     */
+    Property<String> getSourceMapSourcesPrefix();
+
+    /**
+     * @return true to convert absolute source map sources paths into relative
+     */
+    Property<Boolean> getSourceMapSourcesRelative();
+
+    /**
+     * @return source map sources content processing mode
+     */
+    Property<SourcesContent> getSourceMapSourcesContent();
+
+    /**
+     * @return true to search machine-specific paths in generated files
+     */
+    Property<Boolean> getReproducible();
+
+    /**
+     * @return machine-specific paths (project root, gradle home) which must not appear in generated files
+     */
+    ListProperty<String> getMachinePaths();
+
     /**
      * @return max top level names (JS target only)
      */
@@ -182,5 +246,60 @@ public interface CompileParameters extends WorkParameters {
      */
     ListProperty<String> getClassesToPreserve();
 
+    /**
+     * @return true to copy used classpath resources into target directory
+     */
+    Property<Boolean> getUsedResourcesCopied();
+
+    /**
+     * @return additional resource glob patterns
+     */
+    ListProperty<String> getUsedResourcesPatterns();
+
+    /**
+     * @return true to generate webassembly loader and manifest
+     */
+    Property<Boolean> getWasmLoaderGenerated();
+
+    /**
+     * @return true to cache module in IndexedDB
+     */
+    Property<Boolean> getWasmModuleCached();
+
+    /**
+     * @return JFR recording file (profiling enabled when configured)
+     */
+    RegularFileProperty getProfilingFile();
+
+    /**
+     * @return hot methods summary size (0 to disable summary)
+     */
+    Property<Integer> getProfilingHotMethods();
+
+    /**
+     * @return class transformers stats report file
+     */
+    RegularFileProperty getTransformersReportFile();
+
+    /**
+     * @return stall timeout in seconds (0 to disable stall detection)
+     */
+    Property<Integer> getStallTimeout();
+
+    /**
+     * @return true to cancel compilation after the second stall timeout
+     */
+    Property<Boolean> getStallCancel();
+
+    /**
+     * @return stall diagnostic report file
+     */
+    RegularFileProperty getStallReportFile();
+
+    /**
+     * @return cancellation token file (created when compilation must be cancelled)
+     */
+    RegularFileProperty getCancellationFile();
+
 
 }
@@ -0,0 +1,214 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import ru.vyarus.gradle.plugin.teavm.sourcemap.JsonTokenizer;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compilation result, written by worker into json file and read by task (worker could communicate with task only
+ * through files). Contains compilation problems, phase timings, output files inventory (reported by teavm, so
+ * output directory is not scanned) and post-processing statistics.
+ * <p>
+ * Result file is a task output and so could be used by other tasks:
+ * {@code tasks.compileTeavm.compileResult.get().outputs}.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public class CompileResult {
+
+    private boolean success = true;
+    private long time;
+    private final List<String> problems = new ArrayList<>();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, Long> outputs = new LinkedHashMap<>();
+    private final Map<String, Long> stats = new LinkedHashMap<>();
+
+    /**
+     * Mark compilation as failed.
+     *
+     * @param problem failure description
+     */
+    public void fail(final String problem) {
+        success = false;
+        problems.add(problem);
+    }
+
+    /**
+     * @return true if compilation succeed
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * @return compilation time (ms)
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public void setTime(final long time) {
+        this.time = time;
+    }
+
+    /**
+     * @return compilation errors
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    /**
+     * @return teavm phase timings (ms) in execution order
+     */
+    public Map<String, Long> getPhases() {
+        return phases;
+    }
+
+    /**
+     * @return generated files (path relative to target directory) with sizes
+     */
+    public Map<String, Long> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * @return total size of generated files
+     */
+    public long getOutputsSize() {
+        return outputs.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Post-processing counters (e.g. "sourcesCopied", "sourcesUnchanged", "sourceMapsProcessed").
+     * <p>
+     * Teavm incremental cache hits and misses are not included: cache instances are created inside teavm tool
+     * (not accessible from build strategy) and teavm caches do not count hits.
+     *
+     * @return statistics
+     */
+    public Map<String, Long> getStats() {
+        return stats;
+    }
+
+    /**
+     * @param file target file
+     * @throws IOException on write error
+     */
+    public void write(final File file) throws IOException {
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            out.write("{\"success\":" + success + ",\"time\":" + time + ",\"problems\":[");
+            for (int i = 0; i < problems.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                JsonWriter.string(out, problems.get(i));
+            }
+            out.write("],\"phases\":");
+            writeMap(out, phases);
+            out.write(",\"outputs\":");
+            writeMap(out, outputs);
+            out.write(",\"stats\":");
+            writeMap(out, stats);
+            out.write('}');
+        }
+    }
+
+    /**
+     * @param file result file
+     * @return compilation result
+     * @throws IOException on read error
+     */
+    public static CompileResult read(final File file) throws IOException {
+        final CompileResult res = new CompileResult();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            final JsonTokenizer json = new JsonTokenizer(reader);
+            json.expect('{');
+            while (!json.consume('}')) {
+                final String key = json.readString();
+                json.expect(':');
+                switch (key) {
+                    case "success":
+                        res.success = Boolean.parseBoolean(readPrimitive(json));
+                        break;
+                    case "time":
+                        res.time = Long.parseLong(readPrimitive(json));
+                        break;
+                    case "problems":
+                        readProblems(json, res.problems);
+                        break;
+                    case "phases":
+                        readMap(json, res.phases);
+                        break;
+                    case "outputs":
+                        readMap(json, res.outputs);
+                        break;
+                    case "stats":
+                        readMap(json, res.stats);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+                json.consume(',');
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return (success ? "success" : "failed") + ", " + outputs.size() + " files, " + getOutputsSize() + " bytes";
+    }
+
+    private static void writeMap(final Writer out, final Map<String, Long> map) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : map.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            JsonWriter.string(out, entry.getKey());
+            out.write(":" + entry.getValue());
+        }
+        out.write('}');
+    }
+
+    private static void readProblems(final JsonTokenizer json, final List<String> target) throws IOException {
+        json.expect('[');
+        while (!json.consume(']')) {
+            target.add(json.readString());
+            json.consume(',');
+        }
+    }
+
+    private static void readMap(final JsonTokenizer json, final Map<String, Long> target) throws IOException {
+        json.expect('{');
+        while (!json.consume('}')) {
+            final String key = json.readString();
+            json.expect(':');
+            target.put(key, Long.parseLong(readPrimitive(json)));
+            json.consume(',');
+        }
+    }
+
+    private static String readPrimitive(final JsonTokenizer json) throws IOException {
+        final StringWriter out = new StringWriter();
+        json.copyValue(out);
+        return out.toString().trim();
+    }
+}
@@ -1,9 +1,13 @@
 package ru.vyarus.gradle.plugin.teavm.task;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.logging.LogLevel;
+import org.gradle.api.logging.Logging;
 import org.gradle.workers.WorkAction;
 import org.teavm.tooling.TeaVMProblemRenderer;
 import org.teavm.tooling.TeaVMSourceFilePolicy;
+import org.teavm.tooling.TeaVMTargetType;
 import org.teavm.tooling.TeaVMToolLog;
 import org.teavm.tooling.builder.BuildResult;
 import org.teavm.tooling.builder.BuildStrategy;
@@ -11,23 +15,49 @@ import org.teavm.tooling.builder.InProcessBuildStrategy;
 import org.teavm.vm.TeaVMPhase;
 import org.teavm.vm.TeaVMProgressFeedback;
 import org.teavm.vm.TeaVMProgressListener;
+import ru.vyarus.gradle.plugin.teavm.cancel.CancellationFile;
+import ru.vyarus.gradle.plugin.teavm.diagnostic.StallWatchdog;
+import ru.vyarus.gradle.plugin.teavm.jfr.CompileProfiler;
+import ru.vyarus.gradle.plugin.teavm.jfr.OutputEvent;
+import ru.vyarus.gradle.plugin.teavm.jfr.PhaseEvent;
+import ru.vyarus.gradle.plugin.teavm.jfr.ProfilingTransformer;
+import ru.vyarus.gradle.plugin.teavm.jfr.TransformerStats;
+import ru.vyarus.gradle.plugin.teavm.resources.UsedResourcesSync;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.ExtractedSourcesCache;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.ReferencedSourcesCopier;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.SourceLocator;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.SourceMapRewriter;
+import ru.vyarus.gradle.plugin.teavm.util.AsyncLogSink;
 import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+import ru.vyarus.gradle.plugin.teavm.util.EmbeddedPaths;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+import ru.vyarus.gradle.plugin.teavm.wasm.WasmLoaderGenerator;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * TeaVM compilation worker. Worker used to execute teavm inside custom classpath (dynamic teavm version selection).
  * Worker might be executed in different jvm (gradle daemon) and so there are no direct communication between
- * worker and plugin (only parameters could be passed into worker). Special file used to indicate compilation fail:
- * if worker creates file, task would throw an exception.
+ * worker and plugin (only parameters could be passed into worker). Compilation result is written into file
+ * (see {@link CompileResult}) and compilation errors are thrown directly from worker (task action completes
+ * right after compilation submission, so gradle could run other tasks in parallel).
  * <p>
- * Logging is not supported inside worker so everything is logged into system out (user will see it).
+ * Plugin messages are printed into system out (user will see it). Compiler log is written asynchronously into
+ * gradle logger (see {@link AsyncLogSink}) to not block compiler thread.
  *
  * @author Vyacheslav Rusakov
  * @since 06.01.2023
@@ -35,22 +65,50 @@ import java.util.Properties;
 @SuppressWarnings({"PMD.SystemPrintln", "PMD.AvoidPrintStackTrace"})
 public abstract class CompileWorker implements WorkAction<CompileParameters> {
 
+    private final CompileResult compileResult = new CompileResult();
+    private SourceLocator sourceLocator;
+    private AsyncLogSink logSink;
+    // transformers profiling (only when profiling enabled)
+    private ProfilingTransformer.Session transformersProfiling;
+    // compilation cancelled (stall or build cancel): always fails, even when stopOnErrors disabled
+    private String cancelReason;
+
     @Override
     public void execute() {
         // order follows org/teavm/maven/TeaVMCompileMojo.java
         final BuildStrategy build = new InProcessBuildStrategy();
         configure(build);
 
-        build.setProgressListener(new LogListener());
-        build.setLog(new LogDelegate());
+        final int stallTimeout = getParameters().getStallTimeout().get();
+        final StallWatchdog watchdog = stallTimeout > 0 ? new StallWatchdog(stallTimeout * 1000L,
+                getParameters().getStallReportFile().get().getAsFile(),
+                getParameters().getStallCancel().get() ? Thread.currentThread() : null) : null;
+        logSink = new AsyncLogSink(Logging.getLogger(CompileWorker.class));
+        final LogListener listener = new LogListener(watchdog,
+                new CancellationFile(getParameters().getCancellationFile().get().getAsFile()), logSink);
+        build.setProgressListener(listener);
+        build.setLog(new LogDelegate(logSink));
         try {
-            run(build);
+            run(build, listener);
         } catch (Exception ex) {
-            // no way to show exception otherwise
-            System.err.println("Unexpected compilation error");
-            ex.printStackTrace();
-            indicateFail("Unexpected processing error: \n" + ex.getMessage());
+            if (listener.isCancelled()) {
+                // exception caused by cancellation (e.g. interrupted compilation thread)
+                cancelled(listener.getCancelReason());
+            } else {
+                // no way to show exception otherwise
+                System.err.println("Unexpected compilation error");
+                ex.printStackTrace();
+                indicateFail("Unexpected processing error: \n" + ex.getMessage());
+            }
+        } finally {
+            logSink.close();
+            if (transformersProfiling != null) {
+                transformersProfiling.close();
+            }
+            compileResult.getPhases().putAll(listener.getPhaseTimes());
+            writeResult();
         }
+        checkResult();
     }
 
     @SuppressWarnings("checkstyle:ExecutableStatementCount")
@@ -62,10 +120,20 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
         build.setMaxTopLevelNames(getParameters().getMaxTopLevelNames().get());
         build.setTargetDirectory(getParameters().getTargetDirectory().get().getAsFile().getAbsolutePath());
 
-        if (getParameters().getTransformers().isPresent()) {
-            build.setTransformers(getParameters().getTransformers().get().toArray(new String[]{}));
+        if (getParameters().getTransformers().isPresent()
+                && !getParameters().getTransformers().get().isEmpty()) {
+            if (isProfiling()) {
+                // configured transformers surrounded with measuring markers
+                transformersProfiling = new ProfilingTransformer.Session(getParameters().getTransformers().get());
+                build.setTransformers(transformersProfiling.register());
+            } else {
+                build.setTransformers(getParameters().getTransformers().get().toArray(new String[]{}));
+            }
         }
-        if (getParameters().getSourceFilesCopied().get()) {
+        if (isIncrementalSourcesCopy()) {
+            // sources would be copied after compilation (only referenced from source maps)
+            build.setSourceFilePolicy(TeaVMSourceFilePolicy.DO_NOTHING);
+        } else if (getParameters().getSourceFilesCopied().get()) {
             build.setSourceFilePolicy(getParameters().getSourceFilesCopiedAsLocalLinks().get()
                     ? TeaVMSourceFilePolicy.LINK_LOCAL_FILES : TeaVMSourceFilePolicy.COPY);
             getParameters().getSourceDirectories().get().forEach(directory ->
@@ -84,8 +152,12 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
         build.setIncremental(getParameters().getIncremental().get());
         build.setDebugInformationGenerated(getParameters().getDebugInformationGenerated().get());
         build.setSourceMapsFileGenerated(getParameters().getSourceMapsFileGenerated().get());
-        build.setMinHeapSize(getParameters().getMinHeapSize().get() * 1024 * 1024);
-        build.setMaxHeapSize(getParameters().getMaxHeapSize().get() * 1024 * 1024);
+        final TeaVMTargetType target = getParameters().getTargetType().get();
+        // js and wasm gc use host garbage collector
+        if (target != TeaVMTargetType.JAVASCRIPT && target != TeaVMTargetType.WEBASSEMBLY_GC) {
+            build.setMinHeapSize(getParameters().getMinHeapSize().get() * 1024 * 1024);
+            build.setMaxHeapSize(getParameters().getMaxHeapSize().get() * 1024 * 1024);
+        }
         build.setShortFileNames(getParameters().getShortFileNames().get());
         build.setAssertionsRemoved(getParameters().getAssertionsRemoved().get());
 
@@ -103,17 +175,47 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
         build.setTargetType(getParameters().getTargetType().get());
         build.setJsModuleType(getParameters().getJsModuleType().get());
         build.setWasmVersion(getParameters().getWasmVersion().get());
-        build.setHeapDump(getParameters().getHeapDump().get());
+        build.setWasmDebugInfoLevel(getParameters().getWasmDebugInfoLevel().get());
+        build.setWasmDebugInfoLocation(getParameters().getWasmDebugInfoLocation().get());
+        build.setHeapDump(target == TeaVMTargetType.C && getParameters().getHeapDump().get());
     }
 
-    private void run(final BuildStrategy build) throws Exception {
+    private void run(final BuildStrategy build, final LogListener listener) throws Exception {
+        final CompileProfiler profiler = isProfiling()
+                ? new CompileProfiler(getParameters().getProfilingFile().get().getAsFile()) : null;
+        try {
+            runBuild(build, listener);
+        } finally {
+            if (profiler != null) {
+                profiler.stop();
+                reportProfiling(profiler);
+            }
+        }
+    }
+
+    private void runBuild(final BuildStrategy build, final LogListener listener) throws Exception {
         final long watch = System.currentTimeMillis();
-        final BuildResult result = build.build();
+        final BuildResult result;
+        try {
+            listener.start();
+            result = build.build();
+        } finally {
+            listener.finish();
+        }
         final long time = System.currentTimeMillis() - watch;
+        compileResult.setTime(time);
+        logSink.flush();
+        reportTransformers();
+        if (listener.isCancelled()) {
+            // output is incomplete: skip post-processing (task fails)
+            cancelled(listener.getCancelReason());
+            return;
+        }
 
         if (result.getProblems() != null) {
-            final LogDelegate log = new LogDelegate(true);
+            final LogDelegate log = new LogDelegate(logSink, true);
             TeaVMProblemRenderer.describeProblems(result.getCallGraph(), result.getProblems(), log);
+            logSink.flush();
 
             if (!result.getProblems().getSevereProblems().isEmpty()) {
                 // indicate error (double space to separate multi-line errors)
@@ -123,18 +225,271 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
 
         if (result.getProblems() == null || result.getProblems().getSevereProblems().isEmpty()) {
             System.out.println("Overall time: " + DurationFormatter.format(time));
+            if (isIncrementalSourcesCopy()) {
+                copyReferencedSources();
+            }
+            if (getParameters().getUsedResourcesCopied().get()) {
+                syncUsedResources(result);
+            }
+            final List<File> generated = generatedFiles(result);
+            if (getParameters().getSourceMapsFileGenerated().get()) {
+                rewriteSourceMaps(generated);
+            }
+            if (getParameters().getWasmGCRuntimeCopied().get()
+                    && getParameters().getTargetType().get() == TeaVMTargetType.WEBASSEMBLY_GC) {
+                copyWasmGCRuntime(generated);
+            }
+            if (getParameters().getWasmLoaderGenerated().get()
+                    && getParameters().getTargetType().get() == TeaVMTargetType.WEBASSEMBLY) {
+                generateWasmLoader(generated);
+            }
+            // sizes collected after post-processing
+            final Path targetDir = getParameters().getTargetDirectory().get().getAsFile().toPath();
+            for (File file : generated) {
+                compileResult.getOutputs().put(targetDir.relativize(file.toPath()).toString()
+                        .replace('\\', '/'), file.length());
+            }
+            if (getParameters().getReproducible().get()) {
+                checkEmbeddedPaths(generated);
+            }
+        }
+
+    }
+
+    private boolean isProfiling() {
+        return getParameters().getProfilingFile().isPresent();
+    }
+
+    private void reportProfiling(final CompileProfiler profiler) throws IOException {
+        final File file = profiler.getFile();
+        System.out.println("JFR recording: " + file.getAbsolutePath());
+        final int hotMethods = getParameters().getProfilingHotMethods().get();
+        if (hotMethods > 0) {
+            final String table = profiler.hotMethods(hotMethods);
+            final File report = new File(file.getParentFile(),
+                    file.getName().substring(0, file.getName().lastIndexOf('.')) + "-hot-methods.txt");
+            Files.writeString(report.toPath(), table);
+            System.out.println("Hot methods (compilation thread):\n" + table);
+        }
+    }
+
+    private void reportTransformers() throws IOException {
+        if (transformersProfiling == null) {
+            return;
+        }
+        final List<TransformerStats> stats = transformersProfiling.getStats();
+        final String table = TransformerStats.render(stats);
+        final File report = getParameters().getTransformersReportFile().get().getAsFile();
+        Files.createDirectories(report.getParentFile().toPath());
+        Files.writeString(report.toPath(), table);
+        System.out.println("Class transformers:\n" + table);
+    }
+
+    private boolean isIncrementalSourcesCopy() {
+        return getParameters().getSourceFilesCopied().get()
+                && getParameters().getSourceFilesCopiedIncrementally().get()
+                && !getParameters().getSourceFilesCopiedAsLocalLinks().get()
+                && getParameters().getSourceMapsFileGenerated().get();
+    }
+
+    private void copyReferencedSources() throws IOException {
+        final long watch = System.currentTimeMillis();
+        final ReferencedSourcesCopier copier = new ReferencedSourcesCopier(sourceLocator(),
+                new File(getParameters().getCacheDirectory().get().getAsFile(), "sources-copy.properties"));
+        final OutputEvent event = new OutputEvent();
+        event.begin();
+        final int count = copier.copy(getParameters().getTargetDirectory().get().getAsFile());
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "sources copy";
+            event.path = getParameters().getTargetDirectory().get().getAsFile().getAbsolutePath();
+            event.size = copier.getCopied();
+            event.commit();
+        }
+        compileResult.getStats().put("sourcesReferenced", (long) count);
+        compileResult.getStats().put("sourcesCopied", (long) copier.getCopied());
+        compileResult.getStats().put("sourcesUnchanged", (long) copier.getUnchanged());
+        compileResult.getStats().put("sourcesDeleted", (long) copier.getDeleted());
+        compileResult.getStats().put("sourcesMissing", (long) copier.getMissing().size());
+        System.out.println("Referenced sources: " + count + " (copied " + copier.getCopied() + ", unchanged "
+                + copier.getUnchanged() + ", deleted " + copier.getDeleted() + ", not found "
+                + copier.getMissing().size() + ") in "
+                + DurationFormatter.format(System.currentTimeMillis() - watch));
+        if (getParameters().getDebug().get() && !copier.getMissing().isEmpty()) {
+            System.out.println("Not found sources: \n" + copier.getMissing().stream()
+                    .map(s -> "\t" + s).sorted().collect(Collectors.joining("\n")));
+        }
+    }
+
+    private void syncUsedResources(final BuildResult result) throws IOException {
+        final long watch = System.currentTimeMillis();
+        final List<File> classpath = getParameters().getClassPathEntries().get().stream()
+                .map(File::new).collect(Collectors.toList());
+        try (UsedResourcesSync sync = new UsedResourcesSync(classpath,
+                getParameters().getUsedResourcesPatterns().get(),
+                new File(getParameters().getCacheDirectory().get().getAsFile(), "resources-sync.properties"))) {
+            final int count = sync.sync(result.getUsedResources() == null
+                            ? Collections.emptyList() : result.getUsedResources(),
+                    getParameters().getTargetDirectory().get().getAsFile());
+            compileResult.getStats().put("resourcesUsed", (long) count);
+            compileResult.getStats().put("resourcesCopied", (long) sync.getCopied());
+            compileResult.getStats().put("resourcesUnchanged", (long) sync.getUnchanged());
+            compileResult.getStats().put("resourcesDeleted", (long) sync.getDeleted());
+            compileResult.getStats().put("resourcesMissing", (long) sync.getMissing().size());
+            System.out.println("Used resources: " + count + " (copied " + sync.getCopied() + ", unchanged "
+                    + sync.getUnchanged() + ", removed " + sync.getDeleted() + ", not found "
+                    + sync.getMissing().size() + ") in " + DurationFormatter.format(System.currentTimeMillis() - watch));
+            if (getParameters().getDebug().get() && !sync.getMissing().isEmpty()) {
+                System.out.println("Not found resources: \n" + sync.getMissing().stream()
+                        .map(s -> "\t" + s).collect(Collectors.joining("\n")));
+            }
+        }
+    }
+
+    private List<File> generatedFiles(final BuildResult result) {
+        final File targetDir = getParameters().getTargetDirectory().get().getAsFile();
+        final List<File> res = new ArrayList<>();
+        if (result.getGeneratedFiles() != null) {
+            for (String path : result.getGeneratedFiles()) {
+                final File file = new File(path);
+                res.add(file.isAbsolute() ? file : new File(targetDir, path));
+            }
         }
+        return res;
+    }
 
+    private void rewriteSourceMaps(final List<File> generated) throws IOException {
+        final SourceMapRewriter rewriter = new SourceMapRewriter(
+                getParameters().getSourceMapSourcesPrefix().getOrNull(),
+                getParameters().getSourceMapSourcesRelative().get(),
+                getParameters().getSourceMapSourcesContent().get(),
+                sourceLocator());
+        if (rewriter.isRequired()) {
+            final long watch = System.currentTimeMillis();
+            final List<File> maps = generated.stream()
+                    .filter(file -> file.getName().endsWith(".map"))
+                    .collect(Collectors.toList());
+            if (!maps.isEmpty()) {
+                for (File map : maps) {
+                    final OutputEvent event = new OutputEvent();
+                    event.begin();
+                    rewriter.rewrite(map);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.operation = "source map rewrite";
+                        event.path = map.getAbsolutePath();
+                        event.size = map.length();
+                        event.commit();
+                    }
+                }
+                compileResult.getStats().put("sourceMapsProcessed", (long) maps.size());
+                System.out.println("Source maps processed: " + maps.size() + " in "
+                        + DurationFormatter.format(System.currentTimeMillis() - watch));
+            }
+        }
+    }
+
+    private void copyWasmGCRuntime(final List<File> generated) throws IOException {
+        final String resource = "org/teavm/backend/wasm/wasm-gc-"
+                + (getParameters().getWasmGCRuntimeModular().get() ? "modular-" : "")
+                + "runtime" + (getParameters().getObfuscated().get() ? ".min" : "") + ".js";
+        // stack trace deobfuscator module could be also generated
+        final List<File> modules = generated.stream()
+                .filter(file -> file.getName().endsWith(".wasm") && !file.getName().contains("-deobfuscator"))
+                .collect(Collectors.toList());
+        for (File module : modules) {
+            try (InputStream in = BuildStrategy.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    System.out.println("WARNING: wasm GC runtime not found in teavm jars: " + resource);
+                    return;
+                }
+                final File runtime = new File(module.getParentFile(), module.getName() + "-runtime.js");
+                Files.copy(in, runtime.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                generated.add(runtime);
+                System.out.println("Wasm GC runtime: " + runtime.getName());
+            }
+        }
+    }
+
+    private void generateWasmLoader(final List<File> generated) throws IOException {
+        final WasmLoaderGenerator generator = new WasmLoaderGenerator(getParameters().getMinHeapSize().get(),
+                getParameters().getMaxHeapSize().get(), getParameters().getWasmModuleCached().get());
+        final List<File> modules = generated.stream()
+                .filter(file -> file.getName().endsWith(".wasm"))
+                .collect(Collectors.toList());
+        for (File module : modules) {
+            final List<File> files = generator.generate(module);
+            generated.addAll(files);
+            System.out.println("Webassembly loader: " + files.get(0).getName() + " (manifest "
+                    + files.get(1).getName() + ")");
+        }
+    }
+
+    private void checkEmbeddedPaths(final List<File> generated) throws IOException {
+        final Map<File, Set<String>> found = EmbeddedPaths.find(generated, getParameters().getMachinePaths().get());
+        compileResult.getStats().put("embeddedAbsolutePaths", (long) found.size());
+        if (!found.isEmpty()) {
+            final Path targetDir = getParameters().getTargetDirectory().get().getAsFile().toPath();
+            System.out.println("WARNING: generated files contain machine-specific paths (output is not "
+                    + "reproducible):\n" + found.entrySet().stream()
+                    .map(entry -> "\t" + targetDir.relativize(entry.getKey().toPath()) + ": "
+                            + String.join(", ", entry.getValue()))
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private SourceLocator sourceLocator() {
+        if (sourceLocator == null) {
+            final ExtractedSourcesCache cache = new ExtractedSourcesCache(
+                    getParameters().getSourcesCacheDirectory().get().getAsFile());
+            try {
+                final int evicted = cache.evictUnused();
+                if (evicted > 0) {
+                    System.out.println("Removed " + evicted + " source jars unused for "
+                            + ExtractedSourcesCache.MAX_UNUSED_DAYS + " days from sources cache");
+                }
+            } catch (IOException ex) {
+                System.err.println("Sources cache cleanup failed: " + ex.getMessage());
+            }
+            sourceLocator = new SourceLocator(getParameters().getSourceDirectories().get().stream()
+                    .map(Directory::getAsFile).collect(Collectors.toList()),
+                    getParameters().getSourceJars().get(), cache);
+        }
+        return sourceLocator;
     }
 
-    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
     private void indicateFail(final String message) {
+        compileResult.fail(message);
+    }
+
+    private void cancelled(final String reason) {
+        cancelReason = reason;
+        indicateFail(reason);
+    }
+
+    private void checkResult() {
+        if (cancelReason != null) {
+            throw new GradleException("Teavm compilation aborted: " + cancelReason);
+        }
+        if (compileResult.isSuccess()) {
+            System.out.println("Generated " + compileResult.getOutputs().size() + " files ("
+                    + FsUtils.formatSize(compileResult.getOutputsSize()) + ") in "
+                    + getParameters().getTargetDirectory().get().getAsFile().getAbsolutePath());
+        } else if (getParameters().getStopOnErrors().get()) {
+            // shift
+            final String errors = compileResult.getProblems().stream()
+                    .flatMap(problem -> Arrays.stream(problem.split("\n")))
+                    .map(line -> "\t" + line).collect(Collectors.joining("\n"));
+            throw new GradleException("Teavm compilation failed" + (errors.isEmpty() ? "" : (":\n\n" + errors
+                    + "\n")));
+        }
+    }
+
+    private void writeResult() {
         try {
-            final File file = getParameters().getErrorFile().get().getAsFile();
-            file.createNewFile();
-            Files.writeString(file.toPath(), message);
+            compileResult.write(getParameters().getResultFile().get().getAsFile());
         } catch (IOException ex) {
-            System.err.println("Error creating marker file");
+            System.err.println("Error writing compilation result file");
             ex.printStackTrace();
         }
     }
@@ -143,26 +498,75 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
      * TeaVM progress indicator.
      */
     public static class LogListener implements TeaVMProgressListener {
+        private final StallWatchdog watchdog;
+        private final CancellationFile cancellation;
+        private final AsyncLogSink sink;
+        private Thread compileThread;
+        // gradle interrupts worker thread when build is cancelled
+        private volatile boolean interrupted;
         private TeaVMPhase currentPhase;
         private int target = 1;
         private long timer;
+        private PhaseEvent phaseEvent;
+        private final Map<String, Long> phaseTimes = new LinkedHashMap<>();
+
+        /**
+         * @param watchdog     stall watchdog (may be null)
+         * @param cancellation cancellation token
+         * @param sink         log sink (progress is printed through sink to not mix it with compiler log)
+         */
+        public LogListener(final StallWatchdog watchdog, final CancellationFile cancellation,
+                           final AsyncLogSink sink) {
+            this.watchdog = watchdog;
+            this.cancellation = cancellation;
+            this.sink = sink;
+        }
+
+        /**
+         * Start stall detection and cancellation file polling (before compilation, in compilation thread).
+         */
+        public void start() {
+            compileThread = Thread.currentThread();
+            cancellation.start();
+            if (watchdog != null) {
+                watchdog.start();
+            }
+        }
 
         @Override
         public TeaVMProgressFeedback phaseStarted(final TeaVMPhase phase, final int maxSteps) {
+            if (isCancelled()) {
+                return TeaVMProgressFeedback.CANCEL;
+            }
+            if (watchdog != null) {
+                watchdog.progress(phase.name());
+            }
             if (timer > 0 && currentPhase != null) {
                 // teavm may not call listener on 100% so showing previous phase log before changing phase
                 // note: time would not be as accurate, but better then nothing
                 phaseDone();
             }
+            commitPhaseEvent();
             currentPhase = phase;
             target = maxSteps == 0 ? 1 : maxSteps;
             timer = System.currentTimeMillis();
+            phaseEvent = new PhaseEvent();
+            phaseEvent.phase = phase.name();
+            phaseEvent.steps = maxSteps;
+            phaseEvent.begin();
             return TeaVMProgressFeedback.CONTINUE;
         }
 
         @Override
         public TeaVMProgressFeedback progressReached(final int stepsReached) {
+            if (isCancelled()) {
+                return TeaVMProgressFeedback.CANCEL;
+            }
+            if (watchdog != null) {
+                watchdog.progress(String.valueOf(currentPhase));
+            }
             if (stepsReached == target) {
+                commitPhaseEvent();
                 phaseDone();
                 // prevent same log in start phase
                 timer = 0;
@@ -173,9 +577,9 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
                 final int total = target == 1 ? 1000 : target;
                 final StringBuilder string = new StringBuilder(140);
                 final int percent = current * 100 / total;
-                // \r for overriding previous progress line
+                // sink overrides previous progress line
                 string
-                        .append('\r').append(currentPhase).append(' ')
+                        .append(currentPhase).append(' ')
                         .append(String.join("", Collections.nCopies(percent == 0 ? 2
                                 : 2 - (int) (Math.log10(percent)), " ")))
                         .append(String.format(" %d%% [", percent))
@@ -187,72 +591,125 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
                                 - (int) (Math.log10(current)), " ")))
                         .append(String.format(" %d/%d", stepsReached, target));
 
-                System.out.print(string);
+                sink.progress(string.toString());
             }
 
             return TeaVMProgressFeedback.CONTINUE;
         }
 
+        /**
+         * Complete the last phase (teavm may not report last phase completion).
+         */
+        public void finish() {
+            commitPhaseEvent();
+            cancellation.close();
+            if (watchdog != null) {
+                watchdog.close();
+                if (watchdog.isCancelled()) {
+                    // clear interruption from watchdog
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * @return true if compilation was cancelled by gradle (build cancellation or other task failure) or by stall
+         * watchdog
+         */
+        public boolean isCancelled() {
+            if (!interrupted && compileThread != null && compileThread.isInterrupted()
+                    && (watchdog == null || !watchdog.isCancelled())) {
+                interrupted = true;
+            }
+            return interrupted || cancellation.isCancelled() || watchdog != null && watchdog.isCancelled();
+        }
+
+        /**
+         * @return cancellation reason or null
+         */
+        public String getCancelReason() {
+            if (cancellation.isCancelled()) {
+                return "Compilation cancelled: " + cancellation.getReason();
+            }
+            if (watchdog != null && watchdog.isCancelled()) {
+                return watchdog.getDescription();
+            }
+            return interrupted ? "Compilation cancelled: Build cancelled" : null;
+        }
+
+        private void commitPhaseEvent() {
+            if (phaseEvent != null) {
+                phaseEvent.commit();
+                phaseEvent = null;
+            }
+        }
+
+        /**
+         * @return completed phases duration (ms)
+         */
+        public Map<String, Long> getPhaseTimes() {
+            return phaseTimes;
+        }
+
         private void phaseDone() {
+            final long time = System.currentTimeMillis() - timer;
+            phaseTimes.merge(String.valueOf(currentPhase), time, Long::sum);
             // overwrite progress with static text
-            System.out.printf("\r\t %-40s %s%n", currentPhase,
-                    DurationFormatter.format(System.currentTimeMillis() - timer));
+            sink.print(String.format("\t %-40s %s", currentPhase, DurationFormatter.format(time)));
         }
     }
 
     /**
-     * TeaVM logs delegate. Worker does not support loggers so system out used instead.
+     * TeaVM logs delegate. Messages are passed to {@link AsyncLogSink} (written into gradle logger asynchronously).
+     * Errors could be collected to include them into compilation failure message.
      */
     public static class LogDelegate implements TeaVMToolLog {
+        private final AsyncLogSink sink;
         private final boolean collectErrors;
         private final List<String> errors = new ArrayList<>();
 
-        public LogDelegate() {
-            this(false);
+        public LogDelegate(final AsyncLogSink sink) {
+            this(sink, false);
         }
 
-        public LogDelegate(final boolean collectErrors) {
+        public LogDelegate(final AsyncLogSink sink, final boolean collectErrors) {
+            this.sink = sink;
             this.collectErrors = collectErrors;
         }
 
-        // \r required to remove possible last LogListener line from output (after error)
-
         @Override
         public void info(final String s) {
-            System.out.println("\r" + s);
+            sink.log(LogLevel.INFO, s, null);
         }
 
         @Override
         public void info(final String s, final Throwable throwable) {
-            System.out.println("\r" + s);
-            throwable.printStackTrace();
+            sink.log(LogLevel.INFO, s, throwable);
         }
 
         @Override
         public void debug(final String s) {
-            System.out.println("\r" + s);
+            sink.log(LogLevel.DEBUG, s, null);
         }
 
         @Override
         public void debug(final String s, final Throwable throwable) {
-            System.out.println("\r" + s);
-            throwable.printStackTrace();
+            sink.log(LogLevel.DEBUG, s, throwable);
         }
 
         @Override
         public void warning(final String s) {
-            System.out.println("\rWARNING: " + s);
+            sink.log(LogLevel.WARN, "WARNING: " + s, null);
         }
 
         @Override
         public void warning(final String s, final Throwable throwable) {
-            System.out.println("\rWARNING: " + s);
-            throwable.printStackTrace();
+            sink.log(LogLevel.WARN, "WARNING: " + s, throwable);
         }
 
         @Override
         public void error(final String s) {
-            System.out.println("\rERROR: " + s);
+            sink.log(LogLevel.ERROR, "ERROR: " + s, null);
             // only this method used by teavm to report compilation errors
             if (collectErrors) {
                 errors.add(s);
@@ -261,8 +718,7 @@ public abstract class CompileWorker implements WorkAction<CompileParameters> {
 
         @Override
         public void error(final String s, final Throwable throwable) {
-            System.err.println("\rERROR: " + s);
-            throwable.printStackTrace();
+            sink.log(LogLevel.ERROR, "ERROR: " + s, throwable);
         }
 
         public List<String> getErrors() {
@@ -0,0 +1,31 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * Parameters for WASI module execution worker.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public interface RunWasiParameters extends WorkParameters {
+
+    /**
+     * @return executed module
+     */
+    RegularFileProperty getWasmFile();
+
+    /**
+     * @return program arguments
+     */
+    ListProperty<String> getArgs();
+
+    /**
+     * Optional file to write used memory size (bytes) into after execution.
+     *
+     * @return memory size file
+     */
+    RegularFileProperty getMemoryFile();
+}
@@ -0,0 +1,105 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import com.dylibso.chicory.runtime.ImportValues;
+import com.dylibso.chicory.runtime.Instance;
+import com.dylibso.chicory.wasi.WasiExitException;
+import com.dylibso.chicory.wasi.WasiOptions;
+import com.dylibso.chicory.wasi.WasiPreview1;
+import com.dylibso.chicory.wasm.Parser;
+import com.dylibso.chicory.wasm.WasmModule;
+import org.gradle.api.GradleException;
+import org.gradle.workers.WorkAction;
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes WASI module with Chicory (pure-java WebAssembly runtime). Worker is executed with "teavmWasi"
+ * configuration classpath (so runtime is not required for plugin itself). Module output is redirected to
+ * system out and err (user will see it).
+ * <p>
+ * Execution fail (non-zero exit code or runtime error) is thrown as exception, so it is propagated through work
+ * queue and fails the task.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class RunWasiWorker implements WorkAction<RunWasiParameters> {
+
+    private static final int PAGE_SIZE = 64 * 1024;
+
+    @Override
+    public void execute() {
+        final File wasm = getParameters().getWasmFile().get().getAsFile();
+        final List<String> args = new ArrayList<>();
+        // program name
+        args.add(wasm.getName());
+        args.addAll(getParameters().getArgs().get());
+        final WasiOptions options = WasiOptions.builder()
+                .withStdout(new NotClosingStream(System.out))
+                .withStderr(new NotClosingStream(System.err))
+                .withArguments(args)
+                .build();
+        try (WasiPreview1 wasi = WasiPreview1.builder().withOptions(options).build()) {
+            long watch = System.currentTimeMillis();
+            final WasmModule module = Parser.parse(wasm);
+            final Instance instance = Instance.builder(module)
+                    .withImportValues(ImportValues.builder().addFunction(wasi.toHostFunctions()).build())
+                    .withStart(false)
+                    .build();
+            final long instantiation = System.currentTimeMillis() - watch;
+
+            watch = System.currentTimeMillis();
+            int exitCode = 0;
+            try {
+                instance.export("_start").apply();
+            } catch (WasiExitException ex) {
+                exitCode = ex.exitCode();
+            }
+            final long execution = System.currentTimeMillis() - watch;
+            System.out.flush();
+            final int pages = instance.memory().pages();
+            System.out.println("WASI module " + wasm.getName() + ": instantiated in "
+                    + DurationFormatter.format(instantiation) + ", executed in " + DurationFormatter.format(execution)
+                    + ", memory " + pages + " pages (" + (pages * (long) PAGE_SIZE / 1024) + " KB), exit code "
+                    + exitCode);
+            if (getParameters().getMemoryFile().isPresent()) {
+                // memory never shrinks, so current size is the peak
+                Files.writeString(getParameters().getMemoryFile().get().getAsFile().toPath(),
+                        String.valueOf(pages * (long) PAGE_SIZE));
+            }
+            if (exitCode != 0) {
+                throw new GradleException("WASI module exited with code " + exitCode);
+            }
+        } catch (IOException ex) {
+            throw new GradleException("WASI module execution error", ex);
+        }
+    }
+
+    /**
+     * Prevents system streams closing by runtime.
+     */
+    private static class NotClosingStream extends FilterOutputStream {
+
+        NotClosingStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.benchmark.BenchmarkMethod;
+import ru.vyarus.gradle.plugin.teavm.benchmark.BenchmarkScanner;
+import ru.vyarus.gradle.plugin.teavm.benchmark.HarnessGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches benchmark methods (annotated with {@code @Benchmark}) and generates harness main class
+ * ({@link HarnessGenerator#HARNESS}).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmBenchmarkGenerateTask extends DefaultTask {
+
+    /**
+     * @return directories with benchmark classes
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getBenchmarkClasses();
+
+    /**
+     * @return classpath required to load benchmark classes
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * @return warmup iterations
+     */
+    @Input
+    public abstract Property<Integer> getWarmupIterations();
+
+    /**
+     * @return measurement iterations
+     */
+    @Input
+    public abstract Property<Integer> getMeasurementIterations();
+
+    /**
+     * @return iteration time (ms)
+     */
+    @Input
+    public abstract Property<Integer> getIterationTime();
+
+    /**
+     * @return generated sources directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getSourcesDir();
+
+    @TaskAction
+    public void generate() {
+        final File target = getSourcesDir().get().getAsFile();
+        try {
+            FileUtils.cleanDirectory(target);
+            final List<BenchmarkMethod> benchmarks = BenchmarkScanner.scan(
+                    new ArrayList<>(getBenchmarkClasses().getFiles()),
+                    new ArrayList<>(getClasspath().getFiles()));
+            if (benchmarks.isEmpty()) {
+                throw new GradleException("No @Benchmark methods found in "
+                        + getBenchmarkClasses().getFiles());
+            }
+            HarnessGenerator.generate(benchmarks,
+                    getWarmupIterations().get(),
+                    getMeasurementIterations().get(),
+                    getIterationTime().get(),
+                    target);
+            System.out.println("Benchmark harness generated for " + benchmarks.size() + " benchmarks");
+        } catch (IOException ex) {
+            throw new GradleException("Failed to generate benchmark harness", ex);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.ExecOperations;
+import ru.vyarus.gradle.plugin.teavm.benchmark.BenchmarkReport;
+import ru.vyarus.gradle.plugin.teavm.benchmark.HarnessGenerator;
+import ru.vyarus.gradle.plugin.teavm.c.NativeBuilder;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs teavm-compiled benchmark harness (native executable for C target or WASI module with configured runtime)
+ * and the same harness on JVM (baseline). Prints results table and writes CSV report. Task is never up-to-date.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmBenchmarkTask extends DefaultTask {
+
+    public TeavmBenchmarkTask() {
+        // measurements must be always fresh
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    /**
+     * @return native executable (C target)
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    @Optional
+    public abstract RegularFileProperty getExecutable();
+
+    /**
+     * @return WASI module (WASI target)
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    @Optional
+    public abstract RegularFileProperty getWasmFile();
+
+    /**
+     * @return command to run WASI module
+     */
+    @Input
+    public abstract ListProperty<String> getWasiRuntime();
+
+    /**
+     * @return true to run JVM baseline
+     */
+    @Input
+    public abstract Property<Boolean> getJvmBaseline();
+
+    /**
+     * @return harness classpath for JVM baseline
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getJvmClasspath();
+
+    /**
+     * @return max allowed teavm/jvm ratio (0 to disable check)
+     */
+    @Input
+    public abstract Property<Double> getMaxRatio();
+
+    /**
+     * @return CSV report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void run() {
+        final Map<String, Double> teavm = BenchmarkReport.parse(runTeavm());
+        final Map<String, Double> jvm = getJvmBaseline().get()
+                ? BenchmarkReport.parse(runJvm()) : Collections.emptyMap();
+        final BenchmarkReport report = new BenchmarkReport(teavm, jvm);
+        System.out.println(report.render());
+        final File file = getReportFile().get().getAsFile();
+        try {
+            report.write(file);
+        } catch (IOException ex) {
+            throw new GradleException("Failed to write benchmark report: " + file.getAbsolutePath(), ex);
+        }
+        checkRatio(report);
+    }
+
+    private String runTeavm() {
+        final List<String> cmd = new ArrayList<>();
+        if (getExecutable().isPresent()) {
+            cmd.add(getExecutable().get().getAsFile().getAbsolutePath());
+        } else if (getWasmFile().isPresent()) {
+            cmd.addAll(getWasiRuntime().get());
+            cmd.add(getWasmFile().get().getAsFile().getAbsolutePath());
+        } else {
+            throw new GradleException("Neither executable nor wasm module configured");
+        }
+        try {
+            return NativeBuilder.exec(cmd, getProject().getProjectDir());
+        } catch (IOException ex) {
+            throw new GradleException("Teavm benchmark execution failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    private String runJvm() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        getExecOperations().javaexec(spec -> {
+            spec.classpath(getJvmClasspath());
+            spec.getMainClass().set(HarnessGenerator.HARNESS);
+            spec.setStandardOutput(out);
+        });
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void checkRatio(final BenchmarkReport report) {
+        final double max = getMaxRatio().get();
+        if (max <= 0) {
+            return;
+        }
+        final List<String> failed = report.getNames().stream()
+                .filter(name -> {
+                    final Double ratio = report.getRatio(name);
+                    return ratio != null && ratio > max;
+                })
+                .map(name -> String.format(Locale.ENGLISH, "\t%s: %.2f", name, report.getRatio(name)))
+                .collect(Collectors.toList());
+        if (!failed.isEmpty()) {
+            throw new GradleException("Benchmarks exceed max teavm/jvm ratio " + max + ":\n"
+                    + String.join("\n", failed));
+        }
+    }
+}
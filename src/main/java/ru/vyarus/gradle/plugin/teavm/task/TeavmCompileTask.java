@@ -1,15 +1,19 @@
 package ru.vyarus.gradle.plugin.teavm.task;
 
 import org.apache.commons.io.FileUtils;
+import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Console;
@@ -18,20 +22,27 @@ import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.workers.WorkQueue;
 import org.gradle.workers.WorkerExecutor;
 import org.teavm.backend.javascript.JSModuleType;
+import org.teavm.backend.wasm.WasmDebugInfoLevel;
+import org.teavm.backend.wasm.WasmDebugInfoLocation;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.tooling.TeaVMTargetType;
 import org.teavm.vm.TeaVMOptimizationLevel;
+import ru.vyarus.gradle.plugin.teavm.ClasspathNormalizationOptions;
+import ru.vyarus.gradle.plugin.teavm.cancel.CancellationService;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.SourcesContent;
+import ru.vyarus.gradle.plugin.teavm.util.ClasspathFingerprint;
 
 import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -54,17 +65,78 @@ public abstract class TeavmCompileTask extends DefaultTask {
     public abstract Property<Boolean> getDebug();
 
     /**
+     * Not a task input directly: see {@link #getClasspathInput()} and {@link #getNormalizedClasspath()}.
+     *
      * @return directories with compiled classes and jar files (dependencies)
      */
-    @InputFiles
+    @Internal
     public abstract SetProperty<Directory> getClassPath();
 
     /**
+     * Not a task input directly: see {@link #getClasspathInput()} and {@link #getNormalizedClasspath()}.
+     *
      * @return collection of dependent jar files
      */
-    @Classpath
+    @Internal
     public abstract ConfigurableFileCollection getDependencies();
 
+    /**
+     * @return ignored classpath files (ant patterns) for up-to-date check
+     */
+    @Internal
+    public abstract ListProperty<String> getClasspathIgnore();
+
+    /**
+     * @return true to ignore jar manifests in up-to-date check
+     */
+    @Internal
+    public abstract Property<Boolean> getClasspathIgnoreManifest();
+
+    /**
+     * @return true to ignore META-INF content in up-to-date check
+     */
+    @Internal
+    public abstract Property<Boolean> getClasspathIgnoreMetaInf();
+
+    /**
+     * @return properties ignored in all classpath properties files in up-to-date check
+     */
+    @Internal
+    public abstract ListProperty<String> getClasspathIgnoreProperties();
+
+    /**
+     * Compilation classpath input, used when classpath normalization is not configured.
+     *
+     * @return classpath directories and dependencies or empty collection when normalization configured
+     */
+    @Classpath
+    public FileCollection getClasspathInput() {
+        return isClasspathNormalized() ? getProject().files()
+                : getProject().files(getClassPath(), getDependencies());
+    }
+
+    /**
+     * Compilation classpath input, used when classpath normalization is configured: gradle supports only
+     * project-wide normalization, so the task computes normalized classpath fingerprint itself.
+     *
+     * @return normalized classpath fingerprint or null when normalization not configured
+     */
+    @Input
+    @Optional
+    public String getNormalizedClasspath() {
+        if (!isClasspathNormalized()) {
+            return null;
+        }
+        final List<File> classpath = new ArrayList<>();
+        getClassPath().get().forEach(dir -> classpath.add(dir.getAsFile()));
+        classpath.addAll(getDependencies().getFiles());
+        try {
+            return ClasspathFingerprint.compute(classpath, normalizationOptions());
+        } catch (IOException ex) {
+            throw new GradleException("Failed to calculate classpath fingerprint", ex);
+        }
+    }
+
     /**
      * @return directories with sources and source jar files
      */
@@ -79,6 +151,12 @@ public abstract class TeavmCompileTask extends DefaultTask {
     @Optional
     public abstract ConfigurableFileCollection getSourceDependencies();
 
+    /**
+     * @return shared directory for extracted source jars (used only for incremental sources copy)
+     */
+    @Internal
+    public abstract DirectoryProperty getSourcesCacheDir();
+
     /**
      * @return target compilation directory
      */
@@ -129,6 +207,30 @@ public abstract class TeavmCompileTask extends DefaultTask {
     @Input
     public abstract Property<WasmBinaryVersion> getWasmVersion();
 
+    /**
+     * @return true to copy JS runtime for wasm GC module
+     */
+    @Input
+    public abstract Property<Boolean> getWasmGCRuntimeCopied();
+
+    /**
+     * @return true to copy ES2015 module version of wasm GC runtime
+     */
+    @Input
+    public abstract Property<Boolean> getWasmGCRuntimeModular();
+
+    /**
+     * @return wasm debug information level
+     */
+    @Input
+    public abstract Property<WasmDebugInfoLevel> getWasmDebugInfoLevel();
+
+    /**
+     * @return wasm debug information location
+     */
+    @Input
+    public abstract Property<WasmDebugInfoLocation> getWasmDebugInfoLocation();
+
     /**
      * @return true to stop build on compilation errors
      */
@@ -159,6 +261,12 @@ public abstract class TeavmCompileTask extends DefaultTask {
     @Input
     public abstract Property<Boolean> getSourceFilesCopiedAsLocalLinks();
 
+    /**
+     * @return true to copy only sources referenced from source maps (and only changed files)
+     */
+    @Input
+    public abstract Property<Boolean> getSourceFilesCopiedIncrementally();
+
     /**
      * @return true to enable incremental compilation
      */
@@ -203,6 +311,31 @@ public abstract class TeavmCompileTask extends DefaultTask {
     @Input
     public abstract Property<Boolean> getAssertionsRemoved();
 
+    /**
+     * @return prefix for source map sources paths (e.g. url)
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getSourceMapSourcesPrefix();
+
+    /**
+     * @return true to convert absolute source map sources paths into relative
+     */
+    @Input
+    public abstract Property<Boolean> getSourceMapSourcesRelative();
+
+    /**
+     * @return source map sources content processing mode
+     */
+    @Input
+    public abstract Property<SourcesContent> getSourceMapSourcesContent();
+
+    /**
+     * @return true to check generated files for machine-specific absolute paths
+     */
+    @Input
+    public abstract Property<Boolean> getReproducible();
+
     /**
      * @return max top level names (JS target only)
      */
@@ -248,42 +381,156 @@ public abstract class TeavmCompileTask extends DefaultTask {
     @Optional
     public abstract ListProperty<String> getClassesToPreserve();
 
+    /**
+     * @return true to copy used classpath resources into target directory
+     */
+    @Input
+    public abstract Property<Boolean> getUsedResourcesCopied();
+
+    /**
+     * @return additional resource patterns to copy
+     */
+    @Input
+    public abstract ListProperty<String> getUsedResourcesPatterns();
+
+    /**
+     * @return true to generate loader and manifest for webassembly module
+     */
+    @Input
+    public abstract Property<Boolean> getWasmLoaderGenerated();
+
+    /**
+     * @return true to cache module in IndexedDB (in generated loader)
+     */
+    @Input
+    public abstract Property<Boolean> getWasmModuleCached();
+
+    /**
+     * Profiling does not affect compilation results and so not counted in up-to-date check.
+     *
+     * @return true to record compilation with JFR
+     */
+    @Internal
+    public abstract Property<Boolean> getProfiling();
+
+    /**
+     * @return directory for profiling reports (JFR recordings, class transformers stats)
+     */
+    @Internal
+    public abstract DirectoryProperty getProfilingDir();
+
+    /**
+     * @return hot methods summary size (0 to disable summary)
+     */
+    @Internal
+    public abstract Property<Integer> getProfilingHotMethods();
+
+    /**
+     * When no compilation progress reported during timeout, diagnostic report is written (threads dump, heap
+     * histogram).
+     *
+     * @return stall timeout in seconds (0 to disable)
+     */
+    @Internal
+    public abstract Property<Integer> getStallTimeout();
+
+    /**
+     * @return true to cancel compilation when no progress after the second stall timeout
+     */
+    @Internal
+    public abstract Property<Boolean> getStallCancel();
+
+    /**
+     * Compilation result: problems, phase timings, generated files and post-processing stats. Could be used by
+     * other tasks (with {@link #getCompileResult()}).
+     *
+     * @return compilation result file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getResultFile();
+
+    /**
+     * Reads compilation result (lazily, so could be used in other tasks configuration).
+     *
+     * @return compilation result provider
+     */
+    @Internal
+    public Provider<CompileResult> getCompileResult() {
+        return getResultFile().map(file -> {
+            try {
+                return CompileResult.read(file.getAsFile());
+            } catch (IOException ex) {
+                throw new GradleException("Failed to read teavm compilation result", ex);
+            }
+        });
+    }
+
+    /**
+     * @return service propagating gradle cancellation into compilation
+     */
+    @Internal
+    public abstract Property<CancellationService> getCancellationService();
+
     @TaskAction
     public void compile() {
-        // teavm configuration used for worker classpath
-        final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(workerSpec -> {
+        final WorkQueue workQueue = createWorkQueue();
+
+        // compilation result (written by worker)
+        final File resultFile = getResultFile().get().getAsFile();
+        FileUtils.deleteQuietly(resultFile);
+
+        // compilation errors are thrown by worker: task completes right after submission, so gradle could
+        // execute other tasks in parallel
+        runCompilation(workQueue, getName(), resultFile, registerCancellation(), parameters -> {
+        });
+    }
+
+    /**
+     * @return work queue for compilation workers (teavm configuration used for worker classpath)
+     */
+    protected WorkQueue createWorkQueue() {
+        return getWorkerExecutor().classLoaderIsolation(workerSpec -> {
             final Configuration teavmConf = getProject().getConfigurations().getByName("teavm");
             workerSpec.getClasspath().from(teavmConf);
         });
+    }
 
-        // file indicating compilation error
-        final File resultFile = getProject().getLayout()
-                .getBuildDirectory().file(getName() + ".error").get().getAsFile();
-        if (resultFile.exists()) {
-            FileUtils.deleteQuietly(resultFile);
-        }
-
-        runCompilation(workQueue, resultFile);
-
-        if (getStopOnErrors().get() && resultFile.exists()) {
-            String errors = null;
-            try {
-                errors = Files.readString(resultFile.toPath());
-                // shift
-                errors = Arrays.stream(errors.split("\n")).map(s -> "\t" + s).collect(Collectors.joining("\n"));
-            } catch (IOException ignored) {
-                // ignore
-            }
-            FileUtils.deleteQuietly(resultFile);
-            throw new GradleException("Teavm compilation failed" + (errors == null ? "" : (":\n\n" + errors + "\n")));
-        } else if (resultFile.exists()) {
-            // stop on error disabled
-            FileUtils.deleteQuietly(resultFile);
+    /**
+     * Registers compilation in cancellation service. Compilation is asynchronous, so cleanup is performed by
+     * service after task completion.
+     *
+     * @return file indicating compilation cancellation (checked by compiler)
+     */
+    protected File registerCancellation() {
+        final File cancelFile = getProject().getLayout()
+                .getBuildDirectory().file("tmp/" + getName() + "/cancel").get().getAsFile();
+        FileUtils.deleteQuietly(cancelFile);
+        final CancellationService cancellation = getCancellationService().getOrNull();
+        if (cancellation != null) {
+            cancellation.register(getPath(), cancelFile, () -> FileUtils.deleteQuietly(cancelFile));
         }
+        return cancelFile;
     }
 
+    /**
+     * Submits compilation with task options.
+     *
+     * @param workQueue  work queue
+     * @param id         compilation identity (used for report file names)
+     * @param resultFile compilation result file
+     * @param cancelFile cancellation file
+     * @param customizer parameters customization (e.g. other entry point)
+     */
     @SuppressWarnings("checkstyle:ExecutableStatementCount")
-    private void runCompilation(final WorkQueue workQueue, final File resultFile) {
+    protected void runCompilation(final WorkQueue workQueue,
+                                  final String id,
+                                  final File resultFile,
+                                  final File cancelFile,
+                                  final Action<CompileParameters> customizer) {
+        if (getSourceMapSourcesRelative().get() && !getSourceMapSourcesPrefix().getOrElse("").isEmpty()) {
+            throw new GradleException("sourceMapSourcesPrefix could not be used together with "
+                    + "sourceMapSourcesRelative (relative paths could not be resolved against prefix)");
+        }
         workQueue.submit(CompileWorker.class, parameters -> {
             parameters.getDebug().set(getDebug());
 
@@ -294,8 +541,14 @@ public abstract class TeavmCompileTask extends DefaultTask {
                     .map(File::getAbsolutePath).collect(Collectors.toList()));
 
             parameters.getClassPathEntries().set(classpath);
-            parameters.getSourceDirectories().set(getSources());
-            parameters.getSourceJars().set(getSourceDependencies().getFiles());
+            // stable order (sets order may differ between builds)
+            parameters.getSourceDirectories().set(getSources().get().stream()
+                    .sorted(Comparator.comparing(dir -> dir.getAsFile().getAbsolutePath()))
+                    .collect(Collectors.toList()));
+            parameters.getSourceJars().set(getSourceDependencies().getFiles().stream()
+                    .sorted(Comparator.comparing(File::getAbsolutePath))
+                    .collect(Collectors.toList()));
+            parameters.getSourcesCacheDirectory().set(getSourcesCacheDir());
             parameters.getTargetDirectory().set(getTargetDir());
             parameters.getCacheDirectory().set(getCacheDir());
 
@@ -305,11 +558,16 @@ public abstract class TeavmCompileTask extends DefaultTask {
             parameters.getTargetType().set(getTargetType());
             parameters.getJsModuleType().set(getJsModuleType());
             parameters.getWasmVersion().set(getWasmVersion());
+            parameters.getWasmGCRuntimeCopied().set(getWasmGCRuntimeCopied());
+            parameters.getWasmGCRuntimeModular().set(getWasmGCRuntimeModular());
+            parameters.getWasmDebugInfoLevel().set(getWasmDebugInfoLevel());
+            parameters.getWasmDebugInfoLocation().set(getWasmDebugInfoLocation());
 
             parameters.getObfuscated().set(getObfuscated());
             parameters.getStrict().set(getStrict());
             parameters.getSourceFilesCopied().set(getSourceFilesCopied());
             parameters.getSourceFilesCopiedAsLocalLinks().set(getSourceFilesCopiedAsLocalLinks());
+            parameters.getSourceFilesCopiedIncrementally().set(getSourceFilesCopiedIncrementally());
             parameters.getIncremental().set(getIncremental());
             parameters.getDebugInformationGenerated().set(getDebugInformationGenerated());
             parameters.getSourceMapsFileGenerated().set(getSourceMapsGenerated());
@@ -318,6 +576,16 @@ public abstract class TeavmCompileTask extends DefaultTask {
             parameters.getFastDependencyAnalysis().set(getFastDependencyAnalysis());
             parameters.getAssertionsRemoved().set(getAssertionsRemoved());
 
+            parameters.getSourceMapSourcesPrefix().set(getSourceMapSourcesPrefix());
+            parameters.getSourceMapSourcesRelative().set(getSourceMapSourcesRelative());
+            parameters.getSourceMapSourcesContent().set(getSourceMapSourcesContent());
+            parameters.getReproducible().set(getReproducible());
+            if (getReproducible().get()) {
+                parameters.getMachinePaths().set(Arrays.asList(
+                        getProject().getRootDir().getAbsolutePath(),
+                        getProject().getGradle().getGradleUserHomeDir().getAbsolutePath()));
+            }
+
             parameters.getMaxTopLevelNames().set(getMaxTopLevelNames());
             parameters.getMinHeapSize().set(getMinHeapSize());
             parameters.getMaxHeapSize().set(getMaxHeapSize());
@@ -325,11 +593,37 @@ public abstract class TeavmCompileTask extends DefaultTask {
             parameters.getTransformers().set(getTransformers());
             parameters.getProperties().set(getProperties());
             parameters.getClassesToPreserve().set(getClassesToPreserve());
+            parameters.getUsedResourcesCopied().set(getUsedResourcesCopied());
+            parameters.getUsedResourcesPatterns().set(getUsedResourcesPatterns());
+            parameters.getWasmLoaderGenerated().set(getWasmLoaderGenerated());
+            parameters.getWasmModuleCached().set(getWasmModuleCached());
 
-            parameters.getErrorFile().set(resultFile);
+            if (getProfiling().get()) {
+                parameters.getProfilingFile().set(getProfilingDir().file(id + ".jfr"));
+            }
+            parameters.getProfilingHotMethods().set(getProfilingHotMethods());
+            parameters.getTransformersReportFile().set(getProfilingDir().file(id + "-transformers.txt"));
+            parameters.getStallTimeout().set(getStallTimeout());
+            parameters.getStallCancel().set(getStallCancel());
+            parameters.getStallReportFile().set(getProfilingDir().file(id + "-stall.txt"));
+
+            parameters.getCancellationFile().set(cancelFile);
+            parameters.getResultFile().set(resultFile);
+            parameters.getStopOnErrors().set(getStopOnErrors());
+            customizer.execute(parameters);
         });
+    }
+
+    private boolean isClasspathNormalized() {
+        return ClasspathFingerprint.isConfigured(normalizationOptions());
+    }
 
-        // waiting for compilation finish to fail task if errors occur
-        workQueue.await();
+    private ClasspathNormalizationOptions normalizationOptions() {
+        final ClasspathNormalizationOptions opts = new ClasspathNormalizationOptions();
+        opts.setIgnore(getClasspathIgnore().get());
+        opts.setIgnoreManifest(getClasspathIgnoreManifest().getOrElse(false));
+        opts.setIgnoreMetaInf(getClasspathIgnoreMetaInf().getOrElse(false));
+        opts.setIgnoreProperties(getClasspathIgnoreProperties().get());
+        return opts;
     }
 }
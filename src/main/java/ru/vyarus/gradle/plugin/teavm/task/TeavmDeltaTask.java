@@ -0,0 +1,197 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.delta.DeltaDecoder;
+import ru.vyarus.gradle.plugin.teavm.delta.DeltaEncoder;
+import ru.vyarus.gradle.plugin.teavm.sourcemap.JsonWriter;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates binary deltas (see {@link DeltaEncoder}) between previous outputs (base directory) and current
+ * compilation outputs. Manifest ("delta.json") contains old and new hashes and sizes for each file (so client
+ * could check if delta is applicable and verify patched file). When delta is not smaller than the new file,
+ * only manifest entry is created (client must download the complete file).
+ * <p>
+ * After deltas generation, base directory is updated with current outputs, so the next build produces deltas
+ * between consecutive builds.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmDeltaTask extends DefaultTask {
+
+    /**
+     * @return compilation output directory
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getSourceDir();
+
+    /**
+     * @return extensions of files to create deltas for
+     */
+    @Input
+    public abstract ListProperty<String> getFileExtensions();
+
+    /**
+     * @return matching block size
+     */
+    @Input
+    public abstract Property<Integer> getBlockSize();
+
+    /**
+     * Base directory is a state (updated by task) and so not counted as input.
+     *
+     * @return previous outputs directory
+     */
+    @Internal
+    public abstract DirectoryProperty getBaseDir();
+
+    /**
+     * @return deltas directory
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getDeltaDir();
+
+    @TaskAction
+    public void generate() {
+        final File source = getSourceDir().get().getAsFile();
+        final File base = getBaseDir().get().getAsFile();
+        final File target = getDeltaDir().get().getAsFile();
+        try {
+            FileUtils.cleanDirectory(target);
+            final List<String> files = collect(source);
+            final StringBuilder report = new StringBuilder();
+            try (Writer manifest = Files.newBufferedWriter(target.toPath().resolve("delta.json"),
+                    StandardCharsets.UTF_8)) {
+                manifest.write("{\"files\":{");
+                boolean first = true;
+                for (String path : files) {
+                    if (!first) {
+                        manifest.write(',');
+                    }
+                    first = false;
+                    JsonWriter.string(manifest, path);
+                    manifest.write(':');
+                    manifest.write(processFile(path, new File(base, path), new File(source, path), target, report));
+                }
+                manifest.write("}}");
+            }
+            updateBase(source, base, files);
+            System.out.println("Deltas (" + files.size() + " files):\n" + report);
+        } catch (IOException ex) {
+            throw new GradleException("Failed to create deltas", ex);
+        }
+    }
+
+    private List<String> collect(final File source) throws IOException {
+        final List<String> extensions = getFileExtensions().get().stream()
+                .map(ext -> "." + ext.toLowerCase(Locale.ENGLISH)).collect(Collectors.toList());
+        try (Stream<Path> files = Files.walk(source.toPath())) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> source.toPath().relativize(file).toString().replace('\\', '/'))
+                    .filter(path -> extensions.stream().anyMatch(path.toLowerCase(Locale.ENGLISH)::endsWith))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private String processFile(final String path, final File old, final File cur, final File target,
+                               final StringBuilder report) throws IOException {
+        final Map<String, Object> entry = new TreeMap<>();
+        final String newHash = FsUtils.sha256(cur);
+        entry.put("newSha256", newHash);
+        entry.put("newSize", cur.length());
+        String status = "full (no previous version)";
+        if (old.exists()) {
+            final String oldHash = FsUtils.sha256(old);
+            entry.put("oldSha256", oldHash);
+            entry.put("oldSize", old.length());
+            if (oldHash.equals(newHash)) {
+                status = "unchanged";
+            } else {
+                final File delta = new File(target, path + ".delta");
+                Files.createDirectories(delta.getParentFile().toPath());
+                final long size = DeltaEncoder.encode(old, cur, delta, getBlockSize().get());
+                verify(old, delta, newHash);
+                if (size < cur.length()) {
+                    entry.put("delta", path + ".delta");
+                    entry.put("deltaSize", size);
+                    status = FsUtils.formatSize(cur.length()) + " -> " + FsUtils.formatSize(size);
+                } else {
+                    Files.delete(delta.toPath());
+                    status = "full (delta is not smaller)";
+                }
+            }
+        }
+        report.append(String.format(Locale.ENGLISH, "\t%-40s  %s%n", path, status));
+        return toJson(entry);
+    }
+
+    private void verify(final File old, final File delta, final String hash) throws IOException {
+        final File tmp = new File(getTemporaryDir(), "patched");
+        DeltaDecoder.apply(old, delta, tmp);
+        if (!FsUtils.sha256(tmp).equals(hash)) {
+            throw new GradleException("Generated delta is broken: " + delta.getAbsolutePath());
+        }
+        Files.delete(tmp.toPath());
+    }
+
+    private void updateBase(final File source, final File base, final List<String> files) throws IOException {
+        FileUtils.deleteDirectory(base);
+        for (String path : files) {
+            final File target = new File(base, path);
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.copy(new File(source, path).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String toJson(final Map<String, Object> entry) throws IOException {
+        final StringWriter out = new StringWriter();
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<String, Object> value : entry.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            JsonWriter.string(out, value.getKey());
+            out.write(':');
+            if (value.getValue() instanceof String) {
+                JsonWriter.string(out, (String) value.getValue());
+            } else {
+                out.write(String.valueOf(value.getValue()));
+            }
+        }
+        out.write('}');
+        return out.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.heap.HeapAnalyzer;
+import ru.vyarus.gradle.plugin.teavm.heap.HeapReport;
+import ru.vyarus.gradle.plugin.teavm.heap.HeapSummary;
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Analyzes heap dump, written by program compiled with heapDump option (C target): live objects count and size
+ * by class, retainers (incoming references by referrer class) of the biggest classes and difference with
+ * baseline dump (when configured). Dumps are streamed (see {@link HeapAnalyzer}), so large dumps could be
+ * analyzed with default gradle memory.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmHeapReportTask extends DefaultTask {
+
+    /**
+     * @return analyzed heap dump
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getDumpFile();
+
+    /**
+     * @return previous heap dump to compare with
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    @Optional
+    public abstract RegularFileProperty getBaselineFile();
+
+    /**
+     * @return classes limit in report
+     */
+    @Input
+    public abstract Property<Integer> getTop();
+
+    /**
+     * @return true to compute retainers (second dump pass)
+     */
+    @Input
+    public abstract Property<Boolean> getRetainers();
+
+    /**
+     * @return report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void report() {
+        final long watch = System.currentTimeMillis();
+        try {
+            final HeapSummary heap = HeapAnalyzer.analyze(getDumpFile().get().getAsFile(), getTemporaryDir(),
+                    getRetainers().get());
+            final HeapSummary baseline = getBaselineFile().isPresent()
+                    ? HeapAnalyzer.analyze(getBaselineFile().get().getAsFile(), getTemporaryDir(), false) : null;
+            final String report = HeapReport.render(heap, baseline, getTop().get());
+            final File reportFile = getReportFile().get().getAsFile();
+            Files.createDirectories(reportFile.getParentFile().toPath());
+            Files.writeString(reportFile.toPath(), report);
+            System.out.println("Heap dump analyzed in " + DurationFormatter.format(System.currentTimeMillis() - watch)
+                    + ":\n\n" + report);
+        } catch (IOException ex) {
+            throw new GradleException("Failed to analyze heap dump", ex);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Console;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+import org.teavm.tooling.TeaVMTargetType;
+import ru.vyarus.gradle.plugin.teavm.c.HeapSizes;
+import ru.vyarus.gradle.plugin.teavm.c.PeakMemoryMonitor;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs compiled program (C executable or WASI module on embedded runtime) with workload arguments and measures
+ * peak memory. Suggested heap sizes are written into overrides file (properties), which could be applied to the
+ * next compilation ("heapSizing.applied" option):
+ * <ul>
+ *     <li>minHeapSize - measured peak (workload runs without heap growth)</li>
+ *     <li>maxHeapSize - measured peak with headroom</li>
+ * </ul>
+ * WASI module memory is measured as linear memory size after execution. Linear memory starts with configured
+ * minHeapSize, so measured value is an upper bound: it could not be lower than currently configured minHeapSize
+ * (warning printed in this case). To measure real usage, compile program with small minHeapSize (e.g. 1, without
+ * applied overrides). For C executable, peak resident memory is tracked (Linux only), which also includes code and
+ * stack, so sizes are slightly overestimated.
+ * <p>
+ * Task is never up-to-date (measurement is the purpose of the task).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmHeapSizingTask extends DefaultTask {
+
+    public TeavmHeapSizingTask() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * @return true to print workload output
+     */
+    @Console
+    public abstract Property<Boolean> getDebug();
+
+    /**
+     * @return program target (C or WEBASSEMBLY_WASI)
+     */
+    @Input
+    public abstract Property<TeaVMTargetType> getTargetType();
+
+    /**
+     * @return C executable or WASI module
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getProgram();
+
+    /**
+     * @return workload arguments
+     */
+    @Input
+    public abstract ListProperty<String> getWorkload();
+
+    /**
+     * @return workload runs count
+     */
+    @Input
+    public abstract Property<Integer> getRuns();
+
+    /**
+     * @return max heap headroom (percent)
+     */
+    @Input
+    public abstract Property<Integer> getHeadroom();
+
+    /**
+     * @return currently configured min heap size (mb), used for report and WASI upper bound warning
+     */
+    @Internal
+    public abstract Property<Integer> getCurrentMinHeapSize();
+
+    /**
+     * @return currently configured max heap size (mb), used for report only
+     */
+    @Internal
+    public abstract Property<Integer> getCurrentMaxHeapSize();
+
+    /**
+     * @return workload working directory (C only)
+     */
+    @Internal
+    public abstract DirectoryProperty getWorkingDir();
+
+    /**
+     * @return computed heap sizes file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getOverridesFile();
+
+    @TaskAction
+    public void measure() {
+        final TeaVMTargetType target = getTargetType().get();
+        if (target != TeaVMTargetType.C && target != TeaVMTargetType.WEBASSEMBLY_WASI) {
+            throw new GradleException("Heap sizing supported only for C and WEBASSEMBLY_WASI targets, but "
+                    + target + " used");
+        }
+        final List<Long> peaks = new ArrayList<>();
+        try {
+            for (int i = 0; i < getRuns().get(); i++) {
+                peaks.add(target == TeaVMTargetType.C ? runNative() : runWasi());
+            }
+            final long peak = peaks.stream().mapToLong(Long::longValue).max().orElse(0);
+            final int[] sizes = HeapSizes.suggest(peak, getHeadroom().get());
+            final int min = sizes[0];
+            final int max = sizes[1];
+            final File file = getOverridesFile().get().getAsFile();
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.writeString(file.toPath(), "# measured by " + getName() + " (" + target + ", peak " + peak
+                    + " bytes, headroom " + getHeadroom().get() + "%)\n"
+                    + HeapSizes.MIN_HEAP_SIZE + "=" + min + "\n" + HeapSizes.MAX_HEAP_SIZE + "=" + max + "\n");
+            System.out.println("Peak memory: " + FsUtils.formatSize(peak) + (peaks.size() > 1 ? " (max of "
+                    + peaks.size() + " runs)" : "") + "\n"
+                    + "Suggested heap: minHeapSize = " + min + " (currently " + getCurrentMinHeapSize().get()
+                    + "), maxHeapSize = " + max + " (currently " + getCurrentMaxHeapSize().get() + ")\n"
+                    + "Written to " + getProject().relativePath(file));
+            if (target == TeaVMTargetType.WEBASSEMBLY_WASI && min <= getCurrentMinHeapSize().get()) {
+                System.out.println("WARNING: measured WASI memory is not above configured minHeapSize ("
+                        + getCurrentMinHeapSize().get() + " MB): linear memory starts with minHeapSize, so real "
+                        + "usage could be lower. Compile with small minHeapSize (e.g. 1) to measure real usage.");
+            }
+        } catch (IOException ex) {
+            throw new GradleException("Heap measurement failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    private long runNative() throws IOException {
+        if (!PeakMemoryMonitor.isSupported()) {
+            throw new GradleException("Native executable memory tracking is supported only on Linux");
+        }
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(getProgram().get().getAsFile().getAbsolutePath());
+        cmd.addAll(getWorkload().get());
+        final PeakMemoryMonitor monitor = new PeakMemoryMonitor();
+        monitor.run(cmd, getWorkingDir().get().getAsFile());
+        if (getDebug().get()) {
+            System.out.println(monitor.getOutput());
+        }
+        return monitor.getPeak();
+    }
+
+    private long runWasi() throws IOException {
+        final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(workerSpec -> {
+            final Configuration conf = getProject().getConfigurations().getByName("teavmWasi");
+            workerSpec.getClasspath().from(conf);
+        });
+        final File memoryFile = new File(getTemporaryDir(), "memory.txt");
+        FileUtils.deleteQuietly(memoryFile);
+        workQueue.submit(RunWasiWorker.class, parameters -> {
+            parameters.getMemoryFile().set(memoryFile);
+            parameters.getWasmFile().set(getProgram());
+            parameters.getArgs().set(getWorkload());
+        });
+        // measured memory required for computation (execution errors are thrown by worker)
+        workQueue.await();
+        return Long.parseLong(Files.readString(memoryFile.toPath()).trim());
+    }
+}
@@ -0,0 +1,185 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.GradleException;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutionException;
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles multiple entry points (e.g. page and web workers) from the same classpath and with the same options
+ * in one task. Entry points are compiled in parallel (separate work items in the same worker classloader, so
+ * compiler classes are loaded only once), each with its own cache directory. Output files are written into the
+ * same target directory.
+ * <p>
+ * Unlike {@link TeavmCompileTask}, task waits for all compilations in order to report per-entry timings and sizes.
+ * Per-entry results are written into "[result file directory]/[task name]/[target file].json" and the task result
+ * file contains merged outputs of all entries.
+ * <pre>{@code
+ * tasks.register('compileTeavmAll', TeavmMultiCompileTask) {
+ *     entry 'example.Page', 'page.js'
+ *     entry 'example.Worker', 'worker', 'worker.js'
+ * }
+ * }</pre>
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmMultiCompileTask extends TeavmCompileTask {
+
+    /**
+     * @return main class - target file name
+     */
+    @Input
+    public abstract MapProperty<String, String> getEntries();
+
+    /**
+     * Entry point name could be declared for each main class (otherwise {@link #getEntryPointName()} used).
+     *
+     * @return main class - entry point name
+     */
+    @Input
+    public abstract MapProperty<String, String> getEntryPointNames();
+
+    /**
+     * Not used: entry points declared with {@link #getEntries()}.
+     *
+     * @return main class
+     */
+    @Override
+    @Internal
+    public abstract Property<String> getMainClass();
+
+    /**
+     * Not used: target file names declared with {@link #getEntries()}.
+     *
+     * @return target file name
+     */
+    @Override
+    @Internal
+    public abstract Property<String> getTargetFileName();
+
+    /**
+     * Default entry point name (for entries without declared name).
+     *
+     * @return entry point name
+     */
+    @Override
+    @Input
+    @Optional
+    public abstract Property<String> getEntryPointName();
+
+    /**
+     * Declare entry point.
+     *
+     * @param mainClass      main class
+     * @param targetFileName output file name
+     */
+    public void entry(final String mainClass, final String targetFileName) {
+        getEntries().put(mainClass, targetFileName);
+    }
+
+    /**
+     * Declare entry point with custom entry point name.
+     *
+     * @param mainClass      main class
+     * @param entryPointName entry point name
+     * @param targetFileName output file name
+     */
+    public void entry(final String mainClass, final String entryPointName, final String targetFileName) {
+        entry(mainClass, targetFileName);
+        getEntryPointNames().put(mainClass, entryPointName);
+    }
+
+    @Override
+    @TaskAction
+    public void compile() {
+        final Map<String, String> entries = getEntries().get();
+        if (entries.isEmpty()) {
+            throw new GradleException("No entry points declared");
+        }
+        final WorkQueue workQueue = createWorkQueue();
+        final File resultFile = getResultFile().get().getAsFile();
+        final File resultsDir = new File(resultFile.getParentFile(), getName());
+        FileUtils.deleteQuietly(resultFile);
+        FileUtils.deleteQuietly(resultsDir);
+        final File cancelFile = registerCancellation();
+
+        final Map<String, File> results = new LinkedHashMap<>();
+        final long watch = System.currentTimeMillis();
+        entries.forEach((mainClass, targetFile) -> {
+            final String id = targetFile.replaceAll("[^A-Za-z0-9_.-]", "_");
+            final File entryResult = new File(resultsDir, id + ".json");
+            results.put(mainClass, entryResult);
+            runCompilation(workQueue, getName() + "-" + id, entryResult, cancelFile, parameters -> {
+                parameters.getMainClass().set(mainClass);
+                parameters.getTargetFileName().set(targetFile);
+                parameters.getEntryPointName().set(getEntryPointNames().getting(mainClass)
+                        .orElse(getEntryPointName()));
+                // parallel compilations must not share cache
+                parameters.getCacheDirectory().set(getCacheDir().dir(id));
+            });
+        });
+        WorkerExecutionException failure = null;
+        try {
+            workQueue.await();
+        } catch (WorkerExecutionException ex) {
+            failure = ex;
+        }
+        report(results, System.currentTimeMillis() - watch, resultFile);
+        if (failure != null) {
+            throw new GradleException("Teavm compilation failed", failure);
+        }
+    }
+
+    private void report(final Map<String, File> results, final long time, final File resultFile) {
+        final CompileResult total = new CompileResult();
+        total.setTime(time);
+        total.getStats().put("entries", (long) results.size());
+        final StringBuilder table = new StringBuilder(String.format(Locale.ENGLISH, "%-40s  %10s  %6s  %10s  %s%n",
+                "Entry", "Time", "Files", "Size", "Status"));
+        results.forEach((mainClass, file) -> {
+            CompileResult res = null;
+            if (file.exists()) {
+                try {
+                    res = CompileResult.read(file);
+                } catch (IOException ex) {
+                    System.err.println("Failed to read compilation result " + file.getAbsolutePath() + ": "
+                            + ex.getMessage());
+                }
+            }
+            if (res == null) {
+                table.append(String.format(Locale.ENGLISH, "%-40s  %10s  %6s  %10s  %s%n",
+                        mainClass, "-", "-", "-", "not finished"));
+                total.fail(mainClass + ": not finished");
+                return;
+            }
+            table.append(String.format(Locale.ENGLISH, "%-40s  %10s  %6d  %10s  %s%n",
+                    mainClass, DurationFormatter.format(res.getTime()), res.getOutputs().size(),
+                    FsUtils.formatSize(res.getOutputsSize()), res.isSuccess() ? "ok" : "failed"));
+            total.getOutputs().putAll(res.getOutputs());
+            res.getProblems().forEach(problem -> total.fail(mainClass + ": " + problem));
+        });
+        System.out.println("Entry points (" + results.size() + ") compiled in " + DurationFormatter.format(time)
+                + ":\n" + table);
+        try {
+            total.write(resultFile);
+        } catch (IOException ex) {
+            throw new GradleException("Failed to write compilation result", ex);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Console;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.c.NativeBuilder;
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles C files, generated by teavm (C target), into executable with local compiler (gcc or clang).
+ * Translation units are compiled in parallel and compiled objects are cached by source file hash, so only
+ * changed files are re-compiled. Cached objects not used for {@link NativeBuilder#MAX_UNUSED_DAYS} days are removed.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmNativeLinkTask extends DefaultTask {
+
+    /**
+     * @return true to print executed commands
+     */
+    @Console
+    public abstract Property<Boolean> getDebug();
+
+    /**
+     * @return directory with teavm-generated C files
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getSourceDir();
+
+    /**
+     * @return C compiler executable
+     */
+    @Input
+    public abstract Property<String> getCompiler();
+
+    /**
+     * @return compiler arguments
+     */
+    @Input
+    public abstract ListProperty<String> getCompilerArgs();
+
+    /**
+     * @return linker arguments
+     */
+    @Input
+    public abstract ListProperty<String> getLinkerArgs();
+
+    /**
+     * @return true to compile only "all.c" file
+     */
+    @Input
+    public abstract Property<Boolean> getSingleTranslationUnit();
+
+    /**
+     * When heap dump enabled, debug symbols are preserved (to make dumps and native stacks readable).
+     *
+     * @return true if teavm generated heap dump support (C only)
+     */
+    @Input
+    public abstract Property<Boolean> getHeapDump();
+
+    /**
+     * @return max parallel compiler processes
+     */
+    @Internal
+    public abstract Property<Integer> getParallelism();
+
+    /**
+     * @return object files cache directory
+     */
+    @Internal
+    public abstract DirectoryProperty getObjectCacheDir();
+
+    /**
+     * @return directory for compiled objects
+     */
+    @Internal
+    public abstract DirectoryProperty getObjectsDir();
+
+    /**
+     * @return linked executable
+     */
+    @OutputFile
+    public abstract RegularFileProperty getExecutable();
+
+    @TaskAction
+    public void link() {
+        final long watch = System.currentTimeMillis();
+        final File sourceDir = getSourceDir().get().getAsFile();
+        final File executable = getExecutable().get().getAsFile();
+        final NativeBuilder builder;
+        try {
+            final List<String> args = getEffectiveCompilerArgs();
+            builder = new NativeBuilder(getCompiler().get(),
+                    args,
+                    getLinkerArgs().get(),
+                    getParallelism().get(),
+                    getObjectCacheDir().get().getAsFile(),
+                    getObjectsDir().get().getAsFile(),
+                    getExtraCacheKey());
+            final List<String> units = NativeBuilder.findUnits(sourceDir, getSingleTranslationUnit().get());
+            if (units.isEmpty()) {
+                throw new GradleException("No C files found in " + sourceDir.getAbsolutePath()
+                        + " (is teavm target type C?)");
+            }
+            if (getDebug().get()) {
+                System.out.println("Compiling " + units.size() + " C files with '" + getCompiler().get() + " "
+                        + String.join(" ", args) + "'");
+            }
+            final List<File> objects = builder.compile(sourceDir, units);
+            builder.link(objects, executable);
+            final int evicted = builder.evictUnused();
+            if (evicted > 0) {
+                System.out.println("Removed " + evicted + " unused cached objects");
+            }
+        } catch (IOException ex) {
+            throw new GradleException("Native build failed: " + ex.getMessage(), ex);
+        }
+        System.out.println("Native build: " + (builder.getCompiled() + builder.getCached()) + " translation units ("
+                + builder.getCached() + " from cache) in " + DurationFormatter.format(System.currentTimeMillis()
+                - watch) + ": " + getProject().relativePath(executable));
+    }
+
+    /**
+     * @return compiler arguments, including arguments implied by task options
+     * @throws IOException if arguments resolution fails
+     */
+    protected List<String> getEffectiveCompilerArgs() throws IOException {
+        final List<String> res = new ArrayList<>(getCompilerArgs().get());
+        if (getHeapDump().get() && !res.contains("-g")) {
+            res.add("-g");
+        }
+        return res;
+    }
+
+    /**
+     * Could be used by sub classes to add external inputs into object files cache key.
+     *
+     * @return additional object files cache key or null
+     * @throws IOException if key resolution fails
+     */
+    protected String getExtraCacheKey() throws IOException {
+        return null;
+    }
+}
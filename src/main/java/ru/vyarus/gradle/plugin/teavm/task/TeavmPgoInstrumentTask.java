@@ -0,0 +1,36 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.Internal;
+import ru.vyarus.gradle.plugin.teavm.c.ProfileData;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Builds instrumented executable (-fprofile-generate) for profile-guided optimization. Profile data is written
+ * into profile directory when executable runs (see {@link TeavmPgoTrainTask}).
+ * <p>
+ * Must use the same objects directory as {@link TeavmPgoLinkTask} because gcc identifies profile files by object
+ * file path.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public abstract class TeavmPgoInstrumentTask extends TeavmNativeLinkTask {
+
+    /**
+     * Not an input: directory only compiled into executable.
+     *
+     * @return directory for collected profile data
+     */
+    @Internal
+    public abstract DirectoryProperty getProfileDir();
+
+    @Override
+    protected List<String> getEffectiveCompilerArgs() throws IOException {
+        final List<String> res = super.getEffectiveCompilerArgs();
+        res.addAll(ProfileData.generateArgs(getProfileDir().get().getAsFile()));
+        return res;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import ru.vyarus.gradle.plugin.teavm.c.ProfileData;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Builds optimized executable (-fprofile-use) with profile data, collected by {@link TeavmPgoTrainTask}.
+ * Profile data hash is used as additional object files cache key (objects compiled with the same profile are taken
+ * from cache).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public abstract class TeavmPgoLinkTask extends TeavmNativeLinkTask {
+
+    /**
+     * @return directory with collected profile data
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getProfileDir();
+
+    @Override
+    protected List<String> getEffectiveCompilerArgs() throws IOException {
+        final List<String> res = super.getEffectiveCompilerArgs();
+        final File dir = getProfileDir().get().getAsFile();
+        res.addAll(ProfileData.useArgs(ProfileData.isClang(getCompiler().get(), dir), dir));
+        return res;
+    }
+
+    @Override
+    protected String getExtraCacheKey() throws IOException {
+        return ProfileData.hash(getProfileDir().get().getAsFile());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.c.NativeBuilder;
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures profile-guided optimization effect: runs regular and optimized executables with the same workload
+ * (several times, alternately) and reports speedup (by the best run of each executable). Task is never up-to-date.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmPgoReportTask extends DefaultTask {
+
+    public TeavmPgoReportTask() {
+        // measurements must be always fresh
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    /**
+     * @return regular (not optimized with profile) executable
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getBaseline();
+
+    /**
+     * @return executable, optimized with profile
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getOptimized();
+
+    /**
+     * @return workload arguments (passed to executable)
+     */
+    @Input
+    public abstract ListProperty<String> getWorkload();
+
+    /**
+     * @return runs count for each executable
+     */
+    @Input
+    public abstract Property<Integer> getRuns();
+
+    /**
+     * @return workload working directory
+     */
+    @Internal
+    public abstract DirectoryProperty getWorkingDir();
+
+    /**
+     * @return report file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void report() {
+        final File dir = getWorkingDir().get().getAsFile();
+        final File baseline = getBaseline().get().getAsFile();
+        final File optimized = getOptimized().get().getAsFile();
+        long baselineTime = Long.MAX_VALUE;
+        long optimizedTime = Long.MAX_VALUE;
+        try {
+            for (int i = 0; i < Math.max(1, getRuns().get()); i++) {
+                baselineTime = Math.min(baselineTime, measure(baseline, dir));
+                optimizedTime = Math.min(optimizedTime, measure(optimized, dir));
+            }
+        } catch (IOException ex) {
+            throw new GradleException("PGO measurement failed: " + ex.getMessage(), ex);
+        }
+        final double speedup = (double) baselineTime / Math.max(1, optimizedTime);
+        final String res = String.format(Locale.ENGLISH, "%.2fx", speedup);
+        System.out.println("PGO speedup: " + res + " (baseline " + DurationFormatter.format(baselineTime / 1_000_000)
+                + ", optimized " + DurationFormatter.format(optimizedTime / 1_000_000) + ", best of "
+                + getRuns().get() + " runs)");
+        final File report = getReportFile().get().getAsFile();
+        try {
+            Files.writeString(report.toPath(), "baseline.ns=" + baselineTime + "\n"
+                    + "optimized.ns=" + optimizedTime + "\n"
+                    + "speedup=" + res + "\n", StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new GradleException("Failed to write PGO report: " + report.getAbsolutePath(), ex);
+        }
+    }
+
+    private long measure(final File executable, final File dir) throws IOException {
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(executable.getAbsolutePath());
+        cmd.addAll(getWorkload().get());
+        final long start = System.nanoTime();
+        NativeBuilder.exec(cmd, dir);
+        return System.nanoTime() - start;
+    }
+}
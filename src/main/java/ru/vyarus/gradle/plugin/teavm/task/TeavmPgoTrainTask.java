@@ -0,0 +1,107 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Console;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.c.NativeBuilder;
+import ru.vyarus.gradle.plugin.teavm.c.ProfileData;
+import ru.vyarus.gradle.plugin.teavm.util.DurationFormatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs instrumented executable (built by {@link TeavmPgoInstrumentTask}) with workload arguments to collect
+ * profile data. Task is up-to-date (profile data reused) until instrumented executable (generated C) or workload
+ * changes.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmPgoTrainTask extends DefaultTask {
+
+    /**
+     * @return true to print workload output
+     */
+    @Console
+    public abstract Property<Boolean> getDebug();
+
+    /**
+     * @return instrumented executable
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getExecutable();
+
+    /**
+     * @return workload arguments (passed to executable)
+     */
+    @Input
+    public abstract ListProperty<String> getWorkload();
+
+    /**
+     * @return C compiler executable (to detect clang)
+     */
+    @Input
+    public abstract Property<String> getCompiler();
+
+    /**
+     * @return llvm-profdata executable (clang only)
+     */
+    @Input
+    public abstract Property<String> getProfdataTool();
+
+    /**
+     * @return workload working directory
+     */
+    @Internal
+    public abstract DirectoryProperty getWorkingDir();
+
+    /**
+     * @return directory for collected profile data (must be the same as configured for instrumented build)
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getProfileDir();
+
+    @TaskAction
+    public void train() {
+        final long watch = System.currentTimeMillis();
+        final File profileDir = getProfileDir().get().getAsFile();
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(getExecutable().get().getAsFile().getAbsolutePath());
+        cmd.addAll(getWorkload().get());
+        try {
+            // profile counters are accumulated between runs
+            FileUtils.cleanDirectory(profileDir);
+            final String out = NativeBuilder.exec(cmd, getWorkingDir().get().getAsFile());
+            if (getDebug().get()) {
+                System.out.println(out);
+            }
+            ProfileData.merge(ProfileData.isClang(getCompiler().get(), profileDir),
+                    getProfdataTool().get(), profileDir);
+            if (!ProfileData.exists(profileDir)) {
+                throw new GradleException("No profile data generated by " + cmd.get(0)
+                        + " (is executable instrumented?)");
+            }
+        } catch (IOException ex) {
+            throw new GradleException("PGO training failed: " + ex.getMessage(), ex);
+        }
+        System.out.println("PGO profile collected in " + DurationFormatter.format(System.currentTimeMillis()
+                - watch) + ": " + getProject().relativePath(profileDir));
+    }
+}
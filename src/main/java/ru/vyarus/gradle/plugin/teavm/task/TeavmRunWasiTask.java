@@ -0,0 +1,62 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+
+/**
+ * Runs WASI module on JVM with embedded pure-java WebAssembly runtime (Chicory), so WASI builds could be smoke
+ * tested without native runtime installation. Reports instantiation and execution time and used memory.
+ * Task is never up-to-date.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public abstract class TeavmRunWasiTask extends DefaultTask {
+
+    public TeavmRunWasiTask() {
+        // run is the purpose of the task
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * @return executed module
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getWasmFile();
+
+    /**
+     * @return program arguments
+     */
+    @Input
+    public abstract ListProperty<String> getArgs();
+
+    @TaskAction
+    public void run() {
+        // teavmWasi configuration used for worker classpath
+        final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(workerSpec -> {
+            final Configuration conf = getProject().getConfigurations().getByName("teavmWasi");
+            workerSpec.getClasspath().from(conf);
+        });
+
+        // execution errors are thrown by worker
+        workQueue.submit(RunWasiWorker.class, parameters -> {
+            parameters.getWasmFile().set(getWasmFile());
+            parameters.getArgs().set(getArgs());
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.testing.Test;
+import ru.vyarus.gradle.plugin.teavm.junit.AffectedTests;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * TeaVM JUnit tests task (tests must use teavm runner). Teavm runner is configured with system properties.
+ * <p>
+ * In incremental mode only test classes, affected by changes since the last successful run, are executed (and so
+ * compiled by teavm).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmTestTask extends Test {
+
+    /**
+     * @return true to run only affected tests
+     */
+    @Input
+    public abstract Property<Boolean> getIncremental();
+
+    /**
+     * @return last successful run state
+     */
+    @Internal
+    public abstract RegularFileProperty getStateFile();
+
+    @Override
+    @TaskAction
+    public void executeTests() {
+        // with custom includes (or when failures ignored) impact analysis can't be used
+        final boolean incremental = getIncremental().get() && getFilter().getIncludePatterns().isEmpty()
+                && !getIgnoreFailures();
+        AffectedTests analysis = null;
+        if (incremental) {
+            final File state = getStateFile().get().getAsFile();
+            try {
+                analysis = new AffectedTests(getTestClassesDirs().getFiles(), getClasspath().getFiles());
+                final Set<String> affected = analysis.findAffected(state);
+                if (affected != null) {
+                    if (affected.isEmpty()) {
+                        System.out.println("No tests affected by changes");
+                        return;
+                    }
+                    System.out.println("Tests affected by changes: " + affected.size());
+                    getFilter().setFailOnNoMatchingTests(false);
+                    affected.forEach(getFilter()::includeTestsMatching);
+                }
+            } catch (IOException ex) {
+                throw new GradleException("Failed to detect affected tests", ex);
+            }
+        }
+        super.executeTests();
+        if (analysis != null) {
+            try {
+                analysis.save(getStateFile().get().getAsFile());
+            } catch (IOException ex) {
+                throw new GradleException("Failed to store tests state", ex);
+            }
+        }
+    }
+}
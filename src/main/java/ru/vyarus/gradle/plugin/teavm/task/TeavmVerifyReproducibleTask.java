@@ -0,0 +1,100 @@
+package ru.vyarus.gradle.plugin.teavm.task;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares outputs of two independent compilations (same inputs, different target and cache directories). Any
+ * difference means that compilation is not reproducible (embedded paths, nondeterministic ordering).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public abstract class TeavmVerifyReproducibleTask extends DefaultTask {
+
+    /**
+     * @return first compilation output
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getFirstDir();
+
+    /**
+     * @return second compilation output
+     */
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getSecondDir();
+
+    /**
+     * @return report file (files hashes and differences)
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void verify() {
+        final List<String> diff = new ArrayList<>();
+        final StringBuilder report = new StringBuilder();
+        try {
+            final Map<String, String> first = hashes(getFirstDir().get().getAsFile());
+            final Map<String, String> second = hashes(getSecondDir().get().getAsFile());
+            final Set<String> files = new TreeSet<>(first.keySet());
+            files.addAll(second.keySet());
+            for (String file : files) {
+                final String hash1 = first.get(file);
+                final String hash2 = second.get(file);
+                final boolean same = hash1 != null && hash1.equals(hash2);
+                if (!same) {
+                    diff.add(file);
+                }
+                report.append(same ? "  " : "! ").append(file).append("  ").append(hash1).append("  ").append(hash2)
+                        .append('\n');
+            }
+            final File reportFile = getReportFile().get().getAsFile();
+            Files.createDirectories(reportFile.getParentFile().toPath());
+            Files.writeString(reportFile.toPath(), report);
+        } catch (IOException ex) {
+            throw new GradleException("Failed to compare compilation outputs", ex);
+        }
+        if (!diff.isEmpty()) {
+            throw new GradleException("Teavm compilation is not reproducible, different files: \n" + diff.stream()
+                    .map(s -> "\t" + s).collect(Collectors.joining("\n"))
+                    + "\n\nReport: " + getReportFile().get().getAsFile().getAbsolutePath());
+        }
+        System.out.println("Teavm compilation is reproducible: " + report.toString().split("\n").length
+                + " files are identical");
+    }
+
+    private Map<String, String> hashes(final File dir) throws IOException {
+        final Map<String, String> res = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(dir.toPath())) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                res.put(dir.toPath().relativize(file).toString().replace('\\', '/'), FsUtils.sha256(file.toFile()));
+            }
+        }
+        return res;
+    }
+}
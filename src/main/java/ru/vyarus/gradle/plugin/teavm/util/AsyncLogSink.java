@@ -0,0 +1,211 @@
+package ru.vyarus.gradle.plugin.teavm.util;
+
+import org.gradle.api.logging.LogLevel;
+import org.gradle.api.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous compiler log sink: compiler thread only puts messages into queue and separate thread writes them
+ * into gradle logger. Messages of disabled levels are dropped immediately (without queueing).
+ * <p>
+ * Writer drains all queued messages at once: consecutive messages of the same level are written with a single
+ * logger call (multi-line message) and only the latest of consecutive progress updates is printed.
+ * <p>
+ * Compilation progress is also printed through the sink (see {@link #progress(String)}) because progress line is
+ * not terminated (overridden with '\r'): writer completes it with a new line before logger output.
+ * Use {@link #flush()} before printing anything directly into console to preserve messages order.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public class AsyncLogSink implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_TIMEOUT = 100;
+
+    private final Logger logger;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    // not terminated progress line printed (accessed only by writer thread)
+    private boolean progressShown;
+
+    /**
+     * @param logger gradle logger
+     */
+    public AsyncLogSink(final Logger logger) {
+        this.logger = logger;
+        this.writer = new Thread(this::write, "teavm-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Message is ignored when level is not enabled in gradle logger (e.g. info messages are shown only with --info).
+     *
+     * @param level   message level
+     * @param message message
+     * @param error   error (may be null)
+     */
+    public void log(final LogLevel level, final String message, final Throwable error) {
+        if (closed || !logger.isEnabled(level)) {
+            return;
+        }
+        queue.add(new Entry(Kind.LOG, level, message, error, null));
+    }
+
+    /**
+     * Progress line (would be overridden by the next progress line).
+     *
+     * @param line progress line
+     */
+    public void progress(final String line) {
+        if (!closed) {
+            queue.add(new Entry(Kind.PROGRESS, null, line, null, null));
+        }
+    }
+
+    /**
+     * Console message, overriding current progress line (if shown).
+     *
+     * @param line message
+     */
+    public void print(final String line) {
+        if (!closed) {
+            queue.add(new Entry(Kind.PRINT, null, line, null, null));
+        }
+    }
+
+    /**
+     * Wait until all queued messages are written.
+     */
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        final CountDownLatch latch = new CountDownLatch(1);
+        queue.add(new Entry(Kind.FLUSH, null, null, null, latch));
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        writer.interrupt();
+    }
+
+    private void write() {
+        final List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed) {
+                final Entry first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                try {
+                    writeBatch(batch);
+                } catch (RuntimeException ex) {
+                    System.err.println("Failed to log message: " + ex.getMessage());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            // sink closed
+        }
+    }
+
+    @SuppressWarnings("checkstyle:MissingSwitchDefault")
+    private void writeBatch(final List<Entry> batch) {
+        final StringBuilder messages = new StringBuilder();
+        LogLevel level = null;
+        for (int i = 0; i < batch.size(); i++) {
+            final Entry entry = batch.get(i);
+            if (entry.kind != Kind.LOG || entry.error != null || entry.level != level) {
+                level = writeMessages(level, messages);
+            }
+            switch (entry.kind) {
+                case LOG:
+                    if (entry.error == null) {
+                        messages.append(messages.length() > 0 ? "\n" : "").append(entry.message);
+                        level = entry.level;
+                    } else {
+                        completeProgress();
+                        logger.log(entry.level, entry.message, entry.error);
+                    }
+                    break;
+                case PROGRESS:
+                    // only the latest progress is visible anyway
+                    if (i == batch.size() - 1 || batch.get(i + 1).kind != Kind.PROGRESS) {
+                        System.out.print('\r' + entry.message);
+                        progressShown = true;
+                    }
+                    break;
+                case PRINT:
+                    System.out.println('\r' + entry.message);
+                    progressShown = false;
+                    break;
+                case FLUSH:
+                    entry.flush.countDown();
+                    break;
+            }
+        }
+        writeMessages(level, messages);
+    }
+
+    private LogLevel writeMessages(final LogLevel level, final StringBuilder messages) {
+        if (messages.length() > 0) {
+            completeProgress();
+            logger.log(level, messages.toString());
+            messages.setLength(0);
+        }
+        return null;
+    }
+
+    private void completeProgress() {
+        if (progressShown) {
+            System.out.println();
+            progressShown = false;
+        }
+    }
+
+    /**
+     * Entry type.
+     */
+    private enum Kind {
+        LOG, PROGRESS, PRINT, FLUSH
+    }
+
+    /**
+     * Log message, console output or flush marker.
+     */
+    private static class Entry {
+        private final Kind kind;
+        private final LogLevel level;
+        private final String message;
+        private final Throwable error;
+        private final CountDownLatch flush;
+
+        Entry(final Kind kind, final LogLevel level, final String message, final Throwable error,
+              final CountDownLatch flush) {
+            this.kind = kind;
+            this.level = level;
+            this.message = message;
+            this.error = error;
+            this.flush = flush;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package ru.vyarus.gradle.plugin.teavm.util;
 
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.attributes.LibraryElements;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.tasks.SourceSetContainer;
 
 import java.io.File;
@@ -25,17 +28,20 @@ public class ClasspathBuilder {
     private final List<String> sourceSets;
     private final Set<String> extraClassDirs;
     private final List<String> configurations;
+    private final boolean projectClasses;
 
     public ClasspathBuilder(final Project project,
                             final boolean debug,
                             final List<String> sourceSets,
                             final List<String> configurations,
-                            final Set<String> extraClassDirs) {
+                            final Set<String> extraClassDirs,
+                            final boolean projectClasses) {
         this.project = project;
         this.debug = debug;
         this.sourceSets = sourceSets;
         this.configurations = configurations;
         this.extraClassDirs = extraClassDirs;
+        this.projectClasses = projectClasses;
     }
 
     public List<Directory> getDirectories() {
@@ -77,6 +83,10 @@ public class ClasspathBuilder {
     }
 
     public void dependencies(final ConfigurableFileCollection files) {
+        if (projectClasses) {
+            projectClassesDependencies(files);
+            return;
+        }
         // jars
         for (String config : configurations) {
             final List<File> jars = new ArrayList<>(project.getConfigurations().getByName(config).getFiles());
@@ -91,4 +101,37 @@ public class ClasspathBuilder {
             }
         }
     }
+
+    /**
+     * Project dependencies resolved as classes and resources directories (instead of jars), external dependencies
+     * are still jars (jvm ecosystem treats jars compatible with classes request). Resources view returns jars for
+     * external dependencies, so only directories used from it.
+     * <p>
+     * Artifact views are lazy and carry build dependencies (classes and processResources tasks of dependent
+     * projects, without jar tasks).
+     *
+     * @param files target collection
+     */
+    private void projectClassesDependencies(final ConfigurableFileCollection files) {
+        for (String config : configurations) {
+            final Configuration configuration = project.getConfigurations().getByName(config);
+            final FileCollection classes = view(configuration, LibraryElements.CLASSES);
+            final FileCollection resources = view(configuration, LibraryElements.RESOURCES)
+                    .filter(File::isDirectory);
+            files.from(classes, resources);
+            if (debug) {
+                System.out.println("'" + config + "' configuration (project classes): \n" + classes.getFiles()
+                        .stream()
+                        .map(s -> "\t" + String.format("%-50s  %s", s.getName(), s.getAbsolutePath()))
+                        .sorted()
+                        .collect(Collectors.joining("\n")));
+            }
+        }
+    }
+
+    private FileCollection view(final Configuration configuration, final String elements) {
+        return configuration.getIncoming().artifactView(view -> view.attributes(attrs ->
+                attrs.attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE,
+                        project.getObjects().named(LibraryElements.class, elements)))).getFiles();
+    }
 }
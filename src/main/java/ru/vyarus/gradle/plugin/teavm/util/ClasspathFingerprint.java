@@ -0,0 +1,146 @@
+package ru.vyarus.gradle.plugin.teavm.util;
+
+import ru.vyarus.gradle.plugin.teavm.ClasspathNormalizationOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Compile task classpath fingerprint with normalization applied (ignored files, jar manifests, properties).
+ * Gradle supports only project-wide runtime classpath normalization, so compile task computes its own classpath
+ * fingerprint (used as task input instead of classpath) to not affect other tasks.
+ * <p>
+ * Classpath order and content are counted (not absolute paths). Jar entries are not unpacked: stored entry crc
+ * and size are used instead (except normalized properties files).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class ClasspathFingerprint {
+
+    private static final String META_INF = "META-INF/";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final String PROPERTIES = ".properties";
+
+    private final ClasspathNormalizationOptions options;
+    private final List<PathMatcher> ignored;
+
+    private ClasspathFingerprint(final ClasspathNormalizationOptions options) {
+        this.options = options;
+        this.ignored = new ArrayList<>();
+        for (String pattern : options.getIgnore()) {
+            ignored.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+            // ant "**/" matches root files too
+            if (pattern.startsWith("**/")) {
+                ignored.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(3)));
+            }
+        }
+    }
+
+    /**
+     * @param options normalization options
+     * @return true if any normalization configured
+     */
+    public static boolean isConfigured(final ClasspathNormalizationOptions options) {
+        return !options.getIgnore().isEmpty() || options.isIgnoreManifest() || options.isIgnoreMetaInf()
+                || !options.getIgnoreProperties().isEmpty();
+    }
+
+    /**
+     * @param classpath classpath entries (directories and jars, in classpath order)
+     * @param options   normalization options
+     * @return hex sha-256 of normalized classpath content
+     * @throws IOException on read error
+     */
+    public static String compute(final List<File> classpath, final ClasspathNormalizationOptions options)
+            throws IOException {
+        final ClasspathFingerprint fingerprint = new ClasspathFingerprint(options);
+        final StringBuilder res = new StringBuilder();
+        for (File entry : classpath) {
+            res.append(entry.isDirectory() ? "[dir]\n" : "[jar]\n");
+            final Map<String, String> content = entry.isDirectory() ? fingerprint.directory(entry.toPath())
+                    : entry.isFile() ? fingerprint.jar(entry) : new TreeMap<>();
+            content.forEach((path, hash) -> res.append(path).append(':').append(hash).append('\n'));
+        }
+        return FsUtils.sha256(new ByteArrayInputStream(res.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, String> directory(final Path root) throws IOException {
+        final Map<String, String> res = new TreeMap<>();
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            final String path = root.relativize(file).toString().replace('\\', '/');
+            if (!isIgnored(path)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    res.put(path, isNormalizedProperties(path) ? properties(in) : FsUtils.sha256(in));
+                }
+            }
+        }
+        return res;
+    }
+
+    private Map<String, String> jar(final File jar) throws IOException {
+        final Map<String, String> res = new TreeMap<>();
+        try (ZipFile zip = new ZipFile(jar)) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String path = entry.getName();
+                if (entry.isDirectory() || isIgnored(path)) {
+                    continue;
+                }
+                if (isNormalizedProperties(path)) {
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        res.put(path, properties(in));
+                    }
+                } else {
+                    res.put(path, Long.toHexString(entry.getCrc()) + '/' + entry.getSize());
+                }
+            }
+        }
+        return res;
+    }
+
+    private boolean isIgnored(final String path) {
+        if (options.isIgnoreMetaInf() && path.startsWith(META_INF)
+                || options.isIgnoreManifest() && MANIFEST.equals(path)) {
+            return true;
+        }
+        final Path value = Paths.get(path);
+        return ignored.stream().anyMatch(matcher -> matcher.matches(value));
+    }
+
+    private boolean isNormalizedProperties(final String path) {
+        return !options.getIgnoreProperties().isEmpty() && path.endsWith(PROPERTIES);
+    }
+
+    private String properties(final InputStream in) throws IOException {
+        final Properties props = new Properties();
+        props.load(in);
+        options.getIgnoreProperties().forEach(props::remove);
+        final StringBuilder res = new StringBuilder();
+        new TreeMap<>(props).forEach((key, value) -> res.append(key).append('=').append(value).append('\n'));
+        return FsUtils.sha256(new ByteArrayInputStream(res.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
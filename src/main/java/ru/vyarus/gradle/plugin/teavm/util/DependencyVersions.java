@@ -0,0 +1,52 @@
+package ru.vyarus.gradle.plugin.teavm.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Versions of dependencies, resolved by plugin at runtime (e.g. WASI runtime). Versions are generated from
+ * the plugin build (generateVersions task), so plugin always uses the same versions it was compiled with.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class DependencyVersions {
+
+    private static final String FILE = "/ru/vyarus/gradle/plugin/teavm/versions.properties";
+    private static Properties versions;
+
+    private DependencyVersions() {
+    }
+
+    /**
+     * @return chicory (pure-java WebAssembly runtime) version
+     */
+    public static String chicory() {
+        return get("chicory");
+    }
+
+    /**
+     * @param name dependency name
+     * @return dependency version
+     * @throws IllegalStateException if version is not declared
+     */
+    public static synchronized String get(final String name) {
+        if (versions == null) {
+            versions = new Properties();
+            try (InputStream in = DependencyVersions.class.getResourceAsStream(FILE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Plugin dependency versions file not found");
+                }
+                versions.load(in);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to read plugin dependency versions", ex);
+            }
+        }
+        final String res = versions.getProperty(name);
+        if (res == null) {
+            throw new IllegalStateException("Version of " + name + " is not declared");
+        }
+        return res;
+    }
+}
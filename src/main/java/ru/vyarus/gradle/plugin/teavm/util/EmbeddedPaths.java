@@ -0,0 +1,77 @@
+package ru.vyarus.gradle.plugin.teavm.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Searches machine-specific absolute paths (project directory, gradle home) inside generated text files. Such paths
+ * make output not reproducible (different bytes on different machines for the same inputs).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class EmbeddedPaths {
+
+    private static final Set<String> TEXT_FILES = new LinkedHashSet<>(Arrays.asList(
+            "js", "mjs", "map", "wat", "wast", "c", "h", "html", "json", "txt"));
+
+    private EmbeddedPaths() {
+    }
+
+    /**
+     * Files are read line by line (no full file loading).
+     *
+     * @param files generated files (only text files are checked)
+     * @param paths machine-specific paths to search
+     * @return found paths by file (only files containing paths)
+     * @throws IOException on read error
+     */
+    public static Map<File, Set<String>> find(final List<File> files, final List<String> paths) throws IOException {
+        final List<String> search = variants(paths);
+        final Map<File, Set<String>> res = new LinkedHashMap<>();
+        for (File file : files) {
+            final String name = file.getName();
+            final String ext = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ENGLISH);
+            if (!TEXT_FILES.contains(ext) || !file.exists()) {
+                continue;
+            }
+            final Set<String> found = new LinkedHashSet<>();
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    for (String path : search) {
+                        if (line.contains(path)) {
+                            found.add(path);
+                        }
+                    }
+                }
+            }
+            if (!found.isEmpty()) {
+                res.put(file, found);
+            }
+        }
+        return res;
+    }
+
+    // windows paths could appear with both separators (and escaped in json)
+    private static List<String> variants(final List<String> paths) {
+        final Set<String> res = new LinkedHashSet<>();
+        for (String path : paths) {
+            res.add(path);
+            res.add(path.replace('\\', '/'));
+            res.add(path.replace("\\", "\\\\"));
+        }
+        return new ArrayList<>(res);
+    }
+}
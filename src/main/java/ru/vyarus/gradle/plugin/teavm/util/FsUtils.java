@@ -3,6 +3,14 @@ package ru.vyarus.gradle.plugin.teavm.util;
 import org.gradle.api.Project;
 import org.gradle.api.file.Directory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
 /**
  * FS-related utils.
  *
@@ -11,6 +19,8 @@ import org.gradle.api.file.Directory;
  */
 public final class FsUtils {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private FsUtils() {
     }
 
@@ -25,4 +35,65 @@ public final class FsUtils {
     public static Directory dir(final Project project, final String dir) {
         return project.getLayout().getProjectDirectory().dir(dir);
     }
+
+    /**
+     * Calculate file content hash (streamed, so file size is not important).
+     *
+     * @param file file to hash
+     * @return hex sha-256 of file content
+     * @throws IOException on read error
+     */
+    public static String sha256(final File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return sha256(in);
+        }
+    }
+
+    /**
+     * Calculate stream content hash. Stream is not closed.
+     *
+     * @param in stream to hash
+     * @return hex sha-256 of stream content
+     * @throws IOException on read error
+     */
+    public static String sha256(final InputStream in) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read = in.read(buffer);
+        while (read >= 0) {
+            digest.update(buffer, 0, read);
+            read = in.read(buffer);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @param bytes bytes
+     * @return lowercase hex string
+     */
+    public static String toHex(final byte[] bytes) {
+        final StringBuilder res = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            res.append(String.format("%02x", b));
+        }
+        return res.toString();
+    }
+
+    /**
+     * @param bytes size in bytes
+     * @return human-readable size
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    public static String formatSize(final long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        final int exp = (int) (Math.log(bytes) / Math.log(1024));
+        return String.format(Locale.ENGLISH, "%.1f %sB", bytes / Math.pow(1024, exp), "KMGTPE".charAt(exp - 1));
+    }
 }
@@ -0,0 +1,252 @@
+package ru.vyarus.gradle.plugin.teavm.wasm;
+
+import ru.vyarus.gradle.plugin.teavm.sourcemap.JsonWriter;
+import ru.vyarus.gradle.plugin.teavm.util.FsUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generates loader glue for compiled webassembly module ("[name]-loader.js" ES module) and manifest
+ * ("[name]-manifest.json"). Loader is generated for actual module: it knows module hash, required imports
+ * and memory limits (imported memory is created by loader).
+ * <p>
+ * Module is compiled with {@code WebAssembly.compileStreaming} (compilation starts while module is still
+ * downloading) when server responds with "application/wasm" content type, otherwise loader falls back to
+ * array buffer compilation. Optionally, module bytes are cached in IndexedDB (by module hash), so the next page
+ * load does not wait for network.
+ * <pre>{@code
+ * import { instantiate } from './classes-loader.js';
+ * const instance = await instantiate(imports);
+ * }</pre>
+ * Manifest contains module hash, size, imports, exports, memory limits and preload hints
+ * ({@code <link rel="modulepreload">} for loader and {@code <link rel="preload">} for module) to put into page
+ * head.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public class WasmLoaderGenerator {
+
+    private static final long PAGE_SIZE = 64 * 1024;
+    private static final long MB = 1024 * 1024;
+
+    private final int minHeapSize;
+    private final int maxHeapSize;
+    private final boolean cached;
+
+    /**
+     * @param minHeapSize min heap size (mb)
+     * @param maxHeapSize max heap size (mb)
+     * @param cached      true to cache module in IndexedDB
+     */
+    public WasmLoaderGenerator(final int minHeapSize, final int maxHeapSize, final boolean cached) {
+        this.minHeapSize = minHeapSize;
+        this.maxHeapSize = maxHeapSize;
+        this.cached = cached;
+    }
+
+    /**
+     * @param wasm compiled module
+     * @return generated files (loader and manifest)
+     * @throws IOException on read or write error
+     */
+    public List<File> generate(final File wasm) throws IOException {
+        final WasmModuleInfo info = WasmModuleInfo.read(wasm);
+        final String name = wasm.getName().substring(0, wasm.getName().length() - ".wasm".length());
+        final File loader = new File(wasm.getParentFile(), name + "-loader.js");
+        final File manifest = new File(wasm.getParentFile(), name + "-manifest.json");
+        final String hash = FsUtils.sha256(wasm);
+        // runtime, generated by teavm for webassembly target
+        final File runtime = new File(wasm.getParentFile(), wasm.getName() + "-runtime.js");
+
+        final List<String> preload = new ArrayList<>(Arrays.asList(
+                "<link rel=\"modulepreload\" href=\"" + loader.getName() + "\">",
+                "<link rel=\"preload\" href=\"" + wasm.getName()
+                        + "\" as=\"fetch\" type=\"application/wasm\" crossorigin>"));
+        if (runtime.exists()) {
+            preload.add("<link rel=\"preload\" href=\"" + runtime.getName() + "\" as=\"script\">");
+        }
+
+        Files.writeString(loader.toPath(), loader(wasm.getName(), hash, info), StandardCharsets.UTF_8);
+        Files.writeString(manifest.toPath(), manifest(wasm, loader, runtime.exists() ? runtime : null, hash, info,
+                preload), StandardCharsets.UTF_8);
+        return Arrays.asList(loader, manifest);
+    }
+
+    @SuppressWarnings("checkstyle:MultipleStringLiterals")
+    private String loader(final String module, final String hash, final WasmModuleInfo info) {
+        final WasmModuleInfo.Entry memoryImport = info.getImports().stream()
+                .filter(entry -> "memory".equals(entry.getKind())).findFirst().orElse(null);
+        final String required = info.getImports().stream()
+                .filter(entry -> entry != memoryImport)
+                .map(entry -> "[" + js(entry.getModule()) + ", " + js(entry.getName()) + "]")
+                .collect(Collectors.joining(",\n  "));
+        return "// Generated by teavm gradle plugin: loader for " + module + "\n"
+                + "const url = new URL(" + js(module) + ", import.meta.url);\n"
+                + "const hash = " + js(hash) + ";\n"
+                + "const cacheEnabled = " + cached + ";\n"
+                + "const memory = " + memory(info, memoryImport) + ";\n"
+                + "const requiredImports = [\n  " + required + "\n];\n"
+                + "let compiled;\n\n"
+                + "function checkImports(imports) {\n"
+                + "  const missing = requiredImports.filter(([module, name]) => !imports[module]\n"
+                + "      || !(name in imports[module])).map(([module, name]) => module + \".\" + name);\n"
+                + "  if (missing.length) {\n"
+                + "    throw new Error(\"Missing webassembly imports: \" + missing.join(\", \"));\n"
+                + "  }\n"
+                + "}\n\n"
+                + "function cacheRequest(mode, action) {\n"
+                + "  return new Promise((resolve, reject) => {\n"
+                + "    const open = indexedDB.open(\"teavm:\" + url.pathname, 1);\n"
+                + "    open.onupgradeneeded = () => open.result.createObjectStore(\"modules\");\n"
+                + "    open.onerror = () => reject(open.error);\n"
+                + "    open.onsuccess = () => {\n"
+                + "      const db = open.result;\n"
+                + "      const tx = db.transaction(\"modules\", mode);\n"
+                + "      const request = action(tx.objectStore(\"modules\"));\n"
+                + "      tx.oncomplete = () => { db.close(); resolve(request.result); };\n"
+                + "      tx.onerror = tx.onabort = () => { db.close(); reject(tx.error); };\n"
+                + "    };\n"
+                + "  });\n"
+                + "}\n\n"
+                + "async function fromCache() {\n"
+                + "  if (!cacheEnabled || typeof indexedDB === \"undefined\") {\n"
+                + "    return null;\n"
+                + "  }\n"
+                + "  try {\n"
+                + "    const bytes = await cacheRequest(\"readonly\", store => store.get(hash));\n"
+                + "    return bytes ? await WebAssembly.compile(bytes) : null;\n"
+                + "  } catch (e) {\n"
+                + "    return null;\n"
+                + "  }\n"
+                + "}\n\n"
+                + "function toCache(response) {\n"
+                + "  if (cacheEnabled && typeof indexedDB !== \"undefined\") {\n"
+                + "    // previous module versions removed\n"
+                + "    response.arrayBuffer()\n"
+                + "      .then(bytes => cacheRequest(\"readwrite\", store => {\n"
+                + "        store.clear();\n"
+                + "        return store.put(bytes, hash);\n"
+                + "      }))\n"
+                + "      .catch(() => {});\n"
+                + "  }\n"
+                + "}\n\n"
+                + "async function download() {\n"
+                + "  const response = await fetch(url);\n"
+                + "  if (!response.ok) {\n"
+                + "    throw new Error(\"Failed to load \" + url + \": \" + response.status);\n"
+                + "  }\n"
+                + "  toCache(response.clone());\n"
+                + "  const type = response.headers.get(\"Content-Type\") || \"\";\n"
+                + "  // streaming compilation requires correct content type\n"
+                + "  if (WebAssembly.compileStreaming && type.startsWith(\"application/wasm\")) {\n"
+                + "    return WebAssembly.compileStreaming(response);\n"
+                + "  }\n"
+                + "  return WebAssembly.compile(await response.arrayBuffer());\n"
+                + "}\n\n"
+                + "export function compile() {\n"
+                + "  if (!compiled) {\n"
+                + "    compiled = fromCache().then(module => module || download());\n"
+                + "    // allow retry after failure\n"
+                + "    compiled.catch(() => compiled = null);\n"
+                + "  }\n"
+                + "  return compiled;\n"
+                + "}\n\n"
+                + "export function createMemory() {\n"
+                + "  return memory ? new WebAssembly.Memory({ initial: memory.initial, maximum: memory.maximum })"
+                + " : null;\n"
+                + "}\n\n"
+                + "export async function instantiate(imports = {}) {\n"
+                + "  if (memory && !(imports[memory.module] && imports[memory.module][memory.name])) {\n"
+                + "    imports[memory.module] = Object.assign({}, imports[memory.module],"
+                + " { [memory.name]: createMemory() });\n"
+                + "  }\n"
+                + "  checkImports(imports);\n"
+                + "  return WebAssembly.instantiate(await compile(), imports);\n"
+                + "}\n";
+    }
+
+    private String memory(final WasmModuleInfo info, final WasmModuleInfo.Entry memoryImport) {
+        if (memoryImport == null) {
+            return "null";
+        }
+        final WasmModuleInfo.Memory mem = info.getMemory();
+        // unlimited module memory limited with max heap size
+        final long max = mem.getMaximum() >= 0 ? mem.getMaximum()
+                : Math.max(mem.getInitial(), maxHeapSize * MB / PAGE_SIZE);
+        return "{ module: " + js(memoryImport.getModule()) + ", name: " + js(memoryImport.getName())
+                + ", initial: " + mem.getInitial() + ", maximum: " + max + " }";
+    }
+
+    @SuppressWarnings({"checkstyle:ParameterNumber", "PMD.UseObjectForClearerAPI"})
+    private String manifest(final File wasm, final File loader, final File runtime, final String hash,
+                            final WasmModuleInfo info, final List<String> preload) throws IOException {
+        final StringWriter out = new StringWriter();
+        out.write("{\"module\":");
+        JsonWriter.string(out, wasm.getName());
+        out.write(",\"size\":" + wasm.length() + ",\"sha256\":\"" + hash + "\",\"loader\":");
+        JsonWriter.string(out, loader.getName());
+        if (runtime != null) {
+            out.write(",\"runtime\":");
+            JsonWriter.string(out, runtime.getName());
+        }
+        out.write(",\"cached\":" + cached + ",\"minHeapSize\":" + minHeapSize + ",\"maxHeapSize\":" + maxHeapSize);
+        final WasmModuleInfo.Memory mem = info.getMemory();
+        if (mem != null) {
+            out.write(",\"memory\":{\"initial\":" + mem.getInitial() + ",\"maximum\":" + mem.getMaximum()
+                    + ",\"imported\":" + mem.isImported() + "}");
+        }
+        out.write(",\"imports\":[");
+        writeEntries(out, info.getImports());
+        out.write("],\"exports\":[");
+        writeEntries(out, info.getExports());
+        out.write("],\"preload\":[");
+        for (int i = 0; i < preload.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            JsonWriter.string(out, preload.get(i));
+        }
+        out.write("]}");
+        return out.toString();
+    }
+
+    private void writeEntries(final StringWriter out, final List<WasmModuleInfo.Entry> entries) throws IOException {
+        boolean first = true;
+        for (WasmModuleInfo.Entry entry : entries) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.write('{');
+            if (entry.getModule() != null) {
+                out.write("\"module\":");
+                JsonWriter.string(out, entry.getModule());
+                out.write(',');
+            }
+            out.write("\"name\":");
+            JsonWriter.string(out, entry.getName());
+            out.write(",\"kind\":");
+            JsonWriter.string(out, entry.getKind());
+            out.write('}');
+        }
+    }
+
+    private String js(final String value) {
+        final StringWriter out = new StringWriter();
+        try {
+            JsonWriter.string(out, value);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to write string", ex);
+        }
+        return out.toString();
+    }
+}
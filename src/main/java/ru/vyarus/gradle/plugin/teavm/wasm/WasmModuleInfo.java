@@ -0,0 +1,258 @@
+package ru.vyarus.gradle.plugin.teavm.wasm;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads imports, exports and memory declaration from webassembly binary. Only section headers and import, memory
+ * and export sections are read (code and data sections are skipped), so even large modules are read quickly.
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+public final class WasmModuleInfo {
+
+    private static final byte[] MAGIC = {0, 'a', 's', 'm'};
+    private static final int VERSION_SIZE = 4;
+    private static final int SECTION_IMPORT = 2;
+    private static final int SECTION_MEMORY = 5;
+    private static final int SECTION_EXPORT = 7;
+    private static final String[] KINDS = {"function", "table", "memory", "global", "tag"};
+
+    private final List<Entry> imports = new ArrayList<>();
+    private final List<Entry> exports = new ArrayList<>();
+    private Memory memory;
+
+    private WasmModuleInfo() {
+    }
+
+    /**
+     * @return module imports (module, name and kind)
+     */
+    public List<Entry> getImports() {
+        return imports;
+    }
+
+    /**
+     * @return module exports (name and kind)
+     */
+    public List<Entry> getExports() {
+        return exports;
+    }
+
+    /**
+     * @return declared or imported memory or null if module does not use memory
+     */
+    public Memory getMemory() {
+        return memory;
+    }
+
+    /**
+     * @param file webassembly module
+     * @return module info
+     * @throws IOException on read error or if file is not a webassembly module
+     */
+    public static WasmModuleInfo read(final File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            final byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a webassembly module: " + file.getAbsolutePath());
+            }
+            skip(in, VERSION_SIZE);
+            final WasmModuleInfo res = new WasmModuleInfo();
+            int section = in.read();
+            while (section >= 0) {
+                final long size = readUnsigned(in);
+                switch (section) {
+                    case SECTION_IMPORT:
+                        res.readImports(in);
+                        break;
+                    case SECTION_MEMORY:
+                        if (readUnsigned(in) > 0) {
+                            res.memory = readMemory(in, false);
+                        }
+                        break;
+                    case SECTION_EXPORT:
+                        res.readExports(in);
+                        break;
+                    default:
+                        skip(in, size);
+                }
+                section = in.read();
+            }
+            return res;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private void readImports(final DataInputStream in) throws IOException {
+        final long count = readUnsigned(in);
+        for (long i = 0; i < count; i++) {
+            final String module = readName(in);
+            final String name = readName(in);
+            final int kind = in.readUnsignedByte();
+            switch (kind) {
+                case 0:
+                    // type index
+                    readUnsigned(in);
+                    break;
+                case 1:
+                    // reference type and limits
+                    in.readUnsignedByte();
+                    readLimits(in);
+                    break;
+                case 2:
+                    memory = readMemory(in, true);
+                    break;
+                case 3:
+                    // value type and mutability
+                    in.readUnsignedByte();
+                    in.readUnsignedByte();
+                    break;
+                case 4:
+                    // tag attribute and type index
+                    in.readUnsignedByte();
+                    readUnsigned(in);
+                    break;
+                default:
+                    throw new IOException("Unsupported import kind: " + kind);
+            }
+            imports.add(new Entry(module, name, KINDS[kind]));
+        }
+    }
+
+    private void readExports(final DataInputStream in) throws IOException {
+        final long count = readUnsigned(in);
+        for (long i = 0; i < count; i++) {
+            final String name = readName(in);
+            final int kind = in.readUnsignedByte();
+            readUnsigned(in);
+            exports.add(new Entry(null, name, kind < KINDS.length ? KINDS[kind] : String.valueOf(kind)));
+        }
+    }
+
+    private static Memory readMemory(final DataInputStream in, final boolean imported) throws IOException {
+        final long[] limits = readLimits(in);
+        return new Memory(limits[0], limits[1], imported);
+    }
+
+    private static long[] readLimits(final DataInputStream in) throws IOException {
+        final int flags = in.readUnsignedByte();
+        final long min = readUnsigned(in);
+        final long max = (flags & 1) == 0 ? -1 : readUnsigned(in);
+        return new long[]{min, max};
+    }
+
+    private static String readName(final DataInputStream in) throws IOException {
+        final byte[] name = new byte[(int) readUnsigned(in)];
+        in.readFully(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static long readUnsigned(final InputStream in) throws IOException {
+        long res = 0;
+        int shift = 0;
+        int value;
+        do {
+            value = in.read();
+            if (value < 0) {
+                throw new EOFException("Unexpected end of webassembly module");
+            }
+            res |= (long) (value & 0x7F) << shift;
+            shift += 7;
+        } while ((value & 0x80) != 0);
+        return res;
+    }
+
+    private static void skip(final InputStream in, final long size) throws IOException {
+        long rest = size;
+        while (rest > 0) {
+            final long skipped = in.skip(rest);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Unexpected end of webassembly module");
+                }
+                rest--;
+            } else {
+                rest -= skipped;
+            }
+        }
+    }
+
+    /**
+     * Import or export declaration.
+     */
+    public static class Entry {
+        private final String module;
+        private final String name;
+        private final String kind;
+
+        public Entry(final String module, final String name, final String kind) {
+            this.module = module;
+            this.name = name;
+            this.kind = kind;
+        }
+
+        /**
+         * @return import module (null for export)
+         */
+        public String getModule() {
+            return module;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return function, table, memory, global or tag
+         */
+        public String getKind() {
+            return kind;
+        }
+    }
+
+    /**
+     * Memory limits (in 64kb pages).
+     */
+    public static class Memory {
+        private final long initial;
+        private final long maximum;
+        private final boolean imported;
+
+        public Memory(final long initial, final long maximum, final boolean imported) {
+            this.initial = initial;
+            this.maximum = maximum;
+            this.imported = imported;
+        }
+
+        public long getInitial() {
+            return initial;
+        }
+
+        /**
+         * @return maximum pages or -1 if not limited
+         */
+        public long getMaximum() {
+            return maximum;
+        }
+
+        /**
+         * @return true if memory must be provided by loader
+         */
+        public boolean isImported() {
+            return imported;
+        }
+    }
+}
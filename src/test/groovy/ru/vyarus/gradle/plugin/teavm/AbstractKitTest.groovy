@@ -62,7 +62,8 @@ abstract class AbstractKitTest extends Specification {
     GradleRunner gradle(File root, String... commands) {
         GradleRunner.create()
                 .withProjectDir(root)
-                .withArguments((commands + ['--stacktrace']) as String[])
+                // teavm compiler messages (e.g. 'Output file successfully built') are logged with info level
+                .withArguments((commands + ['--stacktrace', '--info']) as String[])
                 .withPluginClasspath()
                 .withDebug(debug)
                 .forwardOutput()
@@ -0,0 +1,70 @@
+package ru.vyarus.gradle.plugin.teavm
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class MultiCompileKitTest extends AbstractKitTest {
+
+    def "Check multiple entry points compilation"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            tasks.register('compileTeavmAll', TeavmMultiCompileTask) {
+                entry 'example.Page', 'page.js'
+                entry 'example.Worker', 'worker', 'worker.js'
+            }
+        """
+        file('src/main/java/example/Page.java')  << """
+package example;
+
+public class Page {
+    public static void main(String[] args) {
+        System.out.println("Page");
+    }
+}
+"""
+        file('src/main/java/example/Worker.java')  << """
+package example;
+
+public class Worker {
+    public static void main(String[] args) {
+        System.out.println("Worker");
+    }
+}
+"""
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavmAll')
+
+        then: "task successful"
+        result.task(':compileTeavmAll').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Entry points (2) compiled in')
+        result.output.contains('example.Page')
+        result.output.contains('example.Worker')
+
+        and: "entry points compiled"
+        file('build/teavm/page.js').exists()
+        file('build/teavm/worker.js').exists()
+
+        and: "results written"
+        file('build/reports/teavm/compileTeavmAll/page.js.json').exists()
+        file('build/reports/teavm/compileTeavmAll/worker.js.json').exists()
+        String merged = file('build/reports/teavm/compileTeavmAll.json').text
+        merged.contains('page.js')
+        merged.contains('worker.js')
+    }
+}
@@ -0,0 +1,73 @@
+package ru.vyarus.gradle.plugin.teavm
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ProjectClassesKitTest extends AbstractKitTest {
+
+    def "Check project dependencies used as class directories"() {
+        setup:
+        file('settings.gradle') << """
+include 'shared'
+"""
+        file('shared/build.gradle') << """
+            plugins {
+                id 'java'
+            }
+"""
+        file('shared/src/main/java/example/shared/Util.java') << """
+package example.shared;
+
+public class Util {
+    public static String message() {
+        return "Hello";
+    }
+}
+"""
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+            
+            repositories { mavenCentral() }
+            dependencies {
+                implementation project(':shared')
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                projectDependenciesAsClasses = true
+                debug = true
+            }
+
+        """
+        file('src/main/java/example/Main.java') << """
+package example;
+
+import example.shared.Util;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println(Util.message());
+    }
+}
+"""
+
+        when: "run task"
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Output file successfully built')
+
+        and: "shared module used as classes"
+        result.task(':shared:classes').outcome == TaskOutcome.SUCCESS
+        result.task(':shared:jar') == null
+        unifyString(result.output).contains('shared/build/classes/java/main')
+    }
+}
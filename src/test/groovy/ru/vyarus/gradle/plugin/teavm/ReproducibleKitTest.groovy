@@ -0,0 +1,97 @@
+package ru.vyarus.gradle.plugin.teavm
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ReproducibleKitTest extends AbstractKitTest {
+
+    def "Check reproducible compilation"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                reproducible = true
+                sourceMapsGenerated = true
+                sourceFilesCopied = true
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run check"
+        debug()
+        BuildResult result = run('check')
+
+        then: "compiled twice and compared"
+        result.task(':teavmReproducibleCompile1').outcome == TaskOutcome.SUCCESS
+        result.task(':teavmReproducibleCompile2').outcome == TaskOutcome.SUCCESS
+        result.task(':teavmVerifyReproducible').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Teavm compilation is reproducible')
+        !result.output.contains('generated files contain machine-specific paths')
+
+        and: "report written"
+        String report = file('build/reports/teavm/reproducibility.txt').text
+        report.contains('  classes.js  ')
+        !report.contains('! ')
+
+        and: "source map does not contain absolute paths"
+        String map = file('build/tmp/teavmReproducible/1/classes.js.map').text
+        !map.contains(testProjectDir.canonicalPath.replace('\\', '/'))
+        map == file('build/tmp/teavmReproducible/2/classes.js.map').text
+    }
+
+    def "Check different outputs detection"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            tasks.register('verifyDirs', TeavmVerifyReproducibleTask) {
+                firstDir = file('out1')
+                secondDir = file('out2')
+                reportFile = file('build/report.txt')
+            }
+        """
+        file('out1/same.js') << 'same'
+        file('out2/same.js') << 'same'
+        file('out1/changed.js') << 'one'
+        file('out2/changed.js') << 'two'
+        file('out2/added.js') << 'new'
+
+        when: "run verification"
+        BuildResult result = runFailed('verifyDirs')
+
+        then: "differences reported"
+        result.output.replace('\r', '').contains('Teavm compilation is not reproducible, different files: \n' +
+                '\tadded.js\n' +
+                '\tchanged.js\n')
+        String report = file('build/report.txt').text
+        report.contains('  same.js  ')
+        report.contains('! added.js  null  ')
+        report.contains('! changed.js  ')
+    }
+}
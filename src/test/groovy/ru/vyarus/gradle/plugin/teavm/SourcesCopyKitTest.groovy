@@ -104,6 +104,225 @@ public class Main {
         and: "sources from jars copied"
         file('build/teavm/src/org/teavm/classlib/impl/IntegerUtil.java').exists()
     }
+
+    def "Check referenced sources copy"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+                       
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                debug = false
+                
+                mainClass = 'example.Main'
+                sourceMapsGenerated = true
+                sourceFilesCopied = true
+                sourceFilesCopiedIncrementally = true
+            }
+            
+            tasks.withType(TeavmCompileTask).configureEach {
+                sourcesCacheDir = layout.buildDirectory.dir('sources-cache')
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println(Helper.message());
+    }
 }
+"""
+        file('src/main/java/example/Helper.java')  << """
+package example;
 
+public class Helper {
+    public static String message() {
+        return "Do nothing";
+    }
+}
+"""
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavm')
 
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Referenced sources:')
+        file('build/teavm/src/example/Helper.java').exists()
+
+        and: "own source copied"
+        file('build/teavm/src/example/Main.java').exists()
+        !file('build/teavm/example/Main.java').exists()
+
+        and: "source jars extracted into cache"
+        file('build/sources-cache/index').list().length > 0
+        file('build/sources-cache/cleanup.marker').exists()
+
+        when: "run again without changes"
+        result = run('compileTeavm', '--rerun-tasks')
+
+        then: "sources not copied again"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('(copied 0,')
+
+        when: "referenced class removed"
+        file('src/main/java/example/Helper.java').delete()
+        file('src/main/java/example/Main.java').text = """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+        result = run('compileTeavm')
+
+        then: "stale source removed"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('deleted 1,')
+        !file('build/teavm/src/example/Helper.java').exists()
+        file('build/teavm/src/example/Main.java').exists()
+    }
+
+    def "Check source map post-processing"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+                       
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                sourceMapsGenerated = true
+                sourceFilesCopied = true
+                sourceFilesCopiedAsLocalLinks = true
+                sourceMapSourcesRelative = true
+                sourceMapSourcesContent = INLINE
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Source maps processed: 1')
+
+        and: "source map rewritten"
+        String map = file('build/teavm/classes.js.map').text
+        !map.contains('file:')
+        map.contains('"../')
+        map.contains('"sourcesContent":[')
+        map.contains('public class Main')
+    }
+
+    def "Check source map sources prefix"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+                       
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                sourceMapsGenerated = true
+                sourceFilesCopied = true
+                sourceMapSourcesPrefix = 'http://localhost/'
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run task"
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+
+        and: "copied sources prefixed"
+        String map = file('build/teavm/classes.js.map').text
+        map.contains('"http://localhost/src/example/Main.java"')
+        !map.contains('/../')
+    }
+
+    def "Check source map prefix with relative paths rejected"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+                       
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                sourceMapsGenerated = true
+                sourceMapSourcesRelative = true
+                sourceMapSourcesPrefix = 'http://localhost/'
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run task"
+        BuildResult result = runFailed('compileTeavm')
+
+        then: "configuration rejected"
+        result.task(':compileTeavm').outcome == TaskOutcome.FAILED
+        result.output.contains('sourceMapSourcesPrefix could not be used together with sourceMapSourcesRelative')
+    }
+}
@@ -92,12 +92,132 @@ public class Main {
         result.task(':compileTeavm').outcome == TaskOutcome.FAILED
         result.output.contains('Output file built with errors')
 
-        and: "errors shown inside exception"
-        result.output.contains("""> Teavm compilation failed:
-  
-  \tCorresponding meta method was not found
-  \t    at example.Main.doSmth
-  \t    at example.Main.main(Main.java:10)""")
+        and: "errors shown inside exception (thrown from worker)"
+        result.output.contains("> Teavm compilation failed:")
+        result.output.contains("\tCorresponding meta method was not found")
+        result.output.contains("\t    at example.Main.doSmth")
+        result.output.contains("\t    at example.Main.main(Main.java:10)")
+    }
+
+    def "Check compilation error fails dependent tasks without waiting"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+            
+            repositories { mavenCentral() }
+            
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+                implementation "org.teavm:teavm-metaprogramming-api:\${teavm.version}"
+                implementation "org.teavm:teavm-metaprogramming-impl:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+            }
+            
+            tasks.register('afterTeavm') {
+                dependsOn 'compileTeavm'
+                doLast { println 'AFTER TEAVM EXECUTED' }
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+import org.teavm.metaprogramming.Meta;
+import org.teavm.metaprogramming.Metaprogramming;
+import org.teavm.metaprogramming.ReflectClass;
+
+public class Main {
+    public static void main(String[] args) {
+        doSmth(Integer.class);
+    }
+    
+    @Meta
+    private static native void doSmth(Class<?> type);
+    private static void doSmthImpl(ReflectClass cls) {
+        Metaprogramming.emit(() -> cls.getName());
+    }
+}
+"""
+
+        when: "run dependent task"
+        BuildResult result = runFailed('afterTeavm')
+
+        then: "compile task failed by worker"
+        result.task(':compileTeavm').outcome == TaskOutcome.FAILED
+        result.output.contains("> Teavm compilation failed:")
+
+        and: "dependent task not executed"
+        result.task(':afterTeavm') == null
+        !result.output.contains('AFTER TEAVM EXECUTED')
+    }
+
+    def "Check stall timeout fails build"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+            
+            repositories { mavenCentral() }
+            
+            dependencies {
+                compileOnly "org.teavm:teavm-core:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                transformers = ['example.HangTransformer']
+                stallTimeout = 1
+                stallCancel = true
+                // cancellation is not a compilation error
+                stopOnErrors = false
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+        file('src/main/java/example/HangTransformer.java')  << """
+package example;
+
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ClassHolderTransformer;
+import org.teavm.model.ClassHolderTransformerContext;
+
+public class HangTransformer implements ClassHolderTransformer {
+    @Override
+    public void transformClass(ClassHolder cls, ClassHolderTransformerContext context) {
+        if (cls.getName().equals("example.Main")) {
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException("Interrupted", ex);
+            }
+        }
+    }
+}
+"""
+
+        when: "run task"
+        BuildResult result = runFailed('compileTeavm')
+
+        then: "stalled compilation failed"
+        result.task(':compileTeavm').outcome == TaskOutcome.FAILED
+        result.output.contains('> Teavm compilation aborted: No compilation progress in phase')
+        file('build/reports/teavm/compileTeavm-stall.txt').exists()
     }
 
 
@@ -3,10 +3,27 @@ package ru.vyarus.gradle.plugin.teavm
 import org.gradle.api.Project
 import org.gradle.testfixtures.ProjectBuilder
 import org.teavm.backend.javascript.JSModuleType
+import org.teavm.backend.wasm.WasmDebugInfoLevel
+import org.teavm.backend.wasm.WasmDebugInfoLocation
 import org.teavm.backend.wasm.render.WasmBinaryVersion
 import org.teavm.tooling.TeaVMTargetType
 import org.teavm.vm.TeaVMOptimizationLevel
+import ru.vyarus.gradle.plugin.teavm.benchmark.HarnessGenerator
+import ru.vyarus.gradle.plugin.teavm.task.TeavmBenchmarkGenerateTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmBenchmarkTask
 import ru.vyarus.gradle.plugin.teavm.task.TeavmCompileTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmDeltaTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmHeapReportTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmHeapSizingTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmMultiCompileTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmNativeLinkTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoInstrumentTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoLinkTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoReportTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmPgoTrainTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmRunWasiTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmTestTask
+import ru.vyarus.gradle.plugin.teavm.task.TeavmVerifyReproducibleTask
 
 /**
  * @author Vyacheslav Rusakov
@@ -167,4 +184,524 @@ class TeavmPluginTest extends AbstractTest {
         task.shortFileNames.get()
         task.heapDump.get()
     }
-}
\ No newline at end of file
+
+    def "Check native task configuration"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+
+            teavm {
+                mainClass = 'com.foo.Client'
+                targetType = TeaVMTargetType.C
+                heapDump = true
+
+                nativeOptions {
+                    compiler = 'clang'
+                    compilerArgs = ['-O3']
+                    parallelism = 2
+                    executableName = 'app'
+                }
+            }
+        }
+
+        then: "task configured"
+        TeavmNativeLinkTask task = project.tasks.findByName('teavmNativeLink')
+        task.compiler.get() == 'clang'
+        task.compilerArgs.get() == ['-O3']
+        task.effectiveCompilerArgs == ['-O3', '-g']
+        task.parallelism.get() == 2
+        task.heapDump.get()
+        !task.singleTranslationUnit.get()
+        project.relativePath(task.sourceDir.get().asFile).replace(File.separator, '/') == 'build/teavm'
+        project.relativePath(task.executable.get().asFile).replace(File.separator, '/') == 'build/teavm-native/app'
+        project.relativePath(task.objectCacheDir.get().asFile).replace(File.separator, '/') == 'build/teavm-native-cache'
+    }
+
+    def "Check pgo tasks configuration"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+
+            teavm {
+                targetType = TeaVMTargetType.C
+
+                nativeOptions {
+                    executableName = 'app'
+                    pgoWorkload = ['--iterations', '100']
+                    pgoRuns = 5
+                }
+            }
+        }
+
+        then: "instrumented build configured"
+        TeavmPgoInstrumentTask instrument = project.tasks.findByName('teavmPgoInstrument')
+        project.relativePath(instrument.executable.get().asFile).replace(File.separator, '/') == 'build/teavm-native/app-instrumented'
+        project.relativePath(instrument.profileDir.get().asFile).replace(File.separator, '/') == 'build/teavm-pgo'
+        project.relativePath(instrument.objectsDir.get().asFile).replace(File.separator, '/') == 'build/tmp/teavmPgo/obj'
+
+        and: "training configured"
+        TeavmPgoTrainTask train = project.tasks.findByName('teavmPgoTrain')
+        train.workload.get() == ['--iterations', '100']
+        train.executable.get().asFile == instrument.executable.get().asFile
+        train.profileDir.get().asFile == instrument.profileDir.get().asFile
+
+        and: "optimized build configured"
+        TeavmPgoLinkTask link = project.tasks.findByName('teavmPgoLink')
+        project.relativePath(link.executable.get().asFile).replace(File.separator, '/') == 'build/teavm-native/app-pgo'
+        link.objectsDir.get().asFile == instrument.objectsDir.get().asFile
+        link.profileDir.get().asFile == train.profileDir.get().asFile
+
+        and: "report configured"
+        TeavmPgoReportTask report = project.tasks.findByName('teavmPgoReport')
+        report.runs.get() == 5
+        project.relativePath(report.baseline.get().asFile).replace(File.separator, '/') == 'build/teavm-native/app'
+        report.optimized.get().asFile == link.executable.get().asFile
+        report.taskDependencies.getDependencies(report)*.name.containsAll(['teavmNativeLink', 'teavmPgoLink'])
+    }
+
+    def "Check benchmark tasks configuration"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+
+            teavm {
+                targetFileName = 'app.c'
+                benchmark {
+                    warmupIterations = 1
+                    maxRatio = 3
+                }
+            }
+        }
+
+        then: "harness generation configured"
+        TeavmBenchmarkGenerateTask generate = project.tasks.findByName('teavmBenchmarkGenerate')
+        generate.warmupIterations.get() == 1
+        generate.measurementIterations.get() == 5
+
+        and: "harness compilation configured"
+        TeavmCompileTask compile = project.tasks.findByName('compileTeavmBenchmark')
+        compile.mainClass.get() == HarnessGenerator.HARNESS
+        compile.targetType.get() == TeaVMTargetType.C
+        !compile.targetFileName.present
+        project.relativePath(compile.targetDir.get().asFile).replace(File.separator, '/') == 'build/teavm-benchmark/out'
+
+        and: "native executable used"
+        TeavmBenchmarkTask bench = project.tasks.findByName('teavmBenchmark')
+        project.relativePath(bench.executable.get().asFile).replace(File.separator, '/') == 'build/teavm-benchmark/benchmark'
+        !bench.wasmFile.present
+        bench.maxRatio.get() == 3
+        bench.jvmBaseline.get()
+    }
+
+    def "Check wasi benchmark configuration"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+
+            teavm {
+                benchmark {
+                    targetType = TeaVMTargetType.WEBASSEMBLY_WASI
+                }
+            }
+        }
+
+        then: "wasm module used"
+        TeavmBenchmarkTask bench = project.tasks.findByName('teavmBenchmark')
+        project.relativePath(bench.wasmFile.get().asFile).replace(File.separator, '/') == 'build/teavm-benchmark/out/benchmark.wasm'
+        !bench.executable.present
+        bench.wasiRuntime.get() == ['wasmtime', 'run']
+    }
+
+    def "Check wasi run configuration"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+
+            teavm {
+                targetType = TeaVMTargetType.WEBASSEMBLY_WASI
+                targetFileName = 'app.wasm'
+
+                wasi {
+                    args = ['one', 'two']
+                    runtimeVersion = '1.4.0'
+                }
+            }
+        }
+
+        then: "task configured"
+        TeavmRunWasiTask task = project.tasks.findByName('teavmRunWasi')
+        project.relativePath(task.wasmFile.get().asFile).replace(File.separator, '/') == 'build/teavm/app.wasm'
+        task.args.get() == ['one', 'two']
+
+        and: "runtime configuration registered"
+        project.configurations.findByName('teavmWasi') != null
+        project.extensions.teavm.wasi.runtimeVersion == '1.4.0'
+    }
+
+    def "Check default wasi runtime version"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+        }
+
+        then: "version plugin built with used"
+        project.extensions.teavm.wasi.runtimeVersion ==~ /\d+\.\d+\.\d+.*/
+    }
+
+    def "Check teavm test configuration"() {
+
+        when: "plugin configured"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: "ru.vyarus.teavm"
+
+            teavm {
+                obfuscated = false
+                tests {
+                    targetTypes = [TeaVMTargetType.JAVASCRIPT, TeaVMTargetType.C] as Set
+                    jsRunner = 'browser-chrome'
+                    threads = 4
+                    forks = 2
+                    properties = ['teavm.junit.custom': 'value']
+                }
+            }
+        }
+
+        then: "task configured"
+        TeavmTestTask task = project.tasks.findByName('teavmTest')
+        task.maxParallelForks == 2
+        task.incremental.get()
+        task.systemProperties['teavm.junit.threads'] == '4'
+        task.systemProperties['teavm.junit.js'] == 'true'
+        task.systemProperties['teavm.junit.c'] == 'true'
+        task.systemProperties['teavm.junit.wasm'] == null
+        task.systemProperties['teavm.junit.js.runner'] == 'browser-chrome'
+        task.systemProperties['teavm.junit.optimized'] == 'true'
+        task.systemProperties['teavm.junit.minified'] == 'false'
+        task.systemProperties['teavm.junit.custom'] == 'value'
+        project.relativePath(task.systemProperties['teavm.junit.target']).replace(File.separator, '/') == 'build/teavm-test'
+    }
+
+    def "Check profiling configuration"() {
+
+        when: "plugin applied with profiling"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                profiling = true
+                profilingHotMethods = 10
+                stallTimeout = 30
+                stallCancel = true
+            }
+        }
+
+        then: "task configured"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        task.profiling.get()
+        task.profilingHotMethods.get() == 10
+        task.stallTimeout.get() == 30
+        task.stallCancel.get()
+        task.cancellationService.present
+        project.relativePath(task.profilingDir.get().asFile).replace(File.separator, '/') == 'build/reports/teavm'
+    }
+
+    def "Check compilation result file"() {
+
+        when: "plugin applied"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+        }
+
+        then: "result file configured"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        project.relativePath(task.resultFile.get().asFile).replace(File.separator, '/') == 'build/reports/teavm/compileTeavm.json'
+        task.outputs.files.files.contains(task.resultFile.get().asFile)
+    }
+
+    def "Check classpath normalization configuration"() {
+
+        when: "plugin applied with normalization"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                classpathNormalization {
+                    ignore = ['**/build-info.properties']
+                    ignoreMetaInf = true
+                    ignoreProperties = ['build.time']
+                }
+            }
+        }
+
+        then: "options applied"
+        TeavmExtension extension = project.extensions.findByType(TeavmExtension)
+        extension.classpathNormalization.ignore == ['**/build-info.properties']
+        extension.classpathNormalization.ignoreMetaInf
+        !extension.classpathNormalization.ignoreManifest
+        extension.classpathNormalization.ignoreProperties == ['build.time']
+
+        and: "applied only to compile task"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        task.classpathIgnore.get() == ['**/build-info.properties']
+        task.classpathIgnoreMetaInf.get()
+        task.classpathIgnoreProperties.get() == ['build.time']
+        task.classpathInput.empty
+        task.normalizedClasspath != null
+    }
+
+    def "Check reproducible mode configuration"() {
+
+        when: "plugin applied in reproducible mode"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                dev = true
+                reproducible = true
+            }
+        }
+
+        then: "compile task configured"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        task.reproducible.get()
+        task.sourceMapSourcesRelative.get()
+        !task.sourceFilesCopiedAsLocalLinks.get()
+
+        and: "verification compiles use separate directories"
+        TeavmCompileTask first = project.tasks.findByName('teavmReproducibleCompile1')
+        TeavmCompileTask second = project.tasks.findByName('teavmReproducibleCompile2')
+        project.relativePath(first.targetDir.get().asFile).replace(File.separator, '/') == 'build/tmp/teavmReproducible/1'
+        project.relativePath(second.targetDir.get().asFile).replace(File.separator, '/') == 'build/tmp/teavmReproducible/2'
+        first.cacheDir.get() != second.cacheDir.get()
+        !first.incremental.get()
+
+        and: "verification attached to check"
+        TeavmVerifyReproducibleTask verify = project.tasks.findByName('teavmVerifyReproducible')
+        project.relativePath(verify.reportFile.get().asFile).replace(File.separator, '/') == 'build/reports/teavm/reproducibility.txt'
+        project.tasks.check.taskDependencies.getDependencies(project.tasks.check).contains(verify)
+    }
+
+    def "Check used resources configuration"() {
+
+        when: "plugin applied with resources sync"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                usedResourcesCopied = true
+                usedResourcesPatterns = ['data/**']
+            }
+        }
+
+        then: "task configured"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        task.usedResourcesCopied.get()
+        task.usedResourcesPatterns.get() == ['data/**']
+    }
+
+    def "Check heap report configuration"() {
+
+        when: "plugin applied with heap report"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                heapReport {
+                    dumpFile = 'heap.json'
+                    baselineFile = 'old-heap.json'
+                    top = 5
+                }
+            }
+        }
+
+        then: "task configured"
+        TeavmHeapReportTask task = project.tasks.findByName('teavmHeapReport')
+        task.dumpFile.get().asFile == project.file('heap.json')
+        task.baselineFile.get().asFile == project.file('old-heap.json')
+        task.top.get() == 5
+        task.retainers.get()
+        project.relativePath(task.reportFile.get().asFile).replace(File.separator, '/') == 'build/reports/teavm/heap.txt'
+    }
+
+    def "Check heap sizing configuration"() {
+
+        when: "plugin applied with heap sizing"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                targetType = TeaVMTargetType.WEBASSEMBLY_WASI
+                heapSizing {
+                    workload = ['--size', '100']
+                    runs = 3
+                    applied = true
+                }
+            }
+        }
+        project.file('teavm-heap.properties').text = 'minHeapSize=12\nmaxHeapSize=18\n'
+
+        then: "task configured"
+        TeavmHeapSizingTask task = project.tasks.findByName('teavmHeapSizing')
+        task.targetType.get() == TeaVMTargetType.WEBASSEMBLY_WASI
+        task.program.get().asFile.name == 'classes.wasm'
+        task.workload.get() == ['--size', '100']
+        task.runs.get() == 3
+        task.headroom.get() == 50
+        task.overridesFile.get().asFile == project.file('teavm-heap.properties')
+
+        and: "measured sizes applied"
+        TeavmCompileTask compile = project.tasks.findByName('compileTeavm')
+        compile.minHeapSize.get() == 12
+        compile.maxHeapSize.get() == 18
+    }
+
+    def "Check heap sizing custom overrides file"() {
+
+        when: "plugin applied with custom overrides file"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                heapSizing {
+                    overridesFile = 'config/heap.properties'
+                }
+            }
+        }
+        project.file('config').mkdirs()
+        project.file('config/heap.properties').text = 'minHeapSize=12\nmaxHeapSize=18\n'
+
+        then: "task uses configured file"
+        TeavmHeapSizingTask task = project.tasks.findByName('teavmHeapSizing')
+        task.overridesFile.get().asFile == project.file('config/heap.properties')
+
+        and: "sizes not applied"
+        TeavmCompileTask compile = project.tasks.findByName('compileTeavm')
+        compile.minHeapSize.get() == 4
+        compile.maxHeapSize.get() == 128
+
+        when: "applied enabled later"
+        project.teavm.heapSizing.applied = true
+
+        then: "measured sizes applied"
+        compile.minHeapSize.get() == 12
+        compile.maxHeapSize.get() == 18
+    }
+
+    def "Check wasm gc configuration"() {
+
+        when: "plugin applied with wasm gc target"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                targetType = TeaVMTargetType.WEBASSEMBLY_GC
+                wasmGC {
+                    runtimeModular = true
+                    debugInfoLevel = WasmDebugInfoLevel.FULL
+                    debugInfoLocation = WasmDebugInfoLocation.EMBEDDED
+                }
+            }
+        }
+
+        then: "task configured"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        task.targetType.get() == TeaVMTargetType.WEBASSEMBLY_GC
+        task.wasmGCRuntimeCopied.get()
+        task.wasmGCRuntimeModular.get()
+        task.wasmDebugInfoLevel.get() == WasmDebugInfoLevel.FULL
+        task.wasmDebugInfoLocation.get() == WasmDebugInfoLocation.EMBEDDED
+    }
+
+    def "Check wasm loader configuration"() {
+
+        when: "plugin applied with wasm loader"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                targetType = TeaVMTargetType.WEBASSEMBLY
+                wasmLoaderGenerated = true
+                wasmModuleCached = true
+            }
+        }
+
+        then: "task configured"
+        TeavmCompileTask task = project.tasks.findByName('compileTeavm')
+        task.wasmLoaderGenerated.get()
+        task.wasmModuleCached.get()
+    }
+
+    def "Check multi entry compile task configuration"() {
+
+        when: "multi entry task registered"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            tasks.register('compileTeavmAll', TeavmMultiCompileTask) {
+                entry 'example.Page', 'page.js'
+                entry 'example.Worker', 'worker', 'worker.js'
+            }
+        }
+
+        then: "entries configured"
+        TeavmMultiCompileTask task = project.tasks.findByName('compileTeavmAll')
+        task.entries.get() == ['example.Page': 'page.js', 'example.Worker': 'worker.js']
+        task.entryPointNames.get() == ['example.Worker': 'worker']
+
+        and: "extension conventions applied"
+        project.relativePath(task.targetDir.get().asFile).replace(File.separator, '/') == 'build/teavm'
+        project.relativePath(task.cacheDir.get().asFile).replace(File.separator, '/') == 'build/teavm-cache-compileTeavmAll'
+        project.relativePath(task.resultFile.get().asFile).replace(File.separator, '/') == 'build/reports/teavm/compileTeavmAll.json'
+    }
+
+    def "Check delta configuration"() {
+
+        when: "plugin applied with deltas"
+        Project project = project {
+            apply plugin: 'java'
+            apply plugin: 'ru.vyarus.teavm'
+
+            teavm {
+                delta {
+                    enabled = true
+                    blockSize = 64
+                }
+            }
+        }
+
+        then: "delta task configured"
+        TeavmDeltaTask task = project.tasks.findByName('teavmDelta')
+        project.relativePath(task.sourceDir.get().asFile).replace(File.separator, '/') == 'build/teavm'
+        project.relativePath(task.baseDir.get().asFile).replace(File.separator, '/') == 'build/teavm-delta-base'
+        project.relativePath(task.deltaDir.get().asFile).replace(File.separator, '/') == 'build/teavm-delta'
+        task.fileExtensions.get() == ['js', 'mjs', 'wasm']
+        task.blockSize.get() == 64
+
+        and: "executed after compilation"
+        project.tasks.compileTeavm.finalizedBy.getDependencies(project.tasks.compileTeavm).contains(task)
+    }
+}
@@ -3,6 +3,11 @@ package ru.vyarus.gradle.plugin.teavm
 import org.gradle.testkit.runner.BuildResult
 import org.gradle.testkit.runner.TaskOutcome
 
+import java.util.jar.Attributes
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
 /**
  * @author Vyacheslav Rusakov
  * @since 12.01.2023
@@ -64,4 +69,71 @@ public class Main {
         then:
         result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
     }
+
+    def "Check jar manifest change ignored"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+            
+            repositories { mavenCentral() }
+            
+            dependencies {
+                implementation files('libs/lib.jar')
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                classpathNormalization {
+                    ignoreManifest = true
+                }
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+        writeJar('2026-01-01')
+
+        when: "run task"
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+
+        when: "only jar manifest changed"
+        writeJar('2026-01-02')
+        result = run('compileTeavm')
+
+        then: "task up-to-date"
+        result.task(':compileTeavm').outcome == TaskOutcome.UP_TO_DATE
+
+        when: "jar content changed"
+        writeJar('2026-01-02', 'changed')
+        result = run('compileTeavm')
+
+        then: "task executed"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+    }
+
+    private void writeJar(String buildTime, String content = 'value') {
+        Manifest manifest = new Manifest()
+        manifest.mainAttributes.put(Attributes.Name.MANIFEST_VERSION, '1.0')
+        manifest.mainAttributes.putValue('Build-Time', buildTime)
+        File jar = file('libs/lib.jar')
+        jar.parentFile.mkdirs()
+        new JarOutputStream(new FileOutputStream(jar), manifest).withCloseable {
+            it.putNextEntry(new JarEntry('lib/data.txt'))
+            it.write(content.bytes)
+            it.closeEntry()
+        }
+    }
 }
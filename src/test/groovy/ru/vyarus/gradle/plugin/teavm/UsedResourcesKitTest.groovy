@@ -0,0 +1,66 @@
+package ru.vyarus.gradle.plugin.teavm
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class UsedResourcesKitTest extends AbstractKitTest {
+
+    def "Check used resources sync"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                debug = false
+
+                mainClass = 'example.Main'
+                usedResourcesCopied = true
+                usedResourcesPatterns = ['data/*.json']
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+        file('src/main/resources/data/sample.json') << '{"a":1}'
+        file('src/main/resources/data/other.txt') << 'not copied'
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Used resources: ')
+
+        and: "only matched resource copied"
+        file('build/teavm/data/sample.json').text == '{"a":1}'
+        !file('build/teavm/data/other.txt').exists()
+
+        when: "resource removed"
+        file('src/main/resources/data/sample.json').delete()
+        result = run('compileTeavm')
+
+        then: "stale resource removed"
+        result.output.contains('removed 1,')
+        !file('build/teavm/data/sample.json').exists()
+    }
+}
@@ -0,0 +1,57 @@
+package ru.vyarus.gradle.plugin.teavm
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class WasmGCKitTest extends AbstractKitTest {
+
+    // wasm GC target is not available in default teavm version
+    String TEAVM_GC = '0.15.0'
+
+    def "Check wasm GC compilation"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:$TEAVM_GC"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                targetType = WEBASSEMBLY_GC
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains("TeaVM compiler version: $TEAVM_GC")
+
+        and: "module and runtime generated"
+        file('build/teavm/classes.wasm').exists()
+        result.output.contains('Wasm GC runtime: classes.wasm-runtime.js')
+        file('build/teavm/classes.wasm-runtime.js').length() > 0
+    }
+}
@@ -0,0 +1,109 @@
+package ru.vyarus.gradle.plugin.teavm
+
+import groovy.json.JsonSlurper
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.TaskOutcome
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class WasmLoaderKitTest extends AbstractKitTest {
+
+    def "Check webassembly loader generation"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                targetType = WEBASSEMBLY
+                wasmLoaderGenerated = true
+                wasmModuleCached = true
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavm')
+
+        then: "task successful"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        result.output.contains('Webassembly loader: classes-loader.js (manifest classes-manifest.json)')
+
+        and: "loader generated"
+        String loader = file('build/teavm/classes-loader.js').text
+        loader.contains('const url = new URL("classes.wasm", import.meta.url);')
+        loader.contains('const cacheEnabled = true;')
+        loader.contains('WebAssembly.compileStreaming(response)')
+        loader.contains('export async function instantiate(imports = {})')
+
+        and: "manifest describes compiled module"
+        File wasm = file('build/teavm/classes.wasm')
+        def manifest = new JsonSlurper().parse(file('build/teavm/classes-manifest.json'))
+        manifest.module == 'classes.wasm'
+        manifest.size == wasm.length()
+        manifest.loader == 'classes-loader.js'
+        manifest.cached == true
+        !manifest.exports.isEmpty()
+        manifest.preload.contains('<link rel="modulepreload" href="classes-loader.js">')
+    }
+
+    def "Check loader not generated by default"() {
+        setup:
+        build """
+            plugins {
+                id 'java'
+                id 'ru.vyarus.teavm'
+            }
+
+            repositories { mavenCentral() }
+            dependencies {
+                implementation "org.teavm:teavm-classlib:\${teavm.version}"
+            }
+
+            teavm {
+                mainClass = 'example.Main'
+                targetType = WEBASSEMBLY
+            }
+
+        """
+        file('src/main/java/example/Main.java')  << """
+package example;
+
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("Do nothing");
+    }
+}
+"""
+
+        when: "run task"
+        debug()
+        BuildResult result = run('compileTeavm')
+
+        then: "loader not generated"
+        result.task(':compileTeavm').outcome == TaskOutcome.SUCCESS
+        file('build/teavm/classes.wasm').exists()
+        !file('build/teavm/classes-loader.js').exists()
+        !file('build/teavm/classes-manifest.json').exists()
+    }
+}
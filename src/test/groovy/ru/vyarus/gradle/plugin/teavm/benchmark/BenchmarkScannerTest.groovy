@@ -0,0 +1,156 @@
+package ru.vyarus.gradle.plugin.teavm.benchmark
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.tools.ToolProvider
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class BenchmarkScannerTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check benchmarks scan"() {
+
+        setup:
+        File classes = compile(new File(dir, 'classes'), [
+                'bench/Benchmark.java' : '''package bench;
+@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+public @interface Benchmark {}''',
+                'bench/Setup.java'     : '''package bench;
+@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+public @interface Setup {}''',
+                'sample/Static.java'   : '''package sample;
+import bench.Benchmark;
+public class Static {
+    static { System.setProperty("sample.Static.initialized", "true"); }
+    @Benchmark public static int sum() { return 1 + 2; }
+    @Benchmark public static void empty() {}
+    @Benchmark public static int withParam(int a) { return a; }
+    public static int notBenchmark() { return 0; }
+}''',
+                'sample/Instance.java' : '''package sample;
+import bench.Benchmark;
+import bench.Setup;
+public class Instance {
+    private String value;
+    @Setup public void prepare() { value = "x"; }
+    @Setup public void init() {}
+    @Benchmark public String text() { return value + value; }
+    @Benchmark public double number() { return value.length(); }
+    public static class Nested {
+        @Benchmark public boolean flag() { return true; }
+    }
+    public class Inner {
+        @Benchmark public boolean flag() { return true; }
+    }
+}''',
+                'sample/Invalid.java'  : '''package sample;
+import bench.Benchmark;
+public abstract class Invalid {
+    @Benchmark public int abstractClass() { return 1; }
+}
+class Hidden {
+    @Benchmark public static int hidden() { return 1; }
+}''',
+                'sample/NoCtor.java'   : '''package sample;
+import bench.Benchmark;
+public class NoCtor {
+    public NoCtor(int a) {}
+    @Benchmark public int run() { return 1; }
+}''',
+        ])
+
+        when: "scanning classes"
+        List<BenchmarkMethod> res = BenchmarkScanner.scan([classes, new File(dir, 'missing')], [])
+
+        then: "only valid benchmarks found (classes not initialized)"
+        System.getProperty('sample.Static.initialized') == null
+        res*.name == ['sample.Instance.Nested.flag', 'sample.Instance.number', 'sample.Instance.text',
+                      'sample.Static.empty', 'sample.Static.sum']
+        with(res.find { it.name == 'sample.Instance.text' }) {
+            !staticMethod
+            returnType == null
+            setup == ['init', 'prepare']
+        }
+        with(res.find { it.name == 'sample.Static.sum' }) {
+            staticMethod
+            returnType == 'int'
+        }
+        res.find { it.name == 'sample.Static.empty' }.returnType == 'void'
+        res.find { it.name == 'sample.Instance.number' }.returnType == 'double'
+
+        when: "harness generated and executed"
+        File harness = new File(dir, 'harness')
+        HarnessGenerator.generate(res, 1, 2, 1, harness)
+        File harnessClasses = compile(new File(dir, 'harness-classes'),
+                ['teavm/harness/BenchmarkHarness.java':
+                         new File(harness, 'teavm/harness/BenchmarkHarness.java').text], [classes])
+        Map<String, Double> results = BenchmarkReport.parse(run(harnessClasses, classes))
+
+        then: "all benchmarks measured"
+        results.keySet() as List == res*.name
+        results.values().every { it > 0 }
+
+        cleanup:
+        System.clearProperty('sample.Static.initialized')
+    }
+
+    def "Check report"() {
+
+        when: "parsing harness output"
+        Map<String, Double> teavm = BenchmarkReport.parse('other line\r\nBENCHMARK a.B.c 12.5\nBENCHMARK a.B.d 3\n')
+        BenchmarkReport report = new BenchmarkReport(teavm, ['a.B.c': 5d, 'a.B.e': 1d])
+
+        then: "results parsed"
+        teavm == ['a.B.c': 12.5d, 'a.B.d': 3d]
+        report.names as List == ['a.B.c', 'a.B.d', 'a.B.e']
+        report.getRatio('a.B.c') == 2.5d
+        report.getRatio('a.B.d') == null
+        report.getRatio('a.B.e') == null
+
+        when: "writing csv"
+        File csv = new File(dir, 'out/report.csv')
+        report.write(csv)
+
+        then: "csv written"
+        csv.text == 'benchmark,jvm,teavm,ratio\na.B.c,5.0000,12.5000,2.5000\na.B.d,,3.0000,\na.B.e,1.0000,,\n'
+        report.render().readLines()[1].matches('a\\.B\\.c\\s+5\\.000\\s+12\\.500\\s+2\\.50')
+    }
+
+    private File compile(File target, Map<String, String> sources, List<File> classpath = []) {
+        File src = new File(target.parentFile, target.name + '-src')
+        List<String> files = sources.collect { path, content ->
+            File file = new File(src, path)
+            file.parentFile.mkdirs()
+            file.text = content
+            file.absolutePath
+        }
+        target.mkdirs()
+        List<String> args = ['-d', target.absolutePath]
+        if (classpath) {
+            args += ['-cp', classpath*.absolutePath.join(File.pathSeparator)]
+        }
+        assert ToolProvider.systemJavaCompiler.run(null, null, null, (args + files) as String[]) == 0
+        target
+    }
+
+    private String run(File... classpath) {
+        PrintStream out = System.out
+        ByteArrayOutputStream res = new ByteArrayOutputStream()
+        URLClassLoader loader = new URLClassLoader(classpath*.toURI()*.toURL() as URL[],
+                ClassLoader.platformClassLoader)
+        try {
+            System.setOut(new PrintStream(res, true))
+            loader.loadClass(HarnessGenerator.HARNESS).getMethod('main', String[])
+                    .invoke(null, [[] as String[]] as Object[])
+        } finally {
+            System.setOut(out)
+            loader.close()
+        }
+        res.toString()
+    }
+}
@@ -0,0 +1,69 @@
+package ru.vyarus.gradle.plugin.teavm.c
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class HeapSizesTest extends Specification {
+
+    static final long MB = 1024 * 1024
+
+    @TempDir File dir
+
+    def "Check sizes suggestion"() {
+
+        expect: "sizes rounded up to mb"
+        HeapSizes.suggest(peak, headroom) as List == res
+
+        where:
+        peak         | headroom | res
+        0            | 50       | [1, 1]
+        1            | 50       | [1, 1]
+        10 * MB      | 0        | [10, 10]
+        10 * MB      | 25       | [10, 13]
+        10 * MB + 1  | 25       | [11, 13]
+        100 * MB     | 50       | [100, 150]
+    }
+
+    def "Check overrides resolution"() {
+
+        when: "file not exists"
+        File file = new File(dir, 'heap.properties')
+
+        then: "defaults used"
+        HeapSizes.read(file, HeapSizes.MIN_HEAP_SIZE, 4) == 4
+        HeapSizes.read(file, HeapSizes.MAX_HEAP_SIZE, 128) == 128
+
+        when: "file contains only one size"
+        file.text = '# measured\nmaxHeapSize = 18 \n'
+
+        then: "missing size is default"
+        HeapSizes.read(file, HeapSizes.MIN_HEAP_SIZE, 4) == 4
+        HeapSizes.read(file, HeapSizes.MAX_HEAP_SIZE, 128) == 18
+
+        when: "both sizes declared"
+        file.text = 'minHeapSize=12\nmaxHeapSize=18\n'
+
+        then: "file values used"
+        HeapSizes.read(file, HeapSizes.MIN_HEAP_SIZE, 4) == 12
+        HeapSizes.read(file, HeapSizes.MAX_HEAP_SIZE, 128) == 18
+    }
+
+    def "Check invalid overrides"() {
+
+        when: "reading invalid value"
+        File file = new File(dir, 'heap.properties')
+        file.text = "minHeapSize=$value\n"
+        HeapSizes.read(file, HeapSizes.MIN_HEAP_SIZE, 4)
+
+        then: "error"
+        def ex = thrown(IllegalStateException)
+        ex.message.startsWith("Invalid minHeapSize value '$value' in heap sizes file")
+
+        where:
+        value << ['12mb', '0', '-1']
+    }
+}
@@ -0,0 +1,185 @@
+package ru.vyarus.gradle.plugin.teavm.c
+
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Native builder test with fake compiler (shell script copying sources into objects).
+ *
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+@IgnoreIf({ os.windows })
+class NativeBuilderTest extends Specification {
+
+    @TempDir File dir
+    File compiler
+    File log
+    File state
+
+    void setup() {
+        log = new File(dir, 'compiler.log')
+        state = new File(dir, 'state')
+        state.mkdirs()
+        compiler = new File(dir, 'fake-cc')
+        // compilation waits for other compilation start to prove parallel execution
+        compiler.text = """#!/bin/sh
+if [ "\$1" = "--version" ]; then echo "fake cc 1.0"; exit 0; fi
+src=""; out=""; rsp=""
+while [ \$# -gt 0 ]; do
+  case "\$1" in
+    -c) src="\$2"; shift ;;
+    -o) out="\$2"; shift ;;
+    @*) rsp="\${1#@}" ;;
+  esac
+  shift
+done
+if [ -n "\$src" ]; then
+  case "\$src" in *broken*) echo "error: broken unit"; exit 1 ;; esac
+  echo "\$src" >> "$log.absolutePath"
+  touch "$state.absolutePath/\$(basename \$src)"
+  i=0
+  while [ \$(ls "$state.absolutePath" | wc -l) -lt 2 ] && [ \$i -lt 100 ]; do sleep 0.1; i=\$((i+1)); done
+  if [ \$i -ge 100 ]; then touch "$dir.absolutePath/sequential"; fi
+  cp "\$src" "\$out"
+else
+  sed 's/"//g' "\$rsp" | xargs cat > "\$out"
+fi
+"""
+        compiler.setExecutable(true)
+    }
+
+    def "Check parallel compilation and cache"() {
+
+        setup:
+        File src = sources(['a.c': 'a', 'b.c': 'b', 'sub/c.c': 'c', 'd.c': 'd', 'all.c': 'all', 'x.h': 'x'])
+        File cache = new File(dir, 'cache')
+
+        when: "compiling units"
+        NativeBuilder builder = newBuilder(cache, 'obj1', ['-O2'])
+        List<String> units = NativeBuilder.findUnits(src, false)
+        List<File> objects = builder.compile(src, units)
+        File exe = new File(dir, 'out/app')
+        builder.link(objects, exe)
+
+        then: "all units compiled in parallel"
+        units == ['a.c', 'b.c', 'd.c', 'sub/c.c']
+        builder.compiled == 4
+        builder.cached == 0
+        log.readLines().size() == 4
+        !new File(dir, 'sequential').exists()
+        objects*.name == ['a.o', 'b.o', 'd.o', 'c.o']
+        exe.text == 'abdc'
+
+        when: "compiling again into different location"
+        builder = newBuilder(cache, 'obj2', ['-O2'])
+        objects = builder.compile(src, units)
+
+        then: "all objects taken from cache"
+        builder.compiled == 0
+        builder.cached == 4
+        log.readLines().size() == 4
+        objects.every { it.exists() && it.toPath().startsWith(new File(dir, 'obj2').toPath()) }
+
+        when: "one unit changed"
+        new File(src, 'b.c').text = 'b2'
+        builder = newBuilder(cache, 'obj2', ['-O2'])
+        builder.compile(src, units)
+
+        then: "only changed unit compiled"
+        builder.compiled == 1
+        builder.cached == 3
+        new File(dir, 'obj2/b.o').text == 'b2'
+
+        when: "header changed"
+        new File(src, 'x.h').text = 'x2'
+        builder = newBuilder(cache, 'obj2', ['-O2'])
+        builder.compile(src, units)
+
+        then: "all units compiled"
+        builder.compiled == 4
+
+        when: "arguments changed"
+        builder = newBuilder(cache, 'obj2', ['-O3'])
+        builder.compile(src, units)
+
+        then: "all units compiled"
+        builder.compiled == 4
+    }
+
+    def "Check single translation unit"() {
+
+        setup:
+        File src = sources(['a.c': 'a', 'all.c': 'all'])
+
+        expect:
+        NativeBuilder.findUnits(src, true) == ['all.c']
+        NativeBuilder.findUnits(src, false) == ['a.c']
+        NativeBuilder.findUnits(sources(['a.c': 'a']), true) == ['a.c']
+    }
+
+    def "Check compilation error"() {
+
+        setup:
+        File src = sources(['broken.c': 'a'])
+
+        when: "compiling broken unit"
+        newBuilder(new File(dir, 'cache'), 'obj', []).compile(src, ['broken.c'])
+
+        then: "error with compiler output"
+        def ex = thrown(IOException)
+        ex.message.startsWith('Command failed with exit code 1')
+        ex.message.contains('error: broken unit')
+        !new File(dir, 'cache').listFiles().any { it.directory }
+    }
+
+    def "Check unused objects eviction"() {
+
+        setup:
+        File src = sources(['a.c': 'a', 'b.c': 'b'])
+        File cache = new File(dir, 'cache')
+        NativeBuilder builder = newBuilder(cache, 'obj', [])
+        builder.compile(src, ['a.c', 'b.c'])
+        List<File> cached = cache.listFiles().findAll { it.directory }.collectMany { it.listFiles() as List }
+        long old = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(NativeBuilder.MAX_UNUSED_DAYS + 1)
+        cached.each { it.setLastModified(old) }
+        File tmp = new File(cached[0].parentFile, 'x.123.tmp')
+        tmp.text = ''
+        tmp.setLastModified(old)
+
+        when: "object used again"
+        new File(src, 'b.c').delete()
+        newBuilder(cache, 'obj', []).compile(src, ['a.c'])
+        int removed = builder.evictUnused()
+
+        then: "only unused object removed"
+        removed == 1
+        cached.findAll { it.exists() }.size() == 1
+        !tmp.exists()
+        new File(cache, 'cleanup.marker').exists()
+
+        when: "evicting again the same day"
+        cached.each { it.setLastModified(old) }
+
+        then: "cleanup not performed"
+        builder.evictUnused() == 0
+    }
+
+    private NativeBuilder newBuilder(File cache, String objects, List<String> args) {
+        state.listFiles().each { it.delete() }
+        new NativeBuilder(compiler.absolutePath, args, [], 2, cache, new File(dir, objects), null)
+    }
+
+    private File sources(Map<String, String> files) {
+        File res = new File(dir, 'src-' + files.size())
+        files.each { path, content ->
+            File file = new File(res, path)
+            file.parentFile.mkdirs()
+            file.text = content
+        }
+        res
+    }
+}
@@ -0,0 +1,117 @@
+package ru.vyarus.gradle.plugin.teavm.c
+
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ProfileDataTest extends Specification {
+
+    @TempDir File dir
+
+    @IgnoreIf({ os.windows })
+    def "Check compiler detection"() {
+
+        expect: "compiler detected by version output"
+        !ProfileData.isClang(script('gcc', 'echo "gcc (Ubuntu 13.2.0-23ubuntu4) 13.2.0"'), dir)
+        ProfileData.isClang(script('clang', 'echo "Ubuntu clang version 18.1.3 (1ubuntu1)"'), dir)
+        // apple cc is clang
+        ProfileData.isClang(script('cc', 'echo "Apple CLANG version 15.0.0 (clang-1500.3.9.4)"'), dir)
+    }
+
+    def "Check compiler arguments"() {
+
+        setup:
+        File profile = new File(dir, 'pgo')
+
+        expect: "instrumentation arguments"
+        ProfileData.generateArgs(profile) == ["-fprofile-generate=$profile.absolutePath".toString()]
+
+        and: "gcc reads profile directory"
+        ProfileData.useArgs(false, profile) == ["-fprofile-use=$profile.absolutePath".toString(),
+                                                '-fprofile-correction', '-Wno-missing-profile']
+
+        and: "clang reads merged profile"
+        ProfileData.useArgs(true, profile) ==
+                ["-fprofile-use=${new File(profile, 'default.profdata').absolutePath}".toString()]
+    }
+
+    @IgnoreIf({ os.windows })
+    def "Check clang profiles merge"() {
+
+        setup:
+        File profile = new File(dir, 'pgo')
+        file(profile, 'a.profraw', 'a')
+        file(profile, 'sub/b.profraw', 'b')
+        file(profile, 'other.txt', 'c')
+        File args = new File(dir, 'args.txt')
+        String tool = script('llvm-profdata', "echo \"\$@\" > \"$args.absolutePath\"")
+
+        when: "merging gcc profiles"
+        ProfileData.merge(false, tool, profile)
+
+        then: "nothing done"
+        !args.exists()
+
+        when: "merging clang profiles"
+        ProfileData.merge(true, tool, profile)
+
+        then: "raw profiles merged"
+        args.text.trim() == "merge -output=${new File(profile, 'default.profdata').absolutePath} " +
+                "${new File(profile, 'a.profraw').absolutePath} ${new File(profile, 'sub/b.profraw').absolutePath}"
+    }
+
+    def "Check profile hash"() {
+
+        setup:
+        File profile = new File(dir, 'pgo')
+
+        expect: "no profile"
+        !ProfileData.exists(profile)
+
+        when: "gcc profile written"
+        file(profile, 'obj/a.gcda', 'a')
+        file(profile, 'obj/b.gcda', 'b')
+        String hash = ProfileData.hash(profile)
+
+        then: "profile exists"
+        ProfileData.exists(profile)
+        hash == ProfileData.hash(profile)
+
+        when: "raw clang profile added"
+        file(profile, 'default.profraw', 'raw')
+
+        then: "hash not changed"
+        ProfileData.hash(profile) == hash
+
+        when: "profile changed"
+        file(profile, 'obj/b.gcda', 'b2')
+
+        then: "hash changed"
+        ProfileData.hash(profile) != hash
+
+        when: "profile renamed"
+        file(profile, 'obj/b.gcda', 'b')
+        new File(profile, 'obj/b.gcda').renameTo(new File(profile, 'obj/c.gcda'))
+
+        then: "hash changed"
+        ProfileData.hash(profile) != hash
+    }
+
+    private String script(String name, String body) {
+        File res = new File(dir, name)
+        res.text = "#!/bin/sh\n$body\n"
+        res.setExecutable(true)
+        res.absolutePath
+    }
+
+    private File file(File root, String path, String content) {
+        File res = new File(root, path)
+        res.parentFile.mkdirs()
+        res.text = content
+        res
+    }
+}
@@ -0,0 +1,55 @@
+package ru.vyarus.gradle.plugin.teavm.cancel
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class CancellationFileTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check cancellation file polling"() {
+
+        when: "polling started without cancellation"
+        File file = new File(dir, 'tmp/cancel')
+        CancellationFile token = new CancellationFile(file)
+        token.start()
+        Thread.sleep(300)
+
+        then: "not cancelled"
+        !token.cancelled
+        token.reason == null
+
+        when: "cancellation requested"
+        CancellationFile.cancel(file, 'Task :other failed')
+        long start = System.currentTimeMillis()
+        while (!token.cancelled && System.currentTimeMillis() - start < 5000) {
+            Thread.sleep(50)
+        }
+
+        then: "cancellation detected without checks from compilation thread"
+        token.cancelled
+        token.reason == 'Task :other failed'
+
+        cleanup:
+        token?.close()
+    }
+
+    def "Check closed token ignores cancellation"() {
+
+        when: "polling stopped before cancellation"
+        File file = new File(dir, 'cancel')
+        CancellationFile token = new CancellationFile(file)
+        token.start()
+        token.close()
+        Thread.sleep(200)
+        CancellationFile.cancel(file, 'Build finished')
+        Thread.sleep(300)
+
+        then: "not cancelled"
+        !token.cancelled
+    }
+}
@@ -0,0 +1,122 @@
+package ru.vyarus.gradle.plugin.teavm.delta
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class DeltaEncoderTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check empty old file"() {
+
+        when: "delta created from empty file"
+        byte[] cur = bytes(1000, 1)
+        File delta = encode(new byte[0], cur)
+
+        then: "restored"
+        apply(new byte[0], delta) == cur
+    }
+
+    def "Check new file shorter than block"() {
+
+        when: "new file shorter than block"
+        byte[] old = bytes(1000, 1)
+        byte[] cur = bytes(10, 2)
+        File delta = encode(old, cur)
+
+        then: "restored"
+        apply(old, delta) == cur
+    }
+
+    def "Check moved blocks"() {
+
+        when: "file parts swapped"
+        byte[] old = bytes(4000, 1)
+        byte[] cur = concat(Arrays.copyOfRange(old, 2000, 4000), Arrays.copyOfRange(old, 0, 2000))
+        File delta = encode(old, cur)
+
+        then: "restored with copy instructions"
+        apply(old, delta) == cur
+        delta.length() < 100
+    }
+
+    def "Check appended tail"() {
+
+        when: "data appended"
+        byte[] old = bytes(4000, 1)
+        byte[] cur = concat(old, bytes(100, 2))
+        File delta = encode(old, cur)
+
+        then: "restored, only tail stored"
+        apply(old, delta) == cur
+        delta.length() < 200
+    }
+
+    def "Check wrong base file"() {
+
+        when: "applying delta to different file"
+        File delta = encode(bytes(4000, 1), bytes(4000, 2))
+        apply(bytes(3000, 1), delta)
+
+        then: "error"
+        def ex = thrown(IOException)
+        ex.message.startsWith('Delta was created for a different file')
+    }
+
+    def "Check truncated delta"() {
+
+        when: "applying truncated delta"
+        byte[] old = bytes(4000, 1)
+        File delta = encode(old, concat(bytes(100, 2), old))
+        delta.bytes = Arrays.copyOf(delta.bytes, (int) delta.length() - 20)
+        apply(old, delta)
+
+        then: "error"
+        thrown(IOException)
+    }
+
+    def "Check not a delta file"() {
+
+        when: "applying arbitrary file"
+        File delta = file('delta', bytes(100, 1))
+        apply(bytes(100, 1), delta)
+
+        then: "error"
+        def ex = thrown(IOException)
+        ex.message.startsWith('Not a delta file')
+    }
+
+    private File encode(byte[] old, byte[] cur) {
+        File delta = new File(dir, 'delta')
+        DeltaEncoder.encode(file('old', old), file('new', cur), delta, 32)
+        return delta
+    }
+
+    private byte[] apply(byte[] old, File delta) {
+        File target = new File(dir, 'target')
+        DeltaDecoder.apply(file('old', old), delta, target)
+        return target.bytes
+    }
+
+    private File file(String name, byte[] content) {
+        File res = new File(dir, name)
+        res.bytes = content
+        return res
+    }
+
+    private static byte[] bytes(int size, long seed) {
+        byte[] res = new byte[size]
+        new Random(seed).nextBytes(res)
+        return res
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] res = Arrays.copyOf(first, first.length + second.length)
+        System.arraycopy(second, 0, res, first.length, second.length)
+        return res
+    }
+}
@@ -0,0 +1,61 @@
+package ru.vyarus.gradle.plugin.teavm.diagnostic
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class StallWatchdogTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check stall only reported"() {
+
+        when: "no progress during two timeouts"
+        File report = new File(dir, 'stall.txt')
+        StallWatchdog watchdog = new StallWatchdog(200, report, null)
+        watchdog.start()
+        watchdog.progress('PARSING')
+        // report (threads dump and heap histogram) may take time
+        long start = System.currentTimeMillis()
+        while (!report.exists() && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(100)
+        }
+        Thread.sleep(1000)
+
+        then: "report written, compilation not cancelled"
+        report.text.contains('Phase: PARSING')
+        !watchdog.cancelled
+        !Thread.interrupted()
+
+        cleanup:
+        watchdog?.close()
+    }
+
+    def "Check stall cancellation"() {
+
+        when: "no progress during two timeouts with cancellation enabled"
+        File report = new File(dir, 'stall.txt')
+        StallWatchdog watchdog = new StallWatchdog(200, report, Thread.currentThread())
+        watchdog.start()
+        watchdog.progress('PARSING')
+        boolean interrupted = false
+        try {
+            Thread.sleep(5000)
+        } catch (InterruptedException ignored) {
+            interrupted = true
+        }
+
+        then: "compilation cancelled"
+        report.exists()
+        watchdog.cancelled
+        interrupted
+        watchdog.description.startsWith('No compilation progress in phase PARSING')
+
+        cleanup:
+        watchdog?.close()
+        Thread.interrupted()
+    }
+}
@@ -0,0 +1,134 @@
+package ru.vyarus.gradle.plugin.teavm.heap
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class HeapDumpReaderTest extends Specification {
+
+    @TempDir File dir
+
+    // pointer size 4: Node (next at 8), Node[] (header 12), SubNode extends Node (array reference at 16)
+    static final String DUMP = '''{"pointerSize": 4, "stack": [1, 2],
+  "classes": [
+    {"id": 1, "name": "java.lang.Object", "superclass": null, "size": 8, "fields": []},
+    {"id": 2, "name": "Node", "superclass": 1, "size": 16, "fields": [
+        {"name": "next", "type": "object", "offset": 8}, {"name": "value", "type": "int", "offset": 12}]},
+    {"id": 3, "name": "int", "primitive": true, "size": 4},
+    {"id": 4, "name": "Node[]", "superclass": 1, "size": 12, "item": 2},
+    {"id": 5, "name": "SubNode", "superclass": 2, "size": 20, "extra": {"a": [1]}, "fields": [
+        {"name": "other", "type": "array", "offset": 16}]},
+    {"id": 6, "name": "int[]", "superclass": 1, "size": 12, "item": 3}
+  ],
+  "objects": [
+    {"id": 100, "class": 2, "data": "0000000000000000c800000005000000"},
+    {"id": 200, "class": 2, "data": "00000000000000000000000000000000"},
+    {"id": 300, "class": 4, "data": "00000000000000000000000064000000c8000000"},
+    {"id": 400, "class": 5, "data": "0000000000000000640000000000000090010000"},
+    {"id": 500, "class": 6, "data": "000000000000000000000000640000006400000064000000"},
+    {"id": 600, "class": 99, "data": "00ff"}
+  ]}'''
+
+    def "Check objects and references reading"() {
+
+        when: "reading dump with references"
+        HeapDumpReader reader = new HeapDumpReader(dump(DUMP))
+        List<String> objects = []
+        List<String> refs = []
+        reader.read(visitor(objects, refs), true)
+
+        then: "objects read"
+        reader.pointerSize == 4
+        objects == ['100 Node 16', '200 Node 16', '300 Node[] 20', '400 SubNode 20', '500 int[] 24',
+                    '600 [unknown] 2']
+
+        and: "reference fields decoded, including superclass fields and reference array items"
+        refs == ['Node -> 200', 'Node[] -> 100', 'Node[] -> 200', 'SubNode -> 100', 'SubNode -> 400']
+
+        and: "classes available"
+        reader.classes*.name == ['java.lang.Object', 'Node', 'int', 'Node[]', 'SubNode', 'int[]', '[unknown]']
+        reader.classes.find { it.name == 'SubNode' }.referenceOffsets == [8, 16]
+        !reader.classes.find { it.name == 'int[]' }.hasReferences()
+
+        when: "reading without references"
+        objects.clear()
+        refs.clear()
+        reader.read(visitor(objects, refs), false)
+
+        then: "only objects"
+        objects.size() == 6
+        refs.isEmpty()
+    }
+
+    def "Check objects before classes"() {
+
+        when: "reading dump with objects declared before classes"
+        HeapDumpReader reader = new HeapDumpReader(dump('''{"objects": [{"id": 1, "class": 2, "data": "0000"}],
+            "classes": [{"id": 2, "name": "Node", "size": 8}]}'''))
+        List<String> objects = []
+        reader.read(visitor(objects, []), true)
+
+        then: "objects are unknown"
+        objects == ['1 [unknown] 2']
+        reader.classes*.name == ['[unknown]', 'Node']
+    }
+
+    def "Check heap analysis"() {
+
+        when: "analyzing dump"
+        HeapSummary res = HeapAnalyzer.analyze(dump(DUMP), new File(dir, 'tmp'), true)
+
+        then: "objects counted"
+        res.objects == 6
+        res.bytes == 98
+        res.classes['Node'].count == 2
+        res.classes['Node'].bytes == 32
+        res.retainersSkipReason == null
+
+        and: "retainers aggregated by referrer class"
+        res.retainers['Node'].keySet() == ['Node', 'Node[]', 'SubNode'] as Set
+        res.retainers['Node']['Node[]'].count == 2
+        res.retainers['Node']['Node[]'].bytes == 32
+        res.retainers['SubNode']['SubNode'].count == 1
+
+        and: "index removed"
+        !new File(dir, 'tmp/dump.json.index').exists()
+
+        and: "report rendered"
+        HeapReport.render(res, res, 10).contains('Node[]')
+    }
+
+    def "Check unordered objects"() {
+
+        when: "analyzing dump with objects not ordered by id"
+        HeapSummary res = HeapAnalyzer.analyze(dump(DUMP.replace('"id": 600', '"id": 50')), dir, true)
+
+        then: "retainers skipped"
+        res.objects == 6
+        res.retainersSkipReason == 'objects are not ordered by id'
+        res.retainers.isEmpty()
+    }
+
+    private File dump(String content) {
+        File res = new File(dir, 'dump.json')
+        res.text = content
+        return res
+    }
+
+    private static HeapDumpReader.Visitor visitor(List<String> objects, List<String> refs) {
+        return new HeapDumpReader.Visitor() {
+            @Override
+            void reference(HeapClass from, long target) throws IOException {
+                refs.add(from.name + ' -> ' + target)
+            }
+
+            @Override
+            void object(long id, HeapClass cls, long size) throws IOException {
+                objects.add(id + ' ' + cls.name + ' ' + size)
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.vyarus.gradle.plugin.teavm.jfr
+
+import groovy.transform.CompileStatic
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class CompileProfilerTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check hot methods"() {
+
+        when: "profiling busy work"
+        CompileProfiler profiler = new CompileProfiler(new File(dir, 'reports/test.jfr'))
+        Thread other = Thread.start { Worker.otherWork(1500) }
+        Worker.work(1500)
+        other.join()
+        profiler.stop()
+        List<String> lines = profiler.hotMethods(3).readLines()
+
+        then: "recording written"
+        profiler.file.length() > 0
+
+        and: "jdk frames attributed to calling method"
+        lines[0] ==~ /\s+Samples\s+Own\s+Total\s+Method/
+        lines.size() > 1
+        lines[1].endsWith(' ' + Worker.name + '.fill')
+        !lines.any { it.contains('java.util.') }
+
+        and: "other threads ignored"
+        !lines.any { it.contains('otherWork') }
+    }
+
+    @CompileStatic
+    static class Worker {
+
+        static long work(long time) {
+            fill(time)
+        }
+
+        static long otherWork(long time) {
+            fill(time)
+        }
+
+        private static long fill(long time) {
+            long res = 0
+            long end = System.currentTimeMillis() + time
+            while (System.currentTimeMillis() < end) {
+                Map<Integer, String> map = new HashMap<>()
+                for (int i = 0; i < 10000; i++) {
+                    map.put(i, String.valueOf(i))
+                }
+                res += map.size()
+            }
+            res
+        }
+    }
+}
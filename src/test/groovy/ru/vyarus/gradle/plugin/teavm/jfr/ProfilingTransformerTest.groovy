@@ -0,0 +1,83 @@
+package ru.vyarus.gradle.plugin.teavm.jfr
+
+import org.teavm.model.ClassHolder
+import org.teavm.model.ClassHolderTransformer
+import org.teavm.model.ClassHolderTransformerContext
+import spock.lang.Specification
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ProfilingTransformerTest extends Specification {
+
+    def "Check transformers measurement"() {
+
+        when: "registering session"
+        ProfilingTransformer.Session session = new ProfilingTransformer.Session(['com.foo.First', 'com.foo.Second'])
+        String[] names = session.register()
+
+        then: "configured transformers surrounded with markers"
+        String marker = ProfilingTransformer.name
+        names as List == [marker, 'com.foo.First', marker, marker, 'com.foo.Second', marker]
+
+        when: "teavm instantiates and applies transformers in configuration order"
+        List<ClassHolderTransformer> chain = names.collect {
+            it == marker ? new ProfilingTransformer() : new Busy()
+        }
+        ['com.foo.A', 'com.foo.B'].each { cls ->
+            chain.each { it.transformClass(new ClassHolder(cls), null) }
+        }
+        List<TransformerStats> stats = session.getStats()
+
+        then: "each transformer measured"
+        stats.collect { it.name } == ['com.foo.First', 'com.foo.Second']
+        stats.every { it.invocations == 2 && it.time > 0 }
+
+        when: "creating marker after all markers claimed"
+        new ProfilingTransformer()
+
+        then: "session already unregistered"
+        def ex = thrown(IllegalStateException)
+        ex.message.startsWith('Transformers profiling session is not registered')
+
+        cleanup:
+        session?.close()
+    }
+
+    def "Check session close without transformers instantiation"() {
+
+        when: "session closed before markers creation"
+        ProfilingTransformer.Session session = new ProfilingTransformer.Session(['com.foo.First'])
+        session.register()
+        session.close()
+        new ProfilingTransformer()
+
+        then: "session unregistered"
+        thrown(IllegalStateException)
+
+        when: "registering new session in the same thread"
+        session = new ProfilingTransformer.Session(['com.foo.First'])
+        session.register()
+
+        then: "no conflict"
+        noExceptionThrown()
+
+        when: "registering second session in the same thread"
+        new ProfilingTransformer.Session(['com.foo.Second']).register()
+
+        then: "rejected"
+        def ex = thrown(IllegalStateException)
+        ex.message.startsWith('Transformers profiling session is already registered')
+
+        cleanup:
+        session?.close()
+    }
+
+    static class Busy implements ClassHolderTransformer {
+        @Override
+        void transformClass(ClassHolder cls, ClassHolderTransformerContext context) {
+            Thread.sleep(2)
+        }
+    }
+}
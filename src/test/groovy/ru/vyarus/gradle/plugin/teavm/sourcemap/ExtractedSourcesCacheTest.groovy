@@ -0,0 +1,124 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.util.concurrent.TimeUnit
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ExtractedSourcesCacheTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check jar extracted once"() {
+
+        setup:
+        File root = new File(dir, 'cache')
+        ExtractedSourcesCache cache = new ExtractedSourcesCache(root)
+        File jar = jar('a.jar', ['example/Main.java': 'class Main {}'])
+
+        when: "extracting jar"
+        File res = cache.extract(jar)
+
+        then: "extracted into checksum directory"
+        new File(res, 'example/Main.java').text == 'class Main {}'
+        res.parentFile == root
+        new File(root, 'index').list().length == 1
+
+        when: "extracting again"
+        new File(res, 'marker.txt').text = 'not removed'
+        File res2 = cache.extract(jar)
+
+        then: "existing directory used"
+        res2 == res
+        new File(res2, 'marker.txt').exists()
+
+        when: "jar with the same content but different location"
+        File copy = new File(dir, 'other/a.jar')
+        copy.parentFile.mkdirs()
+        copy.bytes = jar.bytes
+
+        then: "the same directory used"
+        cache.extract(copy) == res
+        new File(root, 'index').list().length == 2
+        root.listFiles().findAll { it.name.contains('.tmp-') }.isEmpty()
+    }
+
+    def "Check zip slip ignored"() {
+
+        setup:
+        ExtractedSourcesCache cache = new ExtractedSourcesCache(new File(dir, 'cache'))
+        File jar = jar('evil.jar', ['../../evil.java': 'evil', 'ok/Ok.java': 'ok'])
+
+        when: "extracting jar with entry outside of target"
+        File res = cache.extract(jar)
+
+        then: "only safe entries extracted"
+        new File(res, 'ok/Ok.java').exists()
+        !new File(dir, 'evil.java').exists()
+    }
+
+    def "Check unused entries evicted"() {
+
+        setup:
+        File root = new File(dir, 'cache')
+        ExtractedSourcesCache cache = new ExtractedSourcesCache(root)
+        File used = cache.extract(jar('a.jar', ['A.java': 'a']))
+        File unused = cache.extract(jar('b.jar', ['B.java': 'b']))
+        File tmp = new File(root, 'abc.tmp-123')
+        tmp.mkdirs()
+        long old = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ExtractedSourcesCache.MAX_UNUSED_DAYS + 1)
+        unused.setLastModified(old)
+        tmp.setLastModified(old)
+        new File(root, 'index').listFiles().find { it.name.contains('b.jar') }.setLastModified(old)
+
+        when: "evicting"
+        int removed = cache.evictUnused()
+
+        then: "only unused entries removed"
+        removed == 1
+        used.exists()
+        !unused.exists()
+        !tmp.exists()
+        new File(root, 'index').list().length == 1
+        new File(root, 'cleanup.marker').exists()
+
+        when: "evicting again the same day"
+        unused.mkdirs()
+        unused.setLastModified(old)
+
+        then: "cleanup not performed"
+        cache.evictUnused() == 0
+        unused.exists()
+    }
+
+    def "Check eviction on not existing cache"() {
+
+        when: "evicting empty cache"
+        File root = new File(dir, 'cache')
+        int removed = new ExtractedSourcesCache(root).evictUnused()
+
+        then: "marker created"
+        removed == 0
+        new File(root, 'cleanup.marker').exists()
+    }
+
+    private File jar(String name, Map<String, String> entries) {
+        File res = new File(dir, name)
+        res.withOutputStream {
+            ZipOutputStream zip = new ZipOutputStream(it)
+            entries.each { path, content ->
+                zip.putNextEntry(new ZipEntry(path))
+                zip.write(content.bytes)
+                zip.closeEntry()
+            }
+            zip.close()
+        }
+        res
+    }
+}
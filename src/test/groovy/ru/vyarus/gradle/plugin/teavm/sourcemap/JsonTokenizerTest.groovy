@@ -0,0 +1,122 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap
+
+import spock.lang.Specification
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class JsonTokenizerTest extends Specification {
+
+    def "Check strings read"() {
+
+        when: "reading escaped strings"
+        JsonTokenizer json = tokens(' [ "plain", "q\\"b\\\\s\\/n\\nt\\tu\\u0041" ] ')
+        json.expect('[' as char)
+        String first = json.readString()
+        json.expect(',' as char)
+        StringBuilder second = new StringBuilder()
+        json.readString { second.append(it) }
+
+        then: "unescaped"
+        first == 'plain'
+        second.toString() == 'q"b\\s/n\nt\tuA'
+        json.consume(']' as char)
+        json.peek() == -1
+    }
+
+    def "Check values skipped"() {
+
+        when: "skipping all value types"
+        JsonTokenizer json = tokens('{"a":{"x":[1,{"y":"]}"}]},"b":-1.5e3,"c":true,"d":null,"e":"s\\"}","f":[]}')
+        List<String> keys = []
+        json.expect('{' as char)
+        while (!json.consume('}' as char)) {
+            keys << json.readString()
+            json.expect(':' as char)
+            json.skipValue()
+            json.consume(',' as char)
+        }
+
+        then: "all keys found"
+        keys == ['a', 'b', 'c', 'd', 'e', 'f']
+        json.peek() == -1
+    }
+
+    def "Check values copied"() {
+
+        when: "copying values"
+        String src = '{"a" : {"x": [1, {"y":"]}"}]},"b":-1.5e3,"c":"s\\"}\\u0041"}'
+        JsonTokenizer json = tokens(src)
+        StringWriter out = new StringWriter()
+        json.expect('{' as char)
+        while (!json.consume('}' as char)) {
+            out.write(json.readString() + '=')
+            json.expect(':' as char)
+            json.copyValue(out)
+            out.write(';')
+            json.consume(',' as char)
+        }
+
+        then: "values copied as is (without whitespaces)"
+        out.toString() == 'a={"x":[1,{"y":"]}"}]};b=-1.5e3;c="s\\"}\\u0041";'
+    }
+
+    def "Check invalid json"() {
+
+        when: "unexpected character"
+        tokens('[1]').expect('{' as char)
+
+        then: "error"
+        def ex = thrown(IOException)
+        ex.message == "Invalid json: '{' expected, but '[' found"
+
+        when: "unexpected end"
+        tokens('  ').expect('{' as char)
+
+        then: "error"
+        ex = thrown(IOException)
+        ex.message == "Invalid json: '{' expected, but end of document found"
+
+        when: "unterminated string"
+        tokens('"abc').readString()
+
+        then: "error"
+        ex = thrown(IOException)
+        ex.message == 'Invalid json: unterminated string'
+
+        when: "value expected in truncated document"
+        JsonTokenizer json = tokens('[1,')
+        json.expect('[' as char)
+        json.skipValue()
+        json.expect(',' as char)
+        json.skipValue()
+
+        then: "error"
+        ex = thrown(IOException)
+        ex.message == 'Invalid json: value expected, but end of document found'
+
+        when: "unterminated structure"
+        tokens('{"a":[1').skipValue()
+
+        then: "error"
+        ex = thrown(IOException)
+        ex.message == 'Invalid json: unterminated structure'
+    }
+
+    def "Check string writer"() {
+
+        when: "writing string with special chars"
+        StringWriter out = new StringWriter()
+        JsonWriter.string(out, 'a"b\\c\nd\u0001')
+        JsonWriter.string(out, (String) null)
+        JsonWriter.string(out, new StringReader('x\ty'))
+
+        then: "escaped"
+        out.toString() == '"a\\"b\\\\c\\nd\\u0001"null"x\\ty"'
+    }
+
+    private JsonTokenizer tokens(String content) {
+        new JsonTokenizer(new StringReader(content))
+    }
+}
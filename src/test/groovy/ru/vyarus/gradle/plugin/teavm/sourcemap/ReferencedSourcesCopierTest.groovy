@@ -0,0 +1,111 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ReferencedSourcesCopierTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check referenced sources copy"() {
+
+        setup:
+        file('src/example/Main.java', 'main')
+        file('src/example/Helper.java', 'helper')
+        File target = new File(dir, 'target')
+        File state = new File(dir, 'cache/state.properties')
+        map(target, ['src/example/Main.java', 'src/example/Helper.java', 'src/example/Missing.java',
+                     'http://host/Remote.java', '../outside/Out.java'])
+
+        when: "copying sources"
+        ReferencedSourcesCopier copier = newCopier(state)
+        int count = copier.copy(target)
+
+        then: "referenced sources copied"
+        count == 3
+        copier.copied == 2
+        copier.unchanged == 0
+        copier.deleted == 0
+        copier.missing == ['src/example/Missing.java'] as Set
+        new File(target, 'src/example/Main.java').text == 'main'
+        new File(target, 'src/example/Helper.java').text == 'helper'
+        state.exists()
+
+        when: "copying again"
+        copier = newCopier(state)
+        copier.copy(target)
+
+        then: "nothing copied"
+        copier.copied == 0
+        copier.unchanged == 2
+
+        when: "source changed and state lost"
+        file('src/example/Main.java', 'changed')
+        state.delete()
+        copier = newCopier(state)
+        copier.copy(target)
+
+        then: "only changed file copied"
+        copier.copied == 1
+        copier.unchanged == 1
+        new File(target, 'src/example/Main.java').text == 'changed'
+    }
+
+    def "Check stale copies removed"() {
+
+        setup:
+        file('src/example/Main.java', 'main')
+        file('src/example/Helper.java', 'helper')
+        File target = new File(dir, 'target')
+        File state = new File(dir, 'cache/state.properties')
+        map(target, ['src/example/Main.java', 'src/example/Helper.java'])
+        newCopier(state).copy(target)
+        // not copied by plugin
+        File foreign = new File(target, 'src/example/Foreign.java')
+        foreign.text = 'foreign'
+
+        when: "helper not referenced anymore"
+        map(target, ['src/example/Main.java'])
+        ReferencedSourcesCopier copier = newCopier(state)
+        copier.copy(target)
+
+        then: "stale copy removed"
+        copier.deleted == 1
+        !new File(target, 'src/example/Helper.java').exists()
+        new File(target, 'src/example/Main.java').exists()
+        foreign.exists()
+
+        when: "no sources referenced"
+        map(target, [])
+        copier = newCopier(state)
+        int count = copier.copy(target)
+
+        then: "all copies removed"
+        count == 0
+        copier.deleted == 1
+        !new File(target, 'src/example/Main.java').exists()
+        foreign.exists()
+    }
+
+    private ReferencedSourcesCopier newCopier(File state) {
+        new ReferencedSourcesCopier(new SourceLocator([new File(dir, 'src')], [],
+                new ExtractedSourcesCache(new File(dir, 'cache/jars'))), state)
+    }
+
+    private void map(File target, List<String> sources) {
+        target.mkdirs()
+        new File(target, 'classes.js.map').text = '{"version":3,"sources":[' +
+                sources.collect { '"' + it + '"' }.join(',') + '],"mappings":""}'
+    }
+
+    private File file(String path, String content) {
+        File res = new File(dir, path)
+        res.parentFile.mkdirs()
+        res.text = content
+        res
+    }
+}
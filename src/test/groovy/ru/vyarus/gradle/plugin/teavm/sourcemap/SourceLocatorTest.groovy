@@ -0,0 +1,74 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class SourceLocatorTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check sources lookup"() {
+
+        setup:
+        File sources = file('src/example/Main.java', 'dir')
+        file('src/example/Both.java', 'dir')
+        File jar = jar(['example/Both.java': 'jar', 'java/lang/Object.java': 'object'])
+        File cache = new File(dir, 'cache')
+        SourceLocator locator = new SourceLocator([new File(dir, 'src')], [jar], new ExtractedSourcesCache(cache))
+
+        expect: "source directory file found"
+        locator.find('example/Main.java') == sources
+
+        and: "source directory has priority"
+        locator.find('example/Both.java').text == 'dir'
+
+        and: "jar file found"
+        locator.find('java/lang/Object.java').text == 'object'
+        locator.find('java/lang/Object.java').toPath().startsWith(cache.toPath())
+
+        and: "prefixed path found"
+        locator.find('src/java/lang/Object.java').text == 'object'
+
+        and: "missing file"
+        locator.find('example/Missing.java') == null
+        locator.find('example') == null
+    }
+
+    def "Check jars not extracted without lookup"() {
+
+        when: "locator created"
+        File cache = new File(dir, 'cache')
+        new SourceLocator([], [jar(['A.java': 'a'])], new ExtractedSourcesCache(cache))
+
+        then: "jar not extracted"
+        !cache.exists()
+    }
+
+    private File file(String path, String content) {
+        File res = new File(dir, path)
+        res.parentFile.mkdirs()
+        res.text = content
+        res
+    }
+
+    private File jar(Map<String, String> entries) {
+        File res = new File(dir, 'sources.jar')
+        res.withOutputStream {
+            ZipOutputStream zip = new ZipOutputStream(it)
+            entries.each { path, content ->
+                zip.putNextEntry(new ZipEntry(path))
+                zip.write(content.bytes)
+                zip.closeEntry()
+            }
+            zip.close()
+        }
+        res
+    }
+}
@@ -0,0 +1,64 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class SourceMapReaderTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check sources read"() {
+
+        when: "reading map with other fields"
+        File map = writeMap('{"version":3,"file":"classes.js","names":["a","b"],' +
+                '"mappings":"AAAA,\\"CAAC;","x_nested":{"sources":["ignored"]},' +
+                '"sources":["example/Main.java","java/lang/Object.java"]}')
+
+        then: "only sources array read"
+        SourceMapReader.readSources(map) == ['example/Main.java', 'java/lang/Object.java']
+    }
+
+    def "Check source root applied"() {
+
+        when: "source root declared after sources"
+        File map = writeMap('{"version":3,"sources":["example/Main.java","http://host/A.java","/abs/B.java"],' +
+                '"sourceRoot":"src"}')
+
+        then: "root applied to relative paths only"
+        SourceMapReader.readSources(map) == ['src/example/Main.java', 'http://host/A.java', '/abs/B.java']
+    }
+
+    def "Check null sources and empty root"() {
+
+        when: "null source and null root"
+        File map = writeMap('{ "sourceRoot" : null, "sources" : [ "a/B.java" , null ] }')
+
+        then: "nulls skipped"
+        SourceMapReader.readSources(map) == ['a/B.java']
+
+        when: "no sources"
+        map = writeMap('{"version":3}')
+
+        then: "empty"
+        SourceMapReader.readSources(map).isEmpty()
+    }
+
+    def "Check root joining"() {
+
+        expect:
+        SourceMapReader.withRoot('', 'a/B.java') == 'a/B.java'
+        SourceMapReader.withRoot('src/', 'a/B.java') == 'src/a/B.java'
+        SourceMapReader.withRoot('src', 'a/B.java') == 'src/a/B.java'
+        SourceMapReader.withRoot('src', 'file:/a/B.java') == 'file:/a/B.java'
+    }
+
+    private File writeMap(String content) {
+        File res = new File(dir, 'classes.js.map')
+        res.text = content
+        res
+    }
+}
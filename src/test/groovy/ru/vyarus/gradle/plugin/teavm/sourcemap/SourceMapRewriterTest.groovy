@@ -0,0 +1,139 @@
+package ru.vyarus.gradle.plugin.teavm.sourcemap
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class SourceMapRewriterTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check relative paths"() {
+
+        setup:
+        File src = file('src/example/Main.java', 'class Main {}')
+        File map = map('{"version":3,"sourceRoot":"","sources":["' + src.absolutePath.replace('\\', '/') + '","'
+                + src.toURI() + '","example/Other.java","http://host/A.java",null],"mappings":"AAAA"}')
+
+        when: "rewriting with relative paths"
+        new SourceMapRewriter(null, true, SourcesContent.KEEP, null).rewrite(map)
+
+        then: "absolute paths and file links converted"
+        map.text == '{"version":3,"sourceRoot":"","sources":["../src/example/Main.java","../src/example/Main.java",' +
+                '"example/Other.java","http://host/A.java",null],"mappings":"AAAA"}'
+        !new File(map.parentFile, map.name + '.tmp').exists()
+    }
+
+    def "Check prefix with source root"() {
+
+        setup:
+        File map = map('{"version":3,"sourceRoot":"src","sources":["example/Main.java","/abs/A.java",' +
+                '"http://host/B.java"],"mappings":"AAAA"}')
+
+        when: "rewriting with prefix"
+        new SourceMapRewriter('http://localhost/', false, SourcesContent.KEEP, null).rewrite(map)
+
+        then: "root merged into paths"
+        map.text == '{"version":3,"sourceRoot":"","sources":["http://localhost/src/example/Main.java",' +
+                '"/abs/A.java","http://host/B.java"],"mappings":"AAAA"}'
+    }
+
+    def "Check source root after sources"() {
+
+        setup:
+        File map = map('{"version":3,"sources":["example/Main.java"],"mappings":"AAAA","sourceRoot":"src"}')
+
+        when: "rewriting with prefix"
+        new SourceMapRewriter('http://localhost/', false, SourcesContent.KEEP, null).rewrite(map)
+
+        then: "sources written after root"
+        map.text == '{"version":3,"mappings":"AAAA","sourceRoot":"","sources":["http://localhost/src/example/Main.java"]}'
+    }
+
+    def "Check source root after sources without rewrite"() {
+
+        setup:
+        String content = '{"version":3,"sources":["example/Main.java"],"sourcesContent":["x"],"sourceRoot":"src"}'
+        File map = map(content)
+
+        when: "stripping content only"
+        SourceMapRewriter rewriter = new SourceMapRewriter(null, false, SourcesContent.STRIP, null)
+        rewriter.rewrite(map)
+
+        then: "sources and root not changed"
+        rewriter.required
+        map.text == '{"version":3,"sources":["example/Main.java"],"sourceRoot":"src"}'
+    }
+
+    def "Check sources inlined"() {
+
+        setup:
+        file('out/example/Main.java', 'class Main {\n\t"x"\n}')
+        file('jar/java/lang/Object.java', 'class Object {}')
+        SourceLocator locator = new SourceLocator([new File(dir, 'jar')], [],
+                new ExtractedSourcesCache(new File(dir, 'cache')))
+        File map = map('{"version":3,"sources":["java/lang/Object.java","Missing.java","Main.java",null],' +
+                '"sourcesContent":["old"],"sourceRoot":"example"}')
+
+        when: "inlining sources"
+        new SourceMapRewriter(null, false, SourcesContent.INLINE, locator).rewrite(map)
+
+        then: "content found in map directory and with locator (root stripped as prefix)"
+        map.text == '{"version":3,"sources":["java/lang/Object.java","Missing.java","Main.java",null],' +
+                '"sourceRoot":"example","sourcesContent":["class Object {}",null,"class Main {\\n\\t\\"x\\"\\n}",null]}'
+
+        when: "inlining without root"
+        map.text = '{"version":3,"sources":["java/lang/Object.java","example/Main.java"]}'
+        new SourceMapRewriter(null, false, SourcesContent.INLINE, locator).rewrite(map)
+
+        then: "content found with locator"
+        map.text == '{"version":3,"sources":["java/lang/Object.java","example/Main.java"],' +
+                '"sourcesContent":["class Object {}","class Main {\\n\\t\\"x\\"\\n}"]}'
+    }
+
+    def "Check rewrite not required"() {
+
+        expect:
+        !new SourceMapRewriter(null, false, null, null).required
+        new SourceMapRewriter('', true, SourcesContent.KEEP, null).required
+        new SourceMapRewriter('http://', false, SourcesContent.KEEP, null).required
+    }
+
+    def "Check prefix with relative paths rejected"() {
+
+        when: "both prefix and relative"
+        new SourceMapRewriter('http://localhost/', true, SourcesContent.KEEP, null)
+
+        then: "error"
+        def ex = thrown(IllegalArgumentException)
+        ex.message == 'Source map sources prefix could not be used with relative paths'
+    }
+
+    def "Check invalid map not replaced"() {
+
+        setup:
+        File map = map('{"version":3,"sources":["a.java"')
+
+        when: "rewriting broken map"
+        new SourceMapRewriter(null, true, SourcesContent.KEEP, null).rewrite(map)
+
+        then: "error and file not changed"
+        thrown(IOException)
+        map.text == '{"version":3,"sources":["a.java"'
+        !new File(map.parentFile, map.name + '.tmp').exists()
+    }
+
+    private File map(String content) {
+        file('out/classes.js.map', content)
+    }
+
+    private File file(String path, String content) {
+        File res = new File(dir, path)
+        res.parentFile.mkdirs()
+        res.text = content
+        res
+    }
+}
@@ -0,0 +1,115 @@
+package ru.vyarus.gradle.plugin.teavm.util
+
+import org.gradle.api.logging.LogLevel
+import org.gradle.api.logging.Logger
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class AsyncLogSinkTest extends Specification {
+
+    PrintStream originalOut
+    ByteArrayOutputStream out = new ByteArrayOutputStream()
+    List<String> events = Collections.synchronizedList([])
+
+    void setup() {
+        originalOut = System.out
+        System.setOut(new PrintStream(out, true))
+    }
+
+    void cleanup() {
+        System.setOut(originalOut)
+    }
+
+    def "Check levels preserved"() {
+
+        when: "logging messages of different levels"
+        AsyncLogSink sink = new AsyncLogSink(logger(LogLevel.INFO))
+        sink.log(LogLevel.DEBUG, 'debug', null)
+        sink.log(LogLevel.INFO, 'info', null)
+        sink.log(LogLevel.WARN, 'warn', null)
+        sink.log(LogLevel.ERROR, 'error', new IllegalStateException('fail'))
+        sink.close()
+
+        then: "levels preserved, disabled debug dropped"
+        events == ['INFO: info', 'WARN: warn', 'ERROR: error (fail)']
+    }
+
+    def "Check batching"() {
+
+        when: "messages queued while writer is busy"
+        CountDownLatch busy = new CountDownLatch(1)
+        AsyncLogSink sink = new AsyncLogSink(logger(LogLevel.INFO, busy))
+        sink.log(LogLevel.INFO, 'block', null)
+        // wait for writer to take the first message
+        Thread.sleep(200)
+        sink.log(LogLevel.INFO, 'one', null)
+        sink.log(LogLevel.INFO, 'two', null)
+        sink.log(LogLevel.WARN, 'three', null)
+        sink.log(LogLevel.WARN, 'four', null)
+        busy.countDown()
+        sink.close()
+
+        then: "consecutive messages of the same level written together"
+        events == ['INFO: block', 'INFO: one\ntwo', 'WARN: three\nfour']
+    }
+
+    def "Check progress line completed before log"() {
+
+        when: "progress interrupted with log message"
+        AsyncLogSink sink = new AsyncLogSink(logger(LogLevel.INFO, null) { out.write(it.bytes) })
+        sink.progress('PARSING 10%')
+        sink.flush()
+        sink.progress('PARSING 20%')
+        sink.flush()
+        sink.log(LogLevel.INFO, 'message', null)
+        sink.progress('PARSING 30%')
+        sink.print('PARSING done')
+        sink.close()
+
+        then: "progress line terminated before logger output"
+        out.toString() == '\rPARSING 10%\rPARSING 20%\nINFO: message\rPARSING 30%\rPARSING done\n'
+    }
+
+    def "Check progress updates collapsed"() {
+
+        when: "several progress updates queued while writer is busy"
+        CountDownLatch busy = new CountDownLatch(1)
+        AsyncLogSink sink = new AsyncLogSink(logger(LogLevel.INFO, busy))
+        sink.log(LogLevel.INFO, 'block', null)
+        Thread.sleep(200)
+        sink.progress('PARSING 10%')
+        sink.progress('PARSING 20%')
+        busy.countDown()
+        sink.close()
+
+        then: "only the latest progress printed"
+        out.toString() == '\rPARSING 20%'
+    }
+
+    private Logger logger(LogLevel enabled, CountDownLatch busy = null, Closure writer = null) {
+        Logger logger = Mock(Logger)
+        logger.isEnabled(_) >> { LogLevel level -> level >= enabled }
+        logger.log(_ as LogLevel, _ as String) >> { LogLevel level, String msg ->
+            write(level.name() + ': ' + msg, busy, writer)
+        }
+        logger.log(_ as LogLevel, _ as String, _ as Throwable) >> { LogLevel level, String msg, Throwable ex ->
+            write(level.name() + ': ' + msg + ' (' + ex.message + ')', busy, writer)
+        }
+        return logger
+    }
+
+    private void write(String event, CountDownLatch busy, Closure writer) {
+        events.add(event)
+        if (writer != null) {
+            writer.call(event)
+        }
+        if (busy != null) {
+            busy.await()
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ru.vyarus.gradle.plugin.teavm.util
+
+import ru.vyarus.gradle.plugin.teavm.ClasspathNormalizationOptions
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.util.jar.Attributes
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class ClasspathFingerprintTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check configuration detection"() {
+
+        expect: "nothing ignored by default"
+        !ClasspathFingerprint.isConfigured(new ClasspathNormalizationOptions())
+        ClasspathFingerprint.isConfigured(new ClasspathNormalizationOptions(ignoreManifest: true))
+        ClasspathFingerprint.isConfigured(new ClasspathNormalizationOptions(ignore: ['**/x.txt']))
+    }
+
+    def "Check jar manifest ignored"() {
+
+        setup:
+        ClasspathNormalizationOptions opts = new ClasspathNormalizationOptions(ignoreManifest: true)
+        File jar = new File(dir, 'lib.jar')
+
+        when: "only manifest changed"
+        writeJar(jar, '2026-01-01', 'value')
+        String first = ClasspathFingerprint.compute([jar], opts)
+        writeJar(jar, '2026-01-02', 'value')
+        String second = ClasspathFingerprint.compute([jar], opts)
+
+        then: "same fingerprint"
+        first == second
+
+        when: "content changed"
+        writeJar(jar, '2026-01-02', 'changed')
+
+        then: "fingerprint changed"
+        ClasspathFingerprint.compute([jar], opts) != second
+
+        and: "manifest counted without normalization"
+        ClasspathFingerprint.compute([jar], new ClasspathNormalizationOptions()) !=
+                ClasspathFingerprint.compute([jar], opts)
+    }
+
+    def "Check directory normalization"() {
+
+        setup:
+        ClasspathNormalizationOptions opts = new ClasspathNormalizationOptions(
+                ignore: ['**/build-info.properties'], ignoreProperties: ['build.time'])
+        File classes = new File(dir, 'classes')
+        file(classes, 'example/Main.class').text = 'main'
+        file(classes, 'build-info.properties').text = 'version=1'
+        file(classes, 'example/app.properties').text = 'name=app\nbuild.time=1'
+
+        when: "ignored content changed"
+        String first = ClasspathFingerprint.compute([classes], opts)
+        file(classes, 'build-info.properties').text = 'version=2'
+        file(classes, 'example/app.properties').text = 'build.time=2\nname=app'
+
+        then: "same fingerprint"
+        ClasspathFingerprint.compute([classes], opts) == first
+
+        when: "property value changed"
+        file(classes, 'example/app.properties').text = 'name=other\nbuild.time=2'
+
+        then: "fingerprint changed"
+        ClasspathFingerprint.compute([classes], opts) != first
+    }
+
+    def "Check classpath order counted"() {
+
+        setup:
+        ClasspathNormalizationOptions opts = new ClasspathNormalizationOptions(ignoreMetaInf: true)
+        File one = new File(dir, 'one')
+        File two = new File(dir, 'two')
+        file(one, 'a.txt').text = 'a'
+        file(two, 'b.txt').text = 'b'
+
+        expect: "order matters, location not"
+        ClasspathFingerprint.compute([one, two], opts) != ClasspathFingerprint.compute([two, one], opts)
+        ClasspathFingerprint.compute([one], opts) == ClasspathFingerprint.compute([copy(one, 'moved')], opts)
+    }
+
+    private File file(File root, String path) {
+        File res = new File(root, path)
+        res.parentFile.mkdirs()
+        return res
+    }
+
+    private File copy(File source, String name) {
+        File target = new File(dir, name)
+        source.eachFileRecurse { File f ->
+            if (f.isFile()) {
+                file(target, source.toPath().relativize(f.toPath()).toString()).bytes = f.bytes
+            }
+        }
+        return target
+    }
+
+    private void writeJar(File jar, String buildTime, String content) {
+        Manifest manifest = new Manifest()
+        manifest.mainAttributes.put(Attributes.Name.MANIFEST_VERSION, '1.0')
+        manifest.mainAttributes.putValue('Build-Time', buildTime)
+        new JarOutputStream(new FileOutputStream(jar), manifest).withCloseable {
+            it.putNextEntry(new JarEntry('lib/data.txt'))
+            it.write(content.bytes)
+            it.closeEntry()
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.vyarus.gradle.plugin.teavm.util
+
+import spock.lang.Specification
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class DependencyVersionsTest extends Specification {
+
+    def "Check generated versions"() {
+
+        expect: "version generated from build"
+        DependencyVersions.chicory() ==~ /\d+\.\d+\.\d+.*/
+        DependencyVersions.get('chicory') == DependencyVersions.chicory()
+    }
+
+    def "Check undeclared version"() {
+
+        when: "requesting unknown dependency"
+        DependencyVersions.get('unknown')
+
+        then: "error"
+        def ex = thrown(IllegalStateException)
+        ex.message == 'Version of unknown is not declared'
+    }
+}
@@ -0,0 +1,48 @@
+package ru.vyarus.gradle.plugin.teavm.util
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class EmbeddedPathsTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check embedded paths search"() {
+
+        when: "searching paths in generated files"
+        File js = file('classes.js', 'var a = "/home/user/project/src/Main.java";\nvar b = 1;')
+        File map = file('classes.js.map', '{"sources":["C:\\\\work\\\\project\\\\src\\\\Main.java"]}')
+        File clean = file('other.js', 'var a = "src/Main.java";')
+        File binary = file('classes.wasm', '/home/user/project')
+        File missing = new File(dir, 'missing.js')
+        Map<File, Set<String>> res = EmbeddedPaths.find([js, map, clean, binary, missing],
+                ['/home/user/project', 'C:\\work\\project'])
+
+        then: "only text files with paths reported"
+        res.keySet() == [js, map] as Set
+        res[js] == ['/home/user/project'] as Set
+
+        and: "escaped windows path found"
+        res[map] == ['C:\\\\work\\\\project'] as Set
+    }
+
+    def "Check forward slashes windows path"() {
+
+        when: "windows path written with forward slashes"
+        File js = file('classes.mjs', 'import "C:/work/project/lib.js";')
+        Map<File, Set<String>> res = EmbeddedPaths.find([js], ['C:\\work\\project'])
+
+        then: "found"
+        res[js] == ['C:/work/project'] as Set
+    }
+
+    private File file(String name, String content) {
+        File res = new File(dir, name)
+        res.text = content
+        return res
+    }
+}
@@ -0,0 +1,149 @@
+package ru.vyarus.gradle.plugin.teavm.wasm
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+import spock.lang.TempDir
+
+/**
+ * @author Vyacheslav Rusakov
+ * @since 19.10.2026
+ */
+class WasmModuleInfoTest extends Specification {
+
+    @TempDir File dir
+
+    def "Check imports and exports reading"() {
+
+        when: "reading module with imported memory"
+        WasmModuleInfo info = WasmModuleInfo.read(module(importedMemory(true)))
+
+        then: "imports read"
+        info.imports.collect { "$it.module.$it.name $it.kind" as String } ==
+                ['env.log function', 'env.memory memory', 'env.g global']
+
+        and: "exports read (code sections skipped)"
+        info.exports.collect { "$it.module $it.name $it.kind" as String } == ['null main function', 'null mem memory']
+
+        and: "memory limits read"
+        info.memory.imported
+        info.memory.initial == 2
+        info.memory.maximum == 16
+    }
+
+    def "Check declared memory"() {
+
+        when: "reading module with declared unlimited memory"
+        WasmModuleInfo info = WasmModuleInfo.read(module(section(5, [1, 0] + leb(300))))
+
+        then: "memory read"
+        !info.memory.imported
+        info.memory.initial == 300
+        info.memory.maximum == -1
+        info.imports.isEmpty()
+        info.exports.isEmpty()
+    }
+
+    def "Check not a module"() {
+
+        when: "reading not a module"
+        File file = new File(dir, 'classes.wasm')
+        file.text = 'not a module'
+        WasmModuleInfo.read(file)
+
+        then: "error"
+        def ex = thrown(IOException)
+        ex.message.startsWith('Not a webassembly module')
+    }
+
+    def "Check truncated module"() {
+
+        when: "reading module with truncated section"
+        File file = module(importedMemory(true))
+        file.bytes = Arrays.copyOf(file.bytes, 30)
+        WasmModuleInfo.read(file)
+
+        then: "error"
+        thrown(EOFException)
+    }
+
+    def "Check loader generation"() {
+
+        when: "generating loader for module with unlimited imported memory"
+        File wasm = module(importedMemory(false))
+        new File(dir, 'classes.wasm-runtime.js').text = ''
+        List<File> files = new WasmLoaderGenerator(1, 16, true).generate(wasm)
+
+        then: "loader and manifest generated"
+        files*.name == ['classes-loader.js', 'classes-manifest.json']
+
+        and: "loader creates memory limited with max heap and requires other imports"
+        String loader = files[0].text
+        loader.contains('const memory = { module: "env", name: "memory", initial: 2, maximum: 256 };')
+        loader.contains('const requiredImports = [\n  ["env", "log"],\n  ["env", "g"]\n];')
+        loader.contains('const cacheEnabled = true;')
+        loader.contains('WebAssembly.compileStreaming(response)')
+
+        and: "manifest describes module"
+        def manifest = new JsonSlurper().parse(files[1])
+        manifest.module == 'classes.wasm'
+        manifest.size == wasm.length()
+        manifest.sha256.length() == 64
+        manifest.runtime == 'classes.wasm-runtime.js'
+        manifest.memory == [initial: 2, maximum: -1, imported: true]
+        manifest.imports*.name == ['log', 'memory', 'g']
+        manifest.exports == [[name: 'main', kind: 'function'], [name: 'mem', kind: 'memory']]
+        manifest.preload.size() == 3
+    }
+
+    def "Check loader without imported memory"() {
+
+        when: "generating loader for module with declared memory"
+        File wasm = module(section(5, [1, 1, 1, 2]))
+        List<File> files = new WasmLoaderGenerator(1, 16, false).generate(wasm)
+
+        then: "loader does not create memory"
+        files[0].text.contains('const memory = null;')
+        files[0].text.contains('const cacheEnabled = false;')
+        def manifest = new JsonSlurper().parse(files[1])
+        manifest.runtime == null
+        manifest.memory == [initial: 1, maximum: 2, imported: false]
+        manifest.preload.size() == 2
+    }
+
+    private List<Integer> importedMemory(boolean limited) {
+        List<Integer> imports = [3] +
+                name('env') + name('log') + [0, 0] +
+                name('env') + name('memory') + [2] + (limited ? [1, 2, 16] : [0, 2]) +
+                name('env') + name('g') + [3, 0x7F, 0]
+        List<Integer> exports = [2] + name('main') + [0, 1] + name('mem') + [2, 0]
+        // type section, custom section and code section are skipped
+        return section(1, [1, 0x60, 0, 0]) + section(2, imports) + section(0, name('custom') + [1, 2, 3]) +
+                section(7, exports) + section(10, [1, 2, 0, 0x0B])
+    }
+
+    private File module(List<Integer> sections) {
+        File res = new File(dir, 'classes.wasm')
+        res.bytes = ([0, 0x61, 0x73, 0x6D, 1, 0, 0, 0] + sections) as byte[]
+        return res
+    }
+
+    private static List<Integer> section(int id, List<Integer> content) {
+        return [id] + leb(content.size()) + content
+    }
+
+    private static List<Integer> name(String value) {
+        byte[] bytes = value.getBytes('UTF-8')
+        return leb(bytes.length) + (bytes as List<Integer>)
+    }
+
+    private static List<Integer> leb(long value) {
+        List<Integer> res = []
+        long rest = value
+        while (rest >= 0x80) {
+            res.add((int) (rest & 0x7F | 0x80))
+            rest >>>= 7
+        }
+        res.add((int) rest)
+        return res
+    }
+}